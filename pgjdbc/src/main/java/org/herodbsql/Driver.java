@@ -7,6 +7,7 @@ package org.herodbsql;
 
 import org.herodbx.HerodbJdbcUrlTool;
 import org.herodbx.herossl.HeroSP;
+import org.herodbx.util.HeroNativeLibraries;
 import org.herodbsql.jdbc.PgConnection;
 import org.herodbsql.util.DriverInfo;
 import org.herodbsql.util.ExpressionProperties;
@@ -33,6 +34,7 @@ import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Formatter;
 import java.util.logging.Level;
@@ -247,6 +249,11 @@ public class Driver implements java.sql.Driver {
       return null;
     }
     try{
+      String herolibPath = PGProperty.HEROLIB_PATH.get(props);
+      if (herolibPath != null) {
+        HeroNativeLibraries.setDirectory(herolibPath);
+      }
+
       String herosp_userid = props.getProperty("user");
       LOGGER.log(Level.INFO,"herosp.userid:["+herosp_userid+"]");
 
@@ -742,6 +749,19 @@ public class Driver implements java.sql.Driver {
     return sharedTimer;
   }
 
+  /**
+   * Loads and verifies the HeroDB native libraries on a background daemon thread, so the first
+   * connection does not pay the library load cost. Call it early during application start-up;
+   * calling it again returns the same future. The library directory can be set beforehand with
+   * the {@code herodb.herolib.path} system property.
+   *
+   * @return a future that completes when the libraries are loaded, or exceptionally if loading
+   *     failed
+   */
+  public static Future<Void> preloadNativeLibraries() {
+    return HeroNativeLibraries.preload();
+  }
+
   /**
    * Register the driver against {@link DriverManager}. This is done automatically when the class is
    * loaded. Dropping the driver from DriverManager's list is possible using {@link #deregister()}
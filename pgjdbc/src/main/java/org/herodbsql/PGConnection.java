@@ -14,9 +14,11 @@ import org.herodbsql.replication.PGReplicationConnection;
 import org.herodbsql.util.PGobject;
 
 import java.sql.Array;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * This interface defines the public PostgreSQL extensions to java.sql.Connection. All Connections
@@ -182,6 +184,16 @@ public interface PGConnection {
    */
   int getBackendPID();
 
+  /**
+   * Return how many times a named server statement had to be parsed again on this connection,
+   * typically because a statement was executed with other parameter types than it was prepared
+   * with. A steadily growing count points at bindings that
+   * {@link PGProperty#PIN_PARAMETER_TYPES} could help with.
+   *
+   * @return number of re-prepared statements
+   */
+  long getReprepareCount();
+
   /**
    * Sends a query cancellation for this connection.
    * @throws SQLException if there are problems cancelling the query
@@ -313,4 +325,52 @@ public interface PGConnection {
    * @since 42.2.6
    */
   String getParameterStatus(String parameterName);
+
+  /**
+   * Submits a query for asynchronous execution. Queries and updates submitted while earlier ones
+   * are still running are sent together as one pipeline, so many small statements share a single
+   * round trip instead of waiting for each other's responses. Statements run in submission order.
+   *
+   * <p>With autocommit on each statement is followed by its own Sync and commits on its own: when
+   * a statement fails, only its future fails, and no statement is ever executed twice. Inside a
+   * transaction the whole pipeline uses one Sync, and the statements after a failed one fail as
+   * well. Transaction control statements should not be submitted this way.</p>
+   *
+   * @param sql the query, with {@code ?} placeholders for the parameters
+   * @param parameters parameter values, bound as by {@link java.sql.PreparedStatement#setObject(int, Object)}
+   * @return a future completed with the result set of the query
+   * @throws SQLException if the connection is closed or the parameters cannot be bound
+   */
+  CompletableFuture<ResultSet> executeQueryAsync(String sql, Object... parameters)
+      throws SQLException;
+
+  /**
+   * Submits an INSERT, UPDATE, DELETE or DDL statement for asynchronous, pipelined execution. See
+   * {@link #executeQueryAsync(String, Object...)}.
+   *
+   * @param sql the statement, with {@code ?} placeholders for the parameters
+   * @param parameters parameter values, bound as by {@link java.sql.PreparedStatement#setObject(int, Object)}
+   * @return a future completed with the update count of the statement
+   * @throws SQLException if the connection is closed or the parameters cannot be bound
+   */
+  CompletableFuture<Integer> executeUpdateAsync(String sql, Object... parameters)
+      throws SQLException;
+
+  /**
+   * Executes a query and streams its rows. The rows are fetched from a server-side portal in
+   * chunks sized by the driver to keep memory bounded, so the query may return any number of rows.
+   *
+   * <p>A portal only lives inside a transaction. If the connection is in autocommit mode, autocommit
+   * is switched off until the stream is closed, and the transaction is committed then. Other
+   * statements executed on the connection meanwhile run in that transaction.</p>
+   *
+   * @param sql the query, with {@code ?} placeholders for the parameters
+   * @param mapper maps each row to the object returned by the stream
+   * @param parameters parameter values, bound as by {@link java.sql.PreparedStatement#setObject(int, Object)}
+   * @param <T> the type the rows are mapped to
+   * @return the row stream
+   * @throws SQLException if the query cannot be executed
+   */
+  <T> PGRowStream<T> streamQuery(String sql, PGRowStream.RowMapper<T> mapper, Object... parameters)
+      throws SQLException;
 }
@@ -30,6 +30,29 @@ public enum PGProperty {
   PINCODE("pincode", null, "Specify 'options' connection initialization parameter."),
   RECONNECT("reconnect", "auto", "Set whether to automatically reconnect, the default value is auto (automatic reconnect is enabled), set to none to turn off reconnect."),
   EXTAUTH("extauth", null, "Set the extauth property so that HeroDB uses external authentication services. Please pass in the base64url encoded string."),
+  HEROSSL_TRANSPORT("herossltransport", "jna", "Transport used by HeroSSL for encrypted reads and writes: 'jna' (interface mapping) or 'direct' (JNA direct mapping with direct buffers).",
+      false, new String[] {"jna", "direct"}),
+  HEROSSL_HANDSHAKE_LOCK("herosslhandshakelock", "global", "Serialization of HeroSSL handshakes: 'global' (every handshake in the JVM is serialized) or 'context' (only the first handshake per user/PIN, which loads the crypto engine, is serialized).",
+      false, new String[] {"global", "context"}),
+  HEROLIB_PATH("herolibpath", null, "Directory of the HeroDB native libraries (default /opt/herolib/). Only effective before the libraries are loaded."),
+  HERO_ENGINE_TTL("heroenginettl", "300", "Seconds a crypto engine loaded for challenge-response login is reused by later logins of the same user. 0 loads the engine on every login."),
+  WATERMARK_CHECK_MTIME("watermarkcheckmtime", "false", "Recalculate the cached driver jar watermark when the jar's modification time or size changes.",
+      false, new String[] {"true", "false"}),
+  COPY_BATCHED_INSERTS("copybatchedinserts", "false", "Execute batches of a plain 'INSERT INTO t (cols) VALUES (?, ...)' prepared statement with COPY FROM STDIN. Note that COPY does not apply rules.",
+      false, new String[] {"true", "false"}),
+  SHARED_QUERY_CACHE("sharedquerycache", "false", "Share the result of parsing SQL with the other connections of the JVM, so that a new connection does not parse statements again. Server side statements and row descriptions stay per connection.",
+      false, new String[] {"true", "false"}),
+  ADAPTIVE_PREPARE("adaptiveprepare", "false", "Decide per query when to use a named server statement from how often it runs and how fast it runs prepared and unprepared, instead of only counting executions up to prepareThreshold.",
+      false, new String[] {"true", "false"}),
+  PIN_PARAMETER_TYPES("pinparametertypes", "false", "Keep the parameter types a server statement was prepared with and bind narrower values (int2/int4 as int8, float4 as float8, untyped nulls, ...) with them, instead of parsing the statement again whenever the bound types change.",
+      false, new String[] {"true", "false"}),
+  PARALLEL_CONNECT("parallelconnect", "false", "With several hosts, start connection attempts to the next host while the previous ones are still pending, and use the first connection to a host that satisfies targetServerType.",
+      false, new String[] {"true", "false"}),
+  PARALLEL_CONNECT_DELAY("parallelconnectdelay", "250", "Milliseconds parallelconnect waits for a connection attempt before it also tries the next host. A failed attempt starts the next one right away."),
+  SHARED_TYPE_CACHE("sharedtypecache", "false", "Resolve type oids through a pg_type registry shared with the other connections to the same host, port, database and server version. The registry is filled by one query instead of one query per unknown type and connection.",
+      false, new String[] {"true", "false"}),
+  SHARED_TYPE_CACHE_TTL("sharedtypecachettl", "600", "Seconds after which sharedtypecache loads the types again. 0 keeps them until they are invalidated through sharedtypecachechannel."),
+  SHARED_TYPE_CACHE_CHANNEL("sharedtypecachechannel", null, "Channel the connections of sharedtypecache LISTEN on. A notification on it, e.g. sent by an event trigger on type DDL, makes the shared types load again."),
   ////我们新增的属性结束。
 
   /**
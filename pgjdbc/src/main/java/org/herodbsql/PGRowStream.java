@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+
+/**
+ * A forward-only stream over the rows of a query, created by
+ * {@link PGConnection#streamQuery(String, PGRowStream.RowMapper, Object...)}.
+ *
+ * <p>Rows are read from a server-side portal in chunks. The driver sizes each chunk from the
+ * average size of the rows seen so far, so memory stays bounded without tuning the fetch size, and
+ * a chunk is only requested when the consumer has used up the previous one.</p>
+ *
+ * <p>The stream is closed automatically when the last row has been read. A stream that is not
+ * read to the end must be closed, as it holds a transaction open on the connection.</p>
+ *
+ * @param <T> the type the rows are mapped to
+ */
+public interface PGRowStream<T> extends Iterator<T>, AutoCloseable {
+
+  /**
+   * Maps the current row of a result set to an object.
+   *
+   * @param <T> the type the rows are mapped to
+   */
+  interface RowMapper<T> {
+    /**
+     * @param row the result set, positioned on the row to map. It must not be moved or closed.
+     * @return the mapped row
+     * @throws SQLException if a column cannot be read
+     */
+    T map(ResultSet row) throws SQLException;
+  }
+
+  /**
+   * Thrown by {@link #hasNext()} and {@link #next()} when fetching or mapping a row fails. The
+   * stream is closed when this happens.
+   */
+  class StreamException extends RuntimeException {
+    private static final long serialVersionUID = -4915683029143577360L;
+
+    public StreamException(SQLException cause) {
+      super(cause);
+    }
+
+    @Override
+    public synchronized SQLException getCause() {
+      return (SQLException) super.getCause();
+    }
+  }
+
+  /**
+   * @return the number of rows returned by {@link #next()} so far
+   */
+  long getRowCount();
+
+  /**
+   * Closes the portal and, if the stream opened a transaction because the connection was in
+   * autocommit mode, commits it.
+   *
+   * @throws SQLException if closing fails
+   */
+  @Override
+  void close() throws SQLException;
+}
@@ -5,6 +5,8 @@
 
 package org.herodbsql;
 
+import org.herodbsql.core.PrepareStatistics;
+
 import java.sql.SQLException;
 
 /**
@@ -79,4 +81,20 @@ public interface PGStatement {
    * @since build 302
    */
   int getPrepareThreshold();
+
+  /**
+   * Returns how often the query of this statement ran, how fast it ran with and without a named
+   * server statement, and whether the next execution will use one. The statistics are only
+   * maintained with {@code adaptivePrepare} enabled.
+   *
+   * <p>The default implementation returns null so that existing implementations of this interface
+   * keep compiling.</p>
+   *
+   * @return statistics of the prepared query, or null for a plain Statement or when the
+   *     implementation does not keep them
+   * @see PGProperty#ADAPTIVE_PREPARE
+   */
+  default PrepareStatistics getPrepareStatistics() {
+    return null;
+  }
 }
@@ -0,0 +1,738 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.copy;
+
+import org.herodbsql.PGConnection;
+import org.herodbsql.util.ByteConverter;
+import org.herodbsql.util.GT;
+import org.herodbsql.util.PSQLException;
+import org.herodbsql.util.PSQLState;
+
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Reads typed rows from a {@code COPY ... TO STDOUT (FORMAT binary)} operation.
+ *
+ * <p>Fields are decoded directly from the binary COPY format. As with {@link BinaryCopyWriter},
+ * the format carries no type information: each field must be read with the method matching the
+ * binary representation of its column. Fields are numbered from 1. Like {@link java.sql.ResultSet},
+ * getters of primitive types return 0 or false for NULL, use {@link #isNull(int)} to tell them
+ * apart.</p>
+ *
+ * <pre>
+ * BinaryCopyReader reader = new BinaryCopyReader(connection,
+ *     "COPY t (id, name, created) TO STDOUT (FORMAT binary)");
+ * try {
+ *   while (reader.next()) {
+ *     long id = reader.getLong(1);
+ *     String name = reader.getString(2);
+ *     OffsetDateTime created = reader.getOffsetDateTime(3);
+ *   }
+ * } finally {
+ *   reader.close();
+ * }
+ * </pre>
+ */
+public class BinaryCopyReader implements AutoCloseable {
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+  private static final byte[] EMPTY = new byte[0];
+
+  private CopyOut op;
+
+  // received data; the current row starts at rowStart, unparsed data at pos
+  private byte[] data = EMPTY;
+  private int rowStart;
+  private int pos;
+  private int limit;
+
+  private boolean headerRead;
+  private boolean done;
+  private long rowCount;
+
+  private int fieldCount = -1;
+  // offsets from rowStart and lengths of the fields of the current row
+  private int[] offsets = new int[16];
+  private int[] lengths = new int[16];
+
+  /**
+   * Starts the given COPY TO STDOUT statement, which must specify {@code FORMAT binary}.
+   *
+   * @param connection database connection to use for copying
+   * @param sql COPY TO STDOUT statement
+   * @throws SQLException if initializing the operation fails
+   */
+  public BinaryCopyReader(PGConnection connection, String sql) throws SQLException {
+    this(connection.getCopyAPI().copyOut(sql));
+  }
+
+  /**
+   * Reads from the given COPY TO STDOUT operation, which must be in binary format.
+   *
+   * @param op COPY TO STDOUT operation
+   */
+  public BinaryCopyReader(CopyOut op) {
+    this.op = op;
+  }
+
+  /**
+   * Moves to the next row.
+   *
+   * @return false when all rows have been read, the copy operation is then complete
+   * @throws SQLException if the data is not in binary COPY format or the copy failed
+   */
+  public boolean next() throws SQLException {
+    fieldCount = -1;
+    if (done) {
+      return false;
+    }
+    if (op == null) {
+      throw new PSQLException(GT.tr("This copy stream is closed."),
+          PSQLState.OBJECT_NOT_IN_STATE);
+    }
+    if (!headerRead) {
+      readHeader();
+    }
+
+    rowStart = pos;
+    require(2);
+    int count = ByteConverter.int2(data, pos);
+    pos += 2;
+    if (count == -1) {
+      // file trailer, the server completes the copy after it
+      while (op.readFromCopy() != null) {
+        // nothing is expected after the trailer
+      }
+      done = true;
+      op = null;
+      return false;
+    }
+    if (count < 0) {
+      throw formatError();
+    }
+    if (offsets.length < count) {
+      offsets = new int[count];
+      lengths = new int[count];
+    }
+    for (int i = 0; i < count; i++) {
+      require(4);
+      int length = ByteConverter.int4(data, pos);
+      pos += 4;
+      if (length < -1) {
+        throw formatError();
+      }
+      if (length > 0) {
+        require(length);
+      }
+      offsets[i] = pos - rowStart;
+      lengths[i] = length;
+      pos += Math.max(length, 0);
+    }
+    fieldCount = count;
+    rowCount++;
+    return true;
+  }
+
+  /**
+   * @return number of fields of the current row
+   * @throws SQLException if there is no current row
+   */
+  public int getFieldCount() throws SQLException {
+    checkRow();
+    return fieldCount;
+  }
+
+  /**
+   * @return number of rows read so far
+   */
+  public long getRowCount() {
+    return rowCount;
+  }
+
+  /**
+   * @param field the field number, starting at 1
+   * @return whether the field is NULL
+   * @throws SQLException if there is no such field
+   */
+  public boolean isNull(int field) throws SQLException {
+    return length(field) < 0;
+  }
+
+  /**
+   * Reads a {@code bool} field.
+   *
+   * @param field the field number, starting at 1
+   * @return the value, false for NULL
+   * @throws SQLException if there is no such field or it is not a bool
+   */
+  public boolean getBoolean(int field) throws SQLException {
+    int length = length(field);
+    if (length < 0) {
+      return false;
+    }
+    checkLength(field, length, 1);
+    return ByteConverter.bool(data, offset(field));
+  }
+
+  /**
+   * Reads an {@code int2} field.
+   *
+   * @param field the field number, starting at 1
+   * @return the value, 0 for NULL
+   * @throws SQLException if there is no such field or it is not an int2
+   */
+  public short getShort(int field) throws SQLException {
+    int length = length(field);
+    if (length < 0) {
+      return 0;
+    }
+    checkLength(field, length, 2);
+    return ByteConverter.int2(data, offset(field));
+  }
+
+  /**
+   * Reads an {@code int4} field, or an {@code int2}.
+   *
+   * @param field the field number, starting at 1
+   * @return the value, 0 for NULL
+   * @throws SQLException if there is no such field or it is not an integer
+   */
+  public int getInt(int field) throws SQLException {
+    int length = length(field);
+    if (length == 2) {
+      return ByteConverter.int2(data, offset(field));
+    } else if (length < 0) {
+      return 0;
+    }
+    checkLength(field, length, 4);
+    return ByteConverter.int4(data, offset(field));
+  }
+
+  /**
+   * Reads an {@code int8} field, or an {@code int4} or {@code int2}.
+   *
+   * @param field the field number, starting at 1
+   * @return the value, 0 for NULL
+   * @throws SQLException if there is no such field or it is not an integer
+   */
+  public long getLong(int field) throws SQLException {
+    int length = length(field);
+    if (length == 2) {
+      return ByteConverter.int2(data, offset(field));
+    } else if (length == 4) {
+      return ByteConverter.int4(data, offset(field));
+    } else if (length < 0) {
+      return 0;
+    }
+    checkLength(field, length, 8);
+    return ByteConverter.int8(data, offset(field));
+  }
+
+  /**
+   * Reads a {@code float4} field.
+   *
+   * @param field the field number, starting at 1
+   * @return the value, 0 for NULL
+   * @throws SQLException if there is no such field or it is not a float4
+   */
+  public float getFloat(int field) throws SQLException {
+    int length = length(field);
+    if (length < 0) {
+      return 0;
+    }
+    checkLength(field, length, 4);
+    return ByteConverter.float4(data, offset(field));
+  }
+
+  /**
+   * Reads a {@code float8} field, or a {@code float4}.
+   *
+   * @param field the field number, starting at 1
+   * @return the value, 0 for NULL
+   * @throws SQLException if there is no such field or it is not a floating point number
+   */
+  public double getDouble(int field) throws SQLException {
+    int length = length(field);
+    if (length == 4) {
+      return ByteConverter.float4(data, offset(field));
+    } else if (length < 0) {
+      return 0;
+    }
+    checkLength(field, length, 8);
+    return ByteConverter.float8(data, offset(field));
+  }
+
+  /**
+   * Reads a {@code text}, {@code varchar} or other string field, decoded from UTF-8.
+   *
+   * @param field the field number, starting at 1
+   * @return the value, null for NULL
+   * @throws SQLException if there is no such field
+   */
+  public String getString(int field) throws SQLException {
+    int length = length(field);
+    if (length < 0) {
+      return null;
+    }
+    return new String(data, offset(field), length, UTF_8);
+  }
+
+  /**
+   * Reads a {@code bytea} field, or the binary representation of any field.
+   *
+   * @param field the field number, starting at 1
+   * @return the value, null for NULL
+   * @throws SQLException if there is no such field
+   */
+  public byte[] getBytes(int field) throws SQLException {
+    int length = length(field);
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    System.arraycopy(data, offset(field), bytes, 0, length);
+    return bytes;
+  }
+
+  /**
+   * Reads a {@code uuid} field.
+   *
+   * @param field the field number, starting at 1
+   * @return the value, null for NULL
+   * @throws SQLException if there is no such field or it is not a uuid
+   */
+  public UUID getUUID(int field) throws SQLException {
+    int length = length(field);
+    if (length < 0) {
+      return null;
+    }
+    checkLength(field, length, 16);
+    int offset = offset(field);
+    return new UUID(ByteConverter.int8(data, offset), ByteConverter.int8(data, offset + 8));
+  }
+
+  /**
+   * Reads a {@code numeric} field.
+   *
+   * @param field the field number, starting at 1
+   * @return the value, null for NULL
+   * @throws SQLException if there is no such field, it is not a numeric or it is NaN
+   */
+  public BigDecimal getBigDecimal(int field) throws SQLException {
+    int length = length(field);
+    if (length < 0) {
+      return null;
+    }
+    try {
+      return ByteConverter.bigDecimal(data, offset(field), length);
+    } catch (IllegalArgumentException e) {
+      throw new PSQLException(GT.tr("Bad value for type {0} : {1}", "BigDecimal", e.getMessage()),
+          PSQLState.NUMERIC_VALUE_OUT_OF_RANGE, e);
+    }
+  }
+
+  /**
+   * Reads a {@code date} field. {@code infinity} and {@code -infinity} are returned as
+   * {@link LocalDate#MAX} and {@link LocalDate#MIN}.
+   *
+   * @param field the field number, starting at 1
+   * @return the value, null for NULL
+   * @throws SQLException if there is no such field or it is not a date
+   */
+  public LocalDate getLocalDate(int field) throws SQLException {
+    int length = length(field);
+    if (length < 0) {
+      return null;
+    }
+    checkLength(field, length, 4);
+    int days = ByteConverter.int4(data, offset(field));
+    if (days == Integer.MAX_VALUE) {
+      return LocalDate.MAX;
+    } else if (days == Integer.MIN_VALUE) {
+      return LocalDate.MIN;
+    }
+    return LocalDate.ofEpochDay(days + BinaryCopyWriter.POSTGRES_EPOCH_DAYS);
+  }
+
+  /**
+   * Reads a {@code time} field. {@code 24:00:00} is returned as {@link LocalTime#MAX}.
+   *
+   * @param field the field number, starting at 1
+   * @return the value, null for NULL
+   * @throws SQLException if there is no such field or it is not a time
+   */
+  public LocalTime getLocalTime(int field) throws SQLException {
+    int length = length(field);
+    if (length < 0) {
+      return null;
+    }
+    checkLength(field, length, 8);
+    long micros = ByteConverter.int8(data, offset(field));
+    if (micros >= 86400000000L) {
+      return LocalTime.MAX;
+    }
+    return LocalTime.ofNanoOfDay(micros * 1000);
+  }
+
+  /**
+   * Reads a {@code timestamp} (without time zone) field. {@code infinity} and {@code -infinity}
+   * are returned as {@link LocalDateTime#MAX} and {@link LocalDateTime#MIN}.
+   *
+   * @param field the field number, starting at 1
+   * @return the value, null for NULL
+   * @throws SQLException if there is no such field or it is not a timestamp
+   */
+  public LocalDateTime getLocalDateTime(int field) throws SQLException {
+    int length = length(field);
+    if (length < 0) {
+      return null;
+    }
+    checkLength(field, length, 8);
+    long micros = ByteConverter.int8(data, offset(field));
+    if (micros == Long.MAX_VALUE) {
+      return LocalDateTime.MAX;
+    } else if (micros == Long.MIN_VALUE) {
+      return LocalDateTime.MIN;
+    }
+    micros += BinaryCopyWriter.POSTGRES_EPOCH_MICROS;
+    return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1000000L),
+        (int) Math.floorMod(micros, 1000000L) * 1000, ZoneOffset.UTC);
+  }
+
+  /**
+   * Reads a {@code timestamptz} field, in UTC. {@code infinity} and {@code -infinity} are returned
+   * as {@link OffsetDateTime#MAX} and {@link OffsetDateTime#MIN}.
+   *
+   * @param field the field number, starting at 1
+   * @return the value, null for NULL
+   * @throws SQLException if there is no such field or it is not a timestamptz
+   */
+  public OffsetDateTime getOffsetDateTime(int field) throws SQLException {
+    LocalDateTime utc = getLocalDateTime(field);
+    if (utc == null) {
+      return null;
+    } else if (utc == LocalDateTime.MAX) {
+      return OffsetDateTime.MAX;
+    } else if (utc == LocalDateTime.MIN) {
+      return OffsetDateTime.MIN;
+    }
+    return OffsetDateTime.of(utc, ZoneOffset.UTC);
+  }
+
+  /**
+   * Reads a one-dimensional {@code int2[]} field.
+   *
+   * @param field the field number, starting at 1
+   * @return the elements, null for NULL
+   * @throws SQLException if there is no such field, it is not an int2 array or has NULL elements
+   */
+  public short[] getShortArray(int field) throws SQLException {
+    int[] elements = arrayElements(field, 2);
+    if (elements == null) {
+      return null;
+    }
+    short[] values = new short[elements.length];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = ByteConverter.int2(data, elements[i]);
+    }
+    return values;
+  }
+
+  /**
+   * Reads a one-dimensional {@code int4[]} field.
+   *
+   * @param field the field number, starting at 1
+   * @return the elements, null for NULL
+   * @throws SQLException if there is no such field, it is not an int4 array or has NULL elements
+   */
+  public int[] getIntArray(int field) throws SQLException {
+    int[] elements = arrayElements(field, 4);
+    if (elements == null) {
+      return null;
+    }
+    int[] values = new int[elements.length];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = ByteConverter.int4(data, elements[i]);
+    }
+    return values;
+  }
+
+  /**
+   * Reads a one-dimensional {@code int8[]} field.
+   *
+   * @param field the field number, starting at 1
+   * @return the elements, null for NULL
+   * @throws SQLException if there is no such field, it is not an int8 array or has NULL elements
+   */
+  public long[] getLongArray(int field) throws SQLException {
+    int[] elements = arrayElements(field, 8);
+    if (elements == null) {
+      return null;
+    }
+    long[] values = new long[elements.length];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = ByteConverter.int8(data, elements[i]);
+    }
+    return values;
+  }
+
+  /**
+   * Reads a one-dimensional {@code float4[]} field.
+   *
+   * @param field the field number, starting at 1
+   * @return the elements, null for NULL
+   * @throws SQLException if there is no such field, it is not a float4 array or has NULL elements
+   */
+  public float[] getFloatArray(int field) throws SQLException {
+    int[] elements = arrayElements(field, 4);
+    if (elements == null) {
+      return null;
+    }
+    float[] values = new float[elements.length];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = ByteConverter.float4(data, elements[i]);
+    }
+    return values;
+  }
+
+  /**
+   * Reads a one-dimensional {@code float8[]} field.
+   *
+   * @param field the field number, starting at 1
+   * @return the elements, null for NULL
+   * @throws SQLException if there is no such field, it is not a float8 array or has NULL elements
+   */
+  public double[] getDoubleArray(int field) throws SQLException {
+    int[] elements = arrayElements(field, 8);
+    if (elements == null) {
+      return null;
+    }
+    double[] values = new double[elements.length];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = ByteConverter.float8(data, elements[i]);
+    }
+    return values;
+  }
+
+  /**
+   * Reads a one-dimensional {@code bool[]} field.
+   *
+   * @param field the field number, starting at 1
+   * @return the elements, null for NULL
+   * @throws SQLException if there is no such field, it is not a bool array or has NULL elements
+   */
+  public boolean[] getBooleanArray(int field) throws SQLException {
+    int[] elements = arrayElements(field, 1);
+    if (elements == null) {
+      return null;
+    }
+    boolean[] values = new boolean[elements.length];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = ByteConverter.bool(data, elements[i]);
+    }
+    return values;
+  }
+
+  /**
+   * Reads a one-dimensional array field of a string type such as {@code text[]} or
+   * {@code varchar[]}.
+   *
+   * @param field the field number, starting at 1
+   * @return the elements, null elements for NULL ones, or null for NULL
+   * @throws SQLException if there is no such field or it is not a one-dimensional array
+   */
+  public String[] getStringArray(int field) throws SQLException {
+    int[] elements = arrayElements(field, -1);
+    if (elements == null) {
+      return null;
+    }
+    String[] values = new String[elements.length];
+    for (int i = 0; i < values.length; i++) {
+      if (elements[i] >= 0) {
+        int length = ByteConverter.int4(data, elements[i] - 4);
+        values[i] = new String(data, elements[i], length, UTF_8);
+      }
+    }
+    return values;
+  }
+
+  /**
+   * Cancels the copy operation if not all rows were read.
+   *
+   * @throws SQLException if cancelling failed
+   */
+  @Override
+  public void close() throws SQLException {
+    if (op != null) {
+      CopyOut copy = op;
+      op = null;
+      done = true;
+      if (copy.isActive()) {
+        copy.cancelCopy();
+      }
+    }
+  }
+
+  /**
+   * @return whether the copy operation is still in progress
+   */
+  public boolean isActive() {
+    return op != null && op.isActive();
+  }
+
+  /**
+   * Returns the positions of the elements of a one-dimensional array field.
+   *
+   * @param elementLength length of the elements, -1 if variable; if fixed NULL elements are
+   *     rejected, else they are returned as -1
+   */
+  private int[] arrayElements(int field, int elementLength) throws SQLException {
+    int length = length(field);
+    if (length < 0) {
+      return null;
+    }
+    int offset = offset(field);
+    int end = offset + length;
+    if (length < 12) {
+      throw arrayError(field);
+    }
+    int dimensions = ByteConverter.int4(data, offset);
+    if (dimensions == 0) {
+      return new int[0];
+    }
+    if (dimensions != 1 || length < 20) {
+      throw arrayError(field);
+    }
+    int count = ByteConverter.int4(data, offset + 12);
+    int[] elements = new int[count];
+    int at = offset + 20;
+    for (int i = 0; i < count; i++) {
+      if (at + 4 > end) {
+        throw arrayError(field);
+      }
+      int elementSize = ByteConverter.int4(data, at);
+      at += 4;
+      if (elementSize < 0) {
+        if (elementLength >= 0) {
+          throw new PSQLException(
+              GT.tr("Array field {0} has NULL elements.", field), PSQLState.DATA_ERROR);
+        }
+        elements[i] = -1;
+        continue;
+      }
+      if ((elementLength >= 0 && elementSize != elementLength) || at + elementSize > end) {
+        throw arrayError(field);
+      }
+      elements[i] = at;
+      at += elementSize;
+    }
+    return elements;
+  }
+
+  private PSQLException arrayError(int field) {
+    return new PSQLException(
+        GT.tr("Field {0} is not a one-dimensional array of the requested type.", field),
+        PSQLState.DATA_TYPE_MISMATCH);
+  }
+
+  private void checkRow() throws SQLException {
+    if (fieldCount < 0) {
+      throw new PSQLException(GT.tr("No current COPY row."), PSQLState.OBJECT_NOT_IN_STATE);
+    }
+  }
+
+  private int length(int field) throws SQLException {
+    checkRow();
+    if (field < 1 || field > fieldCount) {
+      throw new PSQLException(
+          GT.tr("The column index is out of range: {0}, number of columns: {1}.", field,
+              fieldCount),
+          PSQLState.INVALID_PARAMETER_VALUE);
+    }
+    return lengths[field - 1];
+  }
+
+  private int offset(int field) {
+    return rowStart + offsets[field - 1];
+  }
+
+  private static void checkLength(int field, int length, int expected) throws SQLException {
+    if (length != expected) {
+      throw new PSQLException(
+          GT.tr("Field {0} has {1} bytes, the requested type has {2}.", field, length, expected),
+          PSQLState.DATA_TYPE_MISMATCH);
+    }
+  }
+
+  private void readHeader() throws SQLException {
+    int signatureLength = BinaryCopyWriter.SIGNATURE.length;
+    require(BinaryCopyWriter.HEADER_LENGTH);
+    for (int i = 0; i < signatureLength; i++) {
+      if (data[pos + i] != BinaryCopyWriter.SIGNATURE[i]) {
+        throw formatError();
+      }
+    }
+    // flags are ignored, skip the header extension
+    int extensionLength = ByteConverter.int4(data, pos + signatureLength + 4);
+    pos += BinaryCopyWriter.HEADER_LENGTH;
+    if (extensionLength < 0) {
+      throw formatError();
+    }
+    require(extensionLength);
+    pos += extensionLength;
+    headerRead = true;
+  }
+
+  private PSQLException formatError() {
+    return new PSQLException(GT.tr("COPY data is not in the binary format."),
+        PSQLState.DATA_ERROR);
+  }
+
+  /**
+   * Receives data until {@code length} bytes are available from {@code pos}, keeping the current
+   * row in the buffer.
+   */
+  private void require(int length) throws SQLException {
+    while (limit - pos < length) {
+      byte[] chunk = op.readFromCopy();
+      if (chunk == null) {
+        done = true;
+        op = null;
+        throw new PSQLException(GT.tr("COPY data ended in the middle of a row."),
+            PSQLState.DATA_ERROR);
+      }
+      if (limit == rowStart) {
+        // nothing buffered: use the received array, typically it holds exactly one row
+        pos = pos - rowStart;
+        data = chunk;
+        rowStart = 0;
+        limit = chunk.length;
+        continue;
+      }
+      int buffered = limit - rowStart;
+      byte[] target = data;
+      if (buffered + chunk.length > data.length || rowStart > 0) {
+        if (buffered + chunk.length > data.length) {
+          target = new byte[Math.max(buffered + chunk.length, 2 * buffered)];
+        }
+        System.arraycopy(data, rowStart, target, 0, buffered);
+        pos -= rowStart;
+        rowStart = 0;
+        limit = buffered;
+        data = target;
+      }
+      System.arraycopy(chunk, 0, data, limit, chunk.length);
+      limit += chunk.length;
+    }
+  }
+}
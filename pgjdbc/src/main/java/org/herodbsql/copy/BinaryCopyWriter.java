@@ -0,0 +1,702 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.copy;
+
+import org.herodbsql.PGConnection;
+import org.herodbsql.core.Oid;
+import org.herodbsql.util.ByteConverter;
+import org.herodbsql.util.GT;
+import org.herodbsql.util.PSQLException;
+import org.herodbsql.util.PSQLState;
+
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Writes typed rows into a {@code COPY ... FROM STDIN (FORMAT binary)} operation.
+ *
+ * <p>Values are encoded directly into the binary COPY format, so they are not formatted as text and
+ * parsed again by the server. Since the binary format carries no type information, each value must
+ * be written with the method matching the binary representation of its column: {@link #writeInt}
+ * for an {@code int4} column, {@link #writeLong} for {@code int8}, {@link #writeTimestamp} for
+ * {@code timestamp} and so on.</p>
+ *
+ * <pre>
+ * BinaryCopyWriter writer = new BinaryCopyWriter(connection,
+ *     "COPY t (id, name, created) FROM STDIN (FORMAT binary)");
+ * try {
+ *   for (Item item : items) {
+ *     writer.startRow(3)
+ *         .writeLong(item.id)
+ *         .writeString(item.name)
+ *         .writeTimestamptz(item.created);
+ *   }
+ *   writer.endCopy();
+ * } finally {
+ *   writer.close();
+ * }
+ * </pre>
+ *
+ * <p>Timestamps and times use the integer (microsecond) representation, which servers use unless
+ * they were built without {@code integer_datetimes}.</p>
+ */
+public class BinaryCopyWriter implements AutoCloseable {
+  static final byte[] SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xff, '\r', '\n', 0};
+  static final int HEADER_LENGTH = SIGNATURE.length + 8;
+
+  // microseconds between 1970-01-01 and 2000-01-01, the epoch of the binary formats
+  static final long POSTGRES_EPOCH_MICROS = 946684800L * 1000000L;
+  // days between 1970-01-01 and 2000-01-01
+  static final long POSTGRES_EPOCH_DAYS = 10957L;
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private CopyIn op;
+  private final byte[] buffer;
+  private int at;
+  private boolean headerWritten;
+  private int rowFields = -1;
+  private int fieldsWritten;
+
+  /**
+   * Starts the given COPY FROM STDIN statement, which must specify {@code FORMAT binary}.
+   *
+   * @param connection database connection to use for copying
+   * @param sql COPY FROM STDIN statement
+   * @throws SQLException if initializing the operation fails
+   */
+  public BinaryCopyWriter(PGConnection connection, String sql) throws SQLException {
+    this(connection.getCopyAPI().copyIn(sql));
+  }
+
+  /**
+   * Writes into the given COPY FROM STDIN operation, which must be in binary format.
+   *
+   * @param op COPY FROM STDIN operation
+   */
+  public BinaryCopyWriter(CopyIn op) {
+    this(op, CopyManager.DEFAULT_BUFFER_SIZE);
+  }
+
+  /**
+   * Writes into the given COPY FROM STDIN operation, which must be in binary format.
+   *
+   * @param op COPY FROM STDIN operation
+   * @param bufferSize try to send this many bytes at a time
+   */
+  public BinaryCopyWriter(CopyIn op, int bufferSize) {
+    this.op = op;
+    this.buffer = new byte[Math.max(bufferSize, HEADER_LENGTH)];
+  }
+
+  /**
+   * Starts a new row. The previous row must be complete.
+   *
+   * @param fieldCount number of fields of the row
+   * @return this writer
+   * @throws SQLException if the previous row is incomplete or the copy failed
+   */
+  public BinaryCopyWriter startRow(int fieldCount) throws SQLException {
+    checkActive();
+    checkRowComplete();
+    if (fieldCount < 0 || fieldCount > Short.MAX_VALUE) {
+      throw new PSQLException(GT.tr("Invalid number of fields for a COPY row: {0}", fieldCount),
+          PSQLState.INVALID_PARAMETER_VALUE);
+    }
+    writeHeader();
+    ensure(2);
+    ByteConverter.int2(buffer, at, fieldCount);
+    at += 2;
+    rowFields = fieldCount;
+    fieldsWritten = 0;
+    return this;
+  }
+
+  /**
+   * Writes a NULL field.
+   *
+   * @return this writer
+   * @throws SQLException if the row is already complete or the copy failed
+   */
+  public BinaryCopyWriter writeNull() throws SQLException {
+    field(-1);
+    return this;
+  }
+
+  /**
+   * Writes a {@code bool} field.
+   *
+   * @param value the value
+   * @return this writer
+   * @throws SQLException if the row is already complete or the copy failed
+   */
+  public BinaryCopyWriter writeBoolean(boolean value) throws SQLException {
+    field(1);
+    ByteConverter.bool(buffer, at, value);
+    at += 1;
+    return this;
+  }
+
+  /**
+   * Writes an {@code int2} field.
+   *
+   * @param value the value
+   * @return this writer
+   * @throws SQLException if the row is already complete or the copy failed
+   */
+  public BinaryCopyWriter writeShort(short value) throws SQLException {
+    field(2);
+    ByteConverter.int2(buffer, at, value);
+    at += 2;
+    return this;
+  }
+
+  /**
+   * Writes an {@code int4} field.
+   *
+   * @param value the value
+   * @return this writer
+   * @throws SQLException if the row is already complete or the copy failed
+   */
+  public BinaryCopyWriter writeInt(int value) throws SQLException {
+    field(4);
+    ByteConverter.int4(buffer, at, value);
+    at += 4;
+    return this;
+  }
+
+  /**
+   * Writes an {@code int8} field.
+   *
+   * @param value the value
+   * @return this writer
+   * @throws SQLException if the row is already complete or the copy failed
+   */
+  public BinaryCopyWriter writeLong(long value) throws SQLException {
+    field(8);
+    ByteConverter.int8(buffer, at, value);
+    at += 8;
+    return this;
+  }
+
+  /**
+   * Writes a {@code float4} field.
+   *
+   * @param value the value
+   * @return this writer
+   * @throws SQLException if the row is already complete or the copy failed
+   */
+  public BinaryCopyWriter writeFloat(float value) throws SQLException {
+    field(4);
+    ByteConverter.float4(buffer, at, value);
+    at += 4;
+    return this;
+  }
+
+  /**
+   * Writes a {@code float8} field.
+   *
+   * @param value the value
+   * @return this writer
+   * @throws SQLException if the row is already complete or the copy failed
+   */
+  public BinaryCopyWriter writeDouble(double value) throws SQLException {
+    field(8);
+    ByteConverter.float8(buffer, at, value);
+    at += 8;
+    return this;
+  }
+
+  /**
+   * Writes a {@code text}, {@code varchar} or other string field, encoded in UTF-8.
+   *
+   * @param value the value, null for NULL
+   * @return this writer
+   * @throws SQLException if the row is already complete or the copy failed
+   */
+  public BinaryCopyWriter writeString(String value) throws SQLException {
+    if (value == null) {
+      return writeNull();
+    }
+    return writeBytes(value.getBytes(UTF_8));
+  }
+
+  /**
+   * Writes a {@code bytea} field, or any field given its binary representation.
+   *
+   * @param value the value, null for NULL
+   * @return this writer
+   * @throws SQLException if the row is already complete or the copy failed
+   */
+  public BinaryCopyWriter writeBytes(byte[] value) throws SQLException {
+    if (value == null) {
+      return writeNull();
+    }
+    if (value.length + 4 > buffer.length) {
+      // does not fit into the buffer, pass it through
+      field(0);
+      ByteConverter.int4(buffer, at - 4, value.length);
+      flushBuffer();
+      op.writeToCopy(value, 0, value.length);
+      return this;
+    }
+    field(value.length);
+    System.arraycopy(value, 0, buffer, at, value.length);
+    at += value.length;
+    return this;
+  }
+
+  /**
+   * Writes a {@code uuid} field.
+   *
+   * @param value the value, null for NULL
+   * @return this writer
+   * @throws SQLException if the row is already complete or the copy failed
+   */
+  public BinaryCopyWriter writeUUID(UUID value) throws SQLException {
+    if (value == null) {
+      return writeNull();
+    }
+    field(16);
+    ByteConverter.int8(buffer, at, value.getMostSignificantBits());
+    ByteConverter.int8(buffer, at + 8, value.getLeastSignificantBits());
+    at += 16;
+    return this;
+  }
+
+  /**
+   * Writes a {@code numeric} field.
+   *
+   * @param value the value, null for NULL
+   * @return this writer
+   * @throws SQLException if the row is already complete or the copy failed
+   */
+  public BinaryCopyWriter writeNumeric(BigDecimal value) throws SQLException {
+    if (value == null) {
+      return writeNull();
+    }
+    return writeBytes(ByteConverter.numeric(value));
+  }
+
+  /**
+   * Writes a {@code date} field. {@link LocalDate#MAX} and {@link LocalDate#MIN} are written as
+   * {@code infinity} and {@code -infinity}.
+   *
+   * @param value the value, null for NULL
+   * @return this writer
+   * @throws SQLException if the row is already complete or the copy failed
+   */
+  public BinaryCopyWriter writeDate(LocalDate value) throws SQLException {
+    if (value == null) {
+      return writeNull();
+    }
+    int days;
+    if (value.equals(LocalDate.MAX)) {
+      days = Integer.MAX_VALUE;
+    } else if (value.equals(LocalDate.MIN)) {
+      days = Integer.MIN_VALUE;
+    } else {
+      days = (int) (value.toEpochDay() - POSTGRES_EPOCH_DAYS);
+    }
+    return writeInt(days);
+  }
+
+  /**
+   * Writes a {@code time} field.
+   *
+   * @param value the value, null for NULL
+   * @return this writer
+   * @throws SQLException if the row is already complete or the copy failed
+   */
+  public BinaryCopyWriter writeTime(LocalTime value) throws SQLException {
+    if (value == null) {
+      return writeNull();
+    }
+    return writeLong(value.toNanoOfDay() / 1000);
+  }
+
+  /**
+   * Writes a {@code timestamp} (without time zone) field. {@link LocalDateTime#MAX} and
+   * {@link LocalDateTime#MIN} are written as {@code infinity} and {@code -infinity}.
+   *
+   * @param value the value, null for NULL
+   * @return this writer
+   * @throws SQLException if the row is already complete or the copy failed
+   */
+  public BinaryCopyWriter writeTimestamp(LocalDateTime value) throws SQLException {
+    if (value == null) {
+      return writeNull();
+    }
+    long micros;
+    if (value.equals(LocalDateTime.MAX)) {
+      micros = Long.MAX_VALUE;
+    } else if (value.equals(LocalDateTime.MIN)) {
+      micros = Long.MIN_VALUE;
+    } else {
+      micros = toPostgresMicros(value.toEpochSecond(ZoneOffset.UTC), value.getNano());
+    }
+    return writeLong(micros);
+  }
+
+  /**
+   * Writes a {@code timestamptz} field. {@link OffsetDateTime#MAX} and {@link OffsetDateTime#MIN}
+   * are written as {@code infinity} and {@code -infinity}.
+   *
+   * @param value the value, null for NULL
+   * @return this writer
+   * @throws SQLException if the row is already complete or the copy failed
+   */
+  public BinaryCopyWriter writeTimestamptz(OffsetDateTime value) throws SQLException {
+    if (value == null) {
+      return writeNull();
+    }
+    long micros;
+    if (value.equals(OffsetDateTime.MAX)) {
+      micros = Long.MAX_VALUE;
+    } else if (value.equals(OffsetDateTime.MIN)) {
+      micros = Long.MIN_VALUE;
+    } else {
+      micros = toPostgresMicros(value.toEpochSecond(), value.getNano());
+    }
+    return writeLong(micros);
+  }
+
+  /**
+   * Writes a {@code timestamptz} field.
+   *
+   * @param value the value, null for NULL
+   * @return this writer
+   * @throws SQLException if the row is already complete or the copy failed
+   */
+  public BinaryCopyWriter writeTimestamptz(Instant value) throws SQLException {
+    if (value == null) {
+      return writeNull();
+    }
+    return writeLong(toPostgresMicros(value.getEpochSecond(), value.getNano()));
+  }
+
+  private static long toPostgresMicros(long epochSecond, int nanos) {
+    return epochSecond * 1000000L + nanos / 1000 - POSTGRES_EPOCH_MICROS;
+  }
+
+  /**
+   * Writes an {@code int2[]} field.
+   *
+   * @param values the elements, null for NULL
+   * @return this writer
+   * @throws SQLException if the row is already complete or the copy failed
+   */
+  public BinaryCopyWriter writeArray(short[] values) throws SQLException {
+    if (values == null) {
+      return writeNull();
+    }
+    byte[] array = new byte[arrayHeaderLength(values.length) + values.length * 6];
+    int pos = arrayHeader(array, Oid.INT2, values.length, false);
+    for (short value : values) {
+      ByteConverter.int4(array, pos, 2);
+      ByteConverter.int2(array, pos + 4, value);
+      pos += 6;
+    }
+    return writeBytes(array);
+  }
+
+  /**
+   * Writes an {@code int4[]} field.
+   *
+   * @param values the elements, null for NULL
+   * @return this writer
+   * @throws SQLException if the row is already complete or the copy failed
+   */
+  public BinaryCopyWriter writeArray(int[] values) throws SQLException {
+    if (values == null) {
+      return writeNull();
+    }
+    byte[] array = new byte[arrayHeaderLength(values.length) + values.length * 8];
+    int pos = arrayHeader(array, Oid.INT4, values.length, false);
+    for (int value : values) {
+      ByteConverter.int4(array, pos, 4);
+      ByteConverter.int4(array, pos + 4, value);
+      pos += 8;
+    }
+    return writeBytes(array);
+  }
+
+  /**
+   * Writes an {@code int8[]} field.
+   *
+   * @param values the elements, null for NULL
+   * @return this writer
+   * @throws SQLException if the row is already complete or the copy failed
+   */
+  public BinaryCopyWriter writeArray(long[] values) throws SQLException {
+    if (values == null) {
+      return writeNull();
+    }
+    byte[] array = new byte[arrayHeaderLength(values.length) + values.length * 12];
+    int pos = arrayHeader(array, Oid.INT8, values.length, false);
+    for (long value : values) {
+      ByteConverter.int4(array, pos, 8);
+      ByteConverter.int8(array, pos + 4, value);
+      pos += 12;
+    }
+    return writeBytes(array);
+  }
+
+  /**
+   * Writes a {@code float4[]} field.
+   *
+   * @param values the elements, null for NULL
+   * @return this writer
+   * @throws SQLException if the row is already complete or the copy failed
+   */
+  public BinaryCopyWriter writeArray(float[] values) throws SQLException {
+    if (values == null) {
+      return writeNull();
+    }
+    byte[] array = new byte[arrayHeaderLength(values.length) + values.length * 8];
+    int pos = arrayHeader(array, Oid.FLOAT4, values.length, false);
+    for (float value : values) {
+      ByteConverter.int4(array, pos, 4);
+      ByteConverter.float4(array, pos + 4, value);
+      pos += 8;
+    }
+    return writeBytes(array);
+  }
+
+  /**
+   * Writes a {@code float8[]} field.
+   *
+   * @param values the elements, null for NULL
+   * @return this writer
+   * @throws SQLException if the row is already complete or the copy failed
+   */
+  public BinaryCopyWriter writeArray(double[] values) throws SQLException {
+    if (values == null) {
+      return writeNull();
+    }
+    byte[] array = new byte[arrayHeaderLength(values.length) + values.length * 12];
+    int pos = arrayHeader(array, Oid.FLOAT8, values.length, false);
+    for (double value : values) {
+      ByteConverter.int4(array, pos, 8);
+      ByteConverter.float8(array, pos + 4, value);
+      pos += 12;
+    }
+    return writeBytes(array);
+  }
+
+  /**
+   * Writes a {@code bool[]} field.
+   *
+   * @param values the elements, null for NULL
+   * @return this writer
+   * @throws SQLException if the row is already complete or the copy failed
+   */
+  public BinaryCopyWriter writeArray(boolean[] values) throws SQLException {
+    if (values == null) {
+      return writeNull();
+    }
+    byte[] array = new byte[arrayHeaderLength(values.length) + values.length * 5];
+    int pos = arrayHeader(array, Oid.BOOL, values.length, false);
+    for (boolean value : values) {
+      ByteConverter.int4(array, pos, 1);
+      ByteConverter.bool(array, pos + 4, value);
+      pos += 5;
+    }
+    return writeBytes(array);
+  }
+
+  /**
+   * Writes a {@code text[]} field. Null elements are written as NULL.
+   *
+   * @param values the elements, null for NULL
+   * @return this writer
+   * @throws SQLException if the row is already complete or the copy failed
+   */
+  public BinaryCopyWriter writeArray(String[] values) throws SQLException {
+    return writeArray(Oid.TEXT, values);
+  }
+
+  /**
+   * Writes a one-dimensional array field of a string type such as {@code varchar[]}. The element
+   * type must match the column's exactly. Null elements are written as NULL.
+   *
+   * @param elementOid type of the elements: {@link Oid#TEXT}, {@link Oid#VARCHAR}, ...
+   * @param values the elements, null for NULL
+   * @return this writer
+   * @throws SQLException if the row is already complete or the copy failed
+   */
+  public BinaryCopyWriter writeArray(int elementOid, String[] values) throws SQLException {
+    if (values == null) {
+      return writeNull();
+    }
+    byte[][] elements = new byte[values.length][];
+    boolean hasNulls = false;
+    int length = arrayHeaderLength(values.length) + 4 * values.length;
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] == null) {
+        hasNulls = true;
+      } else {
+        elements[i] = values[i].getBytes(UTF_8);
+        length += elements[i].length;
+      }
+    }
+    byte[] array = new byte[length];
+    int pos = arrayHeader(array, elementOid, values.length, hasNulls);
+    for (byte[] element : elements) {
+      if (element == null) {
+        ByteConverter.int4(array, pos, -1);
+        pos += 4;
+      } else {
+        ByteConverter.int4(array, pos, element.length);
+        System.arraycopy(element, 0, array, pos + 4, element.length);
+        pos += 4 + element.length;
+      }
+    }
+    return writeBytes(array);
+  }
+
+  private static int arrayHeaderLength(int count) {
+    return count == 0 ? 12 : 20;
+  }
+
+  /**
+   * Writes the header of a one-dimensional array: an empty array has no dimensions.
+   *
+   * @return position of the first element
+   */
+  private static int arrayHeader(byte[] target, int elementOid, int count, boolean hasNulls) {
+    ByteConverter.int4(target, 0, count == 0 ? 0 : 1);
+    ByteConverter.int4(target, 4, hasNulls ? 1 : 0);
+    ByteConverter.int4(target, 8, elementOid);
+    if (count == 0) {
+      return 12;
+    }
+    ByteConverter.int4(target, 12, count);
+    // lower bound
+    ByteConverter.int4(target, 16, 1);
+    return 20;
+  }
+
+  /**
+   * Finishes the copy operation successfully.
+   *
+   * @return number of rows copied
+   * @throws SQLException if the last row is incomplete or the copy failed
+   */
+  public long endCopy() throws SQLException {
+    checkActive();
+    checkRowComplete();
+    // an empty binary copy still needs its header
+    writeHeader();
+    ensure(2);
+    // file trailer
+    ByteConverter.int2(buffer, at, -1);
+    at += 2;
+    flushBuffer();
+    long rows = op.endCopy();
+    op = null;
+    return rows;
+  }
+
+  /**
+   * Aborts the copy operation: nothing written so far is kept.
+   *
+   * @throws SQLException if cancelling failed
+   */
+  public void cancelCopy() throws SQLException {
+    if (op != null) {
+      CopyIn copy = op;
+      op = null;
+      if (copy.isActive()) {
+        copy.cancelCopy();
+      }
+    }
+  }
+
+  /**
+   * Cancels the copy operation unless {@link #endCopy()} completed it, so that a failure while
+   * writing rows does not commit a partial copy.
+   *
+   * @throws SQLException if cancelling failed
+   */
+  @Override
+  public void close() throws SQLException {
+    cancelCopy();
+  }
+
+  /**
+   * @return whether the copy operation is still in progress
+   */
+  public boolean isActive() {
+    return op != null && op.isActive();
+  }
+
+  private void writeHeader() throws SQLException {
+    if (headerWritten) {
+      return;
+    }
+    ensure(HEADER_LENGTH);
+    System.arraycopy(SIGNATURE, 0, buffer, at, SIGNATURE.length);
+    // flags and header extension length
+    ByteConverter.int4(buffer, at + SIGNATURE.length, 0);
+    ByteConverter.int4(buffer, at + SIGNATURE.length + 4, 0);
+    at += HEADER_LENGTH;
+    headerWritten = true;
+  }
+
+  private void checkActive() throws SQLException {
+    if (op == null) {
+      throw new PSQLException(GT.tr("This copy stream is closed."),
+          PSQLState.OBJECT_NOT_IN_STATE);
+    }
+  }
+
+  private void checkRowComplete() throws SQLException {
+    if (rowFields >= 0 && fieldsWritten != rowFields) {
+      throw new PSQLException(
+          GT.tr("COPY row has {0} fields, but {1} were written.", rowFields, fieldsWritten),
+          PSQLState.OBJECT_NOT_IN_STATE);
+    }
+  }
+
+  /**
+   * Starts a field: writes its length word and makes room in the buffer for its value.
+   */
+  private void field(int length) throws SQLException {
+    checkActive();
+    if (rowFields < 0 || fieldsWritten == rowFields) {
+      throw new PSQLException(
+          GT.tr("COPY row has {0} fields, but {1} were written.", Math.max(rowFields, 0),
+              fieldsWritten + 1),
+          PSQLState.OBJECT_NOT_IN_STATE);
+    }
+    fieldsWritten++;
+    ensure(4 + Math.max(length, 0));
+    ByteConverter.int4(buffer, at, length);
+    at += 4;
+  }
+
+  private void ensure(int length) throws SQLException {
+    if (at + length > buffer.length) {
+      flushBuffer();
+    }
+  }
+
+  private void flushBuffer() throws SQLException {
+    if (at > 0) {
+      op.writeToCopy(buffer, 0, at);
+      at = 0;
+    }
+  }
+}
@@ -18,6 +18,8 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Reader;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.sql.SQLException;
 
 /**
@@ -147,6 +149,63 @@ public class CopyManager {
     }
   }
 
+  /**
+   * Pass results of a COPY TO STDOUT query from database into a channel. The rows are written
+   * straight from the receive buffer of the connection, so no array is allocated per row.
+   *
+   * @param sql COPY TO STDOUT statement
+   * @param to the blocking channel to write the results to (row by row).
+   *           The channel is not closed at the end of the operation.
+   * @return number of rows updated for server 8.2 or newer; -1 for older
+   * @throws SQLException on database usage errors
+   * @throws IOException upon channel or database connection failure
+   */
+  public long copyOut(final String sql, final WritableByteChannel to)
+      throws SQLException, IOException {
+    return copyOut(sql, new CopyOutHandler() {
+      @Override
+      public void handleCopyData(ByteBuffer data) throws IOException {
+        while (data.hasRemaining()) {
+          to.write(data);
+        }
+      }
+    });
+  }
+
+  /**
+   * Pass results of a COPY TO STDOUT query from database to a handler, one row at a time. The
+   * handler gets a view over the receive buffer of the connection that is reused for every row.
+   *
+   * @param sql COPY TO STDOUT statement
+   * @param handler the handler that consumes the rows
+   * @return number of rows updated for server 8.2 or newer; -1 for older
+   * @throws SQLException on database usage errors
+   * @throws IOException upon handler or database connection failure
+   */
+  public long copyOut(final String sql, CopyOutHandler handler) throws SQLException, IOException {
+    CopyOut cp = copyOut(sql);
+    try {
+      while (cp.readFromCopy(handler)) {
+      }
+      return cp.getHandledRowCount();
+    } catch (IOException ioEX) {
+      // if not handled this way the close call will hang, at least in 8.2
+      if (cp.isActive()) {
+        cp.cancelCopy();
+      }
+      try { // read until exhausted or operation cancelled SQLException
+        while (cp.readFromCopy() != null) {
+        }
+      } catch (SQLException sqlEx) {
+      } // typically after several kB
+      throw ioEX;
+    } finally { // see to it that we do not leave the connection locked
+      if (cp.isActive()) {
+        cp.cancelCopy();
+      }
+    }
+  }
+
   /**
    * Use COPY FROM STDIN for very fast copying from a Reader into a database table.
    *
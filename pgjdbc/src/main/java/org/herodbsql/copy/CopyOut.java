@@ -5,6 +5,8 @@
 
 package org.herodbsql.copy;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.sql.SQLException;
 
 public interface CopyOut extends CopyOperation {
@@ -26,4 +28,45 @@ public interface CopyOut extends CopyOperation {
    * @throws SQLException if something goes wrong for example socket timeout
    */
   byte[] readFromCopy(boolean block) throws SQLException;
+
+  /**
+   * Blocks until a row of data is received from server and passes it to the handler. Unlike
+   * {@link #readFromCopy()} this does not need to allocate an array for every row; the driver's
+   * implementation hands out a view over the receive buffer of the connection.
+   *
+   * @param handler the handler that consumes the row
+   * @return false if the server completed the copy operation and no row was read
+   * @throws SQLException if something goes wrong for example socket timeout
+   * @throws IOException if the handler failed
+   */
+  default boolean readFromCopy(CopyOutHandler handler) throws SQLException, IOException {
+    byte[] buf = readFromCopy();
+    if (buf == null) {
+      return false;
+    }
+    handler.handleCopyData(ByteBuffer.wrap(buf));
+    return true;
+  }
+
+  /**
+   * Passes a row of data received from server to the handler, see
+   * {@link #readFromCopy(CopyOutHandler)}.
+   *
+   * @param handler the handler that consumes the row
+   * @param block {@code true} if need wait data from server otherwise {@code false} and will read
+   *              pending message from server
+   * @return false if no row was read, because the server completed the copy operation or no
+   *         message was pending in no blocking mode
+   * @throws SQLException if something goes wrong for example socket timeout
+   * @throws IOException if the handler failed
+   */
+  default boolean readFromCopy(CopyOutHandler handler, boolean block)
+      throws SQLException, IOException {
+    byte[] buf = readFromCopy(block);
+    if (buf == null) {
+      return false;
+    }
+    handler.handleCopyData(ByteBuffer.wrap(buf));
+    return true;
+  }
 }
@@ -0,0 +1,26 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.copy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Receives the data of a COPY TO STDOUT operation one CopyData message at a time.
+ *
+ * @see CopyManager#copyOut(String, CopyOutHandler)
+ */
+public interface CopyOutHandler {
+  /**
+   * Consumes the bytes between the position and the limit of {@code data}. The buffer is a read
+   * only view over the receive buffer of the connection; it is reused for the next message and must
+   * not be retained after this method returns.
+   *
+   * @param data the content of one CopyData message, usually one row
+   * @throws IOException if the data could not be consumed; the copy is then cancelled
+   */
+  void handleCopyData(ByteBuffer data) throws IOException;
+}
@@ -0,0 +1,502 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.copy;
+
+import org.herodbsql.PGConnection;
+import org.herodbsql.util.GT;
+import org.herodbsql.util.PSQLException;
+import org.herodbsql.util.PSQLState;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+/**
+ * Loads data with several concurrent {@code COPY FROM STDIN} operations, each on its own
+ * connection, so that the load is not limited to the single server process behind one connection.
+ *
+ * <p>The input, in COPY's text or CSV format, is cut at row boundaries into chunks which the
+ * streams take from a bounded queue: reading the input blocks while all streams are busy. Each
+ * stream commits its share of the rows when the input is exhausted, explicitly if its connection
+ * is not in autocommit mode. If a stream fails, the load
+ * stops and the streams that have not finished are cancelled, so their rows are not kept; the load
+ * is therefore not atomic only if a stream fails while the others are already committing.</p>
+ *
+ * <pre>
+ * long rows = new ParallelCopyLoader(dataSource, "COPY t FROM STDIN (FORMAT csv)")
+ *     .setStreams(4)
+ *     .setCsv(true)
+ *     .load(inputStream);
+ * </pre>
+ *
+ * <p>The row order is not preserved across streams. The {@code HEADER} option must not be used,
+ * every stream would skip its first row; skip header lines before handing the input over.</p>
+ */
+public class ParallelCopyLoader {
+  private static final Logger LOGGER = Logger.getLogger(ParallelCopyLoader.class.getName());
+
+  /**
+   * Receives the progress of a load. It is called from the threads running the streams, after each
+   * chunk, and must be thread safe.
+   */
+  public interface ProgressListener {
+    /**
+     * @param rows rows sent to the server so far, by all streams
+     * @param bytes bytes sent to the server so far, by all streams
+     */
+    void progress(long rows, long bytes);
+  }
+
+  private static final AtomicInteger LOAD_COUNTER = new AtomicInteger();
+
+  private final DataSource dataSource;
+  private final String sql;
+  private int streams = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+  private int chunkSize = CopyManager.DEFAULT_BUFFER_SIZE * 16;
+  private int queueCapacity = 0;
+  private boolean csv;
+  private byte quote = '"';
+  private byte escape = '"';
+  private ProgressListener progressListener;
+
+  /**
+   * @param dataSource provides a connection per stream
+   * @param sql COPY FROM STDIN statement, in text or CSV format, without the HEADER option
+   */
+  public ParallelCopyLoader(DataSource dataSource, String sql) {
+    this.dataSource = dataSource;
+    this.sql = sql;
+  }
+
+  /**
+   * @param streams number of concurrent COPY operations (and connections)
+   * @return this loader
+   */
+  public ParallelCopyLoader setStreams(int streams) {
+    if (streams < 1) {
+      throw new IllegalArgumentException("streams must be positive: " + streams);
+    }
+    this.streams = streams;
+    return this;
+  }
+
+  /**
+   * @param chunkSize size in bytes of the pieces of input handed to the streams. A single row
+   *     larger than this is handed over as a larger chunk.
+   * @return this loader
+   */
+  public ParallelCopyLoader setChunkSize(int chunkSize) {
+    if (chunkSize < 1) {
+      throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+    }
+    this.chunkSize = chunkSize;
+    return this;
+  }
+
+  /**
+   * @param queueCapacity number of chunks read ahead of the streams, by default twice the number
+   *     of streams
+   * @return this loader
+   */
+  public ParallelCopyLoader setQueueCapacity(int queueCapacity) {
+    if (queueCapacity < 1) {
+      throw new IllegalArgumentException("queueCapacity must be positive: " + queueCapacity);
+    }
+    this.queueCapacity = queueCapacity;
+    return this;
+  }
+
+  /**
+   * Whether the input is in CSV format, where a quoted value may contain line breaks.
+   *
+   * @param csv true for CSV input, false (the default) for text format
+   * @return this loader
+   */
+  public ParallelCopyLoader setCsv(boolean csv) {
+    this.csv = csv;
+    return this;
+  }
+
+  /**
+   * @param quote quote character of the CSV input, {@code "} by default
+   * @return this loader
+   */
+  public ParallelCopyLoader setCsvQuote(char quote) {
+    if (quote > 127) {
+      throw new IllegalArgumentException("quote must be a single-byte character: " + quote);
+    }
+    this.quote = (byte) quote;
+    return this;
+  }
+
+  /**
+   * @param escape escape character of the CSV input, {@code "} by default. Must match the
+   *     {@code ESCAPE} option of the COPY statement when that differs from its {@code QUOTE}.
+   * @return this loader
+   */
+  public ParallelCopyLoader setCsvEscape(char escape) {
+    if (escape > 127) {
+      throw new IllegalArgumentException("escape must be a single-byte character: " + escape);
+    }
+    this.escape = (byte) escape;
+    return this;
+  }
+
+  /**
+   * @param progressListener receives the progress of the loads, null for none
+   * @return this loader
+   */
+  public ParallelCopyLoader setProgressListener(ProgressListener progressListener) {
+    this.progressListener = progressListener;
+    return this;
+  }
+
+  /**
+   * Loads the rows read from the input stream. The stream is not closed.
+   *
+   * @param from rows in the format of the COPY statement, separated by line breaks
+   * @return number of rows copied
+   * @throws SQLException if a stream failed; further failures are chained to it
+   * @throws IOException if reading the input failed
+   */
+  public long load(final InputStream from) throws SQLException, IOException {
+    return run(new Producer() {
+      @Override
+      public void produce(Load load) throws IOException, InterruptedException {
+        byte[] buf = new byte[chunkSize];
+        int filled = 0;
+        int scanned = 0;
+        // end of the last complete row in buf, and the number of complete rows
+        int boundary = 0;
+        int rows = 0;
+        boolean inQuote = false;
+        int n;
+        while ((n = from.read(buf, filled, buf.length - filled)) >= 0) {
+          filled += n;
+          for (; scanned < filled; scanned++) {
+            byte b = buf[scanned];
+            if (csv && inQuote && b == escape && escape != quote) {
+              if (scanned + 1 == filled) {
+                // depends on the next byte, which has not been read yet
+                break;
+              }
+              byte next = buf[scanned + 1];
+              if (next == quote || next == escape) {
+                scanned++;
+              }
+            } else if (csv && b == quote) {
+              // a doubled quote toggles twice and leaves the state unchanged
+              inQuote = !inQuote;
+            } else if (b == '\n' && !inQuote) {
+              boundary = scanned + 1;
+              rows++;
+            }
+          }
+          if (filled < buf.length) {
+            continue;
+          }
+          if (boundary == 0) {
+            // a single row larger than the buffer
+            buf = Arrays.copyOf(buf, buf.length * 2);
+            continue;
+          }
+          if (!load.put(new Chunk(Arrays.copyOf(buf, boundary), rows))) {
+            return;
+          }
+          System.arraycopy(buf, boundary, buf, 0, filled - boundary);
+          filled -= boundary;
+          scanned -= boundary;
+          boundary = 0;
+          rows = 0;
+          if (buf.length > chunkSize && filled < chunkSize) {
+            buf = Arrays.copyOf(buf, chunkSize);
+          }
+        }
+        if (filled > boundary) {
+          // last row without a line break
+          byte[] last = Arrays.copyOf(buf, filled + 1);
+          last[filled] = '\n';
+          load.put(new Chunk(last, rows + 1));
+        } else if (filled > 0) {
+          load.put(new Chunk(Arrays.copyOf(buf, filled), rows));
+        }
+      }
+    });
+  }
+
+  /**
+   * Loads the given rows.
+   *
+   * @param rows rows in the format of the COPY statement, each terminated by a line break
+   * @return number of rows copied
+   * @throws SQLException if a stream failed; further failures are chained to it
+   */
+  public long load(final Iterator<byte[]> rows) throws SQLException {
+    try {
+      return run(new Producer() {
+        @Override
+        public void produce(Load load) throws InterruptedException {
+          byte[] buf = new byte[chunkSize];
+          int filled = 0;
+          int count = 0;
+          while (rows.hasNext()) {
+            byte[] row = rows.next();
+            if (filled > 0 && filled + row.length > buf.length) {
+              if (!load.put(new Chunk(Arrays.copyOf(buf, filled), count))) {
+                return;
+              }
+              filled = 0;
+              count = 0;
+            }
+            if (row.length > buf.length) {
+              if (!load.put(new Chunk(row.clone(), 1))) {
+                return;
+              }
+              continue;
+            }
+            System.arraycopy(row, 0, buf, filled, row.length);
+            filled += row.length;
+            count++;
+          }
+          if (filled > 0) {
+            load.put(new Chunk(Arrays.copyOf(buf, filled), count));
+          }
+        }
+      });
+    } catch (IOException e) {
+      // the producer does no I/O
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private interface Producer {
+    void produce(Load load) throws IOException, InterruptedException;
+  }
+
+  private static final class Chunk {
+    final byte[] data;
+    final int rows;
+
+    Chunk(byte[] data, int rows) {
+      this.data = data;
+      this.rows = rows;
+    }
+  }
+
+  // tells a stream that there is no more input
+  private static final Chunk END = new Chunk(new byte[0], 0);
+
+  /**
+   * State of one load shared by the reading thread and the streams.
+   */
+  private final class Load {
+    final BlockingQueue<Chunk> queue;
+    final AtomicLong rowsSent = new AtomicLong();
+    final AtomicLong bytesSent = new AtomicLong();
+    volatile boolean aborted;
+
+    Load(int capacity) {
+      queue = new ArrayBlockingQueue<Chunk>(capacity);
+    }
+
+    /**
+     * Hands a chunk over to the streams, waiting while the queue is full.
+     *
+     * @return false if the load was aborted
+     */
+    boolean put(Chunk chunk) throws InterruptedException {
+      while (!aborted) {
+        if (queue.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    void sent(Chunk chunk) {
+      long rows = rowsSent.addAndGet(chunk.rows);
+      long bytes = bytesSent.addAndGet(chunk.data.length);
+      ProgressListener listener = progressListener;
+      if (listener != null) {
+        listener.progress(rows, bytes);
+      }
+    }
+  }
+
+  private long run(Producer producer) throws SQLException, IOException {
+    final int capacity = Math.max(queueCapacity > 0 ? queueCapacity : 2 * streams, streams);
+    final Load load = new Load(capacity);
+    final int loadNumber = LOAD_COUNTER.incrementAndGet();
+    ExecutorService executor = Executors.newFixedThreadPool(streams, new ThreadFactory() {
+      private final AtomicInteger threadNumber = new AtomicInteger();
+
+      @Override
+      public Thread newThread(Runnable r) {
+        Thread thread = new Thread(r, "HeroDB JDBC parallel COPY " + loadNumber + "-"
+            + threadNumber.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+
+    List<Future<Long>> results = new ArrayList<Future<Long>>(streams);
+    Throwable producerFailure = null;
+    try {
+      for (int i = 0; i < streams; i++) {
+        results.add(executor.submit(new Callable<Long>() {
+          @Override
+          public Long call() throws SQLException {
+            return stream(load);
+          }
+        }));
+      }
+      try {
+        producer.produce(load);
+      } catch (IOException e) {
+        producerFailure = e;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        producerFailure = e;
+      } catch (RuntimeException e) {
+        producerFailure = e;
+      }
+      if (producerFailure != null) {
+        load.aborted = true;
+        load.queue.clear();
+      }
+      // the queue holds at least one chunk per stream: once the streams are done or the queue was
+      // cleared, there is room for the end markers
+      for (int i = 0; i < streams; i++) {
+        while (!load.queue.offer(END, 100, TimeUnit.MILLISECONDS)) {
+          if (load.aborted) {
+            load.queue.clear();
+          }
+        }
+      }
+
+      long rows = 0;
+      SQLException failure = null;
+      for (Future<Long> result : results) {
+        try {
+          rows += result.get();
+        } catch (ExecutionException e) {
+          SQLException streamFailure = e.getCause() instanceof SQLException
+              ? (SQLException) e.getCause()
+              : new PSQLException(GT.tr("Parallel COPY stream failed."), PSQLState.UNKNOWN_STATE,
+                  e.getCause());
+          if (failure == null) {
+            failure = streamFailure;
+          } else if (failure != streamFailure) {
+            failure.setNextException(streamFailure);
+          }
+        }
+      }
+      if (producerFailure instanceof IOException) {
+        throw (IOException) producerFailure;
+      } else if (producerFailure instanceof RuntimeException) {
+        throw (RuntimeException) producerFailure;
+      } else if (producerFailure != null) {
+        throw new PSQLException(GT.tr("Parallel COPY was interrupted."), PSQLState.UNKNOWN_STATE,
+            producerFailure);
+      }
+      if (failure != null) {
+        throw failure;
+      }
+      return rows;
+    } catch (InterruptedException e) {
+      load.aborted = true;
+      Thread.currentThread().interrupt();
+      throw new PSQLException(GT.tr("Parallel COPY was interrupted."), PSQLState.UNKNOWN_STATE, e);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Runs one COPY operation until the end marker, or until the load is aborted.
+   */
+  private long stream(Load load) throws SQLException {
+    try {
+      Connection connection = dataSource.getConnection();
+      boolean committed = false;
+      try {
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+        try {
+          while (true) {
+            Chunk chunk = load.queue.take();
+            if (chunk == END || load.aborted) {
+              break;
+            }
+            copyIn.writeToCopy(chunk.data, 0, chunk.data.length);
+            load.sent(chunk);
+          }
+          if (load.aborted) {
+            copyIn.cancelCopy();
+            return 0;
+          }
+          long rows = copyIn.endCopy();
+          if (!connection.getAutoCommit()) {
+            // e.g. a pooled connection configured without autocommit
+            connection.commit();
+          }
+          committed = true;
+          return rows;
+        } finally {
+          // see to it that we do not leave the connection locked
+          if (copyIn.isActive()) {
+            copyIn.cancelCopy();
+          }
+        }
+      } finally {
+        try {
+          if (!committed && !connection.isClosed() && !connection.getAutoCommit()) {
+            connection.rollback();
+          }
+        } catch (SQLException e) {
+          LOGGER.log(Level.FINE, "Could not roll back a parallel COPY stream", e);
+        } finally {
+          connection.close();
+        }
+      }
+    } catch (SQLException e) {
+      abort(load, e);
+      throw e;
+    } catch (InterruptedException e) {
+      load.aborted = true;
+      throw new PSQLException(GT.tr("Parallel COPY was interrupted."), PSQLState.UNKNOWN_STATE, e);
+    } catch (RuntimeException e) {
+      abort(load, e);
+      throw e;
+    }
+  }
+
+  private void abort(Load load, Exception e) {
+    if (!load.aborted) {
+      LOGGER.log(Level.FINE, "Parallel COPY stream failed, cancelling the other streams", e);
+    }
+    load.aborted = true;
+  }
+}
@@ -20,6 +20,7 @@ public class CachedQuery implements CanEstimateSize {
   public final boolean isFunction;
 
   private int executeCount;
+  private PrepareStatistics prepareStatistics;
 
   public CachedQuery(Object key, Query query, boolean isFunction) {
     assert key instanceof String || key instanceof CanEstimateSize
@@ -52,6 +53,18 @@ public class CachedQuery implements CanEstimateSize {
     return executeCount;
   }
 
+  /**
+   * Statistics kept by the adaptive prepare policy, created on first use.
+   *
+   * @return statistics of this query
+   */
+  public synchronized PrepareStatistics getPrepareStatistics() {
+    if (prepareStatistics == null) {
+      prepareStatistics = new PrepareStatistics();
+    }
+    return prepareStatistics;
+  }
+
   @Override
   public long getSize() {
     long queryLength;
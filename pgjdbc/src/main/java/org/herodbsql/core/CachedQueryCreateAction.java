@@ -17,9 +17,19 @@ import java.util.List;
 class CachedQueryCreateAction implements LruCache.CreateAction<Object, CachedQuery> {
   private static final String[] EMPTY_RETURNING = new String[0];
   private final QueryExecutor queryExecutor;
+  private final SharedQueryCache sharedCache;
 
   CachedQueryCreateAction(QueryExecutor queryExecutor) {
+    this(queryExecutor, null);
+  }
+
+  /**
+   * @param queryExecutor the connection the queries are created for
+   * @param sharedCache the JVM-wide cache of parsed queries, or null to always parse
+   */
+  CachedQueryCreateAction(QueryExecutor queryExecutor, SharedQueryCache sharedCache) {
     this.queryExecutor = queryExecutor;
+    this.sharedCache = sharedCache;
   }
 
   @Override
@@ -27,6 +37,23 @@ class CachedQueryCreateAction implements LruCache.CreateAction<Object, CachedQue
     assert key instanceof String || key instanceof BaseQueryKey
         : "Query key should be String or BaseQueryKey. Given " + key.getClass() + ", sql: "
         + String.valueOf(key);
+    boolean isParameterized = key instanceof String || ((BaseQueryKey) key).isParameterized;
+    boolean splitStatements = isParameterized || queryExecutor.getPreferQueryMode().compareTo(PreferQueryMode.EXTENDED) >= 0;
+
+    SharedQueryCache.Key sharedKey = null;
+    if (sharedCache != null) {
+      boolean isCallable = key instanceof CallableQueryKey;
+      sharedKey = new SharedQueryCache.Key(key, queryExecutor.getStandardConformingStrings(),
+          splitStatements, queryExecutor.isReWriteBatchedInsertsEnabled(),
+          isCallable ? queryExecutor.getServerVersionNum() : 0,
+          isCallable ? queryExecutor.getProtocolVersion() : 0,
+          isCallable ? queryExecutor.getEscapeSyntaxCallMode() : null);
+      SharedQueryCache.ParsedQuery parsed = sharedCache.get(sharedKey);
+      if (parsed != null) {
+        return new CachedQuery(key, queryExecutor.wrap(parsed.queries), parsed.isFunction);
+      }
+    }
+
     BaseQueryKey queryKey;
     String parsedSql;
     if (key instanceof BaseQueryKey) {
@@ -50,8 +77,6 @@ class CachedQueryCreateAction implements LruCache.CreateAction<Object, CachedQue
     } else {
       isFunction = false;
     }
-    boolean isParameterized = key instanceof String || queryKey.isParameterized;
-    boolean splitStatements = isParameterized || queryExecutor.getPreferQueryMode().compareTo(PreferQueryMode.EXTENDED) >= 0;
 
     String[] returningColumns;
     if (key instanceof QueryWithReturningColumnsKey) {
@@ -63,6 +88,9 @@ class CachedQueryCreateAction implements LruCache.CreateAction<Object, CachedQue
     List<NativeQuery> queries = Parser.parseJdbcSql(parsedSql,
         queryExecutor.getStandardConformingStrings(), isParameterized, splitStatements,
         queryExecutor.isReWriteBatchedInsertsEnabled(), returningColumns);
+    if (sharedKey != null) {
+      queries = sharedCache.put(sharedKey, queries, isFunction).queries;
+    }
 
     Query query = queryExecutor.wrap(queries);
     return new CachedQuery(key, query, isFunction);
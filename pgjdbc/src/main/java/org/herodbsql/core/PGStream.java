@@ -5,12 +5,14 @@
 
 package org.herodbsql.core;
 
+import org.herodbsql.util.ByteConverter;
 import org.herodbsql.util.ByteStreamWriter;
 import org.herodbsql.util.GT;
 import org.herodbsql.util.HostSpec;
 import org.herodbsql.util.PGPropertyMaxResultBufferParser;
 import org.herodbsql.util.PSQLException;
 import org.herodbsql.util.PSQLState;
+import org.herodbx.herossl.HeroSSLSocket;
 
 import java.io.BufferedOutputStream;
 import java.io.Closeable;
@@ -19,11 +21,13 @@ import java.io.FilterOutputStream;
 import java.io.Flushable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.io.Writer;
 import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
 import java.sql.SQLException;
 import java.util.logging.Logger;
 import javax.net.SocketFactory;
@@ -45,6 +49,8 @@ public class PGStream implements Closeable, Flushable {
   private final byte[] int2Buf;
 
   private Socket connection;
+  // SO_RCVBUF and SO_SNDBUF of the TCP socket as reported by the OS, 0 if unknown
+  private int receiveBufferSize;
   private VisibleBufferedInputStream pgInput;
   private OutputStream pgOutput;
   private byte[] streamBuffer;
@@ -64,6 +70,15 @@ public class PGStream implements Closeable, Flushable {
   private InputStream inStream;
   private OutputStream outputStream;
   private int mode;    // file mode (create, read)
+  private ByteBuffer fileBuffer; // reused by every file operation on this connection
+  // fileBuffer is kept up to this size, the chunk size of the file operations
+  private static final int MAX_FILE_BUFFER = 64 * 1024;
+
+  // messages up to this size are handed out as views over the receive buffer, larger ones are
+  // read into a file buffer so that a single huge row does not grow the receive buffer for good
+  private static final int MAX_RECEIVE_VIEW = 8192;
+  private ByteBuffer receiveView;
+  private byte[] receiveViewArray; // the buffer of pgInput that receiveView wraps
 
   public int getMode() {
     return mode;
@@ -89,6 +104,26 @@ public class PGStream implements Closeable, Flushable {
     this.outputStream = outputStream;
   }
 
+  /**
+   * Returns the heap buffer shared by the file operations of this connection, cleared and with at
+   * least the requested capacity. The buffer grows up to 64 kB, so a transfer in chunks of that
+   * size uses constant memory. Larger requests get a buffer of their own that is not kept, so a
+   * single huge message does not hold its memory for the life of the connection.
+   *
+   * @param capacity minimum capacity in bytes
+   * @return the cleared buffer, backed by an accessible array
+   */
+  public ByteBuffer getFileBuffer(int capacity) {
+    if (capacity > MAX_FILE_BUFFER) {
+      return ByteBuffer.allocate(capacity);
+    }
+    if (fileBuffer == null || fileBuffer.capacity() < capacity) {
+      fileBuffer = ByteBuffer.allocate(capacity);
+    }
+    fileBuffer.clear();
+    return fileBuffer;
+  }
+
   public void sendInteger2b(int val) throws IOException {
     if (val < 0 || val > 65535) { //顾法华，已确认，在批量插入时，服务端是接收 16位无符号整形的。2020年9月25日 18:35:59
       throw new IOException("Tried to send an out-of-range integer as a 2-byte value: " + val);
@@ -158,13 +193,16 @@ public class PGStream implements Closeable, Flushable {
         }
       } catch (Exception e) {
         logger.warning("第" + (i + 1) + "次连接服务器出错：" + e.getMessage());
-        if (i + 1 > tryTimes) {
+        // 最后一次失败或并行连接已放弃本次尝试时不再等待重连。
+        if (i + 1 >= tryTimes || Thread.currentThread().isInterrupted()) {
           throw e;
         }
       }
       try {
         Thread.sleep(1000);
-      } catch (Exception e) {
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("连接herodb服务器时被中断。");
       }
     }
 
@@ -266,15 +304,36 @@ public class PGStream implements Closeable, Flushable {
     // really need to.
     connection.setTcpNoDelay(true);
 
-    // Buffer sizes submitted by Sverre H Huseby <sverrehu@online.no>
-    pgInput = new VisibleBufferedInputStream(connection.getInputStream(), 8192);
-    pgOutput = new BufferedOutputStream(connection.getOutputStream(), 8192);
+    // HeroSSLSocket works on the file descriptor of the original socket and does not know its
+    // options; keep the size read from the original socket.
+    if (!(connection instanceof HeroSSLSocket)) {
+      receiveBufferSize = connection.getReceiveBufferSize();
+    }
+
+    if (connection instanceof HeroSSLSocket) {
+      // HeroOutputStream already coalesces writes into full TLS records and only calls into
+      // native code on a full record or an explicit flush, so another buffer would just copy.
+      pgInput = new VisibleBufferedInputStream(connection.getInputStream(),
+          HeroSSLSocket.MAX_RECORD_SIZE);
+      pgOutput = connection.getOutputStream();
+    } else {
+      // Buffer sizes submitted by Sverre H Huseby <sverrehu@online.no>
+      pgInput = new VisibleBufferedInputStream(connection.getInputStream(), 8192);
+      pgOutput = new BufferedOutputStream(connection.getOutputStream(), 8192);
+    }
 
     if (encoding != null) {
       setEncoding(encoding);
     }
   }
 
+  /**
+   * @return SO_RCVBUF of the underlying TCP socket as reported by the OS, or 0 if unknown
+   */
+  public int getReceiveBufferSize() {
+    return receiveBufferSize;
+  }
+
   public Encoding getEncoding() {
     return encoding;
   }
@@ -563,30 +622,40 @@ public class PGStream implements Closeable, Flushable {
   public Tuple receiveTupleV3() throws IOException, OutOfMemoryError, SQLException {
     int messageSize = receiveInteger4(); // MESSAGE SIZE
     int nf = receiveInteger2();
-    //size = messageSize - 4 bytes of message size - 2 bytes of field count - 4 bytes for each column length
-    int dataToReadSize = messageSize - 4 - 2 - 4 * nf;
-    byte[][] answer = new byte[nf][];
+    // column length words and column data: messageSize - 4 bytes of message size - 2 bytes of field count
+    int packedSize = messageSize - 4 - 2;
+    //size = packedSize - 4 bytes for each column length
+    int dataToReadSize = packedSize - 4 * nf;
 
     increaseByteCounter(dataToReadSize);
-    OutOfMemoryError oom = null;
+    // The whole row is kept in one array; the columns are only copied or decoded when they are read.
+    byte[] packed;
+    int[] offsets;
+    try {
+      packed = new byte[packedSize];
+      offsets = new int[nf];
+    } catch (OutOfMemoryError oome) {
+      skip(packedSize);
+      throw oome;
+    }
+    receive(packed, 0, packedSize);
+
+    int offset = 0;
     for (int i = 0; i < nf; ++i) {
-      int size = receiveInteger4();
-      if (size != -1) {
-        try {
-          answer[i] = new byte[size];
-          receive(answer[i], 0, size);
-        } catch (OutOfMemoryError oome) {
-          oom = oome;
-          skip(size);
-        }
+      offsets[i] = offset;
+      int size = ByteConverter.int4(packed, offset);
+      offset += 4;
+      if (size > 0) {
+        offset += size;
       }
     }
-
-    if (oom != null) {
-      throw oom;
+    if (offset != packedSize) {
+      throw new PSQLException(
+          GT.tr("Malformed DataRow message: column lengths do not add up to the message length."),
+          PSQLState.PROTOCOL_VIOLATION);
     }
 
-    return new Tuple(answer);
+    return new Tuple(packed, offsets);
   }
 
   /**
@@ -622,6 +691,39 @@ public class PGStream implements Closeable, Flushable {
     }
   }
 
+  /**
+   * Reads in a given number of bytes from the backend without copying them into a new array. The
+   * returned read only buffer holds the bytes between its position and limit and is only valid until
+   * the next read from this stream.
+   *
+   * @param siz number of bytes to read
+   * @return view of the received bytes
+   * @throws IOException if a data I/O error occurs
+   */
+  public ByteBuffer receiveBuffer(int siz) throws IOException {
+    if (siz > MAX_RECEIVE_VIEW) {
+      ByteBuffer buf = getFileBuffer(siz);
+      receive(buf.array(), 0, siz);
+      buf.limit(siz);
+      return buf.asReadOnlyBuffer();
+    }
+    if (!pgInput.ensureBytes(siz)) {
+      throw new EOFException();
+    }
+    byte[] buffer = pgInput.getBuffer();
+    if (buffer != receiveViewArray) {
+      // the input stream replaces its buffer when it grows
+      receiveViewArray = buffer;
+      receiveView = ByteBuffer.wrap(buffer).asReadOnlyBuffer();
+    }
+    int index = pgInput.getIndex();
+    receiveView.clear();
+    receiveView.position(index);
+    receiveView.limit(index + siz);
+    pgInput.skip(siz);
+    return receiveView;
+  }
+
   public void skip(int size) throws IOException {
     long s = 0;
     while (s < size) {
@@ -191,6 +191,16 @@ public interface ParameterList {
    */
   String toString(int index, boolean standardConformingStrings);
 
+  /**
+   * Return a particular parameter in the text format of {@code COPY ... FROM STDIN}: escaped, and
+   * {@code \N} for NULL. Binary parameters are converted where their text form is known.
+   *
+   * @param index the 1-based parameter index.
+   * @return the COPY text of the parameter, or null if the parameter is not bound or can't be
+   *     represented (streams, and binary values of other types).
+   */
+  String toCopyText(int index);
+
   /**
    * Use this operation to append more parameters to the current list.
    * @param list of parameters to append with.
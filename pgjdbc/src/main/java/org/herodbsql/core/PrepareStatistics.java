@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.core;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Execution statistics of a {@link CachedQuery} and the decision of the adaptive prepare policy
+ * ({@link org.herodbsql.PGProperty#ADAPTIVE_PREPARE}) about using a named server statement for it.
+ *
+ * <p>A query is prepared once it has been executed {@code prepareThreshold} times, or after its
+ * second execution when it runs more often than every {@value #HOT_INTERVAL_MILLIS} ms. Queries
+ * executed less often than every {@value #COLD_INTERVAL_SECONDS} s are never prepared, so they do
+ * not hold server statements. A prepared query whose executions turn out to be clearly slower than
+ * the unprepared ones, typically because the server switched to a bad generic plan, is demoted and
+ * its server statement closed. It is tried again after {@value #RETRY_EXECUTIONS} executions.</p>
+ *
+ * <p>Latencies are exponentially weighted averages of the time the whole execution takes, from
+ * sending the query until all its results, or the first fetch of a cursor, are received. The
+ * transfer of large results is included in both the prepared and the unprepared latencies, so it
+ * makes a slower plan less visible but does not favour either side.</p>
+ */
+public final class PrepareStatistics {
+  /**
+   * What the policy decided for the next execution of the query.
+   */
+  public enum Decision {
+    /** Executed with the unnamed statement until it qualifies. */
+    UNPREPARED,
+    /** Executed with a named server statement. */
+    PREPARED,
+    /** Was prepared, but ran slower than unprepared. */
+    DEMOTED
+  }
+
+  static final long HOT_INTERVAL_MILLIS = 100;
+  static final long COLD_INTERVAL_SECONDS = 60;
+  static final int MIN_PREPARED_SAMPLES = 8;
+  static final int RETRY_EXECUTIONS = 1000;
+  // prepared executions must be this much slower than unprepared ones to demote
+  private static final double DEMOTE_RATIO = 1.5;
+  private static final long HOT_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(HOT_INTERVAL_MILLIS);
+  private static final long COLD_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(COLD_INTERVAL_SECONDS);
+
+  private Decision decision = Decision.UNPREPARED;
+  private long executions;
+  private long lastExecution;
+  private long intervalNanos;
+  private int intervalSamples;
+  private long unpreparedNanos;
+  private int unpreparedSamples;
+  private long preparedNanos;
+  private int preparedSamples;
+  private boolean skipPreparedSample;
+  private long demotedAt;
+
+  private static long average(long average, int samples, long sample) {
+    return samples == 0 ? sample : average + (sample - average) / 8;
+  }
+
+  /**
+   * Records the start of an execution and decides whether it should use a named statement.
+   *
+   * @param executeCount {@link CachedQuery#getExecuteCount()} including this execution
+   * @param threshold the prepare threshold of the statement, greater than zero
+   * @param now {@link System#nanoTime()}
+   * @return true if the query should be executed as a named server statement
+   */
+  public synchronized boolean shouldPrepare(int executeCount, int threshold, long now) {
+    executions++;
+    if (executions > 1) {
+      intervalNanos = average(intervalNanos, intervalSamples++, now - lastExecution);
+    }
+    lastExecution = now;
+
+    if (decision == Decision.PREPARED) {
+      return true;
+    }
+    if (decision == Decision.DEMOTED) {
+      if (executions - demotedAt < RETRY_EXECUTIONS) {
+        return false;
+      }
+      // data and plans change, measure the prepared statement again
+      preparedSamples = 0;
+      decision = Decision.PREPARED;
+      skipPreparedSample = true;
+      return true;
+    }
+    boolean hot = intervalSamples > 0 && intervalNanos < HOT_INTERVAL_NANOS;
+    boolean cold = intervalSamples > 0 && intervalNanos > COLD_INTERVAL_NANOS;
+    if (hot && executeCount >= 2 || !cold && executeCount >= threshold) {
+      decision = Decision.PREPARED;
+      // the first execution also parses the statement
+      skipPreparedSample = true;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Records the latency of an execution.
+   *
+   * @param prepared whether the execution used a named server statement
+   * @param nanos duration of the execution, including the transfer of its results
+   * @return true if the query was demoted and its server statement should be closed
+   */
+  public synchronized boolean recordLatency(boolean prepared, long nanos) {
+    if (!prepared) {
+      unpreparedNanos = average(unpreparedNanos, unpreparedSamples++, nanos);
+      return false;
+    }
+    if (skipPreparedSample) {
+      skipPreparedSample = false;
+      return false;
+    }
+    preparedNanos = average(preparedNanos, preparedSamples++, nanos);
+    if (decision == Decision.PREPARED && preparedSamples >= MIN_PREPARED_SAMPLES
+        && unpreparedSamples > 0 && preparedNanos > unpreparedNanos * DEMOTE_RATIO) {
+      decision = Decision.DEMOTED;
+      demotedAt = executions;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * @return the decision for the next execution
+   */
+  public synchronized Decision getDecision() {
+    return decision;
+  }
+
+  /**
+   * @return number of executions seen by the policy
+   */
+  public synchronized long getExecutions() {
+    return executions;
+  }
+
+  /**
+   * @return average time between executions in nanoseconds, 0 before the second execution
+   */
+  public synchronized long getIntervalNanos() {
+    return intervalNanos;
+  }
+
+  /**
+   * @return average latency of unprepared executions in nanoseconds, 0 if there were none
+   */
+  public synchronized long getUnpreparedNanos() {
+    return unpreparedNanos;
+  }
+
+  /**
+   * @return average latency of prepared executions in nanoseconds, 0 if there were none
+   */
+  public synchronized long getPreparedNanos() {
+    return preparedNanos;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return "PrepareStatistics{"
+        + "decision=" + decision
+        + ", executions=" + executions
+        + ", intervalNanos=" + intervalNanos
+        + ", unpreparedNanos=" + unpreparedNanos
+        + ", preparedNanos=" + preparedNanos
+        + '}';
+  }
+}
@@ -127,6 +127,13 @@ public interface QueryExecutor extends TypeTransferModeRegistry {
    */
   int QUERY_READ_ONLY_HINT = 2048;
 
+  /**
+   * Flag for {@link #executePipeline}: follow every query with its own Sync instead of ending the
+   * pipeline with one. With autocommit each query then commits on its own, and an error only
+   * skips the rest of the failed query. Ignored in simple query mode.
+   */
+  int QUERY_SYNC_EACH = 4096;
+
   /**
    * Execute a Query, passing results to a provided ResultHandler.
    *
@@ -165,6 +172,31 @@ public interface QueryExecutor extends TypeTransferModeRegistry {
   void execute(Query[] queries, ParameterList[] parameterLists, BatchResultHandler handler, int maxRows,
       int fetchSize, int flags) throws SQLException;
 
+  /**
+   * Execute several queries as one pipeline: the messages for all queries are sent before a single
+   * Sync, and the results of every query, rows or command status, are passed to the handler in
+   * query order. Each query produces one result per statement it contains. If the receive buffers
+   * could overflow the pipeline is split by additional Syncs, and
+   * {@link ResultHandler#secureProgress()} is called after each of them. After an error the
+   * remaining queries are not sent, and the backend skips the ones already sent.
+   *
+   * <p>With {@link #QUERY_SYNC_EACH} every query is followed by a Sync, and
+   * {@link ResultHandler#secureProgress()} is called once per query, after its ReadyForQuery.
+   * An error only skips the rest of its own query; the following queries are still sent and
+   * executed, so the handler has to tell the errors apart by the progress reported.</p>
+   *
+   * @param queries the queries to execute; each must be a query returned from calling
+   *        {@link #wrap(List)} on this QueryExecutor object.
+   * @param parameterLists the parameter lists for the queries, corresponding 1:1 to the queries.
+   *        All parameters must be set.
+   * @param queryFlags additional QUERY_* flags for each query, e.g. QUERY_ONESHOT
+   * @param handler a ResultHandler responsible for handling results generated by the queries
+   * @param flags a combination of QUERY_* flags applying to the whole pipeline
+   * @throws SQLException if query execution fails
+   */
+  void executePipeline(Query[] queries, ParameterList[] parameterLists, int[] queryFlags,
+      ResultHandler handler, int flags) throws SQLException;
+
   /**
    * Fetch additional rows from a cursor.
    *
@@ -339,6 +371,14 @@ public interface QueryExecutor extends TypeTransferModeRegistry {
    */
   int getBackendPID();
 
+  /**
+   * Return how many times a named server statement had to be parsed again, because the parameter
+   * types changed or the server deallocated it.
+   *
+   * @return number of re-prepared statements of this connection
+   */
+  long getReprepareCount();
+
   /**
    * Abort at network level without sending the Terminate message to the backend.
    */
@@ -378,6 +418,15 @@ public interface QueryExecutor extends TypeTransferModeRegistry {
    */
   PGNotification[] getNotifications() throws SQLException;
 
+  /**
+   * Handles the notifications of one channel in the driver. They are not returned by
+   * {@link #getNotifications()}.
+   *
+   * @param channel the channel name
+   * @param listener invoked for every notification on the channel by the thread that receives it
+   */
+  void setNotificationListener(String channel, Runnable listener);
+
   /**
    * Retrieve and clear the chain of warnings accumulated on this connection.
    *
@@ -56,6 +56,8 @@ public abstract class QueryExecutorBase implements QueryExecutor {
 
   private SQLWarning warnings;
   private final ArrayList<PGNotification> notifications = new ArrayList<PGNotification>();
+  private String listenerChannel;
+  private Runnable notificationListener;
 
   private final LruCache<Object, CachedQuery> statementCache;
   private final CachedQueryCreateAction cachedQueryCreateAction;
@@ -78,7 +80,8 @@ public abstract class QueryExecutorBase implements QueryExecutor {
     this.preferQueryMode = PreferQueryMode.of(preferMode);
     this.autoSave = AutoSave.of(PGProperty.AUTOSAVE.get(info));
     this.logServerErrorDetail = PGProperty.LOG_SERVER_ERROR_DETAIL.getBoolean(info);
-    this.cachedQueryCreateAction = new CachedQueryCreateAction(this);
+    this.cachedQueryCreateAction = new CachedQueryCreateAction(this,
+        PGProperty.SHARED_QUERY_CACHE.getBoolean(info) ? SharedQueryCache.INSTANCE : null);
     statementCache = new LruCache<Object, CachedQuery>(
         Math.max(0, PGProperty.PREPARED_STATEMENT_CACHE_QUERIES.getInt(info)),
         Math.max(0, PGProperty.PREPARED_STATEMENT_CACHE_SIZE_MIB.getInt(info) * 1024 * 1024),
@@ -212,9 +215,19 @@ public abstract class QueryExecutorBase implements QueryExecutor {
   }
 
   public synchronized void addNotification(PGNotification notification) {
+    if (notificationListener != null && notification.getName().equals(listenerChannel)) {
+      notificationListener.run();
+      return;
+    }
     notifications.add(notification);
   }
 
+  @Override
+  public synchronized void setNotificationListener(String channel, Runnable listener) {
+    this.listenerChannel = channel;
+    this.notificationListener = listener;
+  }
+
   @Override
   public synchronized PGNotification[] getNotifications() throws SQLException {
     PGNotification[] array = notifications.toArray(new PGNotification[0]);
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.core;
+
+import org.herodbsql.jdbc.EscapeSyntaxCallMode;
+import org.herodbsql.util.CanEstimateSize;
+import org.herodbsql.util.ConcurrentLruCache;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * JVM-wide cache of parsed SQL, shared by all connections that enable
+ * {@link org.herodbsql.PGProperty#SHARED_QUERY_CACHE}.
+ *
+ * <p>Only the connection independent result of {@link Parser} is shared: the list of immutable
+ * {@link NativeQuery} and whether the SQL was a function call. Every connection still wraps them
+ * into its own {@link Query}, which carries the server side statement name, the parameter types
+ * and the row description of that connection.</p>
+ */
+final class SharedQueryCache {
+  static final SharedQueryCache INSTANCE = new SharedQueryCache(4096, 16 * 1024 * 1024);
+
+  /**
+   * Identifies the parse of a query key under the settings that change the result of
+   * {@link Parser}.
+   */
+  static final class Key {
+    private final Object queryKey;
+    private final boolean standardConformingStrings;
+    private final boolean splitStatements;
+    private final boolean reWriteBatchedInserts;
+    // only used to rewrite {call ...} and zero for other keys
+    private final int serverVersionNum;
+    private final int protocolVersion;
+    private final EscapeSyntaxCallMode escapeSyntaxCallMode;
+
+    Key(Object queryKey, boolean standardConformingStrings, boolean splitStatements,
+        boolean reWriteBatchedInserts, int serverVersionNum, int protocolVersion,
+        EscapeSyntaxCallMode escapeSyntaxCallMode) {
+      this.queryKey = queryKey;
+      this.standardConformingStrings = standardConformingStrings;
+      this.splitStatements = splitStatements;
+      this.reWriteBatchedInserts = reWriteBatchedInserts;
+      this.serverVersionNum = serverVersionNum;
+      this.protocolVersion = protocolVersion;
+      this.escapeSyntaxCallMode = escapeSyntaxCallMode;
+    }
+
+    long getSize() {
+      if (queryKey instanceof CanEstimateSize) {
+        return 32 + ((CanEstimateSize) queryKey).getSize();
+      }
+      return 48 + ((String) queryKey).length() * 2L;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key that = (Key) o;
+      return standardConformingStrings == that.standardConformingStrings
+          && splitStatements == that.splitStatements
+          && reWriteBatchedInserts == that.reWriteBatchedInserts
+          && serverVersionNum == that.serverVersionNum
+          && protocolVersion == that.protocolVersion
+          && escapeSyntaxCallMode == that.escapeSyntaxCallMode
+          && queryKey.equals(that.queryKey);
+    }
+
+    @Override
+    public int hashCode() {
+      int result = queryKey.hashCode();
+      result = 31 * result + (standardConformingStrings ? 1 : 0);
+      result = 31 * result + (splitStatements ? 1 : 0);
+      result = 31 * result + (reWriteBatchedInserts ? 1 : 0);
+      result = 31 * result + serverVersionNum;
+      result = 31 * result + protocolVersion;
+      result = 31 * result + (escapeSyntaxCallMode != null ? escapeSyntaxCallMode.hashCode() : 0);
+      return result;
+    }
+  }
+
+  /**
+   * Connection independent result of parsing a query.
+   */
+  static final class ParsedQuery implements CanEstimateSize {
+    final List<NativeQuery> queries;
+    final boolean isFunction;
+    private final long size;
+
+    ParsedQuery(Key key, List<NativeQuery> queries, boolean isFunction) {
+      this.queries = Collections.unmodifiableList(queries);
+      this.isFunction = isFunction;
+      long size = key.getSize() + 64;
+      for (NativeQuery query : queries) {
+        size += 64 + query.nativeSql.length() * 2L + query.bindPositions.length * 4L;
+      }
+      this.size = size;
+    }
+
+    @Override
+    public long getSize() {
+      return size;
+    }
+  }
+
+  private final ConcurrentLruCache<Key, ParsedQuery> cache;
+
+  SharedQueryCache(int maxQueries, long maxSizeBytes) {
+    this.cache = new ConcurrentLruCache<Key, ParsedQuery>(maxQueries, maxSizeBytes, true);
+  }
+
+  /**
+   * Returns the parse result for the key and marks it as recently used.
+   *
+   * @param key the query key and parse settings
+   * @return the cached parse result or null
+   */
+  ParsedQuery get(Key key) {
+    return cache.get(key);
+  }
+
+  /**
+   * Stores a parse result, evicting the least recently used entries beyond the size limits.
+   *
+   * @param key the query key and parse settings
+   * @param queries the result of {@link Parser#parseJdbcSql}
+   * @param isFunction whether the query is a {call ...} of a function
+   * @return the cached parse result, which is the existing one if another connection stored it
+   *         first
+   */
+  ParsedQuery put(Key key, List<NativeQuery> queries, boolean isFunction) {
+    ParsedQuery existing = cache.get(key);
+    if (existing != null) {
+      return existing;
+    }
+    // entries larger than half of the cache are not stored
+    ParsedQuery parsed = new ParsedQuery(key, queries, isFunction);
+    cache.put(key, parsed);
+    return parsed;
+  }
+
+  int size() {
+    return cache.size();
+  }
+
+  long getSizeBytes() {
+    return cache.getSizeBytes();
+  }
+}
@@ -5,12 +5,27 @@
 
 package org.herodbsql.core;
 
+import org.herodbsql.util.ByteConverter;
+
+import java.util.Arrays;
+
 /**
  * Class representing a row in a {@link java.sql.ResultSet}.
+ *
+ * <p>Rows received from the backend keep the DataRow message in one array, with the offset of each
+ * column's length word, so that receiving a row allocates a fixed number of objects whatever the
+ * number of columns. A column is only copied out when {@link #get(int)} is called; getters that can
+ * decode in place use {@link #getBackingArray(int)}, {@link #getOffset(int)} and
+ * {@link #getLength(int)} instead. Rows built by the driver itself keep one array per column.</p>
  */
 public class Tuple {
   private final boolean forUpdate;
+  // one array per column, or null when the row is packed
   final byte[][] data;
+  // DataRow contents (length word and bytes of every column) of a packed row
+  private final byte[] packed;
+  // offset in packed of the length word of each column
+  private final int[] offsets;
 
   /**
    * Construct an empty tuple. Used in updatable result sets.
@@ -28,9 +43,23 @@ public class Tuple {
     this(data, false);
   }
 
+  /**
+   * Construct a read-only tuple over the contents of a DataRow message.
+   * @param packed the column length words and column data, as sent by the backend
+   * @param offsets the offset in {@code packed} of the length word of each column
+   */
+  public Tuple(byte[] packed, int[] offsets) {
+    this.data = null;
+    this.forUpdate = false;
+    this.packed = packed;
+    this.offsets = offsets;
+  }
+
   private Tuple(byte[][] data, boolean forUpdate) {
     this.data = data;
     this.forUpdate = forUpdate;
+    this.packed = null;
+    this.offsets = null;
   }
 
   /**
@@ -38,7 +67,7 @@ public class Tuple {
    * @return number of fields
    */
   public int fieldCount() {
-    return data.length;
+    return data != null ? data.length : offsets.length;
   }
 
   /**
@@ -46,6 +75,10 @@ public class Tuple {
    * @return the number of bytes in this tuple
    */
   public int length() {
+    if (data == null) {
+      // everything but the length words
+      return packed.length - 4 * offsets.length;
+    }
     int length = 0;
     for (byte[] field : data) {
       if (field != null) {
@@ -61,7 +94,55 @@ public class Tuple {
    * @return byte array of the data
    */
   public byte[] get(int index) {
-    return data[index];
+    if (data != null) {
+      return data[index];
+    }
+    int length = getLength(index);
+    if (length < 0) {
+      return null;
+    }
+    int offset = offsets[index] + 4;
+    return Arrays.copyOfRange(packed, offset, offset + length);
+  }
+
+  /**
+   * @param index 0-based field position in the tuple
+   * @return true if the field is SQL NULL
+   */
+  public boolean isNull(int index) {
+    return data != null ? data[index] == null : getLength(index) < 0;
+  }
+
+  /**
+   * Array holding the data of the given field, starting at {@link #getOffset(int)}. The array must
+   * not be modified, and may hold other fields too.
+   * @param index 0-based field position in the tuple
+   * @return the array, or null if the field is SQL NULL
+   */
+  public byte[] getBackingArray(int index) {
+    if (data != null) {
+      return data[index];
+    }
+    return getLength(index) < 0 ? null : packed;
+  }
+
+  /**
+   * @param index 0-based field position in the tuple
+   * @return offset of the field data in {@link #getBackingArray(int)}
+   */
+  public int getOffset(int index) {
+    return data != null ? 0 : offsets[index] + 4;
+  }
+
+  /**
+   * @param index 0-based field position in the tuple
+   * @return length in bytes of the field data, or -1 if the field is SQL NULL
+   */
+  public int getLength(int index) {
+    if (data != null) {
+      return data[index] == null ? -1 : data[index].length;
+    }
+    return ByteConverter.int4(packed, offsets[index]);
   }
 
   /**
@@ -81,6 +162,17 @@ public class Tuple {
   }
 
   private Tuple copy(boolean forUpdate) {
+    if (data == null) {
+      if (!forUpdate) {
+        // packed rows are never modified
+        return this;
+      }
+      byte[][] dataCopy = new byte[offsets.length][];
+      for (int i = 0; i < offsets.length; i++) {
+        dataCopy[i] = get(i);
+      }
+      return new Tuple(dataCopy, true);
+    }
     byte[][] dataCopy = new byte[data.length][];
     System.arraycopy(data, 0, dataCopy, 0, data.length);
     return new Tuple(dataCopy, forUpdate);
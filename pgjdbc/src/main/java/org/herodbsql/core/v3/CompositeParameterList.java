@@ -132,6 +132,15 @@ class CompositeParameterList implements V3ParameterList {
     }
   }
 
+  public String toCopyText(int index) {
+    try {
+      int sub = findSubParam(index);
+      return subparams[sub].toCopyText(index - offsets[sub]);
+    } catch (SQLException e) {
+      throw new IllegalStateException(e.getMessage());
+    }
+  }
+
   public ParameterList copy() {
     SimpleParameterList[] copySub = new SimpleParameterList[subparams.length];
     for (int sub = 0; sub < subparams.length; ++sub) {
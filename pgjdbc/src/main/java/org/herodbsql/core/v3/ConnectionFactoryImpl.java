@@ -180,6 +180,10 @@ public class ConnectionFactoryImpl extends ConnectionFactory {
 
     HostChooser hostChooser =
         HostChooserFactory.createHostChooser(hostSpecs, targetServerType, info);
+    if (hostSpecs.length > 1 && PGProperty.PARALLEL_CONNECT.getBoolean(info)) {
+      return openConnectionParallel(hostChooser, targetServerType, user, database, info,
+          socketFactory, sslMode);
+    }
     Iterator<CandidateHost> hostIter = hostChooser.iterator();
     Map<HostSpec, HostStatus> knownStates = new HashMap<HostSpec, HostStatus>();
     while (hostIter.hasNext()) {
@@ -206,61 +210,7 @@ public class ConnectionFactoryImpl extends ConnectionFactory {
 
       PGStream newStream = null;
       try {
-        try {
-          newStream = tryConnect(user, database, info, socketFactory, hostSpec, sslMode);
-        } catch (SQLException e) {
-          if (sslMode == SslMode.PREFER
-              && PSQLState.INVALID_AUTHORIZATION_SPECIFICATION.getState().equals(e.getSQLState())) {
-            // Try non-SSL connection to cover case like "non-ssl only db"
-            // Note: PREFER allows loss of encryption, so no significant harm is made
-            Throwable ex = null;
-            try {
-              newStream =
-                  tryConnect(user, database, info, socketFactory, hostSpec, SslMode.DISABLE);
-              LOGGER.log(Level.FINE, "Downgraded to non-encrypted connection for host {0}",
-                  hostSpec);
-            } catch (SQLException ee) {
-              ex = ee;
-            } catch (IOException ee) {
-              ex = ee; // Can't use multi-catch in Java 6 :(
-            }
-            if (ex != null) {
-              log(Level.FINE, "sslMode==PREFER, however non-SSL connection failed as well", ex);
-              // non-SSL failed as well, so re-throw original exception
-              //#if mvn.project.property.postgresql.jdbc.spec >= "JDBC4.1"
-              // Add non-SSL exception as suppressed
-              e.addSuppressed(ex);
-              //#endif
-              throw e;
-            }
-          } else if (sslMode == SslMode.ALLOW
-              && PSQLState.INVALID_AUTHORIZATION_SPECIFICATION.getState().equals(e.getSQLState())) {
-            // Try using SSL
-            Throwable ex = null;
-            try {
-              newStream =
-                  tryConnect(user, database, info, socketFactory, hostSpec, SslMode.REQUIRE);
-              LOGGER.log(Level.FINE, "Upgraded to encrypted connection for host {0}",
-                  hostSpec);
-            } catch (SQLException ee) {
-              ex = ee;
-            } catch (IOException ee) {
-              ex = ee; // Can't use multi-catch in Java 6 :(
-            }
-            if (ex != null) {
-              log(Level.FINE, "sslMode==ALLOW, however SSL connection failed as well", ex);
-              // non-SSL failed as well, so re-throw original exception
-              //#if mvn.project.property.postgresql.jdbc.spec >= "JDBC4.1"
-              // Add SSL exception as suppressed
-              e.addSuppressed(ex);
-              //#endif
-              throw e;
-            }
-
-          } else {
-            throw e;
-          }
-        }
+        newStream = connectStream(user, database, info, socketFactory, hostSpec, sslMode);
 
         int cancelSignalTimeout = PGProperty.CANCEL_SIGNAL_TIMEOUT.getInt(info) * 1000;
 
@@ -326,6 +276,125 @@ public class ConnectionFactoryImpl extends ConnectionFactory {
         PSQLState.CONNECTION_UNABLE_TO_CONNECT);
   }
 
+  /**
+   * Opens a stream to the host, falling back to a non-SSL connection for {@code sslmode=prefer}
+   * and to an SSL connection for {@code sslmode=allow}.
+   */
+  private PGStream connectStream(String user, String database, Properties info,
+      SocketFactory socketFactory, HostSpec hostSpec, SslMode sslMode)
+      throws SQLException, IOException {
+    PGStream newStream = null;
+    try {
+      return tryConnect(user, database, info, socketFactory, hostSpec, sslMode);
+    } catch (SQLException e) {
+      if (sslMode == SslMode.PREFER
+          && PSQLState.INVALID_AUTHORIZATION_SPECIFICATION.getState().equals(e.getSQLState())) {
+        // Try non-SSL connection to cover case like "non-ssl only db"
+        // Note: PREFER allows loss of encryption, so no significant harm is made
+        Throwable ex = null;
+        try {
+          newStream =
+              tryConnect(user, database, info, socketFactory, hostSpec, SslMode.DISABLE);
+          LOGGER.log(Level.FINE, "Downgraded to non-encrypted connection for host {0}",
+              hostSpec);
+        } catch (SQLException ee) {
+          ex = ee;
+        } catch (IOException ee) {
+          ex = ee; // Can't use multi-catch in Java 6 :(
+        }
+        if (ex != null) {
+          log(Level.FINE, "sslMode==PREFER, however non-SSL connection failed as well", ex);
+          // non-SSL failed as well, so re-throw original exception
+          //#if mvn.project.property.postgresql.jdbc.spec >= "JDBC4.1"
+          // Add non-SSL exception as suppressed
+          e.addSuppressed(ex);
+          //#endif
+          throw e;
+        }
+      } else if (sslMode == SslMode.ALLOW
+          && PSQLState.INVALID_AUTHORIZATION_SPECIFICATION.getState().equals(e.getSQLState())) {
+        // Try using SSL
+        Throwable ex = null;
+        try {
+          newStream =
+              tryConnect(user, database, info, socketFactory, hostSpec, SslMode.REQUIRE);
+          LOGGER.log(Level.FINE, "Upgraded to encrypted connection for host {0}",
+              hostSpec);
+        } catch (SQLException ee) {
+          ex = ee;
+        } catch (IOException ee) {
+          ex = ee; // Can't use multi-catch in Java 6 :(
+        }
+        if (ex != null) {
+          log(Level.FINE, "sslMode==ALLOW, however SSL connection failed as well", ex);
+          // non-SSL failed as well, so re-throw original exception
+          //#if mvn.project.property.postgresql.jdbc.spec >= "JDBC4.1"
+          // Add SSL exception as suppressed
+          e.addSuppressed(ex);
+          //#endif
+          throw e;
+        }
+
+      } else {
+        throw e;
+      }
+    }
+    return newStream;
+  }
+
+  /**
+   * Opens a connection to the host and determines whether it is a primary when the requirement
+   * of the candidate needs it.
+   */
+  private ParallelHostConnector.Connected connectHost(CandidateHost candidateHost, String user,
+      String database, Properties info, SocketFactory socketFactory, SslMode sslMode)
+      throws SQLException, IOException {
+    PGStream newStream = connectStream(user, database, info, socketFactory,
+        candidateHost.hostSpec, sslMode);
+    boolean connected = false;
+    try {
+      int cancelSignalTimeout = PGProperty.CANCEL_SIGNAL_TIMEOUT.getInt(info) * 1000;
+      QueryExecutor queryExecutor = new QueryExecutorImpl(newStream, user, database,
+          cancelSignalTimeout, info);
+      HostStatus hostStatus = HostStatus.ConnectOK;
+      if (candidateHost.targetServerType != HostRequirement.any) {
+        hostStatus = isPrimary(queryExecutor) ? HostStatus.Primary : HostStatus.Secondary;
+      }
+      connected = true;
+      return new ParallelHostConnector.Connected(queryExecutor, hostStatus);
+    } finally {
+      if (!connected) {
+        closeStream(newStream);
+      }
+    }
+  }
+
+  private QueryExecutor openConnectionParallel(HostChooser hostChooser,
+      HostRequirement targetServerType, final String user, final String database,
+      final Properties info, final SocketFactory socketFactory, final SslMode sslMode)
+      throws SQLException {
+    ParallelHostConnector.HostConnector connector = new ParallelHostConnector.HostConnector() {
+      @Override
+      public ParallelHostConnector.Connected connect(CandidateHost candidateHost)
+          throws SQLException, IOException {
+        return connectHost(candidateHost, user, database, info, socketFactory, sslMode);
+      }
+    };
+    QueryExecutor queryExecutor =
+        new ParallelHostConnector(connector, PGProperty.PARALLEL_CONNECT_DELAY.getInt(info))
+            .connect(hostChooser, targetServerType);
+    boolean initialized = false;
+    try {
+      runInitialQueries(queryExecutor, info);
+      initialized = true;
+    } finally {
+      if (!initialized) {
+        queryExecutor.close();
+      }
+    }
+    return queryExecutor;
+  }
+
   private List<String[]> getParametersForStartup(String user, String database, Properties info) {
     List<String[]> paramList = new ArrayList<String[]>();
     paramList.add(new String[]{"user", user});
@@ -646,7 +715,7 @@ public class ConnectionFactoryImpl extends ConnectionFactory {
               }
 
               case AUTH_REQ_WATERMARK: {// 21 软件水印认证
-                ConnectionFactoryImplHelper.doWithWatermark(pgStream);
+                ConnectionFactoryImplHelper.doWithWatermark(pgStream, info);
                 break;
               }
 
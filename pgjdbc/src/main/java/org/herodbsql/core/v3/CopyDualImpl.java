@@ -6,9 +6,12 @@
 package org.herodbsql.core.v3;
 
 import org.herodbsql.copy.CopyDual;
+import org.herodbsql.copy.CopyOutHandler;
 import org.herodbsql.util.ByteStreamWriter;
 import org.herodbsql.util.PSQLException;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.sql.SQLException;
 import java.util.LinkedList;
 import java.util.Queue;
@@ -45,6 +48,45 @@ public class CopyDualImpl extends CopyOperationImpl implements CopyDual {
     return received.poll();
   }
 
+  @Override
+  public boolean readFromCopy(CopyOutHandler handler) throws SQLException, IOException {
+    return readFromCopy(handler, true);
+  }
+
+  @Override
+  public boolean readFromCopy(CopyOutHandler handler, boolean block)
+      throws SQLException, IOException {
+    byte[] data = received.poll();
+    if (data != null) {
+      handler.handleCopyData(ByteBuffer.wrap(data));
+      return true;
+    }
+    return readWithHandler(handler, block);
+  }
+
+  /**
+   * @return true if {@link #writeToCopyConcurrently} can be used on this connection; false for
+   *     HeroSSL connections
+   */
+  public boolean canWriteToCopyConcurrently() {
+    return queryExecutor.canWriteToCopyConcurrently();
+  }
+
+  /**
+   * Sends a CopyData message and flushes it without waiting for a thread that is blocked in
+   * {@link #readFromCopy(boolean)}. Replication streams use this to send status updates from a
+   * separate thread while the consumer waits for data. Callers must not use {@link #writeToCopy}
+   * and {@link #flushCopy()} concurrently. Only allowed if {@link #canWriteToCopyConcurrently()}.
+   *
+   * @param data bytes to send
+   * @param off index of first byte to send
+   * @param siz number of bytes to send
+   * @throws SQLException if the copy is no longer active or the connection failed
+   */
+  public void writeToCopyConcurrently(byte[] data, int off, int siz) throws SQLException {
+    queryExecutor.writeToCopyConcurrently(this, data, off, siz);
+  }
+
   @Override
   public void handleCommandStatus(String status) throws PSQLException {
   }
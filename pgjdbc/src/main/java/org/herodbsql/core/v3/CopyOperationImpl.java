@@ -6,10 +6,13 @@
 package org.herodbsql.core.v3;
 
 import org.herodbsql.copy.CopyOperation;
+import org.herodbsql.copy.CopyOutHandler;
 import org.herodbsql.util.GT;
 import org.herodbsql.util.PSQLException;
 import org.herodbsql.util.PSQLState;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.sql.SQLException;
 
 public abstract class CopyOperationImpl implements CopyOperation {
@@ -17,6 +20,9 @@ public abstract class CopyOperationImpl implements CopyOperation {
   int rowFormat;
   int[] fieldFormats;
   long handledRowCount = -1;
+  private CopyOutHandler handler;
+  private boolean handled;
+  private IOException handlerError;
 
   void init(QueryExecutorImpl q, int fmt, int[] fmts) {
     queryExecutor = q;
@@ -67,4 +73,51 @@ public abstract class CopyOperationImpl implements CopyOperation {
   public long getHandledRowCount() {
     return handledRowCount;
   }
+
+  /**
+   * Reads the next CopyData message and passes it to the handler as a view over the receive buffer
+   * of the connection.
+   *
+   * @param handler the handler that consumes the message
+   * @param block whether to block waiting for input
+   * @return true if a message was passed to the handler
+   * @throws SQLException if reading failed
+   * @throws IOException if the handler failed
+   */
+  boolean readWithHandler(CopyOutHandler handler, boolean block) throws SQLException, IOException {
+    this.handler = handler;
+    handled = false;
+    try {
+      queryExecutor.readFromCopy(this, block);
+    } finally {
+      this.handler = null;
+    }
+    if (handlerError != null) {
+      IOException error = handlerError;
+      handlerError = null;
+      throw error;
+    }
+    return handled;
+  }
+
+  /**
+   * @return true if the next CopyData should be passed to {@link #handleCopydata(ByteBuffer)}
+   *         instead of being received into a new array
+   */
+  boolean hasHandler() {
+    return handler != null;
+  }
+
+  /**
+   * Passes a CopyData message to the current handler. A failing handler must not leave the
+   * protocol stream half read, so its exception is kept until the message has been consumed.
+   */
+  void handleCopydata(ByteBuffer data) {
+    handled = true;
+    try {
+      handler.handleCopyData(data);
+    } catch (IOException e) {
+      handlerError = e;
+    }
+  }
 }
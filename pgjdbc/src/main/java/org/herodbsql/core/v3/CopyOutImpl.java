@@ -6,7 +6,9 @@
 package org.herodbsql.core.v3;
 
 import org.herodbsql.copy.CopyOut;
+import org.herodbsql.copy.CopyOutHandler;
 
+import java.io.IOException;
 import java.sql.SQLException;
 
 /**
@@ -40,4 +42,15 @@ public class CopyOutImpl extends CopyOperationImpl implements CopyOut {
   protected void handleCopydata(byte[] data) {
     currentDataRow = data;
   }
+
+  @Override
+  public boolean readFromCopy(CopyOutHandler handler) throws SQLException, IOException {
+    return readWithHandler(handler, true);
+  }
+
+  @Override
+  public boolean readFromCopy(CopyOutHandler handler, boolean block)
+      throws SQLException, IOException {
+    return readWithHandler(handler, block);
+  }
 }
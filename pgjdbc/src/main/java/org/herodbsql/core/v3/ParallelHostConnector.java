@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.core.v3;
+
+import org.herodbsql.core.QueryExecutor;
+import org.herodbsql.hostchooser.CandidateHost;
+import org.herodbsql.hostchooser.GlobalHostStatusTracker;
+import org.herodbsql.hostchooser.HostRequirement;
+import org.herodbsql.hostchooser.HostStatus;
+import org.herodbsql.util.GT;
+import org.herodbsql.util.HostSpec;
+import org.herodbsql.util.PSQLException;
+import org.herodbsql.util.PSQLState;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Races connection attempts to several hosts, see {@link org.herodbsql.PGProperty#PARALLEL_CONNECT}.
+ *
+ * <p>Like the "happy eyeballs" algorithm of RFC 8305, the hosts are tried in the order of the
+ * {@link org.herodbsql.hostchooser.HostChooser}, and the next attempt starts when the previous one
+ * failed or has not completed within the stagger delay. The first connection to a host of the
+ * required type wins; the other attempts are abandoned and their connections closed as soon as
+ * they complete.</p>
+ *
+ * <p>A host the chooser lists again with a weaker requirement, such as the fallback to any host of
+ * {@code preferSecondary}, is only connected once. Such a connection is used if no host satisfies
+ * the first requirement.</p>
+ */
+final class ParallelHostConnector {
+  private static final Logger LOGGER = Logger.getLogger(ParallelHostConnector.class.getName());
+
+  /**
+   * Opens a connection to one host.
+   */
+  interface HostConnector {
+    /**
+     * Opens and starts up a connection and determines the status of the host when the requirement
+     * needs it.
+     *
+     * @param candidateHost the host and the requirement of the caller
+     * @return the connection and the status of the host
+     * @throws SQLException if the server refuses the connection
+     * @throws IOException if the host cannot be reached
+     */
+    Connected connect(CandidateHost candidateHost) throws SQLException, IOException;
+  }
+
+  /**
+   * A connection opened by a {@link HostConnector}.
+   */
+  static final class Connected {
+    final QueryExecutor queryExecutor;
+    final HostStatus hostStatus;
+
+    Connected(QueryExecutor queryExecutor, HostStatus hostStatus) {
+      this.queryExecutor = queryExecutor;
+      this.hostStatus = hostStatus;
+    }
+  }
+
+  private final class Attempt implements Runnable {
+    final int order;
+    final CandidateHost candidateHost;
+    // requirement for a host listed again, null if it was listed only once
+    HostRequirement fallback;
+    Thread thread;
+    Connected connected;
+    Exception failure;
+
+    Attempt(int order, CandidateHost candidateHost) {
+      this.order = order;
+      this.candidateHost = candidateHost;
+    }
+
+    @Override
+    public void run() {
+      HostSpec hostSpec = candidateHost.hostSpec;
+      try {
+        connected = connector.connect(candidateHost);
+        GlobalHostStatusTracker.reportHostStatus(hostSpec, connected.hostStatus);
+      } catch (Exception e) {
+        GlobalHostStatusTracker.reportHostStatus(hostSpec, HostStatus.ConnectFail);
+        failure = e;
+      }
+      synchronized (ParallelHostConnector.this) {
+        if (!finished) {
+          completed.add(this);
+          return;
+        }
+      }
+      // the race is over, nobody takes this connection
+      close(connected);
+    }
+  }
+
+  private final HostConnector connector;
+  private final long delayNanos;
+  private final BlockingQueue<Attempt> completed = new LinkedBlockingQueue<Attempt>();
+  private final List<Attempt> running = new ArrayList<Attempt>();
+  private boolean finished;
+
+  /**
+   * @param connector opens the connection to a host
+   * @param delayMillis time to wait for an attempt before starting the next one
+   */
+  ParallelHostConnector(HostConnector connector, long delayMillis) {
+    this.connector = connector;
+    this.delayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, delayMillis));
+  }
+
+  private static void close(Connected connected) {
+    if (connected != null) {
+      connected.queryExecutor.close();
+    }
+  }
+
+  private List<Attempt> plan(Iterable<CandidateHost> candidates) {
+    Map<HostSpec, Attempt> attempts = new LinkedHashMap<HostSpec, Attempt>();
+    for (CandidateHost candidateHost : candidates) {
+      Attempt attempt = attempts.get(candidateHost.hostSpec);
+      if (attempt == null) {
+        attempts.put(candidateHost.hostSpec, new Attempt(attempts.size(), candidateHost));
+      } else if (attempt.fallback == null
+          && candidateHost.targetServerType != attempt.candidateHost.targetServerType) {
+        attempt.fallback = candidateHost.targetServerType;
+      }
+    }
+    return new ArrayList<Attempt>(attempts.values());
+  }
+
+  private void start(Attempt attempt) {
+    LOGGER.log(Level.FINE, "Trying to establish a protocol version 3 connection to {0}",
+        attempt.candidateHost.hostSpec);
+    Thread thread = new Thread(attempt, "HeroDB JDBC connect " + attempt.candidateHost.hostSpec);
+    thread.setDaemon(true);
+    attempt.thread = thread;
+    running.add(attempt);
+    thread.start();
+  }
+
+  /**
+   * Connects to the first host that satisfies its requirement.
+   *
+   * @param candidates the hosts in the order they should be tried
+   * @param targetServerType the requirement of the connection, for the error message
+   * @return the started up connection
+   * @throws SQLException if no host could be connected or none satisfies the requirement
+   */
+  QueryExecutor connect(Iterable<CandidateHost> candidates, HostRequirement targetServerType)
+      throws SQLException {
+    List<Attempt> attempts = plan(candidates);
+    Attempt fallback = null;
+    Attempt winner = null;
+    Attempt lastFailed = null;
+    List<Exception> failures = new ArrayList<Exception>();
+    int started = 0;
+    try {
+      long nextStart = System.nanoTime();
+      while (true) {
+        if (started < attempts.size()
+            && (running.isEmpty() || System.nanoTime() - nextStart >= 0)) {
+          start(attempts.get(started++));
+          nextStart = System.nanoTime() + delayNanos;
+          continue;
+        }
+        if (running.isEmpty()) {
+          break;
+        }
+        Attempt done;
+        if (started < attempts.size()) {
+          done = completed.poll(nextStart - System.nanoTime(), TimeUnit.NANOSECONDS);
+          if (done == null) {
+            continue;
+          }
+        } else {
+          done = completed.take();
+        }
+        running.remove(done);
+        HostSpec hostSpec = done.candidateHost.hostSpec;
+
+        if (done.failure != null) {
+          LOGGER.log(Level.FINE, "Connection attempt to {0} failed: {1}",
+              new Object[]{hostSpec, done.failure});
+          if (lastFailed != null) {
+            failures.add(lastFailed.failure);
+          }
+          lastFailed = done;
+          // do not wait for the stagger delay, the next host is tried right away
+          nextStart = System.nanoTime();
+          continue;
+        }
+        HostStatus hostStatus = done.connected.hostStatus;
+        if (done.candidateHost.targetServerType.allowConnectingTo(hostStatus)) {
+          winner = done;
+          LOGGER.log(Level.FINE, "Connected to {0} ({1}), abandoning {2} other attempts",
+              new Object[]{hostSpec, hostStatus, running.size()});
+          return done.connected.queryExecutor;
+        }
+        if (done.fallback != null && done.fallback.allowConnectingTo(hostStatus)
+            && (fallback == null || done.order < fallback.order)) {
+          if (fallback != null) {
+            close(fallback.connected);
+          }
+          fallback = done;
+        } else {
+          LOGGER.log(Level.FINER, "Status of host {0} is {1}, and required status was {2}",
+              new Object[]{hostSpec, hostStatus, done.candidateHost.targetServerType});
+          close(done.connected);
+        }
+      }
+      if (fallback != null) {
+        winner = fallback;
+        return fallback.connected.queryExecutor;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new PSQLException(GT.tr("Interrupted while attempting to connect."),
+          PSQLState.CONNECTION_UNABLE_TO_CONNECT, e);
+    } finally {
+      finish(winner, fallback);
+    }
+
+    if (lastFailed == null) {
+      throw new PSQLException(GT.tr("Could not find a server with specified targetServerType: {0}",
+          targetServerType), PSQLState.CONNECTION_UNABLE_TO_CONNECT);
+    }
+    Exception lastFailure = lastFailed.failure;
+    SQLException ex;
+    if (lastFailure instanceof SQLException) {
+      ex = (SQLException) lastFailure;
+    } else if (lastFailure instanceof ConnectException) {
+      ex = new PSQLException(GT.tr(
+          "Connection to {0} refused. Check that the hostname and port are correct and that the postmaster is accepting TCP/IP connections.",
+          lastFailed.candidateHost.hostSpec),
+          PSQLState.CONNECTION_UNABLE_TO_CONNECT, lastFailure);
+    } else {
+      ex = new PSQLException(GT.tr("The connection attempt failed."),
+          PSQLState.CONNECTION_UNABLE_TO_CONNECT, lastFailure);
+    }
+    //#if mvn.project.property.postgresql.jdbc.spec >= "JDBC4.1"
+    for (Exception failure : failures) {
+      ex.addSuppressed(failure);
+    }
+    //#endif
+    throw ex;
+  }
+
+  /**
+   * Ends the race: attempts that are still running close their connection when they complete.
+   */
+  private void finish(Attempt winner, Attempt fallback) {
+    synchronized (this) {
+      finished = true;
+    }
+    for (Attempt attempt : running) {
+      // stops the retries of PGStream, a blocking connect completes or times out on its own
+      attempt.thread.interrupt();
+    }
+    if (fallback != null && fallback != winner) {
+      close(fallback.connected);
+    }
+    Attempt done;
+    while ((done = completed.poll()) != null) {
+      if (done != winner) {
+        close(done.connected);
+      }
+    }
+  }
+}
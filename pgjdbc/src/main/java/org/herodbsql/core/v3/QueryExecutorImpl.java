@@ -7,6 +7,7 @@
 package org.herodbsql.core.v3;
 
 import org.herodbx.core.v3.JdbcMimeFile;
+import org.herodbx.herossl.HeroSSLSocket;
 import org.herodbsql.PGProperty;
 import org.herodbsql.copy.CopyIn;
 import org.herodbsql.copy.CopyOperation;
@@ -108,6 +109,14 @@ public class QueryExecutorImpl extends QueryExecutorBase {
    */
   private final SimpleQuery sync = (SimpleQuery) createQuery("SYNC", false, true).query;
 
+  /**
+   * Marks the Syncs of a {@link QueryExecutor#QUERY_SYNC_EACH} pipeline in the pending queues.
+   */
+  private final SimpleQuery pipelineSync = (SimpleQuery) createQuery("SYNC", false, true).query;
+  private final DescribeRequest pipelineSyncDescribe =
+      new DescribeRequest(pipelineSync, null, false, null);
+  private int pendingPipelineSyncs;
+
   private short deallocateEpoch;
 
   /**
@@ -135,10 +144,18 @@ public class QueryExecutorImpl extends QueryExecutorBase {
 
     this.allowEncodingChanges = PGProperty.ALLOW_ENCODING_CHANGES.getBoolean(info);
     this.cleanupSavePoints = PGProperty.CLEANUP_SAVEPOINTS.getBoolean(info);
+    this.pinParameterTypes = PGProperty.PIN_PARAMETER_TYPES.getBoolean(info);
     this.replicationProtocol = new V3ReplicationProtocol(this, pgStream);
+    this.maxBufferedRecvBytes = deadlockWindow(pgStream);
+    LOGGER.log(Level.FINEST, "  deadlock avoidance window: {0} bytes", maxBufferedRecvBytes);
     readStartupMessages();
   }
 
+  @Override
+  public long getReprepareCount() {
+    return reprepareCount;
+  }
+
   @Override
   public int getProtocolVersion() {
     return 3;
@@ -158,6 +175,13 @@ public class QueryExecutorImpl extends QueryExecutorBase {
    */
   private Object lockedFor = null;
 
+  /**
+   * Guards the output of the connection for {@link #writeToCopyConcurrently}, which does not hold
+   * the monitor of this executor. Changes of {@link #lockedFor} also take it, so such a write never
+   * happens after the copy operation released the connection.
+   */
+  private final Object copyOutputLock = new Object();
+
   /**
    * Obtain lock over this connection for given object, blocking to wait if necessary.
    *
@@ -171,7 +195,9 @@ public class QueryExecutorImpl extends QueryExecutorBase {
 
     }
     waitOnLock();
-    lockedFor = obtainer;
+    synchronized (copyOutputLock) {
+      lockedFor = obtainer;
+    }
   }
 
   /**
@@ -185,7 +211,9 @@ public class QueryExecutorImpl extends QueryExecutorBase {
       throw new PSQLException(GT.tr("Tried to break lock on database connection"),
           PSQLState.OBJECT_NOT_IN_STATE);
     }
-    lockedFor = null;
+    synchronized (copyOutputLock) {
+      lockedFor = null;
+    }
     this.notify();
   }
 
@@ -458,9 +486,28 @@ public class QueryExecutorImpl extends QueryExecutorBase {
   // conservative buffer instead, and we don't know how big the server's send
   // buffer is.)
   //
+  // The 64k is now only the lower bound. The window actually used adds the socket's
+  // SO_RCVBUF to it (see deadlockWindow), and queries that have run before are estimated
+  // from the size of their measured responses when that is larger than their declared
+  // row size (see SimpleQuery.getMaxResponseSize).
+  //
   private static final int MAX_BUFFERED_RECV_BYTES = 64000;
   private static final int NODATA_QUERY_RESPONSE_SIZE_BYTES = 250;
 
+  /**
+   * Returns how much response data can be left unread before the backend may block writing it:
+   * our receive buffer plus the backend's send buffer. The backend's send buffer is unknown and
+   * assumed to be the conservative {@link #MAX_BUFFERED_RECV_BYTES}. Linux reports twice the
+   * usable receive buffer size, hence the halving.
+   *
+   * @param pgStream the connection's stream
+   * @return the window in bytes, at least {@link #MAX_BUFFERED_RECV_BYTES}
+   */
+  private static int deadlockWindow(PGStream pgStream) {
+    long window = Math.max(0, pgStream.getReceiveBufferSize()) / 2L + MAX_BUFFERED_RECV_BYTES;
+    return (int) Math.min(Integer.MAX_VALUE, window);
+  }
+
   public synchronized void execute(Query[] queries, ParameterList[] parameterLists,
       BatchResultHandler batchHandler, int maxRows, int fetchSize, int flags) throws SQLException {
     waitOnLock();
@@ -529,6 +576,75 @@ public class QueryExecutorImpl extends QueryExecutorBase {
     }
   }
 
+  @Override
+  public synchronized void executePipeline(Query[] queries, ParameterList[] parameterLists,
+      int[] queryFlags, ResultHandler handler, int flags) throws SQLException {
+    waitOnLock();
+    if (LOGGER.isLoggable(Level.FINEST)) {
+      LOGGER.log(Level.FINEST, "  pipeline execute {0} queries, handler={1}, flags={2}",
+          new Object[]{queries.length, handler, flags});
+    }
+
+    flags = updateQueryMode(flags);
+    if ((flags & QueryExecutor.QUERY_EXECUTE_AS_SIMPLE) != 0) {
+      // every simple query has its own ReadyForQuery anyway
+      flags &= ~QueryExecutor.QUERY_SYNC_EACH;
+    }
+    boolean syncEach = (flags & QueryExecutor.QUERY_SYNC_EACH) != 0;
+
+    for (ParameterList parameterList : parameterLists) {
+      if (parameterList != null) {
+        ((V3ParameterList) parameterList).checkAllParametersSet();
+      }
+    }
+
+    // No automatic savepoint here: the caller decides what to do with the queries that
+    // did not complete.
+    ResultHandler wrappedHandler = handler;
+    try {
+      wrappedHandler = sendQueryPreamble(handler, flags);
+      estimatedReceiveBufferBytes = 0;
+
+      for (int i = 0; i < queries.length; ++i) {
+        V3ParameterList parameters = (V3ParameterList) parameterLists[i];
+        if (parameters == null) {
+          parameters = SimpleQuery.NO_PARAMETERS;
+        }
+
+        sendQuery(queries[i], parameters, 0, 0, flags | queryFlags[i], wrappedHandler, null);
+
+        if (syncEach) {
+          sendPipelineSync();
+        } else if (wrappedHandler.getException() != null) {
+          break;
+        }
+      }
+
+      if (syncEach) {
+        if (!pendingExecuteQueue.isEmpty()) {
+          pgStream.flush();
+          processResults(wrappedHandler, flags);
+        }
+        estimatedReceiveBufferBytes = 0;
+      } else if (wrappedHandler.getException() == null) {
+        if ((flags & QueryExecutor.QUERY_EXECUTE_AS_SIMPLE) == 0) {
+          sendSync();
+        }
+        processResults(wrappedHandler, flags);
+        estimatedReceiveBufferBytes = 0;
+      }
+    } catch (IOException e) {
+      abort();
+      wrappedHandler.handleError(
+          new PSQLException(GT.tr("An I/O error occurred while sending to the backend."),
+              PSQLState.CONNECTION_FAILURE, e));
+    } finally {
+      pendingPipelineSyncs = 0;
+    }
+
+    wrappedHandler.handleCompletion();
+  }
+
   private ResultHandler sendQueryPreamble(final ResultHandler delegateHandler, int flags)
       throws IOException {
     // First, send CloseStatements for finalized SimpleQueries that had statement names assigned.
@@ -1070,6 +1186,55 @@ public class QueryExecutorImpl extends QueryExecutorBase {
     }
   }
 
+  /**
+   * Whether {@link #writeToCopyConcurrently} may be used. A plain socket can be written while
+   * another thread reads from it. A HeroSSL connection reads and writes through one native SSL
+   * handle, which is not known to allow that.
+   *
+   * @return true if the connection is not a HeroSSL connection
+   */
+  boolean canWriteToCopyConcurrently() {
+    return !(pgStream.getSocket() instanceof HeroSSLSocket);
+  }
+
+  /**
+   * Sends and flushes a CopyData message of a live COPY BOTH operation without taking the monitor
+   * of this executor, so a thread blocked in {@link #readFromCopy} does not delay it. The socket
+   * can be written while another thread reads from it; the caller must ensure no other thread
+   * writes to the copy at the same time. Only allowed if {@link #canWriteToCopyConcurrently()}.
+   *
+   * @param op the CopyDual operation presumably currently holding lock on this connection
+   * @param data bytes to send
+   * @param off index of first byte to send
+   * @param siz number of bytes to send
+   * @throws SQLException on failure
+   */
+  void writeToCopyConcurrently(CopyDualImpl op, byte[] data, int off, int siz)
+      throws SQLException {
+    if (!canWriteToCopyConcurrently()) {
+      throw new PSQLException(GT.tr("This connection cannot write to a copy concurrently."),
+          PSQLState.NOT_IMPLEMENTED);
+    }
+    synchronized (copyOutputLock) {
+      if (!hasLock(op)) {
+        throw new PSQLException(GT.tr("Tried to write to an inactive copy operation"),
+            PSQLState.OBJECT_NOT_IN_STATE);
+      }
+
+      LOGGER.log(Level.FINEST, " FE=> CopyData({0})", siz);
+
+      try {
+        pgStream.sendChar('d');
+        pgStream.sendInteger4(siz + 4);
+        pgStream.send(data, off, siz);
+        pgStream.flush();
+      } catch (IOException ioe) {
+        throw new PSQLException(GT.tr("Database connection failed when writing to copy"),
+            PSQLState.CONNECTION_FAILURE, ioe);
+      }
+    }
+  }
+
   public synchronized void flushCopy(CopyOperationImpl op) throws SQLException {
     if (!hasLock(op)) {
       throw new PSQLException(GT.tr("Tried to write to an inactive copy operation"),
@@ -1256,6 +1421,12 @@ public class QueryExecutorImpl extends QueryExecutorBase {
 
             assert len > 0 : "Copy Data length must be greater than 4";
 
+            if (op != null && op.hasHandler()) {
+              op.handleCopydata(pgStream.receiveBuffer(len));
+              endReceiving = true;
+              break;
+            }
+
             byte[] buf = pgStream.receive(len);
             if (op == null) {
               error = new PSQLException(GT.tr("Got CopyData without an active copy operation"),
@@ -1358,43 +1529,74 @@ public class QueryExecutorImpl extends QueryExecutorBase {
       ResultHandler resultHandler,
       BatchResultHandler batchHandler,
       final int flags) throws IOException {
-    // Assume all statements need at least this much reply buffer space,
-    // plus params
-    estimatedReceiveBufferBytes += NODATA_QUERY_RESPONSE_SIZE_BYTES;
-
     SimpleQuery sq = (SimpleQuery) query;
-    if (sq.isStatementDescribed()) {
+    int measuredResponseSize = sq.getMaxResponseSize();
+    int declaredRowSize = sq.isStatementDescribed() ? sq.getMaxResultRowSize() : 0;
+    if (measuredResponseSize > 0 && (declaredRowSize < 0
+        || measuredResponseSize >= NODATA_QUERY_RESPONSE_SIZE_BYTES + declaredRowSize)) {
       /*
-       * Estimate the response size of the fields and add it to the expected response size.
-       *
-       * It's impossible for us to estimate the rowcount. We'll assume one row, as that's the common
-       * case for batches and we're leaving plenty of breathing room in this approach. It's still
-       * not deadlock-proof though; see pgjdbc github issues #194 and #195.
+       * The query has run before: use the largest response it produced, rows included. This is
+       * still an estimate -- other parameters may return more rows -- but unlike the declared row
+       * size it allows batching queries with unbounded columns. A response smaller than the
+       * declared size of one row, e.g. from an execution that returned no rows, is not used.
        */
-      int maxResultRowSize = sq.getMaxResultRowSize();
-      if (maxResultRowSize >= 0) {
-        estimatedReceiveBufferBytes += maxResultRowSize;
+      estimatedReceiveBufferBytes += measuredResponseSize;
+    } else {
+      // Assume all statements need at least this much reply buffer space,
+      // plus params
+      estimatedReceiveBufferBytes += NODATA_QUERY_RESPONSE_SIZE_BYTES;
+
+      if (sq.isStatementDescribed()) {
+        /*
+         * Estimate the response size of the fields and add it to the expected response size.
+         *
+         * It's impossible for us to estimate the rowcount. We'll assume one row, as that's the
+         * common case for batches and we're leaving plenty of breathing room in this approach. It's
+         * still not deadlock-proof though; see pgjdbc github issues #194 and #195.
+         */
+        int maxResultRowSize = sq.getMaxResultRowSize();
+        if (maxResultRowSize >= 0) {
+          estimatedReceiveBufferBytes += maxResultRowSize;
+        } else {
+          LOGGER.log(Level.FINEST, "Couldn't estimate result size or result size unbounded, "
+              + "disabling batching for this query.");
+          disallowBatching = true;
+        }
       } else {
-        LOGGER.log(Level.FINEST, "Couldn't estimate result size or result size unbounded, "
-            + "disabling batching for this query.");
-        disallowBatching = true;
+        /*
+         * We only describe a statement if we're expecting results from it, so it's legal to batch
+         * unprepared statements. We'll abort later if we get any uresults from them where none are
+         * expected. For now all we can do is hope the user told us the truth and assume that
+         * NODATA_QUERY_RESPONSE_SIZE_BYTES is enough to cover it.
+         */
       }
-    } else {
-      /*
-       * We only describe a statement if we're expecting results from it, so it's legal to batch
-       * unprepared statements. We'll abort later if we get any uresults from them where none are
-       * expected. For now all we can do is hope the user told us the truth and assume that
-       * NODATA_QUERY_RESPONSE_SIZE_BYTES is enough to cover it.
-       */
     }
 
-    if (disallowBatching || estimatedReceiveBufferBytes >= MAX_BUFFERED_RECV_BYTES) {
+    if ((flags & QueryExecutor.QUERY_SYNC_EACH) != 0) {
+      // The queries of a pipeline are synced already. Read the responses of the ones sent so far,
+      // but never add a Sync inside a query: it would split its implicit transaction.
+      if ((disallowBatching || estimatedReceiveBufferBytes >= maxBufferedRecvBytes)
+          && !pendingExecuteQueue.isEmpty()
+          && pendingExecuteQueue.peekLast().query == pipelineSync) {
+        LOGGER.log(Level.FINEST,
+            "Reading pipeline results, receive buffer full or batching disallowed");
+        pgStream.flush();
+        processResults(resultHandler, flags);
+        estimatedReceiveBufferBytes = 0;
+      }
+      return;
+    }
+
+    if (disallowBatching || estimatedReceiveBufferBytes >= maxBufferedRecvBytes) {
       LOGGER.log(Level.FINEST, "Forcing Sync, receive buffer full or batching disallowed");
       sendSync();
       processResults(resultHandler, flags);
       estimatedReceiveBufferBytes = 0;
       if (batchHandler != null) {
         batchHandler.secureProgress();
+      } else {
+        // pipelined queries need to know which of them have already been synced
+        resultHandler.secureProgress();
       }
     }
 
@@ -1463,6 +1665,50 @@ public class QueryExecutorImpl extends QueryExecutorBase {
     pendingDescribePortalQueue.add(sync);
   }
 
+  /**
+   * Sends the Sync ending a query of a {@link QueryExecutor#QUERY_SYNC_EACH} pipeline, without
+   * flushing. It is recorded in every pending queue, so that its ReadyForQuery only discards the
+   * requests of the query it ends.
+   */
+  private void sendPipelineSync() throws IOException {
+    LOGGER.log(Level.FINEST, " FE=> Sync");
+
+    pgStream.sendChar('S'); // Sync
+    pgStream.sendInteger4(4); // Length
+    pendingParseQueue.add(pipelineSync);
+    pendingBindQueue.add(PIPELINE_SYNC_PORTAL);
+    pendingDescribeStatementQueue.add(pipelineSyncDescribe);
+    pendingDescribePortalQueue.add(pipelineSync);
+    pendingExecuteQueue.add(new ExecuteRequest(pipelineSync, null, false));
+    pendingPipelineSyncs++;
+  }
+
+  /**
+   * Removes the requests up to the first pipeline Sync from the pending queues. Requests the
+   * backend skipped after an error are reset like at the end of a failed query.
+   */
+  private void endPipelineSegment() {
+    pendingPipelineSyncs--;
+    SimpleQuery parsedQuery;
+    while ((parsedQuery = pendingParseQueue.removeFirst()) != pipelineSync) {
+      parsedQuery.unprepare();
+    }
+    while (pendingBindQueue.removeFirst() != PIPELINE_SYNC_PORTAL) {
+      // No BindComplete expected.
+    }
+    DescribeRequest describeRequest;
+    while ((describeRequest = pendingDescribeStatementQueue.removeFirst()) != pipelineSyncDescribe) {
+      describeRequest.query.setStatementDescribed(false);
+    }
+    SimpleQuery describePortalQuery;
+    while ((describePortalQuery = pendingDescribePortalQueue.removeFirst()) != pipelineSync) {
+      describePortalQuery.setPortalDescribed(false);
+    }
+    while (pendingExecuteQueue.removeFirst().query != pipelineSync) {
+      // No execution expected.
+    }
+  }
+
   private void sendParse(SimpleQuery query, SimpleParameterList params, boolean oneShot)
       throws IOException {
     // Already parsed, or we have a Parse pending and the types are right?
@@ -1470,6 +1716,21 @@ public class QueryExecutorImpl extends QueryExecutorBase {
     if (query.isPreparedFor(typeOIDs, deallocateEpoch)) {
       return;
     }
+    if (pinParameterTypes && query.pinParameterTypes(params, deallocateEpoch)) {
+      return;
+    }
+
+    if (query.getStatementName() != null) {
+      // With pinParameterTypes the types that could not be pinned are wider than the prepared
+      // ones, so the new statement serves both the old and the new bindings.
+      query.incrementReprepareCount();
+      reprepareCount++;
+      if (LOGGER.isLoggable(Level.FINE)) {
+        LOGGER.log(Level.FINE, "Statement {0} is parsed again for new parameter types,"
+            + " {1} times for this query", new Object[]{query.getStatementName(),
+            query.getReprepareCount()});
+      }
+    }
 
     // Clean up any existing statement, as we can't use it.
     query.unprepare();
@@ -2003,6 +2264,7 @@ public class QueryExecutorImpl extends QueryExecutorBase {
   private final ReferenceQueue<Portal> openPortalCleanupQueue = new ReferenceQueue<Portal>();
 
   private static final Portal UNNAMED_PORTAL = new Portal(null, "unnamed");
+  private static final Portal PIPELINE_SYNC_PORTAL = new Portal(null, "sync");
 
   private void registerOpenPortal(Portal portal) {
     if (portal == UNNAMED_PORTAL) {
@@ -2030,6 +2292,8 @@ public class QueryExecutorImpl extends QueryExecutorBase {
     boolean bothRowsAndStatus = (flags & QueryExecutor.QUERY_BOTH_ROWS_AND_STATUS) != 0;
 
     List<Tuple> tuples = null;
+    // size of the DataRow messages received for the current Execute
+    int responseBytes = 0;
 
     int c;
     boolean endQuery = false;
@@ -2145,6 +2409,8 @@ public class QueryExecutorImpl extends QueryExecutorBase {
           ExecuteRequest executeData = pendingExecuteQueue.removeFirst();
           SimpleQuery currentQuery = executeData.query;
           Portal currentPortal = executeData.portal;
+          // a fetch is limited by the fetch size, it says nothing about complete executions
+          responseBytes = 0;
 
           Field[] fields = currentQuery.getFields();
           if (fields != null && tuples == null) {
@@ -2171,6 +2437,8 @@ public class QueryExecutorImpl extends QueryExecutorBase {
           ExecuteRequest executeData = pendingExecuteQueue.peekFirst();
           SimpleQuery currentQuery = executeData.query;
           Portal currentPortal = executeData.portal;
+          currentQuery.recordResponseSize(NODATA_QUERY_RESPONSE_SIZE_BYTES + responseBytes);
+          responseBytes = 0;
 
           if (status.startsWith("SET")) {
             String nativeSql = currentQuery.getNativeQuery().nativeSql;
@@ -2256,6 +2524,10 @@ public class QueryExecutorImpl extends QueryExecutorBase {
             }
             tuples.add(tuple);
           }
+          if (tuple != null) {
+            // message type, length word, column count and a length word per column
+            responseBytes += 7 + 4 * tuple.fieldCount() + tuple.length();
+          }
 
           if (LOGGER.isLoggable(Level.FINEST)) {
             int length;
@@ -2336,7 +2608,16 @@ public class QueryExecutorImpl extends QueryExecutorBase {
 
         case 'Z': // Ready For Query (eventual response to Sync)
           receiveRFQ();
-          if (!pendingExecuteQueue.isEmpty() && pendingExecuteQueue.peekFirst().asSimple) {
+          if (pendingPipelineSyncs > 0) {
+            // end of one query of a pipeline, the following queries are executed regardless
+            tuples = null;
+            pgStream.clearResultBufferCount();
+            endPipelineSegment();
+            handler.secureProgress();
+            if (!pendingExecuteQueue.isEmpty()) {
+              break;
+            }
+          } else if (!pendingExecuteQueue.isEmpty() && pendingExecuteQueue.peekFirst().asSimple) {
             tuples = null;
             pgStream.clearResultBufferCount();
 
@@ -2812,6 +3093,12 @@ public class QueryExecutorImpl extends QueryExecutorBase {
   private long nextUniqueID = 1;
   private final boolean allowEncodingChanges;
   private final boolean cleanupSavePoints;
+  private final boolean pinParameterTypes;
+
+  /**
+   * Number of named statements that were parsed again, see {@link #getReprepareCount()}.
+   */
+  private volatile long reprepareCount;
 
   /**
    * <p>The estimated server response size since we last consumed the input stream from the server, in
@@ -2822,6 +3109,7 @@ public class QueryExecutorImpl extends QueryExecutorBase {
    * <p>Used to avoid deadlocks, see MAX_BUFFERED_RECV_BYTES.</p>
    */
   private int estimatedReceiveBufferBytes = 0;
+  private final int maxBufferedRecvBytes;
 
   private final SimpleQuery beginTransactionQuery =
       new SimpleQuery(
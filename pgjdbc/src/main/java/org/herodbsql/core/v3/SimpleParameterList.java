@@ -22,6 +22,7 @@ import org.herodbsql.util.StreamWrapper;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.math.BigDecimal;
 import java.sql.SQLException;
 import java.util.Arrays;
 
@@ -263,6 +264,99 @@ class SimpleParameterList implements V3ParameterList {
     }
   }
 
+  @Override
+  public String toCopyText(int index) {
+    --index;
+    Object value = paramValues[index];
+    if (value == null) {
+      return null;
+    } else if (value == NULL_OBJECT) {
+      return "\\N";
+    } else if ((flags[index] & BINARY) == BINARY) {
+      byte[] bytes;
+      int offset = 0;
+      int length;
+      if (value instanceof byte[]) {
+        bytes = (byte[]) value;
+        length = bytes.length;
+      } else if (value instanceof StreamWrapper && ((StreamWrapper) value).getBytes() != null) {
+        StreamWrapper wrapper = (StreamWrapper) value;
+        bytes = wrapper.getBytes();
+        offset = wrapper.getOffset();
+        length = wrapper.getLength();
+      } else {
+        // streamed
+        return null;
+      }
+
+      switch (paramTypes[index]) {
+        case Oid.INT2:
+          return Short.toString(ByteConverter.int2(bytes, offset));
+        case Oid.INT4:
+          return Integer.toString(ByteConverter.int4(bytes, offset));
+        case Oid.INT8:
+          return Long.toString(ByteConverter.int8(bytes, offset));
+        case Oid.FLOAT4:
+          return Float.toString(ByteConverter.float4(bytes, offset));
+        case Oid.FLOAT8:
+          return Double.toString(ByteConverter.float8(bytes, offset));
+        case Oid.UUID:
+          return new UUIDArrayAssistant().buildElement(bytes, offset, 16).toString();
+        case Oid.BYTEA:
+          // hex format; the backslash itself is escaped for COPY
+          char[] hex = new char[3 + 2 * length];
+          hex[0] = '\\';
+          hex[1] = '\\';
+          hex[2] = 'x';
+          for (int i = 0; i < length; i++) {
+            int b = bytes[offset + i] & 0xff;
+            hex[3 + 2 * i] = HEX_DIGITS[b >> 4];
+            hex[4 + 2 * i] = HEX_DIGITS[b & 0xf];
+          }
+          return new String(hex);
+        default:
+          return null;
+      }
+    } else if (value instanceof String) {
+      return escapeCopyText((String) value);
+    }
+    // text streams
+    return null;
+  }
+
+  private static String escapeCopyText(String value) {
+    StringBuilder sb = null;
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      String escape;
+      switch (c) {
+        case '\\':
+          escape = "\\\\";
+          break;
+        case '\n':
+          escape = "\\n";
+          break;
+        case '\r':
+          escape = "\\r";
+          break;
+        case '\t':
+          escape = "\\t";
+          break;
+        default:
+          if (sb != null) {
+            sb.append(c);
+          }
+          continue;
+      }
+      if (sb == null) {
+        sb = new StringBuilder(value.length() + 16);
+        sb.append(value, 0, i);
+      }
+      sb.append(escape);
+    }
+    return sb == null ? value : sb.toString();
+  }
+
   @Override
   public void checkAllParametersSet() throws SQLException {
     for (int i = 0; i < paramTypes.length; ++i) {
@@ -336,6 +430,106 @@ class SimpleParameterList implements V3ParameterList {
     }
   }
 
+  /**
+   * Changes the type of a bound parameter to a type that represents every value of the current
+   * one, converting a binary value to the new type. Null values may take any type. Used to bind
+   * parameters to a statement that was prepared with wider types, see
+   * {@link org.herodbsql.PGProperty#PIN_PARAMETER_TYPES}.
+   *
+   * @param index 1-based parameter index
+   * @param oid the type to bind the parameter as
+   * @return true if the parameter now has the given type
+   */
+  boolean widenType(int index, int oid) {
+    int current = paramTypes[index - 1];
+    if (current == oid) {
+      return true;
+    }
+    if (oid == Oid.UNSPECIFIED) {
+      return false;
+    }
+    Object value = paramValues[index - 1];
+    if (value == NULL_OBJECT) {
+      paramTypes[index - 1] = oid;
+      return true;
+    }
+    if (!isWidening(current, oid)) {
+      return false;
+    }
+    if (isBinary(index)) {
+      if (!(value instanceof byte[])) {
+        return false;
+      }
+      byte[] converted = widenBinary((byte[]) value, current, oid);
+      if (converted == null) {
+        return false;
+      }
+      paramValues[index - 1] = converted;
+    }
+    // the text representation of a value is valid for the wider type as well
+    paramTypes[index - 1] = oid;
+    return true;
+  }
+
+  private static boolean isWidening(int from, int to) {
+    switch (from) {
+      case Oid.INT2:
+        return to == Oid.INT4 || to == Oid.INT8 || to == Oid.NUMERIC;
+      case Oid.INT4:
+        return to == Oid.INT8 || to == Oid.NUMERIC;
+      case Oid.INT8:
+        return to == Oid.NUMERIC;
+      case Oid.FLOAT4:
+        return to == Oid.FLOAT8;
+      case Oid.VARCHAR:
+        return to == Oid.TEXT;
+      case Oid.TEXT:
+        return to == Oid.VARCHAR;
+      default:
+        return false;
+    }
+  }
+
+  private static byte[] widenBinary(byte[] value, int from, int to) {
+    if (from == Oid.VARCHAR || from == Oid.TEXT) {
+      return value;
+    }
+    if (from == Oid.FLOAT4) {
+      if (value.length != 4) {
+        return null;
+      }
+      // keep the decimal value the application bound rather than the float approximation of it
+      float f = ByteConverter.float4(value, 0);
+      byte[] data = new byte[8];
+      ByteConverter.float8(data, 0,
+          Float.isNaN(f) || Float.isInfinite(f) ? f : Double.parseDouble(Float.toString(f)));
+      return data;
+    }
+    long l;
+    if (from == Oid.INT2 && value.length == 2) {
+      l = ByteConverter.int2(value, 0);
+    } else if (from == Oid.INT4 && value.length == 4) {
+      l = ByteConverter.int4(value, 0);
+    } else if (from == Oid.INT8 && value.length == 8) {
+      l = ByteConverter.int8(value, 0);
+    } else {
+      return null;
+    }
+    byte[] data;
+    switch (to) {
+      case Oid.INT4:
+        data = new byte[4];
+        ByteConverter.int4(data, 0, (int) l);
+        return data;
+      case Oid.INT8:
+        data = new byte[8];
+        ByteConverter.int8(data, 0, l);
+        return data;
+      default:
+        return ByteConverter.numeric(BigDecimal.valueOf(l));
+    }
+  }
+
   boolean isNull(int index) {
     return (paramValues[index - 1] == NULL_OBJECT);
   }
@@ -500,5 +694,7 @@ class SimpleParameterList implements V3ParameterList {
    */
   private static final Object NULL_OBJECT = new Object();
 
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
   private int pos = 0;
 }
@@ -103,6 +103,24 @@ class SimpleQuery implements Query {
     return maxResultRowSize;
   }
 
+  /**
+   * <p>Return the largest response, in bytes, that a single execution of this query has produced:
+   * its data rows plus a fixed allowance for the other messages. Batches use it to estimate how much
+   * response data is pending from what the query really returned, rather than from its declared row
+   * size.</p>
+   *
+   * @return largest measured response size in bytes, 0 if no execution has completed yet
+   */
+  public int getMaxResponseSize() {
+    return maxResponseSize;
+  }
+
+  void recordResponseSize(int responseSize) {
+    if (responseSize > maxResponseSize) {
+      maxResponseSize = responseSize;
+    }
+  }
+
   //
   // Implementation guts
   //
@@ -196,6 +214,44 @@ class SimpleQuery implements Query {
     return true;
   }
 
+  /**
+   * Binds the parameters with the types this statement was prepared with where
+   * {@link SimpleParameterList#widenType} allows, so that the statement need not be parsed again.
+   *
+   * @param params the parameters to execute the statement with
+   * @param deallocateEpoch the current deallocate epoch
+   * @return true if the statement can now be executed with the parameters
+   */
+  boolean pinParameterTypes(SimpleParameterList params, short deallocateEpoch) {
+    if (statementName == null || preparedTypes == null
+        || this.deallocateEpoch != deallocateEpoch) {
+      return false;
+    }
+    BitSet unspecified = this.unspecifiedParams;
+    boolean pinned = true;
+    for (int i = 0; i < preparedTypes.length; ++i) {
+      if (params.getTypeOID(i + 1) == Oid.UNSPECIFIED && unspecified != null && unspecified.get(i)) {
+        continue;
+      }
+      // keep widening the others, their types are used if the statement is parsed again
+      if (!params.widenType(i + 1, preparedTypes[i])) {
+        pinned = false;
+      }
+    }
+    return pinned && isPreparedFor(params.getTypeOIDs(), deallocateEpoch);
+  }
+
+  /**
+   * @return how many times a named statement of this query was replaced by a new one
+   */
+  int getReprepareCount() {
+    return reprepareCount;
+  }
+
+  void incrementReprepareCount() {
+    reprepareCount++;
+  }
+
   boolean hasUnresolvedTypes() {
     if (preparedTypes == null) {
       return true;
@@ -363,8 +419,10 @@ class SimpleQuery implements Query {
   private int[] preparedTypes;
   private BitSet unspecifiedParams;
   private short deallocateEpoch;
+  private int reprepareCount;
 
   private Integer cachedMaxResultRowSize;
+  private int maxResponseSize;
 
   static final SimpleParameterList NO_PARAMETERS = new SimpleParameterList(0, null);
 }
@@ -6,17 +6,24 @@
 package org.herodbsql.core.v3.replication;
 
 import org.herodbsql.copy.CopyDual;
+import org.herodbsql.copy.CopyOutHandler;
+import org.herodbsql.core.v3.CopyDualImpl;
 import org.herodbsql.replication.LogSequenceNumber;
 import org.herodbsql.replication.PGReplicationStream;
 import org.herodbsql.replication.ReplicationType;
+import org.herodbsql.replication.XLogDataBatch;
 import org.herodbsql.util.GT;
 import org.herodbsql.util.PSQLException;
 import org.herodbsql.util.PSQLState;
 
+import java.io.IOException;
 import java.net.SocketTimeoutException;
 import java.nio.ByteBuffer;
 import java.sql.SQLException;
 import java.util.Date;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -30,8 +37,16 @@ public class V3PGReplicationStream implements PGReplicationStream {
   private final CopyDual copyDual;
   private final long updateInterval;
   private final ReplicationType replicationType;
-  private long lastStatusUpdate;
+  // set if the periodic status updates are sent from a scheduler thread
+  private final CopyDualImpl concurrentCopy;
+  private final ByteBuffer statusBuffer = ByteBuffer.allocate(1 + 8 + 8 + 8 + 8 + 1);
+  private final BatchHandler batchHandler = new BatchHandler();
+  private volatile long lastStatusUpdate;
   private boolean closeFlag = false;
+  private ScheduledExecutorService statusScheduler;
+  // guarded by statusBuffer
+  private boolean statusStopped;
+  private volatile SQLException statusError;
 
   private LogSequenceNumber lastServerLSN = LogSequenceNumber.INVALID_LSN;
   /**
@@ -56,11 +71,76 @@ public class V3PGReplicationStream implements PGReplicationStream {
   public V3PGReplicationStream(CopyDual copyDual, LogSequenceNumber startLSN, long updateIntervalMs,
       ReplicationType replicationType
   ) {
+    this(copyDual, startLSN, updateIntervalMs, replicationType, false);
+  }
+
+  /**
+   * @param copyDual           bidirectional copy protocol
+   * @param startLSN           the position in the WAL that we want to initiate replication from
+   * @param updateIntervalMs   the number of millisecond between status packets sent back to the
+   *                           server
+   * @param replicationType    LOGICAL or PHYSICAL
+   * @param asyncStatusUpdates true to send the periodic status packets from a thread of the
+   *                           stream instead of the reading thread; ignored on HeroSSL
+   *                           connections, which cannot be written while they are read
+   */
+  public V3PGReplicationStream(CopyDual copyDual, LogSequenceNumber startLSN, long updateIntervalMs,
+      ReplicationType replicationType, boolean asyncStatusUpdates) {
     this.copyDual = copyDual;
     this.updateInterval = updateIntervalMs * NANOS_PER_MILLISECOND;
     this.lastStatusUpdate = System.nanoTime() - (updateIntervalMs * NANOS_PER_MILLISECOND);
     this.lastReceiveLSN = startLSN;
     this.replicationType = replicationType;
+    this.concurrentCopy = asyncStatusUpdates && copyDual instanceof CopyDualImpl
+        && ((CopyDualImpl) copyDual).canWriteToCopyConcurrently() ? (CopyDualImpl) copyDual : null;
+    if (asyncStatusUpdates && concurrentCopy == null) {
+      LOGGER.log(Level.FINE, "Asynchronous status updates are not supported by this connection,"
+          + " status updates are sent by the reading thread");
+    }
+    if (concurrentCopy != null && updateIntervalMs > 0) {
+      startStatusUpdates(updateIntervalMs);
+    }
+  }
+
+  private void startStatusUpdates(long updateIntervalMs) {
+    // a thread of its own: a write blocked on the socket must not delay the statement timeouts
+    // run by the shared timer of the driver
+    statusScheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+      @Override
+      public Thread newThread(Runnable r) {
+        Thread thread = new Thread(r, "HeroDB JDBC replication status updates");
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+    statusScheduler.scheduleWithFixedDelay(new Runnable() {
+      @Override
+      public void run() {
+        synchronized (statusBuffer) {
+          if (statusStopped) {
+            return;
+          }
+          try {
+            timeUpdateStatus();
+          } catch (SQLException e) {
+            // reported by the next read, the copy has most likely ended
+            statusError = e;
+            statusStopped = true;
+          }
+        }
+      }
+    }, updateIntervalMs, updateIntervalMs, TimeUnit.MILLISECONDS);
+  }
+
+  private void stopStatusUpdates() {
+    if (statusScheduler != null) {
+      // waits for an update in progress, so nothing is written after CopyDone
+      synchronized (statusBuffer) {
+        statusStopped = true;
+      }
+      statusScheduler.shutdownNow();
+      statusScheduler = null;
+    }
   }
 
   @Override
@@ -80,6 +160,27 @@ public class V3PGReplicationStream implements PGReplicationStream {
     return readInternal(false);
   }
 
+  @Override
+  public boolean readBatch(XLogDataBatch batch) throws SQLException {
+    checkClose();
+
+    batch.clear();
+    while (batch.isEmpty() && copyDual.isActive()) {
+      readBatchInternal(batch, true);
+    }
+
+    return !batch.isEmpty();
+  }
+
+  @Override
+  public boolean readPendingBatch(XLogDataBatch batch) throws SQLException {
+    checkClose();
+
+    batch.clear();
+    readBatchInternal(batch, false);
+    return !batch.isEmpty();
+  }
+
   @Override
   public LogSequenceNumber getLastReceiveLSN() {
     return lastReceiveLSN;
@@ -153,6 +254,55 @@ public class V3PGReplicationStream implements PGReplicationStream {
     return null;
   }
 
+  /**
+   * Adds received XLogData messages to the batch. The first read blocks if requested, further
+   * reads only take the messages that are already pending.
+   */
+  private void readBatchInternal(XLogDataBatch batch, boolean block) throws SQLException {
+    BatchHandler handler = batchHandler;
+    handler.start(batch);
+    try {
+      while (!batch.isFull() && copyDual.isActive()) {
+        boolean received = receiveNextData(handler, block && batch.isEmpty());
+
+        if (handler.error != null) {
+          PSQLException error = handler.error;
+          handler.error = null;
+          throw error;
+        }
+
+        if (handler.replyRequired || isTimeUpdate()) {
+          handler.replyRequired = false;
+          handler.publish();
+          timeUpdateStatus();
+        }
+
+        if (!received) {
+          break;
+        }
+      }
+    } finally {
+      handler.publish();
+      handler.batch = null;
+    }
+  }
+
+  private boolean receiveNextData(CopyOutHandler handler, boolean block) throws SQLException {
+    try {
+      return copyDual.readFromCopy(handler, block);
+    } catch (PSQLException e) {
+      if (e.getCause() instanceof SocketTimeoutException) {
+        //signal for keep alive
+        return false;
+      }
+
+      throw e;
+    } catch (IOException e) {
+      throw new PSQLException(GT.tr("Database connection failed when reading from copy"),
+          PSQLState.CONNECTION_FAILURE, e);
+    }
+  }
+
   private ByteBuffer receiveNextData(boolean block) throws SQLException {
     try {
       byte[] message = copyDual.readFromCopy(block);
@@ -173,7 +323,7 @@ public class V3PGReplicationStream implements PGReplicationStream {
 
   private boolean isTimeUpdate() {
     /* a value of 0 disables automatic updates */
-    if ( updateInterval == 0 ) {
+    if ( updateInterval == 0 || concurrentCopy != null ) {
       return false;
     }
     long diff = System.nanoTime() - lastStatusUpdate;
@@ -188,20 +338,27 @@ public class V3PGReplicationStream implements PGReplicationStream {
       LogSequenceNumber received, LogSequenceNumber flushed, LogSequenceNumber applied,
       boolean replyRequired)
       throws SQLException {
-    byte[] reply = prepareUpdateStatus(received, flushed, applied, replyRequired);
-    copyDual.writeToCopy(reply, 0, reply.length);
-    copyDual.flushCopy();
+    // the buffer is shared by the reading thread, the scheduler and forceUpdateStatus()
+    synchronized (statusBuffer) {
+      prepareUpdateStatus(statusBuffer, received, flushed, applied, replyRequired);
+      if (concurrentCopy != null) {
+        concurrentCopy.writeToCopyConcurrently(statusBuffer.array(), 0, statusBuffer.position());
+      } else {
+        copyDual.writeToCopy(statusBuffer.array(), 0, statusBuffer.position());
+        copyDual.flushCopy();
+      }
+    }
 
     lastStatusUpdate = System.nanoTime();
   }
 
-  private byte[] prepareUpdateStatus(LogSequenceNumber received, LogSequenceNumber flushed,
-      LogSequenceNumber applied, boolean replyRequired) {
-    ByteBuffer byteBuffer = ByteBuffer.allocate(1 + 8 + 8 + 8 + 8 + 1);
+  private void prepareUpdateStatus(ByteBuffer byteBuffer, LogSequenceNumber received,
+      LogSequenceNumber flushed, LogSequenceNumber applied, boolean replyRequired) {
+    byteBuffer.clear();
 
-    long now = System.nanoTime() / NANOS_PER_MILLISECOND;
+    long now = System.currentTimeMillis();
     long systemClock = TimeUnit.MICROSECONDS.convert((now - POSTGRES_EPOCH_2000_01_01),
-        TimeUnit.MICROSECONDS);
+        TimeUnit.MILLISECONDS);
 
     if (LOGGER.isLoggable(Level.FINEST)) {
       LOGGER.log(Level.FINEST, " FE=> StandbyStatusUpdate(received: {0}, flushed: {1}, applied: {2}, clock: {3})",
@@ -218,9 +375,6 @@ public class V3PGReplicationStream implements PGReplicationStream {
     } else {
       byteBuffer.put(received == LogSequenceNumber.INVALID_LSN ? (byte) 1 : (byte) 0);
     }
-
-    lastStatusUpdate = now;
-    return byteBuffer.array();
   }
 
   private boolean processKeepAliveMessage(ByteBuffer buffer) {
@@ -267,14 +421,80 @@ public class V3PGReplicationStream implements PGReplicationStream {
     return buffer.slice();
   }
 
-  private void checkClose() throws PSQLException {
+  /**
+   * Adds the messages passed by {@link CopyDual#readFromCopy(CopyOutHandler, boolean)} to a batch.
+   * The received positions are published once per read instead of once per message.
+   */
+  private final class BatchHandler implements CopyOutHandler {
+    XLogDataBatch batch;
+    boolean replyRequired;
+    PSQLException error;
+    private boolean received;
+    private long receivedLsn;
+    private long serverLsn;
+
+    void start(XLogDataBatch batch) {
+      this.batch = batch;
+      replyRequired = false;
+      error = null;
+      received = false;
+    }
+
+    void publish() {
+      if (received) {
+        lastReceiveLSN = LogSequenceNumber.valueOf(receivedLsn);
+        lastServerLSN = LogSequenceNumber.valueOf(serverLsn);
+        received = false;
+      }
+    }
+
+    @Override
+    public void handleCopyData(ByteBuffer buffer) {
+      int code = buffer.get();
+
+      switch (code) {
+
+        case 'k': //KeepAlive message
+          publish();
+          replyRequired |= processKeepAliveMessage(buffer);
+          replyRequired |= updateInterval == 0;
+          break;
+
+        case 'w': //XLogData
+          long startLsn = buffer.getLong();
+          serverLsn = buffer.getLong();
+          buffer.getLong(); // send time of the server
+          receivedLsn = replicationType == ReplicationType.PHYSICAL
+              ? startLsn + buffer.remaining() : startLsn;
+          received = true;
+          batch.add(receivedLsn, buffer);
+          break;
+
+        default:
+          error = new PSQLException(
+              GT.tr("Unexpected packet type during replication: {0}", Integer.toString(code)),
+              PSQLState.PROTOCOL_VIOLATION
+          );
+      }
+    }
+  }
+
+  private void checkClose() throws SQLException {
     if (isClosed()) {
       throw new PSQLException(GT.tr("This replication stream has been closed."),
           PSQLState.CONNECTION_DOES_NOT_EXIST);
     }
+    SQLException error = statusError;
+    if (error != null) {
+      statusError = null;
+      throw error;
+    }
   }
 
   public void close() throws SQLException {
+    // the scheduler must not write once the copy is ended
+    stopStatusUpdates();
+
     if (isClosed()) {
       return;
     }
@@ -1519,6 +1519,230 @@ public abstract class BaseDataSource implements CommonDataSource, Referenceable
     PGProperty.MAX_RESULT_BUFFER.set(properties, maxResultBuffer);
   }
 
+  /**
+   * @return HeroSSL transport mode
+   * @see PGProperty#HEROSSL_TRANSPORT
+   */
+  public String getHerossltransport() {
+    return PGProperty.HEROSSL_TRANSPORT.get(properties);
+  }
+
+  /**
+   * @param transport HeroSSL transport mode, {@code jna} or {@code direct}
+   * @see PGProperty#HEROSSL_TRANSPORT
+   */
+  public void setHerossltransport(String transport) {
+    PGProperty.HEROSSL_TRANSPORT.set(properties, transport);
+  }
+
+  /**
+   * @return HeroSSL handshake lock mode
+   * @see PGProperty#HEROSSL_HANDSHAKE_LOCK
+   */
+  public String getHerosslhandshakelock() {
+    return PGProperty.HEROSSL_HANDSHAKE_LOCK.get(properties);
+  }
+
+  /**
+   * @param lock HeroSSL handshake lock mode, {@code global} or {@code context}
+   * @see PGProperty#HEROSSL_HANDSHAKE_LOCK
+   */
+  public void setHerosslhandshakelock(String lock) {
+    PGProperty.HEROSSL_HANDSHAKE_LOCK.set(properties, lock);
+  }
+
+  /**
+   * @return directory of the HeroDB native libraries
+   * @see PGProperty#HEROLIB_PATH
+   */
+  public String getHerolibpath() {
+    return PGProperty.HEROLIB_PATH.get(properties);
+  }
+
+  /**
+   * @param path directory of the HeroDB native libraries
+   * @see PGProperty#HEROLIB_PATH
+   */
+  public void setHerolibpath(String path) {
+    PGProperty.HEROLIB_PATH.set(properties, path);
+  }
+
+  /**
+   * @return seconds a loaded crypto engine is reused
+   * @see PGProperty#HERO_ENGINE_TTL
+   */
+  public int getHeroenginettl() {
+    return PGProperty.HERO_ENGINE_TTL.getIntNoCheck(properties);
+  }
+
+  /**
+   * @param seconds seconds a loaded crypto engine is reused, 0 to load it on every login
+   * @see PGProperty#HERO_ENGINE_TTL
+   */
+  public void setHeroenginettl(int seconds) {
+    PGProperty.HERO_ENGINE_TTL.set(properties, seconds);
+  }
+
+  /**
+   * @return boolean indicating property is enabled or not.
+   * @see PGProperty#WATERMARK_CHECK_MTIME
+   */
+  public boolean getWatermarkcheckmtime() {
+    return PGProperty.WATERMARK_CHECK_MTIME.getBoolean(properties);
+  }
+
+  /**
+   * @param checkMtime boolean value to set the property in the properties collection
+   * @see PGProperty#WATERMARK_CHECK_MTIME
+   */
+  public void setWatermarkcheckmtime(boolean checkMtime) {
+    PGProperty.WATERMARK_CHECK_MTIME.set(properties, checkMtime);
+  }
+
+  /**
+   * @return boolean indicating property is enabled or not.
+   * @see PGProperty#COPY_BATCHED_INSERTS
+   */
+  public boolean getCopybatchedinserts() {
+    return PGProperty.COPY_BATCHED_INSERTS.getBoolean(properties);
+  }
+
+  /**
+   * @param copy boolean value to set the property in the properties collection
+   * @see PGProperty#COPY_BATCHED_INSERTS
+   */
+  public void setCopybatchedinserts(boolean copy) {
+    PGProperty.COPY_BATCHED_INSERTS.set(properties, copy);
+  }
+
+  /**
+   * @return boolean indicating property is enabled or not.
+   * @see PGProperty#SHARED_QUERY_CACHE
+   */
+  public boolean getSharedquerycache() {
+    return PGProperty.SHARED_QUERY_CACHE.getBoolean(properties);
+  }
+
+  /**
+   * @param shared boolean value to set the property in the properties collection
+   * @see PGProperty#SHARED_QUERY_CACHE
+   */
+  public void setSharedquerycache(boolean shared) {
+    PGProperty.SHARED_QUERY_CACHE.set(properties, shared);
+  }
+
+  /**
+   * @return boolean indicating property is enabled or not.
+   * @see PGProperty#ADAPTIVE_PREPARE
+   */
+  public boolean getAdaptiveprepare() {
+    return PGProperty.ADAPTIVE_PREPARE.getBoolean(properties);
+  }
+
+  /**
+   * @param adaptive boolean value to set the property in the properties collection
+   * @see PGProperty#ADAPTIVE_PREPARE
+   */
+  public void setAdaptiveprepare(boolean adaptive) {
+    PGProperty.ADAPTIVE_PREPARE.set(properties, adaptive);
+  }
+
+  /**
+   * @return boolean indicating property is enabled or not.
+   * @see PGProperty#PIN_PARAMETER_TYPES
+   */
+  public boolean getPinparametertypes() {
+    return PGProperty.PIN_PARAMETER_TYPES.getBoolean(properties);
+  }
+
+  /**
+   * @param pin boolean value to set the property in the properties collection
+   * @see PGProperty#PIN_PARAMETER_TYPES
+   */
+  public void setPinparametertypes(boolean pin) {
+    PGProperty.PIN_PARAMETER_TYPES.set(properties, pin);
+  }
+
+  /**
+   * @return boolean indicating property is enabled or not.
+   * @see PGProperty#PARALLEL_CONNECT
+   */
+  public boolean getParallelconnect() {
+    return PGProperty.PARALLEL_CONNECT.getBoolean(properties);
+  }
+
+  /**
+   * @param parallel boolean value to set the property in the properties collection
+   * @see PGProperty#PARALLEL_CONNECT
+   */
+  public void setParallelconnect(boolean parallel) {
+    PGProperty.PARALLEL_CONNECT.set(properties, parallel);
+  }
+
+  /**
+   * @return milliseconds to wait for a connection attempt before trying the next host
+   * @see PGProperty#PARALLEL_CONNECT_DELAY
+   */
+  public int getParallelconnectdelay() {
+    return PGProperty.PARALLEL_CONNECT_DELAY.getIntNoCheck(properties);
+  }
+
+  /**
+   * @param millis milliseconds to wait for a connection attempt before trying the next host
+   * @see PGProperty#PARALLEL_CONNECT_DELAY
+   */
+  public void setParallelconnectdelay(int millis) {
+    PGProperty.PARALLEL_CONNECT_DELAY.set(properties, millis);
+  }
+
+  /**
+   * @return boolean indicating property is enabled or not.
+   * @see PGProperty#SHARED_TYPE_CACHE
+   */
+  public boolean getSharedtypecache() {
+    return PGProperty.SHARED_TYPE_CACHE.getBoolean(properties);
+  }
+
+  /**
+   * @param shared boolean value to set the property in the properties collection
+   * @see PGProperty#SHARED_TYPE_CACHE
+   */
+  public void setSharedtypecache(boolean shared) {
+    PGProperty.SHARED_TYPE_CACHE.set(properties, shared);
+  }
+
+  /**
+   * @return seconds after which the shared types are loaded again
+   * @see PGProperty#SHARED_TYPE_CACHE_TTL
+   */
+  public int getSharedtypecachettl() {
+    return PGProperty.SHARED_TYPE_CACHE_TTL.getIntNoCheck(properties);
+  }
+
+  /**
+   * @param seconds seconds after which the shared types are loaded again, 0 to keep them
+   * @see PGProperty#SHARED_TYPE_CACHE_TTL
+   */
+  public void setSharedtypecachettl(int seconds) {
+    PGProperty.SHARED_TYPE_CACHE_TTL.set(properties, seconds);
+  }
+
+  /**
+   * @return channel that invalidates the shared types
+   * @see PGProperty#SHARED_TYPE_CACHE_CHANNEL
+   */
+  public String getSharedtypecachechannel() {
+    return PGProperty.SHARED_TYPE_CACHE_CHANNEL.get(properties);
+  }
+
+  /**
+   * @param channel channel that invalidates the shared types
+   * @see PGProperty#SHARED_TYPE_CACHE_CHANNEL
+   */
+  public void setSharedtypecachechannel(String channel) {
+    PGProperty.SHARED_TYPE_CACHE_CHANNEL.set(properties, channel);
+  }
+
   //#if mvn.project.property.postgresql.jdbc.spec >= "JDBC4.1"
   public java.util.logging.Logger getParentLogger() {
     return Logger.getLogger("org.herodbsql");
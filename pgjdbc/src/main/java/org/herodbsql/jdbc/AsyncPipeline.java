@@ -0,0 +1,436 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.jdbc;
+
+import org.herodbsql.core.Field;
+import org.herodbsql.core.ParameterList;
+import org.herodbsql.core.Query;
+import org.herodbsql.core.QueryExecutor;
+import org.herodbsql.core.ResultCursor;
+import org.herodbsql.core.ResultHandlerBase;
+import org.herodbsql.core.Tuple;
+import org.herodbsql.util.GT;
+import org.herodbsql.util.PSQLException;
+import org.herodbsql.util.PSQLState;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Executes the statements submitted through {@link PgConnection#executeQueryAsync(String, Object...)}
+ * and {@link PgConnection#executeUpdateAsync(String, Object...)}.
+ *
+ * <p>Submitted statements are queued. A worker drains the queue and sends everything it finds as
+ * one pipeline through {@link QueryExecutor#executePipeline}, so statements submitted while a
+ * pipeline is running go out together in the next one. The responses are matched to the statements
+ * in order.</p>
+ *
+ * <p>With autocommit on every statement is followed by its own Sync, so each one commits on its
+ * own like when executed alone, and a failed statement only fails its own future. Statements are
+ * never executed again. Inside an explicit transaction the pipeline ends with a single Sync: a
+ * failure aborts the transaction anyway, and the later statements fail with it.</p>
+ */
+final class AsyncPipeline {
+  private static final Logger LOGGER = Logger.getLogger(AsyncPipeline.class.getName());
+
+  /**
+   * Maximum number of statements sent in one pipeline. The executor reads the responses by itself
+   * when the receive buffers might fill up; this only bounds the statements failed with one that
+   * fails inside a transaction.
+   */
+  private static final int MAX_PIPELINE_LENGTH = 256;
+
+  private static final ExecutorService WORKERS = Executors.newCachedThreadPool(new ThreadFactory() {
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable r) {
+      Thread thread = new Thread(r, "HeroDB JDBC async pipeline " + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  });
+
+  private final PgConnection connection;
+  private final Executor executor;
+
+  private final ArrayDeque<Request<?>> queue = new ArrayDeque<Request<?>>();
+  private boolean draining;
+  private boolean closed;
+
+  AsyncPipeline(PgConnection connection) {
+    this(connection, WORKERS);
+  }
+
+  AsyncPipeline(PgConnection connection, Executor executor) {
+    this.connection = connection;
+    this.executor = executor;
+  }
+
+  CompletableFuture<ResultSet> submitQuery(String sql, Object[] parameters) throws SQLException {
+    QueryRequest request = new QueryRequest(prepare(sql, parameters));
+    submit(request);
+    return request.future;
+  }
+
+  CompletableFuture<Integer> submitUpdate(String sql, Object[] parameters) throws SQLException {
+    UpdateRequest request = new UpdateRequest(prepare(sql, parameters));
+    submit(request);
+    return request.future;
+  }
+
+  private PgPreparedStatement prepare(String sql, Object[] parameters) throws SQLException {
+    PgPreparedStatement statement = (PgPreparedStatement) connection.prepareStatement(sql);
+    try {
+      int count = parameters == null ? 0 : parameters.length;
+      for (int i = 0; i < count; i++) {
+        statement.setObject(i + 1, parameters[i]);
+      }
+      if (count < statement.preparedParameters.getInParameterCount()) {
+        throw new PSQLException(GT.tr("No value specified for parameter {0}.", count + 1),
+            PSQLState.INVALID_PARAMETER_VALUE);
+      }
+      return statement;
+    } catch (SQLException e) {
+      statement.close();
+      throw e;
+    }
+  }
+
+  private void submit(Request<?> request) throws SQLException {
+    synchronized (this) {
+      if (!closed) {
+        queue.addLast(request);
+        if (!draining) {
+          draining = true;
+          executor.execute(new Runnable() {
+            @Override
+            public void run() {
+              drain();
+            }
+          });
+        }
+        return;
+      }
+    }
+    request.statement.close();
+    throw new PSQLException(GT.tr("This connection has been closed."),
+        PSQLState.CONNECTION_DOES_NOT_EXIST);
+  }
+
+  /**
+   * Fails the statements that have not been sent yet. A pipeline that is already running completes
+   * normally, or with the I/O error caused by closing the connection.
+   */
+  void close() {
+    List<Request<?>> dropped;
+    synchronized (this) {
+      closed = true;
+      dropped = new ArrayList<Request<?>>(queue);
+      queue.clear();
+    }
+    for (Request<?> request : dropped) {
+      request.fail(new PSQLException(GT.tr("This connection has been closed."),
+          PSQLState.CONNECTION_DOES_NOT_EXIST));
+    }
+  }
+
+  private void drain() {
+    while (true) {
+      List<Request<?>> pipeline = new ArrayList<Request<?>>();
+      synchronized (this) {
+        while (pipeline.size() < MAX_PIPELINE_LENGTH && !queue.isEmpty()) {
+          pipeline.add(queue.pollFirst());
+        }
+        if (pipeline.isEmpty()) {
+          draining = false;
+          return;
+        }
+      }
+      try {
+        execute(pipeline);
+      } catch (Throwable t) {
+        // never leave a future hanging, whatever went wrong
+        for (Request<?> request : pipeline) {
+          request.fail(t);
+        }
+      }
+    }
+  }
+
+  private void execute(List<Request<?>> pipeline) throws SQLException {
+    if (connection.isClosed()) {
+      for (Request<?> request : pipeline) {
+        request.fail(new PSQLException(GT.tr("This connection has been closed."),
+            PSQLState.CONNECTION_DOES_NOT_EXIST));
+      }
+      return;
+    }
+    QueryExecutor queryExecutor = connection.getQueryExecutor();
+    boolean autoCommit = connection.getAutoCommit();
+
+    if (connection.getPreferQueryMode() == PreferQueryMode.SIMPLE && pipeline.size() > 1) {
+      // Every simple query ends with its own ReadyForQuery, which the backend sends even after
+      // an error, so the responses cannot be matched reliably. Run them one by one.
+      for (Request<?> request : pipeline) {
+        execute(Collections.<Request<?>>singletonList(request));
+      }
+      return;
+    }
+
+    int size = pipeline.size();
+    Query[] queries = new Query[size];
+    ParameterList[] parameterLists = new ParameterList[size];
+    int[] queryFlags = new int[size];
+    for (int i = 0; i < size; i++) {
+      Request<?> request = pipeline.get(i);
+      PgPreparedStatement statement = request.statement;
+      request.handler = statement.new StatementResultHandler();
+      queries[i] = statement.preparedQuery.query;
+      parameterLists[i] = statement.preparedParameters;
+      if (statement.isOneShotQuery(statement.preparedQuery)) {
+        queryFlags[i] |= QueryExecutor.QUERY_ONESHOT;
+      }
+    }
+
+    int flags = 0;
+    if (autoCommit) {
+      flags |= QueryExecutor.QUERY_SUPPRESS_BEGIN | QueryExecutor.QUERY_SYNC_EACH;
+    }
+    if (connection.hintReadOnly()) {
+      flags |= QueryExecutor.QUERY_READ_ONLY_HINT;
+    }
+
+    Dispatcher dispatcher = new Dispatcher(pipeline, autoCommit);
+    queryExecutor.executePipeline(queries, parameterLists, queryFlags, dispatcher, flags);
+
+    if (autoCommit) {
+      // Every statement was synced on its own and has its own outcome, unless the connection was
+      // lost before its ReadyForQuery.
+      boolean lost = connection.isClosed();
+      for (int i = 0; i < size; i++) {
+        Request<?> request = pipeline.get(i);
+        if (lost && i >= dispatcher.secured) {
+          SQLException error = request.handler.getException();
+          if (error == null) {
+            error = dispatcher.lastError != null ? dispatcher.lastError
+                : new PSQLException(GT.tr("This connection has been closed."),
+                    PSQLState.CONNECTION_DOES_NOT_EXIST);
+          }
+          request.fail(error);
+        } else {
+          request.complete();
+        }
+      }
+      return;
+    }
+
+    SQLException error = dispatcher.getException();
+    if (error == null) {
+      for (Request<?> request : pipeline) {
+        request.complete();
+      }
+      return;
+    }
+
+    // The transaction is aborted: the failed statement and everything after it fail with it
+    int completed = Math.min(dispatcher.failedIndex, size - 1);
+    for (int i = 0; i < size; i++) {
+      if (i < completed) {
+        pipeline.get(i).complete();
+      } else {
+        pipeline.get(i).fail(error);
+      }
+    }
+  }
+
+  /**
+   * Passes the results of a pipeline to the statements in order. Every statement produces one
+   * result, rows or command status, per query it contains. When every statement is synced on its
+   * own, errors go to the statement they belong to, and each Sync moves on to the next statement.
+   */
+  private static final class Dispatcher extends ResultHandlerBase {
+    private final List<Request<?>> pipeline;
+    private final boolean syncEach;
+    private int current;
+    private int remaining;
+    // statements before this index have been synced, before the error if any
+    int secured;
+    int failedIndex = -1;
+    SQLException lastError;
+
+    Dispatcher(List<Request<?>> pipeline, boolean syncEach) {
+      this.pipeline = pipeline;
+      this.syncEach = syncEach;
+      this.remaining = pipeline.get(0).expectedResults();
+    }
+
+    private PgStatement.StatementResultHandler handler() {
+      return pipeline.get(Math.min(current, pipeline.size() - 1)).handler;
+    }
+
+    private void advance() {
+      if (--remaining == 0) {
+        current++;
+        if (current < pipeline.size()) {
+          remaining = pipeline.get(current).expectedResults();
+        }
+      }
+    }
+
+    @Override
+    public void handleResultRows(Query fromQuery, Field[] fields, List<Tuple> tuples,
+        ResultCursor cursor) {
+      handler().handleResultRows(fromQuery, fields, tuples, cursor);
+      advance();
+    }
+
+    @Override
+    public void handleCommandStatus(String status, long updateCount, long insertOID) {
+      handler().handleCommandStatus(status, updateCount, insertOID);
+      advance();
+    }
+
+    @Override
+    public void handleWarning(SQLWarning warning) {
+      handler().handleWarning(warning);
+    }
+
+    @Override
+    public void handleError(SQLException error) {
+      if (syncEach) {
+        // not recorded here, so that the executor goes on with the next statements
+        handler().handleError(error);
+        lastError = error;
+        return;
+      }
+      if (failedIndex < 0) {
+        failedIndex = current;
+      }
+      super.handleError(error);
+    }
+
+    @Override
+    public void secureProgress() {
+      if (syncEach) {
+        // the rest of a failed statement was skipped
+        current = ++secured;
+        if (current < pipeline.size()) {
+          remaining = pipeline.get(current).expectedResults();
+        }
+      } else if (failedIndex < 0) {
+        secured = current;
+      }
+    }
+
+    @Override
+    public void handleCompletion() {
+      // the outcome of every statement is decided by AsyncPipeline.execute
+    }
+  }
+
+  private abstract static class Request<T> {
+    final PgPreparedStatement statement;
+    final CompletableFuture<T> future = new CompletableFuture<T>();
+    PgStatement.StatementResultHandler handler;
+
+    Request(PgPreparedStatement statement) {
+      this.statement = statement;
+    }
+
+    int expectedResults() {
+      Query[] subqueries = statement.preparedQuery.query.getSubqueries();
+      return subqueries == null ? 1 : subqueries.length;
+    }
+
+    void complete() {
+      try {
+        SQLException error = handler.getException();
+        if (error != null) {
+          throw error;
+        }
+        future.complete(result(handler.getResults()));
+      } catch (Throwable t) {
+        fail(t);
+      }
+    }
+
+    void fail(Throwable error) {
+      if (!future.isDone()) {
+        closeStatement();
+        future.completeExceptionally(error);
+      }
+    }
+
+    void closeStatement() {
+      try {
+        statement.close();
+      } catch (SQLException e) {
+        LOGGER.log(Level.FINE, "Failed to close a pipelined statement", e);
+      }
+    }
+
+    abstract T result(ResultWrapper results) throws SQLException;
+  }
+
+  private static final class QueryRequest extends Request<ResultSet> {
+    QueryRequest(PgPreparedStatement statement) {
+      super(statement);
+    }
+
+    @Override
+    ResultSet result(ResultWrapper results) throws SQLException {
+      if (results == null || results.getResultSet() == null) {
+        throw new PSQLException(GT.tr("No results were returned by the query."),
+            PSQLState.NO_DATA);
+      }
+      if (results.getNext() != null) {
+        throw new PSQLException(GT.tr("Multiple ResultSets were returned by the query."),
+            PSQLState.TOO_MANY_RESULTS);
+      }
+      // the statement now owns the result set and is closed together with it
+      synchronized (statement) {
+        statement.result = statement.firstUnclosedResult = results;
+      }
+      statement.closeOnCompletion();
+      return results.getResultSet();
+    }
+  }
+
+  private static final class UpdateRequest extends Request<Integer> {
+    UpdateRequest(PgPreparedStatement statement) {
+      super(statement);
+    }
+
+    @Override
+    Integer result(ResultWrapper results) throws SQLException {
+      long count = 0;
+      for (ResultWrapper result = results; result != null; result = result.getNext()) {
+        if (result.getResultSet() != null) {
+          throw new PSQLException(GT.tr("A result was returned when none was expected."),
+              PSQLState.TOO_MANY_RESULTS);
+        }
+        count += result.getUpdateCount();
+      }
+      closeStatement();
+      return count > Integer.MAX_VALUE ? Statement.SUCCESS_NO_INFO : (int) count;
+    }
+  }
+}
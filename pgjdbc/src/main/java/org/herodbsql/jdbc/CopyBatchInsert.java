@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.jdbc;
+
+import org.herodbsql.copy.CopyIn;
+import org.herodbsql.core.ParameterList;
+import org.herodbsql.core.Query;
+import org.herodbsql.core.SqlCommandType;
+import org.herodbsql.core.Utils;
+import org.herodbsql.util.GT;
+
+import java.sql.BatchUpdateException;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Executes a batch of a plain {@code INSERT INTO t (cols) VALUES ($1, ...)} statement as a single
+ * {@code COPY t (cols) FROM STDIN}, see {@link org.herodbsql.PGProperty#COPY_BATCHED_INSERTS}.
+ *
+ * <p>The rows are sent in COPY's text format: the bound parameters are already text (or binary
+ * values of a few well known types), while COPY's binary format would need the binary form of each
+ * target column's type. A batch that does not fit, for instance one that binds a stream, is left to
+ * the regular batch execution.</p>
+ */
+final class CopyBatchInsert {
+  private static final Logger LOGGER = Logger.getLogger(CopyBatchInsert.class.getName());
+
+  private static final String IDENTIFIER = "(?:\"(?:[^\"]|\"\")+\"|[\\p{L}_][\\p{L}\\p{N}_$]*)";
+  private static final Pattern INSERT = Pattern.compile(
+      "\\s*INSERT\\s+INTO\\s+(" + IDENTIFIER + "(?:\\s*\\.\\s*" + IDENTIFIER + "){0,2})"
+      + "\\s*\\(\\s*(" + IDENTIFIER + "(?:\\s*,\\s*" + IDENTIFIER + ")*)\\s*\\)"
+      + "\\s*VALUES\\s*\\(\\s*(\\$\\d+(?:\\s*,\\s*\\$\\d+)*)\\s*\\)\\s*;?\\s*",
+      Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+  private static final Pattern COMMA = Pattern.compile("\\s*,\\s*");
+
+  private static final int BUFFER_SIZE = 65536;
+
+  private CopyBatchInsert() {
+  }
+
+  /**
+   * Returns the COPY statement equivalent to a batch of the query: the query must insert each
+   * parameter, in order, into one listed column and do nothing else.
+   *
+   * @param query the batched query
+   * @param parameterCount number of parameters bound per row
+   * @return the COPY statement, or null if the query can't be executed with COPY
+   */
+  static String toCopyStatement(Query query, int parameterCount) {
+    if (query.getSubqueries() != null || query.getSqlCommand() == null
+        || query.getSqlCommand().getType() != SqlCommandType.INSERT
+        || query.getSqlCommand().isReturningKeywordPresent()) {
+      return null;
+    }
+    Matcher matcher = INSERT.matcher(query.getNativeSql());
+    if (!matcher.matches()) {
+      return null;
+    }
+    String[] columns = COMMA.split(matcher.group(2));
+    String[] values = COMMA.split(matcher.group(3));
+    if (columns.length != parameterCount || values.length != parameterCount) {
+      return null;
+    }
+    for (int i = 0; i < values.length; i++) {
+      if (!values[i].equals("$" + (i + 1))) {
+        return null;
+      }
+    }
+    return "COPY " + matcher.group(1) + " (" + matcher.group(2) + ") FROM STDIN";
+  }
+
+  /**
+   * Encodes the rows in COPY's text format.
+   *
+   * @param batchParameters parameters of each row
+   * @param parameterCount number of parameters bound per row
+   * @return the rows, or null if a parameter can't be represented in COPY's text format
+   */
+  static byte[][] encodeRows(List<ParameterList> batchParameters, int parameterCount) {
+    byte[][] rows = new byte[batchParameters.size()][];
+    StringBuilder sb = new StringBuilder();
+    for (int row = 0; row < rows.length; row++) {
+      ParameterList parameters = batchParameters.get(row);
+      if (parameters == null || parameters.getInParameterCount() != parameterCount) {
+        return null;
+      }
+      sb.setLength(0);
+      for (int i = 1; i <= parameterCount; i++) {
+        String text = parameters.toCopyText(i);
+        if (text == null) {
+          return null;
+        }
+        if (i > 1) {
+          sb.append('\t');
+        }
+        sb.append(text);
+      }
+      sb.append('\n');
+      rows[row] = Utils.encodeUTF8(sb.toString());
+    }
+    return rows;
+  }
+
+  /**
+   * Executes the batch with COPY.
+   *
+   * @param connection the connection
+   * @param copySql the COPY statement from {@link #toCopyStatement(Query, int)}
+   * @param rows the rows from {@link #encodeRows(List, int)}
+   * @return the update count of each row
+   * @throws SQLException if COPY fails; a {@link BatchUpdateException} if the server rejected it
+   */
+  static long[] execute(PgConnection connection, String copySql, byte[][] rows)
+      throws SQLException {
+    LOGGER.log(Level.FINEST, "  executing batch of {0} rows as {1}",
+        new Object[]{rows.length, copySql});
+    long copied;
+    CopyIn copyIn = connection.getCopyAPI().copyIn(copySql);
+    try {
+      byte[] buf = new byte[BUFFER_SIZE];
+      int len = 0;
+      for (byte[] row : rows) {
+        if (len + row.length > buf.length) {
+          if (len > 0) {
+            copyIn.writeToCopy(buf, 0, len);
+            len = 0;
+          }
+          if (row.length > buf.length) {
+            copyIn.writeToCopy(row, 0, row.length);
+            continue;
+          }
+        }
+        System.arraycopy(row, 0, buf, len, row.length);
+        len += row.length;
+      }
+      if (len > 0) {
+        copyIn.writeToCopy(buf, 0, len);
+      }
+      copied = copyIn.endCopy();
+    } catch (SQLException e) {
+      BatchUpdateException batchException = new BatchUpdateException(
+          GT.tr("Batch insert of {0} rows with COPY was aborted: {1}", rows.length,
+              e.getMessage()),
+          e.getSQLState(), new int[0]);
+      batchException.setNextException(e);
+      batchException.initCause(e);
+      throw batchException;
+    } finally {
+      // see to it that we do not leave the connection locked
+      if (copyIn.isActive()) {
+        copyIn.cancelCopy();
+      }
+    }
+
+    long[] updateCounts = new long[rows.length];
+    // every row inserts one row, unless a trigger skipped some
+    Arrays.fill(updateCounts, copied == rows.length ? 1 : Statement.SUCCESS_NO_INFO);
+    return updateCounts;
+  }
+}
@@ -10,6 +10,7 @@ import org.herodbx.HerodbClob;
 import org.herodbsql.Driver;
 import org.herodbsql.PGNotification;
 import org.herodbsql.PGProperty;
+import org.herodbsql.PGRowStream;
 import org.herodbsql.copy.CopyManager;
 import org.herodbsql.core.BaseConnection;
 import org.herodbsql.core.BaseStatement;
@@ -74,6 +75,7 @@ import java.util.StringTokenizer;
 import java.util.TimeZone;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -142,6 +144,9 @@ public class PgConnection implements BaseConnection {
   private boolean  hideUnprivilegedObjects ;
   // Bind String to UNSPECIFIED or VARCHAR?
   private final boolean bindStringAsVarchar;
+  // Execute batched plain INSERTs with COPY?
+  private final boolean copyBatchedInserts;
+  private final boolean adaptivePrepare;
 
   // Current warnings; there might be more on queryExecutor too.
   private SQLWarning firstWarning = null;
@@ -293,6 +298,8 @@ public class PgConnection implements BaseConnection {
       openStackTrace = new Throwable("Connection was created at this point:");
     }
     this.disableColumnSanitiser = PGProperty.DISABLE_COLUMN_SANITISER.getBoolean(info);
+    this.copyBatchedInserts = PGProperty.COPY_BATCHED_INSERTS.getBoolean(info);
+    this.adaptivePrepare = PGProperty.ADAPTIVE_PREPARE.getBoolean(info);
 
     if (haveMinimumServerVersion(ServerVersion.v8_3)) {
       typeCache.addCoreType("uuid", Oid.UUID, Types.OTHER, "java.util.UUID", Oid.UUID_ARRAY);
@@ -314,6 +321,25 @@ public class PgConnection implements BaseConnection {
         false);
 
     replicationConnection = PGProperty.REPLICATION.get(info) != null;
+
+    if (PGProperty.SHARED_TYPE_CACHE.getBoolean(info) && typeCache instanceof TypeInfoCache) {
+      final SharedTypeRegistry sharedTypes = SharedTypeRegistry.forServer(
+          queryExecutor.getHostSpec(), queryExecutor.getDatabase(),
+          queryExecutor.getServerVersionNum());
+      ((TypeInfoCache) typeCache).setSharedTypes(sharedTypes,
+          PGProperty.SHARED_TYPE_CACHE_TTL.getInt(info));
+      String channel = PGProperty.SHARED_TYPE_CACHE_CHANNEL.get(info);
+      if (channel != null && !replicationConnection) {
+        queryExecutor.setNotificationListener(channel, new Runnable() {
+          @Override
+          public void run() {
+            LOGGER.log(Level.FINE, "  shared types invalidated by a notification");
+            sharedTypes.invalidate();
+          }
+        });
+        execSQLUpdate("LISTEN " + escapeIdentifier(channel));
+      }
+    }
   }
 
   private static ReadOnlyBehavior getReadOnlyBehavior(String property) {
@@ -724,6 +750,11 @@ public class PgConnection implements BaseConnection {
       return;
     }
     releaseTimer();
+    synchronized (this) {
+      if (asyncPipeline != null) {
+        asyncPipeline.close();
+      }
+    }
     queryExecutor.close();
     openStackTrace = null;
   }
@@ -1147,6 +1178,14 @@ public class PgConnection implements BaseConnection {
     return bindStringAsVarchar;
   }
 
+  boolean getCopyBatchedInserts() {
+    return copyBatchedInserts;
+  }
+
+  boolean getAdaptivePrepare() {
+    return adaptivePrepare;
+  }
+
   private CopyManager copyManager = null;
 
   public CopyManager getCopyAPI() throws SQLException {
@@ -1157,6 +1196,35 @@ public class PgConnection implements BaseConnection {
     return copyManager;
   }
 
+  private AsyncPipeline asyncPipeline = null;
+
+  private synchronized AsyncPipeline getAsyncPipeline() throws SQLException {
+    checkClosed();
+    if (asyncPipeline == null) {
+      asyncPipeline = new AsyncPipeline(this);
+    }
+    return asyncPipeline;
+  }
+
+  @Override
+  public CompletableFuture<ResultSet> executeQueryAsync(String sql, Object... parameters)
+      throws SQLException {
+    return getAsyncPipeline().submitQuery(sql, parameters);
+  }
+
+  @Override
+  public CompletableFuture<Integer> executeUpdateAsync(String sql, Object... parameters)
+      throws SQLException {
+    return getAsyncPipeline().submitUpdate(sql, parameters);
+  }
+
+  @Override
+  public <T> PGRowStream<T> streamQuery(String sql, PGRowStream.RowMapper<T> mapper,
+      Object... parameters) throws SQLException {
+    checkClosed();
+    return new PgRowStream<T>(this, sql, mapper, parameters);
+  }
+
   public boolean binaryTransferSend(int oid) {
     return queryExecutor.useBinaryForSend(oid);
   }
@@ -1165,6 +1233,11 @@ public class PgConnection implements BaseConnection {
     return queryExecutor.getBackendPID();
   }
 
+  @Override
+  public long getReprepareCount() {
+    return queryExecutor.getReprepareCount();
+  }
+
   public boolean isColumnSanitiserDisabled() {
     return this.disableColumnSanitiser;
   }
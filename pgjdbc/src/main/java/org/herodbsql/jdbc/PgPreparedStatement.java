@@ -10,6 +10,7 @@ import org.herodbsql.core.BaseConnection;
 import org.herodbsql.core.CachedQuery;
 import org.herodbsql.core.Oid;
 import org.herodbsql.core.ParameterList;
+import org.herodbsql.core.PrepareStatistics;
 import org.herodbsql.core.Query;
 import org.herodbsql.core.QueryExecutor;
 import org.herodbsql.core.ServerVersion;
@@ -67,6 +68,8 @@ class PgPreparedStatement extends PgStatement implements PreparedStatement {
 
   private TimeZone defaultTimeZone;
 
+  private final boolean copyBatchedInserts;
+
   PgPreparedStatement(PgConnection connection, String sql, int rsType, int rsConcurrency,
       int rsHoldability) throws SQLException {
     this(connection, connection.borrowQuery(sql), rsType, rsConcurrency, rsHoldability);
@@ -78,6 +81,7 @@ class PgPreparedStatement extends PgStatement implements PreparedStatement {
 
     this.preparedQuery = query;
     this.preparedParameters = this.preparedQuery.query.createParameterList();
+    this.copyBatchedInserts = connection.getCopyBatchedInserts();
     // TODO: this.wantsGeneratedKeysAlways = true;
 
     setPoolable(true); // As per JDBC spec: prepared and callable statements are poolable by
@@ -1022,10 +1026,20 @@ class PgPreparedStatement extends PgStatement implements PreparedStatement {
 
   @Override
   public boolean isUseServerPrepare() {
+    if (preparedQuery != null && adaptivePrepare && mPrepareThreshold > 0
+        && !getForceBinaryTransfer()) {
+      return preparedQuery.getPrepareStatistics().getDecision()
+          == PrepareStatistics.Decision.PREPARED;
+    }
     return (preparedQuery != null && mPrepareThreshold != 0
         && preparedQuery.getExecuteCount() + 1 >= mPrepareThreshold);
   }
 
+  @Override
+  public PrepareStatistics getPrepareStatistics() {
+    return preparedQuery != null ? preparedQuery.getPrepareStatistics() : null;
+  }
+
   @Override
   public void addBatch(String sql) throws SQLException {
     checkClosed();
@@ -1633,6 +1647,14 @@ class PgPreparedStatement extends PgStatement implements PreparedStatement {
 
   @Override
   public int[] executeBatch() throws SQLException {
+    long[] copyUpdateCounts = executeBatchWithCopy();
+    if (copyUpdateCounts != null) {
+      int[] updateCounts = new int[copyUpdateCounts.length];
+      for (int i = 0; i < updateCounts.length; i++) {
+        updateCounts[i] = (int) copyUpdateCounts[i];
+      }
+      return updateCounts;
+    }
     try {
       // Note: in batch prepared statements batchStatements == 1, and batchParameters is equal
       // to the number of addBatch calls
@@ -1650,6 +1672,43 @@ class PgPreparedStatement extends PgStatement implements PreparedStatement {
     }
   }
 
+  @Override
+  public long[] executeLargeBatch() throws SQLException {
+    long[] updateCounts = executeBatchWithCopy();
+    if (updateCounts != null) {
+      return updateCounts;
+    }
+    return super.executeLargeBatch();
+  }
+
+  /**
+   * Executes the batch as a single COPY if {@code copyBatchedInserts} is enabled and the
+   * statement is a plain INSERT.
+   *
+   * @return the update counts, or null if the batch has to be executed as usual
+   * @throws SQLException if the COPY fails
+   */
+  private long[] executeBatchWithCopy() throws SQLException {
+    if (!copyBatchedInserts || batchParameters == null || batchParameters.size() <= 1
+        || wantsGeneratedKeysAlways) {
+      return null;
+    }
+    checkClosed();
+    int parameterCount = preparedParameters.getInParameterCount();
+    String copySql = CopyBatchInsert.toCopyStatement(preparedQuery.query, parameterCount);
+    if (copySql == null) {
+      return null;
+    }
+    byte[][] rows = CopyBatchInsert.encodeRows(batchParameters, parameterCount);
+    if (rows == null) {
+      return null;
+    }
+    closeForNextExecution();
+    batchStatements.clear();
+    batchParameters.clear();
+    return CopyBatchInsert.execute((PgConnection) connection, copySql, rows);
+  }
+
   private Calendar getDefaultCalendar() {
     TimestampUtils timestampUtils = connection.getTimestampUtils();
     if (timestampUtils.hasFastDefaultTimeZone()) {
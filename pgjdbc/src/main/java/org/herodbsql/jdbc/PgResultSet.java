@@ -125,6 +125,13 @@ public class PgResultSet implements ResultSet, org.herodbsql.PGRefCursorResultSe
   protected int fetchSize; // Current fetch size (might be 0).
   protected ResultCursor cursor; // Cursor for fetching additional data.
 
+  // Bounds for the number of rows of an adaptive fetch.
+  private static final int MIN_ADAPTIVE_FETCH_ROWS = 16;
+  private static final int MAX_ADAPTIVE_FETCH_ROWS = 65536;
+
+  // Target size in bytes of each fetch; 0 when fetches use fetchSize.
+  private int adaptiveFetchBytes;
+
   private Map<String, Integer> columnNameIndexMap; // Speed up findColumn by caching lookups
 
   private ResultSetMetaData rsMetaData;
@@ -835,7 +842,7 @@ public class PgResultSet implements ResultSet, org.herodbsql.PGRefCursorResultSe
     rowOffset += rows_size - 1; // Discarding all but one row.
 
     // Work out how many rows maxRows will let us fetch.
-    int fetchRows = fetchSize;
+    int fetchRows = getNextFetchRows();
     if (maxRows != 0) {
       if (fetchRows == 0 || rowOffset + fetchRows > maxRows) {
         // Fetch would exceed maxRows, limit it.
@@ -1818,6 +1825,30 @@ public class PgResultSet implements ResultSet, org.herodbsql.PGRefCursorResultSe
     return fetchSize;
   }
 
+  /**
+   * Sizes each following fetch so that it returns about {@code bytes} of row data, estimated from
+   * the rows of the previous fetch, instead of {@link #getFetchSize()} rows.
+   *
+   * @param bytes the target size of a fetch, or 0 to fetch {@link #getFetchSize()} rows
+   */
+  void setAdaptiveFetch(int bytes) {
+    adaptiveFetchBytes = bytes;
+  }
+
+  private int getNextFetchRows() {
+    if (adaptiveFetchBytes <= 0 || rows.isEmpty()) {
+      return fetchSize;
+    }
+    long bytes = 0;
+    for (Tuple row : rows) {
+      // column data plus the length word of each column
+      bytes += row.length() + 4L * row.fieldCount();
+    }
+    long averageRowBytes = Math.max(1, bytes / rows.size());
+    long fetchRows = adaptiveFetchBytes / averageRowBytes;
+    return (int) Math.max(MIN_ADAPTIVE_FETCH_ROWS, Math.min(MAX_ADAPTIVE_FETCH_ROWS, fetchRows));
+  }
+
   @Override
   public boolean next() throws SQLException {
     checkClosed();
@@ -1836,9 +1867,9 @@ public class PgResultSet implements ResultSet, org.herodbsql.PGRefCursorResultSe
       }
 
       // Ask for some more data.
+      int fetchRows = getNextFetchRows();
       rowOffset += rows.size(); // We are discarding some data.
 
-      int fetchRows = fetchSize;
       if (maxRows != 0) {
         if (fetchRows == 0 || rowOffset + fetchRows > maxRows) {
           // Fetch would exceed maxRows, limit it.
@@ -1928,7 +1959,9 @@ public class PgResultSet implements ResultSet, org.herodbsql.PGRefCursorResultSe
 
     Encoding encoding = connection.getEncoding();
     try {
-      return trimString(columnIndex, encoding.decode(thisRow.get(columnIndex - 1)));
+      int col = columnIndex - 1;
+      return trimString(columnIndex, encoding.decode(thisRow.getBackingArray(col),
+          thisRow.getOffset(col), thisRow.getLength(col)));
     } catch (IOException ioe) {
       throw new PSQLException(
           GT.tr(
@@ -2044,7 +2077,7 @@ public class PgResultSet implements ResultSet, org.herodbsql.PGRefCursorResultSe
       int col = columnIndex - 1;
       int oid = fields[col].getOID();
       if (oid == Oid.INT2) {
-        return ByteConverter.int2(thisRow.get(col), 0);
+        return ByteConverter.int2(thisRow.getBackingArray(col), thisRow.getOffset(col));
       }
       return (short) readLongValue(thisRow.get(col), oid, Short.MIN_VALUE, Short.MAX_VALUE, "short");
     }
@@ -2064,7 +2097,7 @@ public class PgResultSet implements ResultSet, org.herodbsql.PGRefCursorResultSe
       int col = columnIndex - 1;
       int oid = fields[col].getOID();
       if (oid == Oid.INT4) {
-        return ByteConverter.int4(thisRow.get(col), 0);
+        return ByteConverter.int4(thisRow.getBackingArray(col), thisRow.getOffset(col));
       }
       return (int) readLongValue(thisRow.get(col), oid, Integer.MIN_VALUE, Integer.MAX_VALUE, "int");
     }
@@ -2091,7 +2124,7 @@ public class PgResultSet implements ResultSet, org.herodbsql.PGRefCursorResultSe
       int col = columnIndex - 1;
       int oid = fields[col].getOID();
       if (oid == Oid.INT8) {
-        return ByteConverter.int8(thisRow.get(col), 0);
+        return ByteConverter.int8(thisRow.getBackingArray(col), thisRow.getOffset(col));
       }
       return readLongValue(thisRow.get(col), oid, Long.MIN_VALUE, Long.MAX_VALUE, "long");
     }
@@ -2136,30 +2169,34 @@ public class PgResultSet implements ResultSet, org.herodbsql.PGRefCursorResultSe
    */
   private long getFastLong(int columnIndex) throws SQLException, NumberFormatException {
 
-    byte[] bytes = thisRow.get(columnIndex - 1);
+    int col = columnIndex - 1;
+    byte[] bytes = thisRow.getBackingArray(col);
+    int offset = thisRow.getOffset(col);
+    int length = thisRow.getLength(col);
+    int end = offset + length;
 
-    if (bytes.length == 0) {
+    if (length == 0) {
       throw FAST_NUMBER_FAILED;
     }
 
     long val = 0;
     int start;
     boolean neg;
-    if (bytes[0] == '-') {
+    if (bytes[offset] == '-') {
       neg = true;
-      start = 1;
-      if (bytes.length == 1 || bytes.length > 19) {
+      start = offset + 1;
+      if (length == 1 || length > 19) {
         throw FAST_NUMBER_FAILED;
       }
     } else {
-      start = 0;
+      start = offset;
       neg = false;
-      if (bytes.length > 18) {
+      if (length > 18) {
         throw FAST_NUMBER_FAILED;
       }
     }
 
-    while (start < bytes.length) {
+    while (start < end) {
       byte b = bytes[start++];
       if (b < '0' || b > '9') {
         throw FAST_NUMBER_FAILED;
@@ -2188,30 +2225,34 @@ public class PgResultSet implements ResultSet, org.herodbsql.PGRefCursorResultSe
    */
   private int getFastInt(int columnIndex) throws SQLException, NumberFormatException {
 
-    byte[] bytes = thisRow.get(columnIndex - 1);
+    int col = columnIndex - 1;
+    byte[] bytes = thisRow.getBackingArray(col);
+    int offset = thisRow.getOffset(col);
+    int length = thisRow.getLength(col);
+    int end = offset + length;
 
-    if (bytes.length == 0) {
+    if (length == 0) {
       throw FAST_NUMBER_FAILED;
     }
 
     int val = 0;
     int start;
     boolean neg;
-    if (bytes[0] == '-') {
+    if (bytes[offset] == '-') {
       neg = true;
-      start = 1;
-      if (bytes.length == 1 || bytes.length > 10) {
+      start = offset + 1;
+      if (length == 1 || length > 10) {
         throw FAST_NUMBER_FAILED;
       }
     } else {
-      start = 0;
+      start = offset;
       neg = false;
-      if (bytes.length > 9) {
+      if (length > 9) {
         throw FAST_NUMBER_FAILED;
       }
     }
 
-    while (start < bytes.length) {
+    while (start < end) {
       byte b = bytes[start++];
       if (b < '0' || b > '9') {
         throw FAST_NUMBER_FAILED;
@@ -2240,9 +2281,13 @@ public class PgResultSet implements ResultSet, org.herodbsql.PGRefCursorResultSe
    */
   private BigDecimal getFastBigDecimal(int columnIndex) throws SQLException, NumberFormatException {
 
-    byte[] bytes = thisRow.get(columnIndex - 1);
+    int col = columnIndex - 1;
+    byte[] bytes = thisRow.getBackingArray(col);
+    int offset = thisRow.getOffset(col);
+    int length = thisRow.getLength(col);
+    int end = offset + length;
 
-    if (bytes.length == 0) {
+    if (length == 0) {
       throw FAST_NUMBER_FAILED;
     }
 
@@ -2250,26 +2295,26 @@ public class PgResultSet implements ResultSet, org.herodbsql.PGRefCursorResultSe
     long val = 0;
     int start;
     boolean neg;
-    if (bytes[0] == '-') {
+    if (bytes[offset] == '-') {
       neg = true;
-      start = 1;
-      if (bytes.length == 1 || bytes.length > 19) {
+      start = offset + 1;
+      if (length == 1 || length > 19) {
         throw FAST_NUMBER_FAILED;
       }
     } else {
-      start = 0;
+      start = offset;
       neg = false;
-      if (bytes.length > 18) {
+      if (length > 18) {
         throw FAST_NUMBER_FAILED;
       }
     }
 
     int periodsSeen = 0;
-    while (start < bytes.length) {
+    while (start < end) {
       byte b = bytes[start++];
       if (b < '0' || b > '9') {
         if (b == '.') {
-          scale = bytes.length - start;
+          scale = end - start;
           periodsSeen++;
           continue;
         } else {
@@ -2280,7 +2325,7 @@ public class PgResultSet implements ResultSet, org.herodbsql.PGRefCursorResultSe
       val += b - '0';
     }
 
-    int numNonSignChars = neg ? bytes.length - 1 : bytes.length;
+    int numNonSignChars = neg ? length - 1 : length;
     if (periodsSeen > 1 || periodsSeen == numNonSignChars) {
       throw FAST_NUMBER_FAILED;
     }
@@ -2304,7 +2349,7 @@ public class PgResultSet implements ResultSet, org.herodbsql.PGRefCursorResultSe
       int col = columnIndex - 1;
       int oid = fields[col].getOID();
       if (oid == Oid.FLOAT4) {
-        return ByteConverter.float4(thisRow.get(col), 0);
+        return ByteConverter.float4(thisRow.getBackingArray(col), thisRow.getOffset(col));
       }
       return (float) readDoubleValue(thisRow.get(col), oid, "float");
     }
@@ -2324,7 +2369,7 @@ public class PgResultSet implements ResultSet, org.herodbsql.PGRefCursorResultSe
       int col = columnIndex - 1;
       int oid = fields[col].getOID();
       if (oid == Oid.FLOAT8) {
-        return ByteConverter.float8(thisRow.get(col), 0);
+        return ByteConverter.float8(thisRow.getBackingArray(col), thisRow.getOffset(col));
       }
       return readDoubleValue(thisRow.get(col), oid, "double");
     }
@@ -2799,7 +2844,7 @@ public class PgResultSet implements ResultSet, org.herodbsql.PGRefCursorResultSe
           PSQLState.INVALID_CURSOR_STATE);
     }
     checkColumnIndex(column);
-    wasNullFlag = (thisRow.get(column - 1) == null);
+    wasNullFlag = thisRow.isNull(column - 1);
   }
 
   /**
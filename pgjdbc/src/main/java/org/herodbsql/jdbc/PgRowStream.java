@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.jdbc;
+
+import org.herodbsql.PGRowStream;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.NoSuchElementException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * {@link PGRowStream} over a forward cursor result set whose fetches are sized by
+ * {@link PgResultSet#setAdaptiveFetch(int)}.
+ *
+ * @param <T> the type the rows are mapped to
+ */
+class PgRowStream<T> implements PGRowStream<T> {
+  private static final Logger LOGGER = Logger.getLogger(PgRowStream.class.getName());
+
+  // Rows of the first fetch, before anything is known about the row size.
+  private static final int INITIAL_FETCH_ROWS = 128;
+
+  // Target size of each following fetch.
+  private static final int FETCH_BYTES = 1024 * 1024;
+
+  private final PgConnection connection;
+  private final RowMapper<T> mapper;
+  private final boolean restoreAutoCommit;
+  private PgPreparedStatement statement;
+  private ResultSet resultSet;
+
+  private boolean onRow;
+  private boolean closed;
+  private long rowCount;
+
+  PgRowStream(PgConnection connection, String sql, RowMapper<T> mapper, Object[] parameters)
+      throws SQLException {
+    this.connection = connection;
+    this.mapper = mapper;
+    // The portal has to outlive the Sync of the Execute, which needs a transaction.
+    restoreAutoCommit = connection.getAutoCommit();
+    if (restoreAutoCommit) {
+      connection.setAutoCommit(false);
+    }
+    try {
+      statement = (PgPreparedStatement) connection.prepareStatement(sql,
+          ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY,
+          ResultSet.CLOSE_CURSORS_AT_COMMIT);
+      statement.setFetchSize(INITIAL_FETCH_ROWS);
+      if (parameters != null) {
+        for (int i = 0; i < parameters.length; i++) {
+          statement.setObject(i + 1, parameters[i]);
+        }
+      }
+      resultSet = statement.executeQuery();
+      ((PgResultSet) resultSet).setAdaptiveFetch(FETCH_BYTES);
+    } catch (SQLException e) {
+      closeQuietly();
+      throw e;
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (onRow) {
+      return true;
+    }
+    if (closed) {
+      return false;
+    }
+    try {
+      if (resultSet.next()) {
+        onRow = true;
+        return true;
+      }
+      close();
+      return false;
+    } catch (SQLException e) {
+      closeQuietly();
+      throw new StreamException(e);
+    }
+  }
+
+  @Override
+  public T next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    onRow = false;
+    rowCount++;
+    try {
+      return mapper.map(resultSet);
+    } catch (SQLException e) {
+      closeQuietly();
+      throw new StreamException(e);
+    }
+  }
+
+  @Override
+  public long getRowCount() {
+    return rowCount;
+  }
+
+  @Override
+  public void close() throws SQLException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    onRow = false;
+    try {
+      if (statement != null) {
+        statement.close();
+      }
+    } finally {
+      if (restoreAutoCommit) {
+        // commits the transaction opened for the portal
+        connection.setAutoCommit(true);
+      }
+    }
+  }
+
+  private void closeQuietly() {
+    try {
+      close();
+    } catch (SQLException e) {
+      LOGGER.log(Level.FINE, "Failed to close a row stream", e);
+    }
+  }
+}
@@ -11,6 +11,7 @@ import org.herodbsql.core.BaseStatement;
 import org.herodbsql.core.CachedQuery;
 import org.herodbsql.core.Field;
 import org.herodbsql.core.ParameterList;
+import org.herodbsql.core.PrepareStatistics;
 import org.herodbsql.core.Query;
 import org.herodbsql.core.QueryExecutor;
 import org.herodbsql.core.ResultCursor;
@@ -134,6 +135,7 @@ public class PgStatement implements Statement, BaseStatement {
   protected ResultWrapper generatedKeys = null;
 
   protected int mPrepareThreshold; // Reuse threshold to enable use of PREPARE
+  final boolean adaptivePrepare;
 
   protected int maxFieldSize = 0;
 
@@ -145,6 +147,7 @@ public class PgStatement implements Statement, BaseStatement {
     concurrency = rsConcurrency;
     setFetchSize(c.getDefaultFetchSize());
     setPrepareThreshold(c.getPrepareThreshold());
+    this.adaptivePrepare = c.getAdaptivePrepare();
     this.rsHoldability = rsHoldability;
   }
 
@@ -356,6 +359,10 @@ public class PgStatement implements Statement, BaseStatement {
       return true;
     }
     cachedQuery.increaseExecuteCount();
+    if (adaptivePrepare && mPrepareThreshold > 0 && !getForceBinaryTransfer()) {
+      return !cachedQuery.getPrepareStatistics().shouldPrepare(cachedQuery.getExecuteCount(),
+          mPrepareThreshold, System.nanoTime());
+    }
     if ((mPrepareThreshold == 0 || cachedQuery.getExecuteCount() < mPrepareThreshold)
         && !getForceBinaryTransfer()) {
       return true;
@@ -443,6 +450,7 @@ public class PgStatement implements Statement, BaseStatement {
     synchronized (this) {
       result = null;
     }
+    long startNanos = adaptivePrepare ? System.nanoTime() : 0;
     try {
       startTimer();
       connection.getQueryExecutor().execute(queryToExecute, queryParameters, handler, maxrows,
@@ -450,6 +458,11 @@ public class PgStatement implements Statement, BaseStatement {
     } finally {
       killTimerTask();
     }
+    if (adaptivePrepare && cachedQuery.getPrepareStatistics().recordLatency(
+        (flags & QueryExecutor.QUERY_ONESHOT) == 0, System.nanoTime() - startNanos)) {
+      // the server statement did not pay off, the next executions use the unnamed one
+      queryToExecute.close();
+    }
     synchronized (this) {
       checkClosed();
       result = firstUnclosedResult = handler.getResults();
@@ -704,6 +717,11 @@ public class PgStatement implements Statement, BaseStatement {
     return false;
   }
 
+  @Override
+  public PrepareStatistics getPrepareStatistics() {
+    return null;
+  }
+
   protected void checkClosed() throws SQLException {
     if (isClosed()) {
       throw new PSQLException(GT.tr("This statement has been closed."),
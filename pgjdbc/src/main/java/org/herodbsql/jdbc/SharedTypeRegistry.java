@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.jdbc;
+
+import org.herodbsql.util.HostSpec;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * JVM-wide registry of the {@code pg_type} rows of one database, shared by the
+ * {@link TypeInfoCache} of all connections to it that enable
+ * {@link org.herodbsql.PGProperty#SHARED_TYPE_CACHE}.
+ *
+ * <p>The registry only holds facts that do not depend on the session: the schema, name, kind,
+ * array element and delimiter of a type oid. Names as seen by a connection still depend on its
+ * {@code search_path} and are derived by its {@link TypeInfoCache}.</p>
+ *
+ * <p>The registry is filled by one bulk query and refilled once it is older than its time to live,
+ * or after {@link #invalidate()}. The query runs on the connection that first needs it, the others
+ * wait for its result without holding a lock. A connection can invalidate it on a notification sent by an event
+ * trigger, see {@link org.herodbsql.PGProperty#SHARED_TYPE_CACHE_CHANNEL}:</p>
+ *
+ * <pre>
+ * CREATE FUNCTION notify_type_ddl() RETURNS event_trigger LANGUAGE plpgsql AS
+ *   $$ BEGIN PERFORM pg_notify('herodb_types', ''); END $$;
+ * CREATE EVENT TRIGGER type_ddl ON ddl_command_end
+ *   WHEN TAG IN ('CREATE TYPE', 'ALTER TYPE', 'DROP TYPE', 'CREATE DOMAIN', 'ALTER DOMAIN',
+ *                'DROP DOMAIN', 'ALTER SCHEMA')
+ *   EXECUTE PROCEDURE notify_type_ddl();
+ * </pre>
+ */
+final class SharedTypeRegistry {
+  private static final ConcurrentMap<Key, SharedTypeRegistry> REGISTRIES =
+      new ConcurrentHashMap<Key, SharedTypeRegistry>();
+
+  /**
+   * One row of {@code pg_type}.
+   */
+  static final class TypeEntry {
+    final int oid;
+    final String schema;
+    final String name;
+    final char typtype;
+    final boolean isArray;
+    // zero if the type has no element type
+    final int elementOid;
+    final char delimiter;
+
+    TypeEntry(int oid, String schema, String name, char typtype, boolean isArray, int elementOid,
+        char delimiter) {
+      this.oid = oid;
+      this.schema = schema;
+      this.name = name;
+      this.typtype = typtype;
+      this.isArray = isArray;
+      this.elementOid = elementOid;
+      this.delimiter = delimiter;
+    }
+  }
+
+  /**
+   * Runs the bulk query on a connection.
+   */
+  interface Loader {
+    /**
+     * @return all types of the database, by oid
+     * @throws SQLException if the query failed
+     */
+    Map<Integer, TypeEntry> load() throws SQLException;
+  }
+
+  private static final class Key {
+    private final String host;
+    private final int port;
+    private final String database;
+    private final int serverVersionNum;
+
+    Key(String host, int port, String database, int serverVersionNum) {
+      this.host = host;
+      this.port = port;
+      this.database = database;
+      this.serverVersionNum = serverVersionNum;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key that = (Key) o;
+      return port == that.port
+          && serverVersionNum == that.serverVersionNum
+          && host.equals(that.host)
+          && database.equals(that.database);
+    }
+
+    @Override
+    public int hashCode() {
+      int result = host.hashCode();
+      result = 31 * result + port;
+      result = 31 * result + database.hashCode();
+      result = 31 * result + serverVersionNum;
+      return result;
+    }
+  }
+
+  private volatile ConcurrentMap<Integer, TypeEntry> types =
+      new ConcurrentHashMap<Integer, TypeEntry>();
+  // System.nanoTime() of the last bulk load
+  private volatile long loadedAt;
+  private volatile boolean loaded;
+  // the bulk load in progress, if any
+  private final AtomicReference<FutureTask<Void>> pendingLoad =
+      new AtomicReference<FutureTask<Void>>();
+
+  SharedTypeRegistry() {
+  }
+
+  /**
+   * Returns the registry of a database, creating it on first use.
+   *
+   * @param hostSpec host and port of the server
+   * @param database the database name
+   * @param serverVersionNum the server version, so an upgraded server starts afresh
+   * @return the registry shared by all connections to the database
+   */
+  static SharedTypeRegistry forServer(HostSpec hostSpec, String database, int serverVersionNum) {
+    Key key = new Key(hostSpec.getHost(), hostSpec.getPort(), database, serverVersionNum);
+    SharedTypeRegistry registry = REGISTRIES.get(key);
+    if (registry == null) {
+      SharedTypeRegistry created = new SharedTypeRegistry();
+      registry = REGISTRIES.putIfAbsent(key, created);
+      if (registry == null) {
+        registry = created;
+      }
+    }
+    return registry;
+  }
+
+  /**
+   * @param oid type oid
+   * @return the type or null if it is not known to the registry
+   */
+  TypeEntry get(int oid) {
+    return types.get(oid);
+  }
+
+  /**
+   * Adds a type that was looked up individually.
+   *
+   * @param entry the type
+   */
+  void put(TypeEntry entry) {
+    types.put(entry.oid, entry);
+  }
+
+  /**
+   * @param ttlNanos time to live of a bulk load, zero or less to never refill
+   * @param now {@link System#nanoTime()}
+   * @return true if the registry should be filled by a bulk load
+   */
+  boolean needsLoad(long ttlNanos, long now) {
+    return !loaded || ttlNanos > 0 && now - loadedAt > ttlNanos;
+  }
+
+  /**
+   * Fills the registry by a bulk load if {@link #needsLoad} says so. One caller runs the load, the
+   * concurrent ones wait for it and load themselves if it fails. A caller interrupted while waiting
+   * returns without a load.
+   *
+   * @param ttlNanos time to live of a bulk load, zero or less to never refill
+   * @param loader runs the bulk query on the connection of the caller
+   * @throws SQLException if the load run by this caller failed
+   */
+  void ensureLoaded(long ttlNanos, final Loader loader) throws SQLException {
+    final long now = System.nanoTime();
+    while (needsLoad(ttlNanos, now)) {
+      FutureTask<Void> task = pendingLoad.get();
+      if (task == null) {
+        FutureTask<Void> created = new FutureTask<Void>(new Callable<Void>() {
+          @Override
+          public Void call() throws SQLException {
+            load(loader.load(), now);
+            return null;
+          }
+        });
+        if (pendingLoad.compareAndSet(null, created)) {
+          try {
+            created.run();
+          } finally {
+            pendingLoad.compareAndSet(created, null);
+          }
+          rethrowFailure(created);
+          return;
+        }
+        continue;
+      }
+      try {
+        task.get();
+      } catch (ExecutionException e) {
+        // the load failed on another connection, try on this one
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  private static void rethrowFailure(FutureTask<Void> task) throws SQLException {
+    try {
+      task.get();
+    } catch (InterruptedException e) {
+      // the task is done, get() does not wait
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof SQLException) {
+        throw (SQLException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw (Error) cause;
+    }
+  }
+
+  /**
+   * Replaces the content of the registry by the result of a bulk load.
+   *
+   * @param entries the types
+   * @param now {@link System#nanoTime()} when the load started
+   */
+  void load(Map<Integer, TypeEntry> entries, long now) {
+    types = new ConcurrentHashMap<Integer, TypeEntry>(entries);
+    loadedAt = now;
+    loaded = true;
+  }
+
+  /**
+   * Drops all types, the next lookup of any connection loads them again.
+   */
+  void invalidate() {
+    loaded = false;
+    types = new ConcurrentHashMap<Integer, TypeEntry>();
+  }
+
+  int size() {
+    return types.size();
+  }
+}
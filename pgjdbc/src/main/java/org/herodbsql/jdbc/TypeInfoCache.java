@@ -24,6 +24,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -62,6 +63,12 @@ public class TypeInfoCache implements TypeInfo {
   private PreparedStatement getArrayDelimiterStatement;
   private PreparedStatement getTypeInfoStatement;
   private PreparedStatement getAllTypeInfoStatement;
+  private PreparedStatement getTypeEntryStatement;
+  private PreparedStatement getOnSearchPathStatement;
+
+  // pg_type rows shared with the other connections, null unless sharedTypeCache is enabled
+  private SharedTypeRegistry sharedTypes;
+  private long sharedTypesTtlNanos;
 
   // basic pg types info:
   // 0 - type name
@@ -211,9 +218,11 @@ public class TypeInfoCache implements TypeInfo {
   }
 
   private int getSQLTypeFromQueryResult(ResultSet rs) throws SQLException {
+    return getSQLType(rs.getBoolean("is_array"), rs.getString("typtype"));
+  }
+
+  private static int getSQLType(boolean isArray, String typtype) {
     Integer type = null;
-    boolean isArray = rs.getBoolean("is_array");
-    String typtype = rs.getString("typtype");
     if (isArray) {
       type = Types.ARRAY;
     } else if ("c".equals(typtype)) {
@@ -250,8 +259,16 @@ public class TypeInfoCache implements TypeInfo {
     rs.close();
   }
 
-  public int getSQLType(int oid) throws SQLException {
-    return getSQLType(getPGType(oid));
+  public synchronized int getSQLType(int oid) throws SQLException {
+    String pgTypeName = getPGType(oid);
+    if (sharedTypes != null && pgTypeName != null && !pgTypeName.endsWith("[]")
+        && !pgNameToSQLType.containsKey(pgTypeName)) {
+      SharedTypeRegistry.TypeEntry entry = getTypeEntry(oid);
+      if (entry != null) {
+        pgNameToSQLType.put(pgTypeName, getSQLType(entry.isArray, String.valueOf(entry.typtype)));
+      }
+    }
+    return getSQLType(pgTypeName);
   }
 
   public synchronized int getSQLType(String pgTypeName) throws SQLException {
@@ -432,6 +449,14 @@ public class TypeInfoCache implements TypeInfo {
       return pgTypeName;
     }
 
+    if (sharedTypes != null) {
+      SharedTypeRegistry.TypeEntry entry = getTypeEntry(oid);
+      if (entry == null) {
+        return null;
+      }
+      return cacheTypeName(oid, isOnSearchPath(entry.schema), entry.schema, entry.name);
+    }
+
     if (getNameStatement == null) {
       String sql;
       sql = "SELECT n.nspname = ANY(current_schemas(true)), n.nspname, t.typname "
@@ -450,30 +475,33 @@ public class TypeInfoCache implements TypeInfo {
 
     ResultSet rs = getNameStatement.getResultSet();
     if (rs.next()) {
-      boolean onPath = rs.getBoolean(1);
-      String schema = rs.getString(2);
-      String name = rs.getString(3);
-      if (onPath) {
-        pgTypeName = name;
-        pgNameToOid.put(schema + "." + name, oid);
-      } else {
-        // TODO: escaping !?
-        pgTypeName = "\"" + schema + "\".\"" + name + "\"";
-        // if all is lowercase add special type info
-        // TODO: should probably check for all special chars
-        if (schema.equals(schema.toLowerCase()) && schema.indexOf('.') == -1
-            && name.equals(name.toLowerCase()) && name.indexOf('.') == -1) {
-          pgNameToOid.put(schema + "." + name, oid);
-        }
-      }
-      pgNameToOid.put(pgTypeName, oid);
-      oidToPgName.put(oid, pgTypeName);
+      pgTypeName = cacheTypeName(oid, rs.getBoolean(1), rs.getString(2), rs.getString(3));
     }
     rs.close();
 
     return pgTypeName;
   }
 
+  private String cacheTypeName(int oid, boolean onPath, String schema, String name) {
+    String pgTypeName;
+    if (onPath) {
+      pgTypeName = name;
+      pgNameToOid.put(schema + "." + name, oid);
+    } else {
+      // TODO: escaping !?
+      pgTypeName = "\"" + schema + "\".\"" + name + "\"";
+      // if all is lowercase add special type info
+      // TODO: should probably check for all special chars
+      if (schema.equals(schema.toLowerCase()) && schema.indexOf('.') == -1
+          && name.equals(name.toLowerCase()) && name.indexOf('.') == -1) {
+        pgNameToOid.put(schema + "." + name, oid);
+      }
+    }
+    pgNameToOid.put(pgTypeName, oid);
+    oidToPgName.put(oid, pgTypeName);
+    return pgTypeName;
+  }
+
   public int getPGArrayType(String elementTypeName) throws SQLException {
     elementTypeName = getTypeForAlias(elementTypeName);
     return getPGType(elementTypeName + "[]");
@@ -506,6 +534,16 @@ public class TypeInfoCache implements TypeInfo {
       return delim;
     }
 
+    if (sharedTypes != null) {
+      SharedTypeRegistry.TypeEntry entry = getTypeEntry(oid);
+      if (entry == null || entry.elementOid == 0) {
+        throw new PSQLException(GT.tr("No results were returned by the query."), PSQLState.NO_DATA);
+      }
+      delim = entry.delimiter;
+      arrayOidToDelimiter.put(oid, delim);
+      return delim;
+    }
+
     if (getArrayDelimiterStatement == null) {
       String sql;
       sql = "SELECT e.typdelim FROM pg_catalog.pg_type t, pg_catalog.pg_type e "
@@ -547,6 +585,19 @@ public class TypeInfoCache implements TypeInfo {
       return pgType;
     }
 
+    if (sharedTypes != null) {
+      SharedTypeRegistry.TypeEntry entry = getTypeEntry(oid);
+      SharedTypeRegistry.TypeEntry element =
+          entry == null || entry.elementOid == 0 ? null : getTypeEntry(entry.elementOid);
+      if (element == null) {
+        throw new PSQLException(GT.tr("No results were returned by the query."), PSQLState.NO_DATA);
+      }
+      // like the query below, the schema is the one of the array type
+      cacheArrayElement(oid, element.oid, isOnSearchPath(entry.schema), entry.schema,
+          element.name);
+      return element.oid;
+    }
+
     if (getArrayElementOidStatement == null) {
       String sql;
       sql = "SELECT e.oid, n.nspname = ANY(current_schemas(true)), n.nspname, e.typname "
@@ -569,9 +620,15 @@ public class TypeInfoCache implements TypeInfo {
     }
 
     pgType = (int) rs.getLong(1);
-    boolean onPath = rs.getBoolean(2);
-    String schema = rs.getString(3);
-    String name = rs.getString(4);
+    cacheArrayElement(oid, pgType, rs.getBoolean(2), rs.getString(3), rs.getString(4));
+
+    rs.close();
+
+    return pgType;
+  }
+
+  private void cacheArrayElement(int oid, int pgType, boolean onPath, String schema,
+      String name) {
     pgArrayToPgType.put(oid, pgType);
     pgNameToOid.put(schema + "." + name, pgType);
     String fullName = "\"" + schema + "\".\"" + name + "\"";
@@ -582,10 +639,116 @@ public class TypeInfoCache implements TypeInfo {
     } else {
       oidToPgName.put(pgType, fullName);
     }
+  }
+
+  /**
+   * Resolves types through a registry shared with the other connections to the same database
+   * instead of querying {@code pg_type} for every unknown oid.
+   *
+   * @param registry the registry of the database of this connection
+   * @param ttlSeconds seconds after which the registry is loaded again, 0 to keep it until it is
+   *                   invalidated
+   */
+  synchronized void setSharedTypes(SharedTypeRegistry registry, int ttlSeconds) {
+    this.sharedTypes = registry;
+    this.sharedTypesTtlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+  }
+
+  private static String getTypeEntryQuery(boolean byOid) {
+    StringBuilder sql = new StringBuilder();
+    sql.append("SELECT t.oid, n.nspname, t.typname, t.typtype, t.typinput='array_in'::regproc, ");
+    sql.append("       t.typelem, e.typdelim ");
+    sql.append("  FROM pg_catalog.pg_type t ");
+    sql.append("  JOIN pg_catalog.pg_namespace n ON t.typnamespace = n.oid ");
+    sql.append("  LEFT JOIN pg_catalog.pg_type e ON t.typelem = e.oid ");
+    if (byOid) {
+      sql.append(" WHERE t.oid = ?");
+    } else {
+      // leave out the row types of tables, views etc. and their arrays, they are looked up one
+      // by one when needed
+      sql.append(" WHERE (t.typrelid = 0 OR (SELECT c.relkind = 'c' FROM pg_catalog.pg_class c");
+      sql.append("                             WHERE c.oid = t.typrelid))");
+      sql.append("   AND (e.typrelid IS NULL OR e.typrelid = 0");
+      sql.append("        OR (SELECT c.relkind = 'c' FROM pg_catalog.pg_class c");
+      sql.append("             WHERE c.oid = e.typrelid))");
+    }
+    return sql.toString();
+  }
+
+  private static SharedTypeRegistry.TypeEntry getTypeEntryFromQueryResult(ResultSet rs)
+      throws SQLException {
+    String typtype = rs.getString(4);
+    String delimiter = rs.getString(7);
+    return new SharedTypeRegistry.TypeEntry((int) rs.getLong(1), rs.getString(2),
+        rs.getString(3), typtype.charAt(0), rs.getBoolean(5), (int) rs.getLong(6),
+        delimiter == null || delimiter.isEmpty() ? ',' : delimiter.charAt(0));
+  }
+
+  private ResultSet executeTypeQuery(PreparedStatement statement) throws SQLException {
+    // Go through BaseStatement to avoid transaction start.
+    if (!((BaseStatement) statement).executeWithFlags(QueryExecutor.QUERY_SUPPRESS_BEGIN)) {
+      throw new PSQLException(GT.tr("No results were returned by the query."), PSQLState.NO_DATA);
+    }
+    return statement.getResultSet();
+  }
 
+  private Map<Integer, SharedTypeRegistry.TypeEntry> loadSharedTypes() throws SQLException {
+    LOGGER.log(Level.FINE, "loading all types into the shared type registry");
+    Map<Integer, SharedTypeRegistry.TypeEntry> entries =
+        new HashMap<Integer, SharedTypeRegistry.TypeEntry>();
+    PreparedStatement statement = conn.prepareStatement(getTypeEntryQuery(false));
+    try {
+      ResultSet rs = executeTypeQuery(statement);
+      while (rs.next()) {
+        SharedTypeRegistry.TypeEntry entry = getTypeEntryFromQueryResult(rs);
+        entries.put(entry.oid, entry);
+      }
+      rs.close();
+    } finally {
+      statement.close();
+    }
+    LOGGER.log(Level.FINE, "loaded {0} types into the shared type registry", entries.size());
+    return entries;
+  }
+
+  private SharedTypeRegistry.TypeEntry getTypeEntry(int oid) throws SQLException {
+    // one connection loads, the others wait for it instead of loading as well
+    sharedTypes.ensureLoaded(sharedTypesTtlNanos, new SharedTypeRegistry.Loader() {
+      @Override
+      public Map<Integer, SharedTypeRegistry.TypeEntry> load() throws SQLException {
+        return loadSharedTypes();
+      }
+    });
+    SharedTypeRegistry.TypeEntry entry = sharedTypes.get(oid);
+    if (entry != null) {
+      return entry;
+    }
+
+    LOGGER.log(Level.FINEST, "querying shared type registry entry for oid {0}", oid);
+    if (getTypeEntryStatement == null) {
+      getTypeEntryStatement = conn.prepareStatement(getTypeEntryQuery(true));
+    }
+    getTypeEntryStatement.setInt(1, oid);
+    ResultSet rs = executeTypeQuery(getTypeEntryStatement);
+    if (rs.next()) {
+      entry = getTypeEntryFromQueryResult(rs);
+      sharedTypes.put(entry);
+    }
     rs.close();
+    return entry;
+  }
 
-    return pgType;
+  private boolean isOnSearchPath(String schema) throws SQLException {
+    // asked on every miss, like the unshared lookup, as the search_path can change at any time
+    if (getOnSearchPathStatement == null) {
+      getOnSearchPathStatement =
+          conn.prepareStatement("SELECT ?::name = ANY(current_schemas(true))");
+    }
+    getOnSearchPathStatement.setString(1, schema);
+    ResultSet rs = executeTypeQuery(getOnSearchPathStatement);
+    boolean onPath = rs.next() && rs.getBoolean(1);
+    rs.close();
+    return onPath;
   }
 
   public synchronized Class<? extends PGobject> getPGobject(String type) {
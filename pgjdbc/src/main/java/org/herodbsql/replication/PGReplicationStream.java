@@ -16,7 +16,9 @@ import java.sql.SQLException;
  * threads). After complete streaming should be close, for free resource on backend. Periodical
  * status update work only when use {@link PGReplicationStream#read()} method. It means that
  * process wal record should be fast as possible, because during process wal record lead to
- * disconnect by timeout from server.
+ * disconnect by timeout from server. Streams started with
+ * {@link org.herodbsql.replication.fluent.ChainedCommonStreamBuilder#withAsyncStatusUpdates(boolean)}
+ * send the periodical status updates from a thread of their own instead.
  */
 public interface PGReplicationStream
     //#if mvn.project.property.postgresql.jdbc.spec >= "JDBC4.1"
@@ -57,6 +59,30 @@ public interface PGReplicationStream
    */
   ByteBuffer readPending() throws SQLException;
 
+  /**
+   * <p>Reads the XLogData messages the backend has sent into a batch. Like {@link #read()} this
+   * blocks until at least one message is received, and then adds the messages that are already
+   * pending without waiting, until the batch is full. Consumers of a high rate stream handle the
+   * messages of a batch together and need not allocate per message.</p>
+   *
+   * <p>{@link #getLastReceiveLSN()} is the position of the last message of the batch afterwards.</p>
+   *
+   * @param batch the batch to clear and fill
+   * @return false if the stream ended and the batch is empty
+   * @throws SQLException when some internal exception occurs during read from stream
+   */
+  boolean readBatch(XLogDataBatch batch) throws SQLException;
+
+  /**
+   * Reads the pending XLogData messages into a batch without blocking, see
+   * {@link #readBatch(XLogDataBatch)} and {@link #readPending()}.
+   *
+   * @param batch the batch to clear and fill
+   * @return false if no message was pending
+   * @throws SQLException when some internal exception occurs during read from stream
+   */
+  boolean readPendingBatch(XLogDataBatch batch) throws SQLException;
+
   /**
    * <p>Parameter updates by execute {@link PGReplicationStream#read()} method.</p>
    *
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.replication;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A reusable batch of XLogData messages filled by
+ * {@link PGReplicationStream#readBatch(XLogDataBatch)}.
+ *
+ * <p>The payloads of all messages are copied into one array that grows to the largest batch and is
+ * then reused, so reading a batch does not allocate per message. A batch is full once it holds its
+ * maximum number of messages or its payloads reach the maximum number of bytes; a single message
+ * larger than that is still accepted.</p>
+ *
+ * <p>The content is only valid until the batch is read into again. Instances are not thread
+ * safe.</p>
+ */
+public final class XLogDataBatch {
+  private final int maxMessages;
+  private final int maxBytes;
+  private byte[] data;
+  private int dataLength;
+  private long[] lsns;
+  private int[] offsets;
+  private int[] lengths;
+  private int size;
+
+  /**
+   * @param maxMessages maximum number of messages in the batch
+   * @param maxBytes number of payload bytes after which the batch is full
+   */
+  public XLogDataBatch(int maxMessages, int maxBytes) {
+    if (maxMessages < 1) {
+      throw new IllegalArgumentException("maxMessages must be positive: " + maxMessages);
+    }
+    if (maxBytes < 1) {
+      throw new IllegalArgumentException("maxBytes must be positive: " + maxBytes);
+    }
+    this.maxMessages = maxMessages;
+    this.maxBytes = maxBytes;
+    int initialMessages = Math.min(maxMessages, 64);
+    this.data = new byte[Math.min(maxBytes, 8192)];
+    this.lsns = new long[initialMessages];
+    this.offsets = new int[initialMessages];
+    this.lengths = new int[initialMessages];
+  }
+
+  /**
+   * Removes all messages, keeping the allocated space.
+   */
+  public void clear() {
+    size = 0;
+    dataLength = 0;
+  }
+
+  /**
+   * Appends a message.
+   *
+   * @param lsn the WAL position of the message, see {@link #getLSN(int)}
+   * @param payload the payload between its position and limit; the position is not changed
+   */
+  public void add(long lsn, ByteBuffer payload) {
+    int length = payload.remaining();
+    if (size == lsns.length) {
+      int capacity = Math.max(size + 1, Math.min(maxMessages, size * 2));
+      lsns = Arrays.copyOf(lsns, capacity);
+      offsets = Arrays.copyOf(offsets, capacity);
+      lengths = Arrays.copyOf(lengths, capacity);
+    }
+    if (dataLength + length > data.length) {
+      data = Arrays.copyOf(data, Math.max(dataLength + length, data.length * 2));
+    }
+    payload.duplicate().get(data, dataLength, length);
+    lsns[size] = lsn;
+    offsets[size] = dataLength;
+    lengths[size] = length;
+    dataLength += length;
+    size++;
+  }
+
+  /**
+   * @return true if no further message should be added
+   */
+  public boolean isFull() {
+    return size >= maxMessages || dataLength >= maxBytes;
+  }
+
+  /**
+   * @return true if the batch holds no message
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * @return number of messages in the batch
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the WAL position of a message: its start for logical replication, the end of its
+   * payload for physical replication, like {@link PGReplicationStream#getLastReceiveLSN()} after
+   * {@link PGReplicationStream#read()} returned it.
+   *
+   * @param index index of the message
+   * @return the position as returned by {@link LogSequenceNumber#asLong()}
+   */
+  public long getLSN(int index) {
+    checkIndex(index);
+    return lsns[index];
+  }
+
+  /**
+   * @return the position of the last message, {@link LogSequenceNumber#INVALID_LSN} if empty
+   */
+  public LogSequenceNumber getLastLSN() {
+    return size == 0 ? LogSequenceNumber.INVALID_LSN : LogSequenceNumber.valueOf(lsns[size - 1]);
+  }
+
+  /**
+   * @param index index of the message
+   * @return a read only view of the payload of the message
+   */
+  public ByteBuffer getPayload(int index) {
+    checkIndex(index);
+    return ByteBuffer.wrap(data, offsets[index], lengths[index]).slice().asReadOnlyBuffer();
+  }
+
+  /**
+   * Returns the array holding the payloads, for reading them without allocating a buffer per
+   * message. It can be replaced when the batch grows.
+   *
+   * @return the array with the payload of message {@code i} at {@link #getOffset(int)}
+   */
+  public byte[] getArray() {
+    return data;
+  }
+
+  /**
+   * @param index index of the message
+   * @return offset of the payload in {@link #getArray()}
+   */
+  public int getOffset(int index) {
+    checkIndex(index);
+    return offsets[index];
+  }
+
+  /**
+   * @param index index of the message
+   * @return length of the payload
+   */
+  public int getLength(int index) {
+    checkIndex(index);
+    return lengths[index];
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+    }
+  }
+}
@@ -0,0 +1,359 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.replication.archive;
+
+import org.herodbsql.replication.LogSequenceNumber;
+import org.herodbsql.replication.PGReplicationStream;
+import org.herodbsql.replication.XLogDataBatch;
+import org.herodbsql.util.GT;
+import org.herodbsql.util.PSQLException;
+import org.herodbsql.util.PSQLState;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * <p>Archives a physical replication stream into WAL segment files, like {@code pg_receivewal}.</p>
+ *
+ * <p>Each XLogData message is copied from the read batch into a memory-mapped segment file at the
+ * offset of its position, so the WAL is written without further buffering or system calls. A
+ * segment is written as {@code <name>.partial}, filled with zeros beforehand so that writing the
+ * mapping cannot fail for lack of disk space, and renamed to its final name once complete. Like
+ * {@code pg_receivewal}, the directory is synced after a segment is created or renamed. Segments
+ * are flushed to disk in groups: when no more data is pending, when the sync interval elapsed and
+ * when a segment is complete. The flushed position of the stream is only advanced after that, so
+ * the server keeps the WAL of a replication slot until it is durable in the archive.</p>
+ *
+ * <pre>
+ * File directory = new File("/backup/wal");
+ * LogSequenceNumber start =
+ *     WalArchiver.findStartLSN(directory, 1, WalArchiver.DEFAULT_SEGMENT_SIZE);
+ * PGReplicationStream stream = replConnection.getReplicationAPI()
+ *     .replicationStream()
+ *     .physical()
+ *     .withSlotName("archive_slot")
+ *     .withStartPosition(start.equals(LogSequenceNumber.INVALID_LSN) ? current : start)
+ *     .withAsyncStatusUpdates(true)
+ *     .start();
+ * WalArchiver archiver = new WalArchiver(stream, directory, 1);
+ * archiver.run(); // until another thread calls archiver.stop()
+ * stream.close();
+ * </pre>
+ *
+ * <p>The stream must start at the beginning of a segment or continue a segment of the archive, and
+ * must stay on one timeline. Segment files are named after the given timeline.</p>
+ */
+public final class WalArchiver {
+  private static final Logger LOGGER = Logger.getLogger(WalArchiver.class.getName());
+
+  /**
+   * The default WAL segment size of the server, 16 MB.
+   */
+  public static final int DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+
+  private static final long DEFAULT_SYNC_INTERVAL_MILLIS = 1000;
+  private static final String PARTIAL_SUFFIX = ".partial";
+  private static final int BATCH_MESSAGES = 1024;
+  private static final int BATCH_BYTES = 4 * 1024 * 1024;
+  private static final int ZERO_FILL_BYTES = 1024 * 1024;
+  // time to wait for new messages when none are pending
+  private static final long POLL_MILLIS = 10;
+
+  private final PGReplicationStream stream;
+  private final File directory;
+  private final int timeline;
+  private final int segmentSize;
+  private final long syncIntervalNanos;
+  private final XLogDataBatch batch = new XLogDataBatch(BATCH_MESSAGES, BATCH_BYTES);
+
+  // the segment being written, segmentNumber is -1 if there is none
+  private long segmentNumber = -1;
+  private RandomAccessFile segmentFile;
+  private MappedByteBuffer segmentMap;
+  // end of the data written to the segment, relative to the segment
+  private int segmentEnd;
+
+  private long writtenLsn;
+  private volatile long flushedLsn;
+  private long lastSync;
+  private volatile boolean stopped;
+
+  /**
+   * Archives segments of the default size, flushing them at least every second.
+   *
+   * @param stream a started physical replication stream
+   * @param directory the directory of the archive
+   * @param timeline the timeline the stream was started on
+   */
+  public WalArchiver(PGReplicationStream stream, File directory, int timeline) {
+    this(stream, directory, timeline, DEFAULT_SEGMENT_SIZE, DEFAULT_SYNC_INTERVAL_MILLIS);
+  }
+
+  /**
+   * @param stream a started physical replication stream
+   * @param directory the directory of the archive
+   * @param timeline the timeline the stream was started on
+   * @param segmentSize the WAL segment size of the server, a power of two from 1 MB to 1 GB
+   * @param syncIntervalMillis maximum time written WAL is kept before it is flushed to disk while
+   *     more WAL is pending, 0 to flush after every batch
+   */
+  public WalArchiver(PGReplicationStream stream, File directory, int timeline, int segmentSize,
+      long syncIntervalMillis) {
+    checkSegmentSize(segmentSize);
+    if (syncIntervalMillis < 0) {
+      throw new IllegalArgumentException(
+          "syncIntervalMillis must not be negative: " + syncIntervalMillis);
+    }
+    this.stream = stream;
+    this.directory = directory;
+    this.timeline = timeline;
+    this.segmentSize = segmentSize;
+    this.syncIntervalNanos = syncIntervalMillis * 1000000L;
+    this.writtenLsn = stream.getLastReceiveLSN().asLong();
+    this.flushedLsn = writtenLsn;
+  }
+
+  /**
+   * Returns the position to continue archiving from: the beginning of the last partial segment,
+   * or the end of the last complete segment of the timeline.
+   *
+   * @param directory the directory of the archive
+   * @param timeline the timeline to look for
+   * @param segmentSize the WAL segment size of the server
+   * @return the position, {@link LogSequenceNumber#INVALID_LSN} if the archive has no segment of
+   *     the timeline
+   */
+  public static LogSequenceNumber findStartLSN(File directory, int timeline, int segmentSize) {
+    checkSegmentSize(segmentSize);
+    String[] names = directory.list();
+    if (names == null) {
+      return LogSequenceNumber.INVALID_LSN;
+    }
+    String prefix = String.format(Locale.ROOT, "%08X", timeline);
+    long start = -1;
+    for (String name : names) {
+      boolean partial = name.endsWith(PARTIAL_SUFFIX);
+      String segment = partial ? name.substring(0, name.length() - PARTIAL_SUFFIX.length()) : name;
+      if (segment.length() != 24 || !segment.startsWith(prefix)) {
+        continue;
+      }
+      long segno;
+      try {
+        segno = Long.parseLong(segment.substring(8, 16), 16) * segmentsPerId(segmentSize)
+            + Long.parseLong(segment.substring(16), 16);
+      } catch (NumberFormatException e) {
+        continue;
+      }
+      long lsn = (partial ? segno : segno + 1) * segmentSize;
+      start = Math.max(start, lsn);
+    }
+    return start < 0 ? LogSequenceNumber.INVALID_LSN : LogSequenceNumber.valueOf(start);
+  }
+
+  /**
+   * Reads and archives the stream until it ends or {@link #stop()} is called. The WAL written
+   * before that is flushed and its position sent to the server before this returns; the segment
+   * being written is left as a partial segment. An archiver can only run once; the stream is not
+   * closed.
+   *
+   * @throws SQLException if reading the stream or writing the archive failed
+   */
+  public void run() throws SQLException {
+    lastSync = System.nanoTime();
+    try {
+      while (!stopped && !stream.isClosed()) {
+        if (!stream.readPendingBatch(batch)) {
+          sync();
+          Thread.sleep(POLL_MILLIS);
+          continue;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+          // physical replication batches hold the end of each payload
+          int length = batch.getLength(i);
+          write(batch.getLSN(i) - length, batch.getArray(), batch.getOffset(i), length);
+        }
+        if (System.nanoTime() - lastSync >= syncIntervalNanos) {
+          sync();
+        }
+      }
+      sync();
+      if (!stream.isClosed()) {
+        stream.forceUpdateStatus();
+      }
+    } catch (IOException e) {
+      throw new PSQLException(GT.tr("Could not write WAL to {0}.", directory),
+          PSQLState.UNEXPECTED_ERROR, e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new PSQLException(GT.tr("Interrupted while archiving the replication stream."),
+          PSQLState.UNEXPECTED_ERROR, e);
+    } finally {
+      closeSegment();
+    }
+  }
+
+  /**
+   * Makes {@link #run()} return once the WAL already read is flushed. Can be called from any
+   * thread.
+   */
+  public void stop() {
+    stopped = true;
+  }
+
+  /**
+   * @return the position up to which the WAL is flushed to disk
+   */
+  public LogSequenceNumber getFlushedLSN() {
+    return LogSequenceNumber.valueOf(flushedLsn);
+  }
+
+  private void write(long lsn, byte[] data, int offset, int length) throws IOException {
+    while (length > 0) {
+      long segno = Long.divideUnsigned(lsn, segmentSize);
+      if (segno != segmentNumber) {
+        openSegment(segno);
+      }
+      int position = (int) (lsn - segno * segmentSize);
+      int count = Math.min(length, segmentSize - position);
+      ByteBuffer target = segmentMap.duplicate();
+      target.position(position);
+      target.put(data, offset, count);
+      segmentEnd = Math.max(segmentEnd, position + count);
+      lsn += count;
+      offset += count;
+      length -= count;
+      writtenLsn = Math.max(writtenLsn, lsn);
+      if (segmentEnd == segmentSize) {
+        completeSegment();
+      }
+    }
+  }
+
+  private void openSegment(long segno) throws IOException {
+    if (segmentNumber >= 0) {
+      // the stream jumped to another segment, keep what was written of this one
+      sync();
+      closeSegment();
+    }
+    File partial = new File(directory, segmentName(segno) + PARTIAL_SUFFIX);
+    RandomAccessFile file = new RandomAccessFile(partial, "rw");
+    try {
+      FileChannel channel = file.getChannel();
+      if (channel.size() != segmentSize) {
+        zeroFill(channel);
+        syncDirectory();
+      }
+      segmentMap = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    } catch (IOException e) {
+      file.close();
+      throw e;
+    }
+    segmentFile = file;
+    segmentNumber = segno;
+    segmentEnd = 0;
+    LOGGER.log(Level.FINE, "Archiving WAL segment {0}", partial);
+  }
+
+  private void zeroFill(FileChannel channel) throws IOException {
+    ByteBuffer zeros = ByteBuffer.allocateDirect(ZERO_FILL_BYTES);
+    long position = 0;
+    channel.truncate(0);
+    while (position < segmentSize) {
+      zeros.clear();
+      zeros.limit((int) Math.min(ZERO_FILL_BYTES, segmentSize - position));
+      position += channel.write(zeros, position);
+    }
+    channel.force(true);
+  }
+
+  private void completeSegment() throws IOException {
+    String name = segmentName(segmentNumber);
+    segmentMap.force();
+    closeSegment();
+    File partial = new File(directory, name + PARTIAL_SUFFIX);
+    if (!partial.renameTo(new File(directory, name))) {
+      throw new IOException("Could not rename " + partial + " to " + name);
+    }
+    // the end of the segment is only reported once the rename is durable
+    syncDirectory();
+    sync();
+    LOGGER.log(Level.FINE, "Archived WAL segment {0}", name);
+  }
+
+  /**
+   * Makes the creation and renaming of segment files durable.
+   */
+  private void syncDirectory() throws IOException {
+    FileChannel channel;
+    try {
+      channel = FileChannel.open(directory.toPath(), StandardOpenOption.READ);
+    } catch (IOException e) {
+      // some platforms, e.g. Windows, cannot open a directory
+      LOGGER.log(Level.FINE, "Could not open " + directory + " to sync it", e);
+      return;
+    }
+    try {
+      channel.force(true);
+    } finally {
+      channel.close();
+    }
+  }
+
+  /**
+   * Flushes the written WAL to disk and reports it to the server.
+   */
+  private void sync() throws IOException {
+    lastSync = System.nanoTime();
+    if (writtenLsn == flushedLsn) {
+      return;
+    }
+    if (segmentMap != null) {
+      segmentMap.force();
+    }
+    flushedLsn = writtenLsn;
+    stream.setFlushedLSN(LogSequenceNumber.valueOf(writtenLsn));
+  }
+
+  private void closeSegment() {
+    if (segmentFile != null) {
+      try {
+        segmentFile.close();
+      } catch (IOException e) {
+        LOGGER.log(Level.FINE, "Could not close WAL segment", e);
+      }
+    }
+    // the mapping stays until it is garbage collected, it has been forced already
+    segmentFile = null;
+    segmentMap = null;
+    segmentNumber = -1;
+  }
+
+  private String segmentName(long segno) {
+    long perId = segmentsPerId(segmentSize);
+    return String.format(Locale.ROOT, "%08X%08X%08X", timeline, segno / perId, segno % perId);
+  }
+
+  private static long segmentsPerId(int segmentSize) {
+    return 0x100000000L / segmentSize;
+  }
+
+  private static void checkSegmentSize(int segmentSize) {
+    if (segmentSize < 1024 * 1024 || segmentSize > 1024 * 1024 * 1024
+        || Integer.bitCount(segmentSize) != 1) {
+      throw new IllegalArgumentException(
+          "segmentSize must be a power of two from 1 MB to 1 GB: " + segmentSize);
+    }
+  }
+}
@@ -15,6 +15,7 @@ public abstract class AbstractStreamBuilder<T extends ChainedCommonStreamBuilder
   protected int statusIntervalMs = DEFAULT_STATUS_INTERVAL;
   protected LogSequenceNumber startPosition = LogSequenceNumber.INVALID_LSN;
   protected String slotName;
+  protected boolean asyncStatusUpdates;
 
   protected abstract T self();
 
@@ -35,4 +36,10 @@ public abstract class AbstractStreamBuilder<T extends ChainedCommonStreamBuilder
     this.slotName = slotName;
     return self();
   }
+
+  @Override
+  public T withAsyncStatusUpdates(boolean asyncStatusUpdates) {
+    this.asyncStatusUpdates = asyncStatusUpdates;
+    return self();
+  }
 }
@@ -45,4 +45,18 @@ public interface ChainedCommonStreamBuilder<T extends ChainedCommonStreamBuilder
    * @return not null fluent
    */
   T withStartPosition(LogSequenceNumber lsn);
+
+  /**
+   * Sends the periodic status packets from a thread of the stream instead of the thread that reads
+   * the stream. They then go out on time even while the consumer is busy with a large batch of
+   * messages, and the consumer does not check the clock for every message. Status updates
+   * requested by the server, and
+   * {@link org.herodbsql.replication.PGReplicationStream#forceUpdateStatus()}, are still sent
+   * right away. By default status packets are sent by the reading thread. HeroSSL connections
+   * cannot be written while they are read, so they ignore this option.
+   *
+   * @param asyncStatusUpdates true to send the periodic status packets from a thread of the stream
+   * @return not null fluent
+   */
+  T withAsyncStatusUpdates(boolean asyncStatusUpdates);
 }
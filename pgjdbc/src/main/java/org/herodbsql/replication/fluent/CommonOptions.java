@@ -34,4 +34,12 @@ public interface CommonOptions {
    * @return the current status interval
    */
   int getStatusInterval();
+
+  /**
+   * Whether the periodic status packets are sent from a thread of the stream instead of the thread
+   * that reads the stream, see {@link ChainedCommonStreamBuilder#withAsyncStatusUpdates(boolean)}.
+   *
+   * @return true if status packets are sent from a thread of the stream
+   */
+  boolean isAsyncStatusUpdates();
 }
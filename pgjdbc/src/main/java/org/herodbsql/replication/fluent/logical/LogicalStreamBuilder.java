@@ -88,4 +88,9 @@ public class LogicalStreamBuilder extends AbstractStreamBuilder<ChainedLogicalSt
   public int getStatusInterval() {
     return statusIntervalMs;
   }
+
+  @Override
+  public boolean isAsyncStatusUpdates() {
+    return asyncStatusUpdates;
+  }
 }
@@ -48,4 +48,9 @@ public class PhysicalStreamBuilder extends AbstractStreamBuilder<ChainedPhysical
   public int getStatusInterval() {
     return statusIntervalMs;
   }
+
+  @Override
+  public boolean isAsyncStatusUpdates() {
+    return asyncStatusUpdates;
+  }
 }
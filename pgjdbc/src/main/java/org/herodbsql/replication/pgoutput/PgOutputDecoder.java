@@ -0,0 +1,331 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.replication.pgoutput;
+
+import org.herodbsql.replication.XLogDataBatch;
+import org.herodbsql.replication.pipeline.ReplicationDecoder;
+import org.herodbsql.util.ByteConverter;
+import org.herodbsql.util.GT;
+import org.herodbsql.util.PSQLException;
+import org.herodbsql.util.PSQLState;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Decodes the messages of the {@code pgoutput} plugin, protocol version 1 and later, for a
+ * logical replication stream started with the {@code proto_version} and
+ * {@code publication_names} slot options.</p>
+ *
+ * <p>Begin, Commit, Relation, Insert, Update, Delete and Truncate messages are decoded; Origin,
+ * Type, logical decoding messages and two-phase commit messages are skipped. Streamed transactions
+ * ({@code streaming} option) are not supported. The decoder remembers the Relation messages and
+ * attaches the relation to the changes of its rows. Column values are only located while decoding,
+ * and decoded when read from the {@link PgOutputTuple}, so a change costs one copy of the message
+ * plus a few small arrays.</p>
+ *
+ * <pre>
+ * PgOutputDecoder decoder = new PgOutputDecoder();
+ * XLogDataBatch batch = new XLogDataBatch(1024, 1024 * 1024);
+ * while (stream.readBatch(batch)) {
+ *   for (int i = 0; i &lt; batch.size(); i++) {
+ *     PgOutputMessage message = decoder.decode(batch, i);
+ *     if (message instanceof PgOutputMessage.Change) {
+ *       ...
+ *     }
+ *   }
+ * }
+ * </pre>
+ *
+ * <p>A decoder keeps state and must be used by one thread for one stream.</p>
+ */
+public final class PgOutputDecoder {
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private final Map<Integer, PgOutputRelation> relations = new HashMap<Integer, PgOutputRelation>();
+  private byte[] data;
+  private int pos;
+  private int limit;
+
+  /**
+   * Decodes one XLogData payload.
+   *
+   * @param payload the payload between its position and limit; the position is not changed
+   * @param lsn the position of the payload in the WAL
+   * @return the message, or null for messages that are skipped
+   * @throws SQLException if the message is malformed, refers to an unknown relation or belongs to
+   *     a streamed transaction
+   */
+  public PgOutputMessage decode(ByteBuffer payload, long lsn) throws SQLException {
+    if (payload.hasArray()) {
+      return decode(payload.array(), payload.arrayOffset() + payload.position(),
+          payload.remaining(), lsn);
+    }
+    byte[] copy = new byte[payload.remaining()];
+    payload.duplicate().get(copy);
+    return decode(copy, 0, copy.length, lsn);
+  }
+
+  /**
+   * Decodes a message of a batch without allocating a buffer for it.
+   *
+   * @param batch the batch
+   * @param index index of the message in the batch
+   * @return the message, or null for messages that are skipped
+   * @throws SQLException if the message is malformed, refers to an unknown relation or belongs to
+   *     a streamed transaction
+   */
+  public PgOutputMessage decode(XLogDataBatch batch, int index) throws SQLException {
+    return decode(batch.getArray(), batch.getOffset(index), batch.getLength(index),
+        batch.getLSN(index));
+  }
+
+  /**
+   * Decodes a message. The array is not retained, rows are decoded from a copy.
+   *
+   * @param array the array holding the message
+   * @param offset offset of the message in the array
+   * @param length length of the message
+   * @param lsn the position of the message in the WAL
+   * @return the message, or null for messages that are skipped
+   * @throws SQLException if the message is malformed, refers to an unknown relation or belongs to
+   *     a streamed transaction
+   */
+  public PgOutputMessage decode(byte[] array, int offset, int length, long lsn)
+      throws SQLException {
+    if (length < 1) {
+      throw malformed();
+    }
+    data = array;
+    pos = offset;
+    limit = offset + length;
+    try {
+      char type = (char) data[pos++];
+      switch (type) {
+        case 'B':
+          return new PgOutputMessage.Begin(lsn, int8(), int8(), int4());
+        case 'C':
+          pos++; // flags, unused
+          return new PgOutputMessage.Commit(lsn, int8(), int8(), int8());
+        case 'R':
+          return decodeRelation(lsn);
+        case 'I':
+        case 'U':
+        case 'D':
+          // the tuples refer to the data, so they get a copy
+          byte[] copy = new byte[length];
+          System.arraycopy(array, offset, copy, 0, length);
+          data = copy;
+          pos = 1;
+          limit = length;
+          return decodeChange(type, lsn);
+        case 'T':
+          return decodeTruncate(lsn);
+        case 'S':
+        case 'E':
+        case 'c':
+        case 'A':
+          throw new PSQLException(
+              GT.tr("Streamed transactions of pgoutput are not supported."),
+              PSQLState.NOT_IMPLEMENTED);
+        default:
+          return null;
+      }
+    } finally {
+      data = null;
+    }
+  }
+
+  /**
+   * @param oid the oid of a table
+   * @return the last description of the table received, or null
+   */
+  public PgOutputRelation getRelation(int oid) {
+    return relations.get(oid);
+  }
+
+  /**
+   * <p>Returns a decoder of this decoder's messages for a
+   * {@link org.herodbsql.replication.pipeline.LogicalReplicationPipeline}. Begin and Commit are
+   * not processed. Changes are keyed by the replica identity of their row, so changes of the same
+   * row are processed in order while rows of one table are spread over the workers. Changes of
+   * tables with {@code REPLICA IDENTITY FULL} are keyed by their table.</p>
+   *
+   * <p>Relation and Truncate messages, and Updates that change the key of a row, are barriers.
+   * Malformed messages fail the pipeline with an {@link IllegalStateException}.</p>
+   *
+   * @return the decoder for a pipeline
+   */
+  public ReplicationDecoder<PgOutputMessage> forPipeline() {
+    return new ReplicationDecoder<PgOutputMessage>() {
+      @Override
+      public PgOutputMessage decode(ByteBuffer payload, long lsn) {
+        PgOutputMessage message;
+        try {
+          message = PgOutputDecoder.this.decode(payload, lsn);
+        } catch (SQLException e) {
+          throw new IllegalStateException(e.getMessage(), e);
+        }
+        if (message == null || message.getType() == PgOutputMessage.Type.BEGIN
+            || message.getType() == PgOutputMessage.Type.COMMIT) {
+          return null;
+        }
+        return message;
+      }
+
+      @Override
+      public int key(PgOutputMessage message) {
+        if (!(message instanceof PgOutputMessage.Change)) {
+          return BARRIER;
+        }
+        PgOutputMessage.Change change = (PgOutputMessage.Change) message;
+        PgOutputRelation relation = change.getRelation();
+        if (relation.getReplicaIdentity() == 'f') {
+          return relation.getOid() & Integer.MAX_VALUE;
+        }
+        PgOutputTuple newTuple = change.getNewTuple();
+        PgOutputTuple oldTuple = change.getOldTuple();
+        int hash = newTuple != null ? newTuple.keyHash() : oldTuple.keyHash();
+        if (newTuple != null && oldTuple != null && oldTuple.keyHash() != hash) {
+          // the row moves to another key, changes of both keys must be done first
+          return BARRIER;
+        }
+        return hash & Integer.MAX_VALUE;
+      }
+    };
+  }
+
+  private PgOutputMessage decodeRelation(long lsn) throws PSQLException {
+    int oid = int4();
+    String namespace = string();
+    if (namespace.isEmpty()) {
+      namespace = "pg_catalog";
+    }
+    String name = string();
+    char replicaIdentity = (char) int1();
+    int count = int2();
+    String[] columnNames = new String[count];
+    int[] columnTypes = new int[count];
+    int[] columnTypmods = new int[count];
+    boolean[] keyColumns = new boolean[count];
+    for (int i = 0; i < count; i++) {
+      keyColumns[i] = (int1() & 1) != 0;
+      columnNames[i] = string();
+      columnTypes[i] = int4();
+      columnTypmods[i] = int4();
+    }
+    PgOutputRelation relation = new PgOutputRelation(oid, namespace, name, replicaIdentity,
+        columnNames, columnTypes, columnTypmods, keyColumns);
+    relations.put(oid, relation);
+    return new PgOutputMessage.Relation(lsn, relation);
+  }
+
+  private PgOutputMessage decodeChange(char type, long lsn) throws PSQLException {
+    PgOutputRelation relation = relation(int4());
+    PgOutputTuple oldTuple = null;
+    boolean oldTupleIsKey = false;
+    PgOutputTuple newTuple = null;
+    int marker = int1();
+    if (type != 'I' && (marker == 'K' || marker == 'O')) {
+      oldTupleIsKey = marker == 'K';
+      oldTuple = tuple(relation);
+      if (type == 'U') {
+        marker = int1();
+      }
+    }
+    if (type != 'D') {
+      if (marker != 'N') {
+        throw malformed();
+      }
+      newTuple = tuple(relation);
+    } else if (oldTuple == null) {
+      throw malformed();
+    }
+    PgOutputMessage.Type messageType = type == 'I' ? PgOutputMessage.Type.INSERT
+        : type == 'U' ? PgOutputMessage.Type.UPDATE : PgOutputMessage.Type.DELETE;
+    return new PgOutputMessage.Change(lsn, messageType, relation, oldTuple, oldTupleIsKey,
+        newTuple);
+  }
+
+  private PgOutputMessage decodeTruncate(long lsn) throws PSQLException {
+    int count = int4();
+    int options = int1();
+    List<PgOutputRelation> truncated = new ArrayList<PgOutputRelation>(count);
+    for (int i = 0; i < count; i++) {
+      truncated.add(relation(int4()));
+    }
+    return new PgOutputMessage.Truncate(lsn, truncated, (options & 1) != 0, (options & 2) != 0);
+  }
+
+  private PgOutputRelation relation(int oid) throws PSQLException {
+    PgOutputRelation relation = relations.get(oid);
+    if (relation == null) {
+      throw new PSQLException(
+          GT.tr("pgoutput message refers to relation {0} without a Relation message.",
+              oid & 0xffffffffL),
+          PSQLState.PROTOCOL_VIOLATION);
+    }
+    return relation;
+  }
+
+  private PgOutputTuple tuple(PgOutputRelation relation) throws PSQLException {
+    PgOutputTuple tuple = PgOutputTuple.parse(relation, data, pos, limit);
+    pos = tuple.getEnd();
+    return tuple;
+  }
+
+  private void require(int length) throws PSQLException {
+    if (pos + length > limit) {
+      throw malformed();
+    }
+  }
+
+  private int int1() throws PSQLException {
+    require(1);
+    return data[pos++] & 0xff;
+  }
+
+  private int int2() throws PSQLException {
+    require(2);
+    int value = ByteConverter.int2(data, pos) & 0xffff;
+    pos += 2;
+    return value;
+  }
+
+  private int int4() throws PSQLException {
+    require(4);
+    int value = ByteConverter.int4(data, pos);
+    pos += 4;
+    return value;
+  }
+
+  private long int8() throws PSQLException {
+    require(8);
+    long value = ByteConverter.int8(data, pos);
+    pos += 8;
+    return value;
+  }
+
+  private String string() throws PSQLException {
+    int start = pos;
+    while (pos < limit && data[pos] != 0) {
+      pos++;
+    }
+    if (pos == limit) {
+      throw malformed();
+    }
+    return new String(data, start, pos++ - start, UTF_8);
+  }
+
+  static PSQLException malformed() {
+    return new PSQLException(GT.tr("Malformed pgoutput message."), PSQLState.PROTOCOL_VIOLATION);
+  }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.replication.pgoutput;
+
+import org.herodbsql.replication.LogSequenceNumber;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A message of the {@code pgoutput} plugin, decoded by {@link PgOutputDecoder}.
+ */
+public abstract class PgOutputMessage {
+  // 2000-01-01 in seconds since 1970-01-01
+  private static final long POSTGRES_EPOCH_SECONDS = 946684800L;
+
+  /**
+   * The kinds of messages.
+   */
+  public enum Type {
+    BEGIN, COMMIT, RELATION, INSERT, UPDATE, DELETE, TRUNCATE
+  }
+
+  private final long lsn;
+
+  PgOutputMessage(long lsn) {
+    this.lsn = lsn;
+  }
+
+  /**
+   * @return the kind of the message
+   */
+  public abstract Type getType();
+
+  /**
+   * @return the position of the message in the WAL
+   */
+  public LogSequenceNumber getLSN() {
+    return LogSequenceNumber.valueOf(lsn);
+  }
+
+  static Instant toInstant(long micros) {
+    return Instant.ofEpochSecond(Math.floorDiv(micros, 1000000L) + POSTGRES_EPOCH_SECONDS,
+        Math.floorMod(micros, 1000000L) * 1000);
+  }
+
+  /**
+   * Start of a transaction.
+   */
+  public static final class Begin extends PgOutputMessage {
+    private final long finalLsn;
+    private final long commitTime;
+    private final int xid;
+
+    Begin(long lsn, long finalLsn, long commitTime, int xid) {
+      super(lsn);
+      this.finalLsn = finalLsn;
+      this.commitTime = commitTime;
+      this.xid = xid;
+    }
+
+    @Override
+    public Type getType() {
+      return Type.BEGIN;
+    }
+
+    /**
+     * @return the position of the commit record of the transaction
+     */
+    public LogSequenceNumber getFinalLSN() {
+      return LogSequenceNumber.valueOf(finalLsn);
+    }
+
+    /**
+     * @return the commit time of the transaction
+     */
+    public Instant getCommitTime() {
+      return toInstant(commitTime);
+    }
+
+    /**
+     * @return the transaction id
+     */
+    public long getXid() {
+      return xid & 0xffffffffL;
+    }
+  }
+
+  /**
+   * End of a transaction.
+   */
+  public static final class Commit extends PgOutputMessage {
+    private final long commitLsn;
+    private final long endLsn;
+    private final long commitTime;
+
+    Commit(long lsn, long commitLsn, long endLsn, long commitTime) {
+      super(lsn);
+      this.commitLsn = commitLsn;
+      this.endLsn = endLsn;
+      this.commitTime = commitTime;
+    }
+
+    @Override
+    public Type getType() {
+      return Type.COMMIT;
+    }
+
+    /**
+     * @return the position of the commit record
+     */
+    public LogSequenceNumber getCommitLSN() {
+      return LogSequenceNumber.valueOf(commitLsn);
+    }
+
+    /**
+     * @return the position after the commit record, to report as flushed once the transaction is
+     *     processed
+     */
+    public LogSequenceNumber getEndLSN() {
+      return LogSequenceNumber.valueOf(endLsn);
+    }
+
+    /**
+     * @return the commit time of the transaction
+     */
+    public Instant getCommitTime() {
+      return toInstant(commitTime);
+    }
+  }
+
+  /**
+   * Description of a table, sent before the first change of the table in a session and after
+   * its definition changed.
+   */
+  public static final class Relation extends PgOutputMessage {
+    private final PgOutputRelation relation;
+
+    Relation(long lsn, PgOutputRelation relation) {
+      super(lsn);
+      this.relation = relation;
+    }
+
+    @Override
+    public Type getType() {
+      return Type.RELATION;
+    }
+
+    /**
+     * @return the description of the table
+     */
+    public PgOutputRelation getRelation() {
+      return relation;
+    }
+  }
+
+  /**
+   * An inserted, updated or deleted row.
+   */
+  public static final class Change extends PgOutputMessage {
+    private final Type type;
+    private final PgOutputRelation relation;
+    private final PgOutputTuple oldTuple;
+    private final boolean oldTupleIsKey;
+    private final PgOutputTuple newTuple;
+
+    Change(long lsn, Type type, PgOutputRelation relation, PgOutputTuple oldTuple,
+        boolean oldTupleIsKey, PgOutputTuple newTuple) {
+      super(lsn);
+      this.type = type;
+      this.relation = relation;
+      this.oldTuple = oldTuple;
+      this.oldTupleIsKey = oldTupleIsKey;
+      this.newTuple = newTuple;
+    }
+
+    @Override
+    public Type getType() {
+      return type;
+    }
+
+    /**
+     * @return the table of the row
+     */
+    public PgOutputRelation getRelation() {
+      return relation;
+    }
+
+    /**
+     * Returns the old row of an Update or Delete. Depending on the replica identity of the table it
+     * holds the whole row or only its key columns, see {@link #isOldTupleKey()}. An Update only
+     * sends it if the key changed or the replica identity is {@code FULL}.
+     *
+     * @return the old row, null if it was not sent
+     */
+    public PgOutputTuple getOldTuple() {
+      return oldTuple;
+    }
+
+    /**
+     * @return true if the old row only holds the replica identity columns, the others are NULL
+     */
+    public boolean isOldTupleKey() {
+      return oldTupleIsKey;
+    }
+
+    /**
+     * @return the new row of an Insert or Update, null for a Delete
+     */
+    public PgOutputTuple getNewTuple() {
+      return newTuple;
+    }
+  }
+
+  /**
+   * Truncated tables.
+   */
+  public static final class Truncate extends PgOutputMessage {
+    private final List<PgOutputRelation> relations;
+    private final boolean cascade;
+    private final boolean restartIdentity;
+
+    Truncate(long lsn, List<PgOutputRelation> relations, boolean cascade,
+        boolean restartIdentity) {
+      super(lsn);
+      this.relations = Collections.unmodifiableList(relations);
+      this.cascade = cascade;
+      this.restartIdentity = restartIdentity;
+    }
+
+    @Override
+    public Type getType() {
+      return Type.TRUNCATE;
+    }
+
+    /**
+     * @return the truncated tables
+     */
+    public List<PgOutputRelation> getRelations() {
+      return relations;
+    }
+
+    /**
+     * @return whether {@code CASCADE} was specified
+     */
+    public boolean isCascade() {
+      return cascade;
+    }
+
+    /**
+     * @return whether {@code RESTART IDENTITY} was specified
+     */
+    public boolean isRestartIdentity() {
+      return restartIdentity;
+    }
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.replication.pgoutput;
+
+/**
+ * A table as described by a Relation message of {@code pgoutput}. The decoder keeps the last
+ * description of every relation and attaches it to the changes of its rows.
+ */
+public final class PgOutputRelation {
+  private final int oid;
+  private final String namespace;
+  private final String name;
+  private final char replicaIdentity;
+  private final String[] columnNames;
+  private final int[] columnTypes;
+  private final int[] columnTypmods;
+  private final boolean[] keyColumns;
+
+  PgOutputRelation(int oid, String namespace, String name, char replicaIdentity,
+      String[] columnNames, int[] columnTypes, int[] columnTypmods, boolean[] keyColumns) {
+    this.oid = oid;
+    this.namespace = namespace;
+    this.name = name;
+    this.replicaIdentity = replicaIdentity;
+    this.columnNames = columnNames;
+    this.columnTypes = columnTypes;
+    this.columnTypmods = columnTypmods;
+    this.keyColumns = keyColumns;
+  }
+
+  /**
+   * @return the oid of the table
+   */
+  public int getOid() {
+    return oid;
+  }
+
+  /**
+   * @return the schema of the table, {@code pg_catalog} if the server sent an empty name
+   */
+  public String getNamespace() {
+    return namespace;
+  }
+
+  /**
+   * @return the name of the table
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * @return the replica identity setting: {@code d} default, {@code n} nothing, {@code f} full or
+   *     {@code i} index
+   */
+  public char getReplicaIdentity() {
+    return replicaIdentity;
+  }
+
+  /**
+   * @return number of published columns
+   */
+  public int getColumnCount() {
+    return columnNames.length;
+  }
+
+  /**
+   * @param column the column number, starting at 1
+   * @return the name of the column
+   */
+  public String getColumnName(int column) {
+    return columnNames[column - 1];
+  }
+
+  /**
+   * @param column the column number, starting at 1
+   * @return the type oid of the column, see {@link org.herodbsql.core.Oid}
+   */
+  public int getColumnType(int column) {
+    return columnTypes[column - 1];
+  }
+
+  /**
+   * @param column the column number, starting at 1
+   * @return the type modifier of the column
+   */
+  public int getColumnTypmod(int column) {
+    return columnTypmods[column - 1];
+  }
+
+  /**
+   * @param column the column number, starting at 1
+   * @return whether the column is part of the replica identity
+   */
+  public boolean isKeyColumn(int column) {
+    return keyColumns[column - 1];
+  }
+
+  @Override
+  public String toString() {
+    return namespace + "." + name;
+  }
+}
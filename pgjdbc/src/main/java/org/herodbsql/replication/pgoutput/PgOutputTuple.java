@@ -0,0 +1,434 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.replication.pgoutput;
+
+import org.herodbsql.core.Oid;
+import org.herodbsql.util.ByteConverter;
+import org.herodbsql.util.GT;
+import org.herodbsql.util.PGbytea;
+import org.herodbsql.util.PSQLException;
+import org.herodbsql.util.PSQLState;
+
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.sql.SQLException;
+
+/**
+ * The column values of a row in an Insert, Update or Delete message of {@code pgoutput}.
+ *
+ * <p>Values are kept as received and only decoded by the getters, so columns that are not read
+ * cost nothing. Values are in the text format of their type, or in the binary format if the
+ * subscription requested {@code binary}; the getters accept both. Columns are numbered from 1. Like
+ * {@link java.sql.ResultSet}, getters of primitive types return 0 or false for NULL, use
+ * {@link #isNull(int)} to tell them apart. Text is decoded as UTF-8, the database encoding is
+ * expected to be {@code UTF8}.</p>
+ */
+public final class PgOutputTuple {
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+  private static final int KIND_NULL = 'n';
+  private static final int KIND_UNCHANGED_TOAST = 'u';
+  private static final int KIND_TEXT = 't';
+  private static final int KIND_BINARY = 'b';
+
+  private final PgOutputRelation relation;
+  private final byte[] data;
+  private final byte[] kinds;
+  private final int[] offsets;
+  private final int[] lengths;
+  // position after the tuple in data
+  private final int end;
+
+  private PgOutputTuple(PgOutputRelation relation, byte[] data, byte[] kinds, int[] offsets,
+      int[] lengths, int end) {
+    this.relation = relation;
+    this.data = data;
+    this.kinds = kinds;
+    this.offsets = offsets;
+    this.lengths = lengths;
+    this.end = end;
+  }
+
+  /**
+   * Locates the values of a TupleData structure without decoding them.
+   *
+   * @param relation the relation of the row
+   * @param data the message
+   * @param pos position of the TupleData in the message
+   * @param limit end of the message
+   * @return the tuple
+   * @throws PSQLException if the TupleData is malformed
+   */
+  static PgOutputTuple parse(PgOutputRelation relation, byte[] data, int pos, int limit)
+      throws PSQLException {
+    if (pos + 2 > limit) {
+      throw PgOutputDecoder.malformed();
+    }
+    int count = ByteConverter.int2(data, pos) & 0xffff;
+    pos += 2;
+    byte[] kinds = new byte[count];
+    int[] offsets = new int[count];
+    int[] lengths = new int[count];
+    for (int i = 0; i < count; i++) {
+      if (pos >= limit) {
+        throw PgOutputDecoder.malformed();
+      }
+      byte kind = data[pos++];
+      kinds[i] = kind;
+      if (kind == KIND_TEXT || kind == KIND_BINARY) {
+        if (pos + 4 > limit) {
+          throw PgOutputDecoder.malformed();
+        }
+        int length = ByteConverter.int4(data, pos);
+        pos += 4;
+        if (length < 0 || pos + length > limit) {
+          throw PgOutputDecoder.malformed();
+        }
+        offsets[i] = pos;
+        lengths[i] = length;
+        pos += length;
+      } else if (kind == KIND_NULL || kind == KIND_UNCHANGED_TOAST) {
+        lengths[i] = -1;
+      } else {
+        throw PgOutputDecoder.malformed();
+      }
+    }
+    return new PgOutputTuple(relation, data, kinds, offsets, lengths, pos);
+  }
+
+  int getEnd() {
+    return end;
+  }
+
+  /**
+   * Hashes the raw values of the replica identity columns.
+   */
+  int keyHash() {
+    int hash = relation.getOid();
+    for (int i = 0; i < kinds.length && i < relation.getColumnCount(); i++) {
+      if (!relation.isKeyColumn(i + 1)) {
+        continue;
+      }
+      hash = 31 * hash + kinds[i];
+      for (int j = 0; j < Math.max(lengths[i], 0); j++) {
+        hash = 31 * hash + data[offsets[i] + j];
+      }
+    }
+    return hash;
+  }
+
+  /**
+   * @return the relation of the row
+   */
+  public PgOutputRelation getRelation() {
+    return relation;
+  }
+
+  /**
+   * @return number of columns in the tuple
+   */
+  public int getColumnCount() {
+    return kinds.length;
+  }
+
+  /**
+   * @param column the column number, starting at 1
+   * @return whether the column is NULL
+   * @throws SQLException if there is no such column
+   */
+  public boolean isNull(int column) throws SQLException {
+    return kind(column) == KIND_NULL;
+  }
+
+  /**
+   * An unchanged TOASTed value is not sent in an Update; the column keeps its previous value, which
+   * the getters cannot return.
+   *
+   * @param column the column number, starting at 1
+   * @return whether the value of the column was not sent because it did not change
+   * @throws SQLException if there is no such column
+   */
+  public boolean isUnchangedToast(int column) throws SQLException {
+    return kind(column) == KIND_UNCHANGED_TOAST;
+  }
+
+  /**
+   * Returns the value as text. Binary values of the types decoded by {@link #getObject(int)} are
+   * formatted, binary values of other types are returned as if they were text.
+   *
+   * @param column the column number, starting at 1
+   * @return the value as text, null for NULL
+   * @throws SQLException if there is no such column or its value was not sent
+   */
+  public String getString(int column) throws SQLException {
+    if (!hasValue(column)) {
+      return null;
+    }
+    if (kind(column) == KIND_BINARY) {
+      switch (relation.getColumnType(column)) {
+        case Oid.INT2:
+        case Oid.INT4:
+        case Oid.INT8:
+        case Oid.OID:
+        case Oid.FLOAT4:
+        case Oid.FLOAT8:
+        case Oid.NUMERIC:
+        case Oid.BOOL:
+          return String.valueOf(getObject(column));
+        default:
+          break;
+      }
+    }
+    return text(column);
+  }
+
+  /**
+   * Reads a {@code bytea} column.
+   *
+   * @param column the column number, starting at 1
+   * @return the value, null for NULL
+   * @throws SQLException if there is no such column or its value was not sent
+   */
+  public byte[] getBytes(int column) throws SQLException {
+    if (!hasValue(column)) {
+      return null;
+    }
+    byte[] value = rawValue(column);
+    return kind(column) == KIND_BINARY ? value : PGbytea.toBytes(value);
+  }
+
+  /**
+   * Reads a {@code bool} column.
+   *
+   * @param column the column number, starting at 1
+   * @return the value, false for NULL
+   * @throws SQLException if there is no such column, its value was not sent or is not a bool
+   */
+  public boolean getBoolean(int column) throws SQLException {
+    if (!hasValue(column)) {
+      return false;
+    }
+    int offset = offsets[column - 1];
+    if (lengths[column - 1] != 1) {
+      throw badValue(column, "boolean");
+    }
+    if (kind(column) == KIND_BINARY) {
+      return ByteConverter.bool(data, offset);
+    }
+    if (data[offset] == 't') {
+      return true;
+    } else if (data[offset] == 'f') {
+      return false;
+    }
+    throw badValue(column, "boolean");
+  }
+
+  /**
+   * Reads an {@code int4} or {@code int2} column.
+   *
+   * @param column the column number, starting at 1
+   * @return the value, 0 for NULL
+   * @throws SQLException if there is no such column, its value was not sent or is not an integer
+   */
+  public int getInt(int column) throws SQLException {
+    long value = getLong(column);
+    if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+      throw badValue(column, "int");
+    }
+    return (int) value;
+  }
+
+  /**
+   * Reads an {@code int8}, {@code int4}, {@code int2} or {@code oid} column.
+   *
+   * @param column the column number, starting at 1
+   * @return the value, 0 for NULL
+   * @throws SQLException if there is no such column, its value was not sent or is not an integer
+   */
+  public long getLong(int column) throws SQLException {
+    if (!hasValue(column)) {
+      return 0;
+    }
+    int offset = offsets[column - 1];
+    int length = lengths[column - 1];
+    if (kind(column) == KIND_BINARY) {
+      switch (length) {
+        case 2:
+          return ByteConverter.int2(data, offset);
+        case 4:
+          return relation.getColumnType(column) == Oid.OID
+              ? ByteConverter.int4(data, offset) & 0xffffffffL : ByteConverter.int4(data, offset);
+        case 8:
+          return ByteConverter.int8(data, offset);
+        default:
+          throw badValue(column, "long");
+      }
+    }
+    // parses the digits in place, the value is accumulated negatively to reach Long.MIN_VALUE
+    int pos = offset;
+    int limit = offset + length;
+    boolean negative = pos < limit && data[pos] == '-';
+    if (negative) {
+      pos++;
+    }
+    if (pos == limit) {
+      throw badValue(column, "long");
+    }
+    long value = 0;
+    for (; pos < limit; pos++) {
+      int digit = data[pos] - '0';
+      if (digit < 0 || digit > 9 || value < (Long.MIN_VALUE + digit) / 10) {
+        throw badValue(column, "long");
+      }
+      value = value * 10 - digit;
+    }
+    if (!negative) {
+      if (value == Long.MIN_VALUE) {
+        throw badValue(column, "long");
+      }
+      value = -value;
+    }
+    return value;
+  }
+
+  /**
+   * Reads a {@code float8} or {@code float4} column.
+   *
+   * @param column the column number, starting at 1
+   * @return the value, 0 for NULL
+   * @throws SQLException if there is no such column, its value was not sent or is not a number
+   */
+  public double getDouble(int column) throws SQLException {
+    if (!hasValue(column)) {
+      return 0;
+    }
+    int offset = offsets[column - 1];
+    int length = lengths[column - 1];
+    if (kind(column) == KIND_BINARY) {
+      if (length == 4) {
+        return ByteConverter.float4(data, offset);
+      } else if (length == 8) {
+        return ByteConverter.float8(data, offset);
+      }
+      throw badValue(column, "double");
+    }
+    try {
+      return Double.parseDouble(text(column));
+    } catch (NumberFormatException e) {
+      throw badValue(column, "double");
+    }
+  }
+
+  /**
+   * Reads a {@code numeric} or integer column.
+   *
+   * @param column the column number, starting at 1
+   * @return the value, null for NULL
+   * @throws SQLException if there is no such column, its value was not sent or is not a number;
+   *     {@code NaN} is not supported
+   */
+  public BigDecimal getBigDecimal(int column) throws SQLException {
+    if (!hasValue(column)) {
+      return null;
+    }
+    try {
+      if (kind(column) == KIND_TEXT) {
+        return new BigDecimal(text(column));
+      }
+      if (relation.getColumnType(column) == Oid.NUMERIC) {
+        return ByteConverter.bigDecimal(data, offsets[column - 1], lengths[column - 1]);
+      }
+      return BigDecimal.valueOf(getLong(column));
+    } catch (IllegalArgumentException e) {
+      throw badValue(column, "BigDecimal");
+    }
+  }
+
+  /**
+   * Decodes a column by its type: {@code int2}, {@code int4}, {@code int8} and {@code oid} as
+   * {@link Short}, {@link Integer} and {@link Long}, {@code float4} and {@code float8} as
+   * {@link Float} and {@link Double}, {@code numeric} as {@link BigDecimal}, {@code bool} as
+   * {@link Boolean}, {@code bytea} as {@code byte[]} and everything else as {@link String}.
+   *
+   * @param column the column number, starting at 1
+   * @return the value, null for NULL
+   * @throws SQLException if there is no such column, its value was not sent or does not match
+   *     its type
+   */
+  public Object getObject(int column) throws SQLException {
+    if (!hasValue(column)) {
+      return null;
+    }
+    switch (relation.getColumnType(column)) {
+      case Oid.INT2:
+        return (short) getInt(column);
+      case Oid.INT4:
+        return getInt(column);
+      case Oid.INT8:
+      case Oid.OID:
+        return getLong(column);
+      case Oid.FLOAT4:
+        return (float) getDouble(column);
+      case Oid.FLOAT8:
+        return getDouble(column);
+      case Oid.NUMERIC:
+        return getBigDecimal(column);
+      case Oid.BOOL:
+        return getBoolean(column);
+      case Oid.BYTEA:
+        return getBytes(column);
+      default:
+        return getString(column);
+    }
+  }
+
+  /**
+   * @param column the column number, starting at 1
+   * @return a copy of the value as received, null for NULL
+   * @throws SQLException if there is no such column or its value was not sent
+   */
+  public byte[] getRawValue(int column) throws SQLException {
+    if (!hasValue(column)) {
+      return null;
+    }
+    return rawValue(column);
+  }
+
+  private byte[] rawValue(int column) {
+    byte[] value = new byte[lengths[column - 1]];
+    System.arraycopy(data, offsets[column - 1], value, 0, value.length);
+    return value;
+  }
+
+  private int kind(int column) throws SQLException {
+    if (column < 1 || column > kinds.length) {
+      throw new PSQLException(
+          GT.tr("The column index is out of range: {0}, number of columns: {1}.", column,
+              kinds.length),
+          PSQLState.INVALID_PARAMETER_VALUE);
+    }
+    return kinds[column - 1];
+  }
+
+  private boolean hasValue(int column) throws SQLException {
+    int kind = kind(column);
+    if (kind == KIND_UNCHANGED_TOAST) {
+      throw new PSQLException(
+          GT.tr("The value of column {0} was not sent because it did not change.", column),
+          PSQLState.OBJECT_NOT_IN_STATE);
+    }
+    return kind != KIND_NULL;
+  }
+
+  private String text(int column) {
+    return new String(data, offsets[column - 1], lengths[column - 1], UTF_8);
+  }
+
+  private PSQLException badValue(int column, String type) {
+    return new PSQLException(GT.tr("Bad value for type {0} : {1}", type,
+        kinds[column - 1] == KIND_BINARY ? PGbytea.toPGString(rawValue(column)) : text(column)),
+        PSQLState.DATA_TYPE_MISMATCH);
+  }
+}
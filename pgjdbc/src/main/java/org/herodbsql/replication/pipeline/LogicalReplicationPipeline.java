@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.replication.pipeline;
+
+import org.herodbsql.replication.LogSequenceNumber;
+import org.herodbsql.replication.PGReplicationStream;
+import org.herodbsql.replication.XLogDataBatch;
+import org.herodbsql.util.GT;
+import org.herodbsql.util.PSQLException;
+import org.herodbsql.util.PSQLState;
+
+import java.sql.SQLException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * <p>Processes a logical replication stream with several worker threads while reporting positions
+ * to the server in stream order.</p>
+ *
+ * <p>The thread calling {@link #run()} reads the stream in batches and decodes each message with a
+ * {@link ReplicationDecoder}. Messages with the same key are processed by the same worker in stream
+ * order, messages with different keys concurrently. The flushed and applied position of the
+ * stream only advance to a message once it and every earlier message are processed, so after a
+ * restart the server sends again everything that might not have been processed. At most
+ * {@code window} messages are in flight; reading waits when the workers fall behind.</p>
+ *
+ * <pre>
+ * PGReplicationStream stream = replConnection.getReplicationAPI()
+ *     .replicationStream()
+ *     .logical()
+ *     .withSlotName("cdc_slot")
+ *     .withSlotOption("proto_version", 1)
+ *     .withSlotOption("publication_names", "cdc")
+ *     .withAsyncStatusUpdates(true)
+ *     .start();
+ * LogicalReplicationPipeline&lt;ReplicationFrame&gt; pipeline =
+ *     new LogicalReplicationPipeline&lt;ReplicationFrame&gt;(stream, ReplicationFrames.pgoutput(),
+ *         processor, 8);
+ * pipeline.run(); // until another thread calls pipeline.stop()
+ * stream.close();
+ * </pre>
+ *
+ * @param <T> the type of the decoded messages
+ */
+public final class LogicalReplicationPipeline<T> {
+  private static final Logger LOGGER = Logger.getLogger(LogicalReplicationPipeline.class.getName());
+  private static final int DEFAULT_WINDOW = 10000;
+  private static final int BATCH_MESSAGES = 1024;
+  private static final int BATCH_BYTES = 1024 * 1024;
+  // time to wait for new messages when none are pending
+  private static final long POLL_MILLIS = 10;
+
+  private final PGReplicationStream stream;
+  private final ReplicationDecoder<T> decoder;
+  private final ReplicationProcessor<T> processor;
+  private final ExecutorService[] workers;
+  private final OrderedLsnTracker tracker;
+  private final XLogDataBatch batch = new XLogDataBatch(BATCH_MESSAGES, BATCH_BYTES);
+  private long reportedLsn;
+  private volatile boolean stopped;
+  private volatile Exception failure;
+
+  /**
+   * @param stream a started logical replication stream
+   * @param decoder the decoder of the messages of the output plugin
+   * @param processor the processor of the decoded messages
+   * @param workers number of worker threads
+   */
+  public LogicalReplicationPipeline(PGReplicationStream stream, ReplicationDecoder<T> decoder,
+      ReplicationProcessor<T> processor, int workers) {
+    this(stream, decoder, processor, workers, DEFAULT_WINDOW);
+  }
+
+  /**
+   * @param stream a started logical replication stream
+   * @param decoder the decoder of the messages of the output plugin
+   * @param processor the processor of the decoded messages
+   * @param workers number of worker threads
+   * @param window maximum number of messages read but not yet processed
+   */
+  public LogicalReplicationPipeline(PGReplicationStream stream, ReplicationDecoder<T> decoder,
+      ReplicationProcessor<T> processor, int workers, int window) {
+    if (workers < 1) {
+      throw new IllegalArgumentException("workers must be positive: " + workers);
+    }
+    if (window < 1) {
+      throw new IllegalArgumentException("window must be positive: " + window);
+    }
+    this.stream = stream;
+    this.decoder = decoder;
+    this.processor = processor;
+    this.reportedLsn = stream.getLastReceiveLSN().asLong();
+    this.tracker = new OrderedLsnTracker(window, reportedLsn);
+    this.workers = new ExecutorService[workers];
+    for (int i = 0; i < workers; i++) {
+      final String name = "HeroDB JDBC replication worker " + i;
+      this.workers[i] = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable r) {
+          Thread thread = new Thread(r, name);
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+    }
+  }
+
+  /**
+   * Reads and processes the stream until it ends or {@link #stop()} is called. Messages read before
+   * that are still processed and their position is sent to the server before this returns. A
+   * pipeline can only run once; the stream is not closed.
+   *
+   * @throws SQLException if reading the stream or processing a message failed
+   */
+  public void run() throws SQLException {
+    try {
+      while (!stopped && failure == null && !stream.isClosed()) {
+        if (!stream.readPendingBatch(batch)) {
+          report();
+          Thread.sleep(POLL_MILLIS);
+          continue;
+        }
+        for (int i = 0; i < batch.size() && failure == null; i++) {
+          dispatch(batch, i);
+        }
+        report();
+      }
+      tracker.awaitCompletion();
+      report();
+      checkFailure();
+      if (!stream.isClosed()) {
+        stream.forceUpdateStatus();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new PSQLException(GT.tr("Interrupted while processing the replication stream."),
+          PSQLState.UNEXPECTED_ERROR, e);
+    } finally {
+      tracker.abort();
+      for (ExecutorService worker : workers) {
+        worker.shutdownNow();
+      }
+    }
+  }
+
+  /**
+   * Makes {@link #run()} return once the messages already read are processed. Can be called from
+   * any thread.
+   */
+  public void stop() {
+    stopped = true;
+  }
+
+  /**
+   * @return the position up to which all messages are processed
+   */
+  public LogSequenceNumber getFlushedLSN() {
+    return LogSequenceNumber.valueOf(tracker.getFlushedLsn());
+  }
+
+  private void dispatch(XLogDataBatch batch, int index) throws InterruptedException {
+    long lsn = batch.getLSN(index);
+    final T message = decoder.decode(batch.getPayload(index), lsn);
+    if (message == null) {
+      long sequence = tracker.register(lsn);
+      if (sequence >= 0) {
+        tracker.complete(sequence);
+      }
+      return;
+    }
+
+    int key = decoder.key(message);
+    if (key == ReplicationDecoder.BARRIER) {
+      if (!tracker.awaitCompletion()) {
+        return;
+      }
+      long sequence = tracker.register(lsn);
+      if (sequence >= 0) {
+        process(message, sequence);
+      }
+      return;
+    }
+
+    final long sequence = tracker.register(lsn);
+    if (sequence < 0) {
+      return;
+    }
+    workers[Math.floorMod(key, workers.length)].execute(new Runnable() {
+      @Override
+      public void run() {
+        process(message, sequence);
+      }
+    });
+  }
+
+  private void process(T message, long sequence) {
+    if (failure != null) {
+      // the position must not advance past the failed message
+      return;
+    }
+    try {
+      processor.process(message);
+      tracker.complete(sequence);
+    } catch (Exception e) {
+      LOGGER.log(Level.FINE, "Processing of replication message {0} failed", message);
+      failure = e;
+      tracker.abort();
+    }
+  }
+
+  private void report() {
+    long flushed = tracker.getFlushedLsn();
+    if (flushed != reportedLsn) {
+      LogSequenceNumber lsn = LogSequenceNumber.valueOf(flushed);
+      stream.setFlushedLSN(lsn);
+      stream.setAppliedLSN(lsn);
+      reportedLsn = flushed;
+    }
+  }
+
+  private void checkFailure() throws PSQLException {
+    Exception e = failure;
+    if (e != null) {
+      throw new PSQLException(GT.tr("Processing of a replication message failed."),
+          PSQLState.UNEXPECTED_ERROR, e);
+    }
+  }
+}
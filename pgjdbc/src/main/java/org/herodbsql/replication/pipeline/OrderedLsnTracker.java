@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.replication.pipeline;
+
+/**
+ * Tracks the messages of a {@link LogicalReplicationPipeline} that are in flight, and the position
+ * up to which all messages are processed.
+ *
+ * <p>Messages are registered in stream order and get consecutive sequence numbers. They may
+ * complete in any order; the flushed position only advances over the completed prefix. The window
+ * of messages in flight is bounded, so registering blocks when the workers fall behind.</p>
+ */
+final class OrderedLsnTracker {
+  private final long[] lsns;
+  private final boolean[] completed;
+  // sequence number of the oldest message that is not completed
+  private long head;
+  // sequence number of the next message
+  private long tail;
+  private long flushedLsn;
+  private boolean aborted;
+
+  /**
+   * @param window maximum number of messages in flight
+   * @param startLsn the position reported before any message completed
+   */
+  OrderedLsnTracker(int window, long startLsn) {
+    this.lsns = new long[window];
+    this.completed = new boolean[window];
+    this.flushedLsn = startLsn;
+  }
+
+  private int slot(long sequence) {
+    return (int) (sequence % lsns.length);
+  }
+
+  /**
+   * Registers the next message, waiting while the window is full.
+   *
+   * @param lsn position of the message
+   * @return the sequence number of the message, or -1 if the tracker was aborted
+   * @throws InterruptedException if interrupted while waiting
+   */
+  synchronized long register(long lsn) throws InterruptedException {
+    while (tail - head == lsns.length && !aborted) {
+      wait();
+    }
+    if (aborted) {
+      return -1;
+    }
+    int slot = slot(tail);
+    lsns[slot] = lsn;
+    completed[slot] = false;
+    return tail++;
+  }
+
+  /**
+   * Marks a message as processed.
+   *
+   * @param sequence the sequence number returned by {@link #register(long)}
+   */
+  synchronized void complete(long sequence) {
+    completed[slot(sequence)] = true;
+    if (sequence != head) {
+      return;
+    }
+    while (head < tail && completed[slot(head)]) {
+      flushedLsn = Math.max(flushedLsn, lsns[slot(head)]);
+      head++;
+    }
+    notifyAll();
+  }
+
+  /**
+   * Waits until all registered messages are processed.
+   *
+   * @return false if the tracker was aborted
+   * @throws InterruptedException if interrupted while waiting
+   */
+  synchronized boolean awaitCompletion() throws InterruptedException {
+    while (head < tail && !aborted) {
+      wait();
+    }
+    return !aborted;
+  }
+
+  /**
+   * Releases the threads waiting in {@link #register(long)} and {@link #awaitCompletion()}.
+   */
+  synchronized void abort() {
+    aborted = true;
+    notifyAll();
+  }
+
+  /**
+   * @return the position of the last message of the completed prefix
+   */
+  synchronized long getFlushedLsn() {
+    return flushedLsn;
+  }
+
+  /**
+   * @return number of registered messages that are not part of the completed prefix
+   */
+  synchronized int getInFlight() {
+    return (int) (tail - head);
+  }
+}
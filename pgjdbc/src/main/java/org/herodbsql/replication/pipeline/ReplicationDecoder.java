@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.replication.pipeline;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Turns the payloads of a logical replication stream into messages of a
+ * {@link LogicalReplicationPipeline} and tells which worker processes them.
+ *
+ * <p>The decoder is called by the thread reading the stream, in stream order, so it may keep state
+ * such as the relations announced by the output plugin. Messages with the same key are processed
+ * by the same worker in stream order.</p>
+ *
+ * @param <T> the type of the decoded messages
+ * @see ReplicationFrames
+ */
+public interface ReplicationDecoder<T> {
+  /**
+   * Key of messages that are processed after all earlier messages, by the thread reading the
+   * stream, before any later message is processed.
+   */
+  int BARRIER = Integer.MIN_VALUE;
+
+  /**
+   * Decodes one XLogData payload. The buffer is only valid during the call.
+   *
+   * @param payload the payload between its position and limit
+   * @param lsn the position of the payload in the WAL
+   * @return the message, or null if nothing needs to be processed for the payload
+   */
+  T decode(ByteBuffer payload, long lsn);
+
+  /**
+   * @param message a message returned by {@link #decode(ByteBuffer, long)}
+   * @return the key that orders the message, or {@link #BARRIER}
+   */
+  int key(T message);
+}
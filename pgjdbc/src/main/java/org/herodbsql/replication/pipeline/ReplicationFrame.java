@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.replication.pipeline;
+
+import org.herodbsql.replication.LogSequenceNumber;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An undecoded message of an output plugin, as produced by the decoders of
+ * {@link ReplicationFrames}.
+ */
+public final class ReplicationFrame {
+  private final long lsn;
+  private final char type;
+  private final int key;
+  private final byte[] data;
+
+  ReplicationFrame(long lsn, char type, int key, byte[] data) {
+    this.lsn = lsn;
+    this.type = type;
+    this.key = key;
+    this.data = data;
+  }
+
+  /**
+   * @return the position of the message in the WAL
+   */
+  public LogSequenceNumber getLSN() {
+    return LogSequenceNumber.valueOf(lsn);
+  }
+
+  /**
+   * @return the message type of pgoutput, or the first letter of the action of wal2json
+   */
+  public char getType() {
+    return type;
+  }
+
+  /**
+   * @return the key the frame was dispatched with, see {@link ReplicationDecoder#key(Object)}
+   */
+  public int getKey() {
+    return key;
+  }
+
+  /**
+   * @return a read only view of the whole message
+   */
+  public ByteBuffer getData() {
+    return ByteBuffer.wrap(data).asReadOnlyBuffer();
+  }
+
+  @Override
+  public String toString() {
+    return "ReplicationFrame{lsn=" + LogSequenceNumber.valueOf(lsn).asString()
+        + ", type=" + type + ", key=" + key + ", length=" + data.length + '}';
+  }
+}
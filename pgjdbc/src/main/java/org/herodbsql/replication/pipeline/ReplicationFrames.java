@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.replication.pipeline;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Decoders that dispatch the messages of common output plugins by table without decoding them.
+ * The processor receives each message as a {@link ReplicationFrame}.
+ */
+public final class ReplicationFrames {
+  private ReplicationFrames() {
+  }
+
+  /**
+   * <p>Decoder for the {@code pgoutput} plugin. Relation, Insert, Update and Delete messages are
+   * keyed by their relation, so the Relation message describing a table reaches the worker of its
+   * rows before them. Begin, Commit, Origin, Type and Stream Start/Stop messages are not
+   * processed. Truncate, logical decoding messages and the Stream Commit and Stream Abort messages
+   * of streamed transactions are barriers.</p>
+   *
+   * <p>The decoder keeps state and must not be shared between pipelines.</p>
+   *
+   * @return a new decoder
+   */
+  public static ReplicationDecoder<ReplicationFrame> pgoutput() {
+    return new PgOutputFrameDecoder();
+  }
+
+  /**
+   * Decoder for the {@code wal2json} plugin. With {@code format-version} 2, Insert, Update, Delete
+   * and Truncate actions are keyed by their schema and table, Begin and Commit actions are not
+   * processed and Message actions are barriers. With {@code format-version} 1 each message holds a
+   * whole transaction, so all messages have the same key.
+   *
+   * @return a new decoder
+   */
+  public static ReplicationDecoder<ReplicationFrame> wal2json() {
+    return new Wal2JsonFrameDecoder();
+  }
+
+  private static byte[] copy(ByteBuffer payload) {
+    byte[] data = new byte[payload.remaining()];
+    payload.duplicate().get(data);
+    return data;
+  }
+
+  private static int nonNegative(int key) {
+    return key & Integer.MAX_VALUE;
+  }
+
+  private static final class PgOutputFrameDecoder implements ReplicationDecoder<ReplicationFrame> {
+    // between Stream Start and Stream Stop, changes are prefixed by the transaction id
+    private boolean inStream;
+
+    @Override
+    public ReplicationFrame decode(ByteBuffer payload, long lsn) {
+      int start = payload.position();
+      char type = (char) payload.get(start);
+      int key;
+      switch (type) {
+        case 'B': // Begin
+        case 'C': // Commit
+        case 'O': // Origin
+        case 'Y': // Type
+          return null;
+        case 'S': // Stream Start
+          inStream = true;
+          return null;
+        case 'E': // Stream Stop
+          inStream = false;
+          return null;
+        case 'R': // Relation
+        case 'I': // Insert
+        case 'U': // Update
+        case 'D': // Delete
+          key = nonNegative(payload.getInt(start + 1 + (inStream ? 4 : 0)));
+          break;
+        default: // Truncate, Message, Stream Commit, Stream Abort
+          key = BARRIER;
+      }
+      return new ReplicationFrame(lsn, type, key, copy(payload));
+    }
+
+    @Override
+    public int key(ReplicationFrame message) {
+      return message.getKey();
+    }
+  }
+
+  private static final class Wal2JsonFrameDecoder implements ReplicationDecoder<ReplicationFrame> {
+    private static final byte[] ACTION = "\"action\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SCHEMA = "\"schema\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TABLE = "\"table\":\"".getBytes(StandardCharsets.US_ASCII);
+
+    @Override
+    public ReplicationFrame decode(ByteBuffer payload, long lsn) {
+      int action = find(payload, ACTION);
+      if (action < 0) {
+        // format-version 1
+        return new ReplicationFrame(lsn, 'X', 0, copy(payload));
+      }
+      char type = (char) payload.get(action);
+      int key;
+      switch (type) {
+        case 'B':
+        case 'C':
+          return null;
+        case 'I':
+        case 'U':
+        case 'D':
+        case 'T':
+          int schema = find(payload, SCHEMA);
+          int table = find(payload, TABLE);
+          key = schema < 0 || table < 0 ? 0
+              : nonNegative(31 * hashString(payload, schema) + hashString(payload, table));
+          break;
+        default:
+          key = BARRIER;
+      }
+      return new ReplicationFrame(lsn, type, key, copy(payload));
+    }
+
+    @Override
+    public int key(ReplicationFrame message) {
+      return message.getKey();
+    }
+
+    /**
+     * Finds the first occurrence of a key. A key cannot occur inside a JSON string, where its
+     * quotes would be escaped.
+     *
+     * @return the index after the key, or -1
+     */
+    private static int find(ByteBuffer payload, byte[] key) {
+      int last = payload.limit() - key.length;
+      for (int i = payload.position(); i <= last; i++) {
+        int j = 0;
+        while (j < key.length && payload.get(i + j) == key[j]) {
+          j++;
+        }
+        if (j == key.length) {
+          return i + j;
+        }
+      }
+      return -1;
+    }
+
+    /**
+     * Hashes the bytes of a JSON string up to its closing quote.
+     */
+    private static int hashString(ByteBuffer payload, int start) {
+      int hash = 0;
+      for (int i = start; i < payload.limit(); i++) {
+        byte b = payload.get(i);
+        if (b == '"') {
+          break;
+        }
+        if (b == '\\' && i + 1 < payload.limit()) {
+          // the escaped character belongs to the string
+          hash = 31 * hash + b;
+          b = payload.get(++i);
+        }
+        hash = 31 * hash + b;
+      }
+      return hash;
+    }
+  }
+}
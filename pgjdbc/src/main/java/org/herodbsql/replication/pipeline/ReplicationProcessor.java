@@ -0,0 +1,25 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.replication.pipeline;
+
+/**
+ * Processes the messages of a {@link LogicalReplicationPipeline}. It is called concurrently by the
+ * workers of the pipeline, and for messages with the same key by one worker at a time in stream
+ * order.
+ *
+ * @param <T> the type of the messages
+ */
+public interface ReplicationProcessor<T> {
+  /**
+   * Processes a message. Once this returns, the message counts as durably processed, and its
+   * position can be reported to the server as flushed as soon as all earlier messages are
+   * processed, too.
+   *
+   * @param message the message
+   * @throws Exception if the message could not be processed; the pipeline then stops
+   */
+  void process(T message) throws Exception;
+}
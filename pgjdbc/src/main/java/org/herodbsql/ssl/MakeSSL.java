@@ -33,7 +33,7 @@ public class MakeSSL extends ObjectFactory {
     LOGGER.log(Level.FINE, "converting regular socket connection to ssl");
     if (true) {
       //create herosslsocket and use it
-      HeroSSLSocketHelper.switchToHeroSSLSocket(stream, user);
+      HeroSSLSocketHelper.switchToHeroSSLSocket(stream, user, info);
       return;
     }
 
@@ -6,6 +6,8 @@
 package org.herodbsql.util;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
 import java.nio.CharBuffer;
 
 /**
@@ -24,6 +26,8 @@ public class ByteConverter {
   private static final int[] round_powers = {0, 1000, 100, 10};
   private static final int SHORT_BYTES = 2;
   private static final int LONG_BYTES = 4;
+  private static final BigInteger BI_NBASE = BigInteger.valueOf(NBASE);
+  private static final BigInteger BI_NBASE_4 = BigInteger.valueOf((long) NBASE * NBASE * NBASE * NBASE);
 
   private ByteConverter() {
     // prevent instantiation of static helper class
@@ -200,6 +204,136 @@ public class ByteConverter {
     return new BigDecimal(numString);
   }
 
+  /**
+   * Convert a binary {@code numeric} value to a BigDecimal, without going through its text
+   * representation.
+   * @param bytes array of bytes that can be decoded as a numeric
+   * @param pos index of the start position of the bytes array for number
+   * @param numBytes number of bytes to use
+   * @return BigDecimal with the scale of the numeric
+   * @throws IllegalArgumentException if the value is not a valid numeric, or is NaN
+   */
+  public static BigDecimal bigDecimal(byte[] bytes, int pos, int numBytes) {
+    if (numBytes < 8) {
+      throw new IllegalArgumentException("number of bytes should be at-least 8");
+    }
+
+    short len = ByteConverter.int2(bytes, pos);
+    short weight = ByteConverter.int2(bytes, pos + 2);
+    short sign = ByteConverter.int2(bytes, pos + 4);
+    short scale = ByteConverter.int2(bytes, pos + 6);
+
+    if (numBytes != (len * SHORT_BYTES + 8)) {
+      throw new IllegalArgumentException("invalid length of bytes \"numeric\" value");
+    }
+    if (sign == NUMERIC_NAN) {
+      throw new IllegalArgumentException("\"numeric\" NaN can't be represented as a BigDecimal");
+    }
+    if (!(sign == NUMERIC_POS || sign == NUMERIC_NEG)) {
+      throw new IllegalArgumentException("invalid sign in \"numeric\" value");
+    }
+    if ((scale & NUMERIC_DSCALE_MASK) != scale) {
+      throw new IllegalArgumentException("invalid scale in \"numeric\" value");
+    }
+    if (len == 0) {
+      return BigDecimal.ZERO.setScale(scale);
+    }
+
+    // collect four base 10000 digits at a time in a long
+    BigInteger unscaled = null;
+    long chunk = 0;
+    int chunkDigits = 0;
+    int idx = pos + 8;
+    for (int i = 0; i < len; i++) {
+      short d = ByteConverter.int2(bytes, idx);
+      idx += 2;
+      if (d < 0 || d >= NBASE) {
+        throw new IllegalArgumentException("invalid digit in \"numeric\" value");
+      }
+      chunk = chunk * NBASE + d;
+      if (++chunkDigits == 4) {
+        unscaled = unscaled == null ? BigInteger.valueOf(chunk)
+            : unscaled.multiply(BI_NBASE_4).add(BigInteger.valueOf(chunk));
+        chunk = 0;
+        chunkDigits = 0;
+      }
+    }
+    if (unscaled == null) {
+      unscaled = BigInteger.valueOf(chunk);
+    } else if (chunkDigits > 0) {
+      unscaled = unscaled.multiply(BI_NBASE.pow(chunkDigits)).add(BigInteger.valueOf(chunk));
+    }
+    if (sign == NUMERIC_NEG) {
+      unscaled = unscaled.negate();
+    }
+
+    // the last digit is worth NBASE^(weight - len + 1); digits beyond the display scale are zero
+    BigDecimal value = new BigDecimal(unscaled, (len - 1 - weight) * DEC_DIGITS);
+    return value.setScale(scale, RoundingMode.DOWN);
+  }
+
+  /**
+   * Encodes a BigDecimal in the binary {@code numeric} format.
+   *
+   * @param nbr The value to encode.
+   * @return the encoded value.
+   */
+  public static byte[] numeric(BigDecimal nbr) {
+    BigInteger unscaled = nbr.unscaledValue();
+    int scale = nbr.scale();
+    if (scale < 0) {
+      unscaled = unscaled.multiply(BigInteger.TEN.pow(-scale));
+      scale = 0;
+    }
+    if (scale > NUMERIC_DSCALE_MASK) {
+      throw new IllegalArgumentException("scale of \"numeric\" value is too large: " + scale);
+    }
+    short sign = unscaled.signum() < 0 ? NUMERIC_NEG : NUMERIC_POS;
+    unscaled = unscaled.abs();
+
+    // align the decimal point with a base 10000 digit boundary
+    int pad = (DEC_DIGITS - scale % DEC_DIGITS) % DEC_DIGITS;
+    if (pad > 0) {
+      unscaled = unscaled.multiply(BigInteger.TEN.pow(pad));
+    }
+    int fractionDigits = (scale + pad) / DEC_DIGITS;
+
+    // base 10000 digits, least significant first
+    short[] digits = new short[unscaled.bitLength() / 13 + 2];
+    int count = 0;
+    if (unscaled.bitLength() < 63) {
+      long value = unscaled.longValue();
+      while (value != 0) {
+        digits[count++] = (short) (value % NBASE);
+        value /= NBASE;
+      }
+    } else {
+      while (unscaled.signum() != 0) {
+        BigInteger[] qr = unscaled.divideAndRemainder(BI_NBASE);
+        digits[count++] = qr[1].shortValue();
+        unscaled = qr[0];
+      }
+    }
+    int weight = count == 0 ? 0 : count - 1 - fractionDigits;
+    int low = 0;
+    while (low < count && digits[low] == 0) {
+      low++;
+    }
+
+    int ndigits = count - low;
+    byte[] target = new byte[8 + ndigits * SHORT_BYTES];
+    int2(target, 0, ndigits);
+    int2(target, 2, weight);
+    int2(target, 4, sign);
+    int2(target, 6, scale);
+    int idx = 8;
+    for (int i = count - 1; i >= low; i--) {
+      int2(target, idx, digits[i]);
+      idx += SHORT_BYTES;
+    }
+    return target;
+  }
+
   /**
    * Parses a long value from the byte array.
    *
@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.util;
+
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread safe variant of {@link LruCache} with the same {@code borrow}/{@code put} contract and the
+ * same limits on the number of entries and their estimated size.
+ *
+ * <p>Lookups, borrows and puts only touch a {@link ConcurrentHashMap} and a few atomic counters.
+ * Eviction uses the CLOCK approximation of least-recently-used order: entries form a queue in the
+ * order they were put, and an entry that was read with {@link #get} since it last passed the head
+ * of the queue gets a second chance instead of being evicted. Only the thread that has to evict
+ * takes a lock, so a cache below its limits never blocks.</p>
+ *
+ * @param <Key> type of the cache key
+ * @param <Value> type of the cache entry
+ */
+public class ConcurrentLruCache<Key, Value extends CanEstimateSize> implements Gettable<Key, Value> {
+  // removed nodes stay in the queue until the clock hand passes them; this many are always fine
+  private static final int MIN_DEAD_NODES = 64;
+
+  private static final class Node<Key, Value> {
+    final Key key;
+    final Value value;
+    final long size;
+    volatile boolean referenced;
+    // set by the thread that removed the node from the map while it is still queued
+    volatile boolean removed;
+
+    Node(Key key, Value value, long size) {
+      this.key = key;
+      this.value = value;
+      this.size = size;
+    }
+  }
+
+  private final LruCache.EvictAction<Value> onEvict;
+  private final LruCache.CreateAction<Key, Value> createAction;
+  private final int maxSizeEntries;
+  private final long maxSizeBytes;
+  private final boolean accessOrder;
+  private final ConcurrentHashMap<Key, Node<Key, Value>> cache =
+      new ConcurrentHashMap<Key, Node<Key, Value>>();
+  private final ConcurrentLinkedQueue<Node<Key, Value>> clock =
+      new ConcurrentLinkedQueue<Node<Key, Value>>();
+  private final AtomicInteger currentEntries = new AtomicInteger();
+  private final AtomicLong currentSize = new AtomicLong();
+  private final AtomicInteger deadNodes = new AtomicInteger();
+  private final ReentrantLock evictionLock = new ReentrantLock();
+
+  @SuppressWarnings("unchecked")
+  public ConcurrentLruCache(int maxSizeEntries, long maxSizeBytes, boolean accessOrder) {
+    this(maxSizeEntries, maxSizeBytes, accessOrder, LruCache.NOOP_CREATE_ACTION,
+        LruCache.NOOP_EVICT_ACTION);
+  }
+
+  /**
+   * @param maxSizeEntries maximum number of entries
+   * @param maxSizeBytes maximum total of {@link CanEstimateSize#getSize()} of the entries
+   * @param accessOrder whether {@link #get} protects an entry from the next eviction; entries are
+   *                    otherwise evicted in the order they were put
+   * @param createAction creates the entry when {@link #borrow} misses
+   * @param onEvict invoked for every entry dropped by the cache
+   */
+  public ConcurrentLruCache(int maxSizeEntries, long maxSizeBytes, boolean accessOrder,
+      LruCache.CreateAction<Key, Value> createAction,
+      LruCache.EvictAction<Value> onEvict) {
+    this.maxSizeEntries = maxSizeEntries;
+    this.maxSizeBytes = maxSizeBytes;
+    this.accessOrder = accessOrder;
+    this.createAction = createAction;
+    this.onEvict = onEvict;
+  }
+
+  private void evictValue(Value value) {
+    try {
+      onEvict.evict(value);
+    } catch (SQLException e) {
+      /* ignore */
+    }
+  }
+
+  /**
+   * Accounts for a node the calling thread removed from the map. The node stays in the clock
+   * queue until the hand reaches it.
+   */
+  private void unlink(Node<Key, Value> node) {
+    node.removed = true;
+    currentEntries.decrementAndGet();
+    currentSize.addAndGet(-node.size);
+    deadNodes.incrementAndGet();
+  }
+
+  private boolean overLimits() {
+    return currentEntries.get() > maxSizeEntries || currentSize.get() > maxSizeBytes;
+  }
+
+  private boolean tooManyDeadNodes() {
+    return deadNodes.get() > Math.max(MIN_DEAD_NODES, currentEntries.get());
+  }
+
+  private void evictIfNeeded() {
+    if (!overLimits() && !tooManyDeadNodes()) {
+      return;
+    }
+    evictionLock.lock();
+    try {
+      if (tooManyDeadNodes()) {
+        // a cache that is only borrowed from and put back never reaches its limits
+        Iterator<Node<Key, Value>> it = clock.iterator();
+        while (it.hasNext()) {
+          if (it.next().removed) {
+            it.remove();
+            deadNodes.decrementAndGet();
+          }
+        }
+      }
+      // after two full turns every entry had its second chance
+      int secondChances = 2 * (currentEntries.get() + Math.max(0, deadNodes.get())) + 1;
+      while (overLimits()) {
+        Node<Key, Value> node = clock.poll();
+        if (node == null) {
+          break;
+        }
+        if (node.removed) {
+          deadNodes.decrementAndGet();
+          continue;
+        }
+        if (node.referenced && secondChances-- > 0) {
+          node.referenced = false;
+          clock.offer(node);
+          continue;
+        }
+        if (cache.remove(node.key, node)) {
+          currentEntries.decrementAndGet();
+          currentSize.addAndGet(-node.size);
+          evictValue(node.value);
+        } else {
+          // borrowed or replaced meanwhile, that thread counted it as dead
+          deadNodes.decrementAndGet();
+        }
+      }
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  /**
+   * Returns an entry from the cache.
+   *
+   * @param key cache key
+   * @return entry from cache or null if cache does not contain given key.
+   */
+  public Value get(Key key) {
+    Node<Key, Value> node = cache.get(key);
+    if (node == null) {
+      return null;
+    }
+    if (accessOrder && !node.referenced) {
+      node.referenced = true;
+    }
+    return node.value;
+  }
+
+  /**
+   * Borrows an entry from the cache.
+   *
+   * @param key cache key
+   * @return entry from cache or newly created entry if cache does not contain given key.
+   * @throws SQLException if entry creation fails
+   */
+  public Value borrow(Key key) throws SQLException {
+    Node<Key, Value> node = cache.remove(key);
+    if (node == null) {
+      return createAction.create(key);
+    }
+    unlink(node);
+    return node.value;
+  }
+
+  /**
+   * Returns given value to the cache.
+   *
+   * @param key key
+   * @param value value
+   */
+  public void put(Key key, Value value) {
+    long valueSize = value.getSize();
+    if (maxSizeBytes == 0 || maxSizeEntries == 0 || valueSize * 2 > maxSizeBytes) {
+      // Just destroy the value if cache is disabled or if entry would consume more than a half of
+      // the cache
+      evictValue(value);
+      return;
+    }
+    Node<Key, Value> node = new Node<Key, Value>(key, value, valueSize);
+    currentEntries.incrementAndGet();
+    currentSize.addAndGet(valueSize);
+    Node<Key, Value> prev = cache.put(key, node);
+    clock.offer(node);
+    if (prev != null) {
+      // This should be a rare case
+      unlink(prev);
+      if (prev.value != value) {
+        evictValue(prev.value);
+      }
+    }
+    evictIfNeeded();
+  }
+
+  /**
+   * Puts all the values from the given map into the cache.
+   *
+   * @param m The map containing entries to put into the cache
+   */
+  public void putAll(Map<Key, Value> m) {
+    for (Map.Entry<Key, Value> entry : m.entrySet()) {
+      this.put(entry.getKey(), entry.getValue());
+    }
+  }
+
+  /**
+   * @return number of entries in the cache
+   */
+  public int size() {
+    return currentEntries.get();
+  }
+
+  /**
+   * @return total estimated size of the entries in the cache
+   */
+  public long getSizeBytes() {
+    return currentSize.get();
+  }
+}
@@ -0,0 +1,70 @@
+package org.herodbx.core.v3;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 挑战码认证各步骤的耗时统计（JVM内所有连接累计）。
+ * <p>
+ * 每次认证的耗时明细在 FINE 级别写日志，累计值可以通过 {@link #getCount(Step)} 和
+ * {@link #getNanos(Step)} 读取。
+ * </p>
+ *
+ * @since 2026年10月18日
+ */
+public final class ChallengeAuthStats {
+
+  /**
+   * 挑战码认证的步骤。
+   */
+  public enum Step {
+    /** 接收服务端的挑战码 */
+    RECEIVE,
+    /** 读取PIN码 */
+    PIN,
+    /** 登录到加密平台（命中缓存时几乎没有耗时） */
+    LOAD_ENGINE,
+    /** 生成随机数 */
+    RANDOM,
+    /** 签名 */
+    SIGN,
+    /** 发送应答 */
+    SEND
+  }
+
+  private static final AtomicLongArray COUNTS = new AtomicLongArray(Step.values().length);
+  private static final AtomicLongArray NANOS = new AtomicLongArray(Step.values().length);
+
+  private ChallengeAuthStats() {
+  }
+
+  static void record(Step step, long nanos) {
+    COUNTS.incrementAndGet(step.ordinal());
+    NANOS.addAndGet(step.ordinal(), nanos);
+  }
+
+  /**
+   * @param step 步骤
+   * @return 该步骤执行的次数
+   */
+  public static long getCount(Step step) {
+    return COUNTS.get(step.ordinal());
+  }
+
+  /**
+   * @param step 步骤
+   * @return 该步骤的累计耗时（纳秒）
+   */
+  public static long getNanos(Step step) {
+    return NANOS.get(step.ordinal());
+  }
+
+  /**
+   * 清零所有计数。
+   */
+  public static void reset() {
+    for (int i = 0; i < COUNTS.length(); i++) {
+      COUNTS.set(i, 0);
+      NANOS.set(i, 0);
+    }
+  }
+}
@@ -2,6 +2,8 @@ package org.herodbx.core.v3;
 
 import com.sun.jna.Memory;
 import com.sun.jna.Pointer;
+import org.herodbx.core.v3.ChallengeAuthStats.Step;
+import org.herodbx.herossl.HeroClientEngines;
 import org.herodbx.herossl.HeroSP;
 import org.herodbx.HeroCommonTool;
 import org.herodbsql.PGProperty;
@@ -43,9 +45,13 @@ final public class ConnectionFactoryImplHelper {
   }
 
   static public void doWithWatermark(PGStream pgStream) throws IOException {
+    doWithWatermark(pgStream, new Properties());
+  }
+
+  static public void doWithWatermark(PGStream pgStream, Properties info) throws IOException {
     LOGGER.log(Level.FINEST, "AuthenticationWatermark");
-    // 获取编码之后的软件水印
-    byte[] byteArray = HeroUtils.getWaterMark();
+    // 获取编码之后的软件水印，水印只计算一次，见WaterMarkCache
+    byte[] byteArray = HeroUtils.getWaterMark(PGProperty.WATERMARK_CHECK_MTIME.getBoolean(info));
     pgStream.sendChar('p');
     pgStream.sendInteger4(4 + byteArray.length + 1);
     pgStream.send(byteArray);
@@ -103,12 +109,17 @@ final public class ConnectionFactoryImplHelper {
       LOGGER.finest("获取到的certdelay: off");
     }
 
+    // 各步骤的耗时，单位纳秒
+    long[] elapsed = new long[Step.values().length];
+    long t0 = System.nanoTime();
+
     // 接收数据库发来的挑战码
     int len = msgLen - 4 - 4;//数据包总长度-4字节的数据包长度信息-4字节的验证类型信息，剩下是挑战码。顾法华，2020年5月29日 18点14分
     LOGGER.finest("挑战码长度：" + len);
     byte[] rbText1 = pgStream.receive(len);
     LOGGER.finest("rbText1="+ HeroCommonTool.bytes2HexString(rbText1));
     LOGGER.finest("rbText1=["+ HeroCommonTool.getPrintable(rbText1)+"]");
+    t0 = step(elapsed, Step.RECEIVE, t0);
 
     if ("on".equalsIgnoreCase(certDelay)) {
       LOGGER.finest("获取到的certdelay: on");
@@ -135,9 +146,10 @@ final public class ConnectionFactoryImplHelper {
     }
     String pin = m.getString(0);
 //                LOGGER.finest("取得PIN: \""+pin+"\"");
+    t0 = step(elapsed, Step.PIN, t0);
 
-    //尝试登录到加密平台
-    ret = HeroCrypto.INSTANCE.db_LoadClientEngine(userid, pin);
+    //尝试登录到加密平台，有效期内已登录的用户不再重复加载
+    ret = HeroClientEngines.load(userid, pin, PGProperty.HERO_ENGINE_TTL.getInt(info));
     if (0 != ret) {
       String retMsg = HeroCrypto.INSTANCE.db_GetShErrMsg(ret);
       LOGGER.severe("登录到加密平台出错：" + retMsg);
@@ -149,8 +161,10 @@ final public class ConnectionFactoryImplHelper {
     } else {
       LOGGER.finest("登录到加密平台成功。");
     }
+    t0 = step(elapsed, Step.LOAD_ENGINE, t0);
 
     byte[] ra = HeroSP.GenRandom(32);
+    t0 = step(elapsed, Step.RANDOM, t0);
 //    LOGGER.finest("Ra="+ HeroCommonTool.bytes2HexString(ra));
 //    LOGGER.finest("Ra=["+ HeroCommonTool.getPrintable(ra)+"]");
     String text2 = "herodb";
@@ -161,6 +175,7 @@ final public class ConnectionFactoryImplHelper {
     byte[] RaRbText2 = HeroCommonTool.byteMerger(RaRb,text2.getBytes());
 //    LOGGER.finest("RaRbText2="+RaRbText2.length+"B,["+ HeroCommonTool.getPrintable(RaRbText2)+"]");
     byte[] signedRaRbText2 = HeroSP.SignBufChapCode(user,RaRbText2);
+    t0 = step(elapsed, Step.SIGN, t0);
 //    LOGGER.finest("signedRaRbText2=["+ HeroCommonTool.getPrintable(signedRaRbText2)+"]");
 //    LOGGER.finest("signedRaRbText2=["+ HeroCommonTool.bytes2HexString(signedRaRbText2)+"]");
 
@@ -178,10 +193,32 @@ final public class ConnectionFactoryImplHelper {
     pgStream.send(reponse);
 //    pgStream.sendChar(0);//经过与服务器一侧的数据比对，新协议不再附加这个字节。顾法华，2021年1月26日 17点33分
     pgStream.flush();
+    step(elapsed, Step.SEND, t0);
+
+    if (LOGGER.isLoggable(Level.FINE)) {
+      StringBuilder sb = new StringBuilder("挑战码认证耗时(us)：");
+      for (Step step : Step.values()) {
+        sb.append(step.name().toLowerCase()).append('=').append(elapsed[step.ordinal()] / 1000).append(',');
+      }
+      sb.setLength(sb.length() - 1);
+      LOGGER.fine(sb.toString());
+    }
 
     return 1;//对应break
   }
 
+  /**
+   * 记录一个步骤的耗时。
+   *
+   * @return 当前时间，作为下一个步骤的起点
+   */
+  private static long step(long[] elapsed, Step step, long start) {
+    long now = System.nanoTime();
+    elapsed[step.ordinal()] = now - start;
+    ChallengeAuthStats.record(step, now - start);
+    return now;
+  }
+
 }
 
 
@@ -3,10 +3,19 @@ package org.herodbx.core.v3;
 import org.herodbsql.core.PGStream;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 
 // modified:dfh
+// 文件内容经过 FileChannel 和连接上复用的缓冲区传输，不再为每个数据块分配数组，大文件传输的内存占用是常量。
 public class JdbcMimeFile {
 
+	// 上传文件时每个数据包的大小，也是接收写入数据时每次处理的最大字节数
+	private static final int CHUNK_SIZE = 64 * 1024;
+
 	public enum file_mode{
 		TELLYOU_FILE_UPLOAD,
 		TELLYOU_FILE_CREATE,
@@ -37,23 +46,51 @@ public class JdbcMimeFile {
 
 		try {
 			FileInputStream inputStream = new FileInputStream(handle);
-			byte[] buf = new byte[64 * 1024];
-			int readsize;
-
-			ReportSuccess(pgStream);
-			while ( (readsize = inputStream.read(buf, 0, 64 * 1024)) > 0) {
-				pgStream.sendChar('d');
-				pgStream.sendInteger4(readsize+4);
-				pgStream.send(buf, readsize);
+			try {
+				ReadableByteChannel channel = inputStream.getChannel();
+				ByteBuffer buf = pgStream.getFileBuffer(CHUNK_SIZE);
+				int readsize;
+
+				ReportSuccess(pgStream);
+				// 数据包只写进发送缓冲区，最后的ReportSuccess才flush，中间不等待服务端
+				while ((readsize = fill(channel, buf, CHUNK_SIZE)) > 0) {
+					pgStream.sendChar('d');
+					pgStream.sendInteger4(readsize + 4);
+					pgStream.send(buf.array(), 0, readsize);
+				}
+				ReportSuccess(pgStream);
+			} finally {
+				inputStream.close();
 			}
-			ReportSuccess(pgStream);
-			inputStream.close();
 		} catch (Exception e) {
 			ReportError(pgStream, "Failure upload file : " + filename);
 		}
 
 	}
 
+	/**
+	 * 从channel读满size个字节或者读到文件结束。
+	 *
+	 * @return 读到的字节数，文件已经结束时为0
+	 */
+	private static int fill(ReadableByteChannel channel, ByteBuffer buf, int size) throws IOException {
+		buf.clear();
+		buf.limit(size);
+		while (buf.hasRemaining()) {
+			if (channel.read(buf) < 0) {
+				break;
+			}
+		}
+		return buf.position();
+	}
+
+	private static WritableByteChannel channelOf(OutputStream outputStream) {
+		if (outputStream instanceof FileOutputStream) {
+			return ((FileOutputStream) outputStream).getChannel();
+		}
+		return Channels.newChannel(outputStream);
+	}
+
 	private static void OpenFile(PGStream pgStream, String filename, file_mode mode) throws IOException {
 		File handle = new File(filename);
 
@@ -76,24 +113,55 @@ public class JdbcMimeFile {
 
 	}
 
+	/**
+	 * 服务端每次请求一个数据块并等待应答，所以每个应答都要flush。
+	 * 应答的长度是请求的长度和文件剩余长度中较小的一个，按 CHUNK_SIZE 分块读取发送，缓冲区不随请求的长度增长。
+	 * 文件已经结束时和以前一样应答长度字为3（即读到-1个字节）的数据包。
+	 * 长度字发出以后文件变短时抛出IOException，连接随之中断，服务端不会收到不完整或者伪造的内容。
+	 */
 	private static void ReadFile(PGStream pgStream, int size) throws IOException {
-    byte[] buf = new byte[size];
-    InputStream inputStream = pgStream.getInStream();
-
-    size = inputStream.read(buf, 0, size);
-    pgStream.sendChar('d');
-    pgStream.sendInteger4(size + 4);
-    pgStream.send(buf, size);
-    pgStream.flush();
-  }
+		FileChannel channel = ((FileInputStream) pgStream.getInStream()).getChannel();
+		int length = (int) Math.max(0, Math.min(size, channel.size() - channel.position()));
+		if (length == 0 && size > 0) {
+			pgStream.sendChar('d');
+			pgStream.sendInteger4(-1 + 4);
+			pgStream.flush();
+			return;
+		}
+		ByteBuffer buf = pgStream.getFileBuffer(Math.min(length, CHUNK_SIZE));
+		pgStream.sendChar('d');
+		pgStream.sendInteger4(length + 4);
+		while (length > 0) {
+			int n = Math.min(length, CHUNK_SIZE);
+			int got = fill(channel, buf, n);
+			if (got < n) {
+				// 已经发出的长度字不能再改，只能让这次操作失败
+				throw new IOException("File became shorter while it was being read");
+			}
+			pgStream.send(buf.array(), 0, n);
+			length -= n;
+		}
+		pgStream.flush();
+	}
 
+	/**
+	 * 服务端推送的数据不需要应答，按块接收后直接写入文件。
+	 */
 	private static void WriteFile(PGStream pgStream, int size) throws IOException {
-    byte[] buf = new byte[size];
-    OutputStream outputStream = pgStream.getOutputStream();
-
-    pgStream.receive(buf, 0, size);
-    outputStream.write(buf);
-  }
+		ByteBuffer buf = pgStream.getFileBuffer(Math.min(size, CHUNK_SIZE));
+		WritableByteChannel channel = channelOf(pgStream.getOutputStream());
+
+		while (size > 0) {
+			int n = Math.min(size, buf.capacity());
+			pgStream.receive(buf.array(), 0, n);
+			buf.clear();
+			buf.limit(n);
+			while (buf.hasRemaining()) {
+				channel.write(buf);
+			}
+			size -= n;
+		}
+	}
 
 	private static void CloseFile(PGStream pgStream) throws IOException {
 		file_mode mode = file_mode.values()[pgStream.getMode()];
@@ -122,10 +190,14 @@ public class JdbcMimeFile {
 	}
 
 	private static void SendCacheCommand(PGStream pgStream, int size) throws IOException {
-		byte[] buf = new byte[size];
+		ByteBuffer buf = pgStream.getFileBuffer(Math.min(size, CHUNK_SIZE));
 
-		pgStream.receive(buf, 0, size);
-		pgStream.send(buf, size);
+		while (size > 0) {
+			int n = Math.min(size, buf.capacity());
+			pgStream.receive(buf.array(), 0, n);
+			pgStream.send(buf.array(), 0, n);
+			size -= n;
+		}
 		pgStream.flush();
 	}
 
@@ -0,0 +1,208 @@
+package org.herodbx.herossl;
+
+import com.sun.jna.ptr.PointerByReference;
+import org.herodbx.herossl.jna.HeroCrypto;
+import org.herodbx.herossl.jna.HeroSSLAPI;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * 已加载的客户端加密引擎，按用户和PIN码区分。
+ * <p>
+ * 挑战码认证以前每个连接都要调用 db_LoadClientEngine；现在同一用户、同一PIN码的引擎在有效期内只加载一次，
+ * 连接池里重复登录只需要签名。PIN码变了或者超过有效期时重新加载。
+ * </p>
+ * <p>
+ * HeroSSL握手时c代码也会为用户/PIN码加载引擎。默认（herosslhandshakelock=global）所有握手都锁
+ * {@code HeroSSLSocket.class}，连接池预热时只能一个一个地握手；herosslhandshakelock=context 时只有加载引擎的那一次握手
+ * （每个用户/PIN码的第一次）串行执行，用的也是 {@code HeroSSLSocket.class} 这把锁，之后的握手不再加锁，可以并发。
+ * </p>
+ * <p>
+ * 加载和使用引擎都持有读锁，{@link #unloadAll()}（也就是 {@link HeroSP#Hero_db_UnloadAllEngine()}）持有写锁：
+ * 卸载要等正在进行的登录和握手结束，卸载以后每个用户/PIN码都重新加载。
+ * </p>
+ *
+ * @since 2026年10月18日
+ */
+public final class HeroClientEngines {
+  private static final Logger LOGGER = Logger.getLogger(HeroClientEngines.class.getName());
+
+  private static final ConcurrentMap<String, Engine> ENGINES = new ConcurrentHashMap<String, Engine>();
+
+  private static final ReentrantReadWriteLock UNLOAD_LOCK = new ReentrantReadWriteLock();
+
+  private static final AtomicLong HITS = new AtomicLong();
+  private static final AtomicLong LOADS = new AtomicLong();
+
+  private HeroClientEngines() {
+  }
+
+  /**
+   * 一个用户/PIN码的引擎。
+   */
+  private static final class Engine {
+    final String pin;
+    // db_LoadClientEngine 成功的时间，loaded 为true时有效
+    volatile long loadedAt;
+    volatile boolean loaded;
+    // HeroSSL握手已经加载过引擎
+    volatile boolean contextLoaded;
+
+    Engine(String pin) {
+      this.pin = pin;
+    }
+
+    boolean isValid(long ttlNanos) {
+      return loaded && System.nanoTime() - loadedAt < ttlNanos;
+    }
+  }
+
+  /**
+   * @return 用户当前PIN码的引擎，PIN码变了时换成新的
+   */
+  private static Engine engine(String userid, String pin) {
+    Engine engine = ENGINES.get(userid);
+    while (engine == null || !engine.pin.equals(pin)) {
+      Engine created = new Engine(pin);
+      boolean stored = engine == null
+          ? ENGINES.putIfAbsent(userid, created) == null
+          : ENGINES.replace(userid, engine, created);
+      if (stored) {
+        return created;
+      }
+      engine = ENGINES.get(userid);
+    }
+    return engine;
+  }
+
+  /**
+   * 登录到加密平台，有效期内已经用同一PIN码登录过的用户不再重复加载。
+   *
+   * @param userid 用户标识
+   * @param pin 加密设备的PIN码
+   * @param ttlSeconds 引擎的有效期（秒），不大于0时不缓存，每次都加载
+   * @return 0 on success，否则是 db_LoadClientEngine 的错误码
+   */
+  public static int load(String userid, String pin, int ttlSeconds) {
+    Lock lock = UNLOAD_LOCK.readLock();
+    lock.lock();
+    try {
+      if (ttlSeconds <= 0) {
+        LOADS.incrementAndGet();
+        return HeroCrypto.INSTANCE.db_LoadClientEngine(userid, pin);
+      }
+      long ttlNanos = ttlSeconds * 1000000000L;
+      Engine engine = engine(userid, pin);
+      if (engine.isValid(ttlNanos)) {
+        HITS.incrementAndGet();
+        return 0;
+      }
+      // 同一用户的加载串行执行，并发的连接等第一个加载完成后直接使用
+      synchronized (engine) {
+        if (engine.isValid(ttlNanos)) {
+          HITS.incrementAndGet();
+          return 0;
+        }
+        LOADS.incrementAndGet();
+        int ret = HeroCrypto.INSTANCE.db_LoadClientEngine(userid, pin);
+        if (ret == 0) {
+          engine.loadedAt = System.nanoTime();
+          engine.loaded = true;
+        } else {
+          engine.loaded = false;
+        }
+        LOGGER.log(Level.FINEST, "加载加密平台，userid=" + userid + "，ret=" + ret);
+        return ret;
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * 调用c进行ssl握手。globalLock为true时总是串行执行；否则只有用户/PIN码的引擎还没有加载时串行执行，
+   * 加载成功后并发执行。
+   *
+   * @param user 登录的用户名称
+   * @param pin 加密设备的PIN码
+   * @param socketFd socket文件描述符
+   * @param handle 返回的SSL句柄
+   * @param globalLock 为true时所有握手都锁 {@code HeroSSLSocket.class}
+   * @return 0 on success
+   */
+  static int clientInit(String user, String pin, int socketFd, PointerByReference handle,
+      boolean globalLock) {
+    Lock lock = UNLOAD_LOCK.readLock();
+    lock.lock();
+    try {
+      Engine engine = engine(user, pin);
+      if (!globalLock && engine.contextLoaded) {
+        return HeroSSLAPI.INSTANCE.HeroSSL_Client_Init(socketFd, user, pin, handle);
+      }
+      // c代码加载引擎时不能并发，两种模式共用 HeroSSLSocket.class 这把锁
+      synchronized (HeroSSLSocket.class) {
+        LOGGER.log(Level.FINEST, "有同步的，socketFd=" + socketFd);
+        int ret = HeroSSLAPI.INSTANCE.HeroSSL_Client_Init(socketFd, user, pin, handle);
+        if (ret == 0) {
+          engine.contextLoaded = true;
+        }
+        return ret;
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * 丢弃某个用户的缓存，下次登录和握手时重新加载引擎。
+   *
+   * @param userid 用户标识
+   */
+  public static void invalidate(String userid) {
+    ENGINES.remove(userid);
+  }
+
+  /**
+   * 卸载所有加密引擎并清空缓存。
+   */
+  public static void unloadAll() {
+    HeroSP.Hero_db_UnloadAllEngine();
+  }
+
+  /**
+   * 等正在进行的登录和握手结束后卸载所有加密引擎，并清空缓存。
+   *
+   * @return db_UnloadAllEngine 的返回值
+   */
+  static int unload() {
+    Lock lock = UNLOAD_LOCK.writeLock();
+    lock.lock();
+    try {
+      int ret = HeroCrypto.INSTANCE.db_UnloadAllEngine();
+      ENGINES.clear();
+      return ret;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return 直接使用已加载引擎的次数
+   */
+  public static long getHits() {
+    return HITS.get();
+  }
+
+  /**
+   * @return 调用 db_LoadClientEngine 的次数
+   */
+  public static long getLoads() {
+    return LOADS.get();
+  }
+}
@@ -0,0 +1,47 @@
+package org.herodbx.herossl;
+
+import com.sun.jna.Native;
+import com.sun.jna.Pointer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 直接映射传输使用的直接内存缓冲区池。
+ * <p>
+ * 缓冲区按线程复用：一次读写调用期间，数据在调用线程的缓冲区和调用方的数组之间只复制一次，
+ * 调用返回后缓冲区即可被同一线程的下一次调用使用，因此关闭socket时不需要归还，
+ * 也不会出现一个连接关闭时另一个线程还在使用同一块缓冲区的情况。
+ * </p>
+ *
+ * @since 2026年10月18日
+ */
+final class HeroDirectBuffers {
+
+  /**
+   * 一次native调用最多读写一个TLS记录。
+   */
+  static final int BUFFER_SIZE = HeroSSLSocket.MAX_RECORD_SIZE;
+
+  private static final ThreadLocal<HeroDirectBuffers> BUFFERS = new ThreadLocal<HeroDirectBuffers>() {
+    @Override
+    protected HeroDirectBuffers initialValue() {
+      return new HeroDirectBuffers();
+    }
+  };
+
+  final ByteBuffer buffer;
+
+  final Pointer pointer;
+
+  private HeroDirectBuffers() {
+    buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    pointer = Native.getDirectBufferPointer(buffer);
+  }
+
+  /**
+   * @return 当前线程的直接内存缓冲区
+   */
+  static HeroDirectBuffers get() {
+    return BUFFERS.get();
+  }
+}
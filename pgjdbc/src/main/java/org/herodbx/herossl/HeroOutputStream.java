@@ -3,30 +3,80 @@ package org.herodbx.herossl;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.net.SocketException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
+/**
+ * HeroSSL的输出流。
+ * <p>
+ * 写入的数据先合并到一个最大TLS记录长度的缓冲区，缓冲区满或者显式 {@link #flush()} 时才调用一次
+ * HeroSSL_Write，因此上层不需要再包一层 BufferedOutputStream。
+ * 缓冲区的状态由本对象的监视器保护，native调用在监视器之外执行，由 sendLock 保证发送的顺序。
+ * </p>
+ */
 public class HeroOutputStream extends OutputStream {
+  private static final Logger LOGGER = Logger.getLogger(HeroOutputStream.class.getName());
 
   //SSL句柄
   private HeroSSLSocket heroSSLSocket;
 
-  // 一个用于实现write(byte)方法的元素数组
-  private final byte[] oneByte = new byte[1];
+  // 合并写的缓冲区
+  private byte[] buf = new byte[HeroSSLSocket.MAX_RECORD_SIZE];
+
+  private int count;
+
+  // 正在发送的缓冲区发送完后放回这里，下次交换时复用
+  private final AtomicReference<byte[]> spare = new AtomicReference<byte[]>();
+
+  // 在监视器内加锁、在监视器外解锁，保证native写的顺序与缓冲区交换的顺序一致
+  private final ReentrantLock sendLock = new ReentrantLock();
+
+  // 本连接的写统计，写请求在监视器内计数
+  private final HeroSSLWriteStats stats;
 
   // 创建
   HeroOutputStream(HeroSSLSocket heroSSLSocket) {
     this.heroSSLSocket = heroSSLSocket;
+    this.stats = heroSSLSocket.getWriteStats();
   }
+
   @Override
-  synchronized public void write(int b) throws IOException {
-    oneByte[0] = (byte)b;
-    write(oneByte, 0, 1);
+  public void write(int b) throws IOException {
+    byte[] full;
+    synchronized (this) {
+      stats.writeRequest(1);
+      buf[count++] = (byte) b;
+      if (count < buf.length) {
+        return;
+      }
+      full = swap();
+    }
+    send(full, 0, full.length, true);
   }
 
+  /**
+   * 把缓冲区中的数据发送到后端。
+   *
+   * @exception  IOException 如果发生I/O错误。
+   */
+  @Override
   public void flush() throws IOException {
-
+    byte[] pending;
+    int len;
+    synchronized (this) {
+      if (count == 0) {
+        return;
+      }
+      len = count;
+      pending = swap();
+    }
+    send(pending, 0, len, true);
   }
+
   /**
-   * 此方法调用herosslsocketimpl来处理
+   * 合并写入缓冲区，缓冲区满时发送；缓冲区为空并且数据不小于一个记录时直接发送，不再复制。
    *
    * @param      b     数据
    * @param      off   数据中的起始偏移量。
@@ -36,7 +86,7 @@ public class HeroOutputStream extends OutputStream {
    * 则抛出<code>IOException</code>。
    */
   @Override
-  synchronized public void write(byte b[], int off, int len)
+  public void write(byte b[], int off, int len)
     throws IOException {
     if (b == null) {
       throw new NullPointerException();
@@ -50,20 +100,84 @@ public class HeroOutputStream extends OutputStream {
     if(heroSSLSocket == null){
       throw new SocketException("SSLSocket handle is empty!");
     }
-    // 把数据发送到后端
+
+    boolean counted = false;
+    while (len > 0) {
+      byte[] full = null;
+      boolean passThrough = false;
+      int sendOff = off;
+      int sendLen;
+      synchronized (this) {
+        if (!counted) {
+          stats.writeRequest(len);
+          counted = true;
+        }
+        if (count == 0 && len >= buf.length) {
+          // 大块数据直接从调用方的数组发送
+          sendLock.lock();
+          passThrough = true;
+          sendLen = len;
+        } else {
+          int n = Math.min(len, buf.length - count);
+          System.arraycopy(b, off, buf, count, n);
+          count += n;
+          sendLen = n;
+          if (count == buf.length) {
+            full = swap();
+          }
+        }
+      }
+      off += sendLen;
+      len -= sendLen;
+      if (passThrough) {
+        send(b, sendOff, sendLen, false);
+      } else if (full != null) {
+        send(full, 0, full.length, true);
+      }
+    }
+  }
+
+  /**
+   * 换上一个空缓冲区并取得发送锁，返回待发送的缓冲区。必须在监视器内调用。
+   */
+  private byte[] swap() {
+    sendLock.lock();
+    byte[] pending = buf;
+    byte[] next = spare.getAndSet(null);
+    buf = next != null ? next : new byte[pending.length];
+    count = 0;
+    return pending;
+  }
+
+  /**
+   * 在监视器外调用native写，调用前必须已经持有发送锁。
+   *
+   * @param recycle data是本流自己的缓冲区时为true，发送完放回备用
+   */
+  private void send(byte[] data, int off, int len, boolean recycle) throws IOException {
     try {
-      heroSSLSocket.HeroSSL_Write(b, off, len);
-    } catch (Exception e) {
-      close();
+      heroSSLSocket.HeroSSL_Write(data, off, len);
+    } catch (IOException | RuntimeException e) {
+      heroSSLSocket.close();
       throw e;
+    } finally {
+      if (recycle) {
+        spare.compareAndSet(null, data);
+      }
+      sendLock.unlock();
     }
   }
 
   /*
-   * 套接字关闭已经同步，不需要在这里阻塞。
+   * 关闭前把缓冲区中剩余的数据发出去；套接字关闭已经同步，不需要在这里阻塞。
    */
   @Override
   public void close() throws IOException {
+    try {
+      flush();
+    } catch (IOException e) {
+      LOGGER.log(Level.FINE, "关闭时发送剩余数据出错：" + e.getMessage(), e);
+    }
     heroSSLSocket.close();
   }
 
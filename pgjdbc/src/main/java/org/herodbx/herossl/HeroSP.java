@@ -151,8 +151,16 @@ public class HeroSP {
     }
   }
 
+  //签名结果的缓冲区按线程复用，登录时不用每次分配本地内存
+  static private final ThreadLocal<Memory> SIGN_BUFFER = new ThreadLocal<Memory>() {
+    @Override
+    protected Memory initialValue() {
+      return new Memory(1024);
+    }
+  };
+
   static public byte[] SignBufChapCode(String userid,byte[] chapcode) {
-    Pointer memory = new Memory(1024);
+    Pointer memory = SIGN_BUFFER.get();
     IntByReference intByReference = new IntByReference();
 //    logger.log(Level.FINEST,"请求签名："+userid+",["+ HeroCommonTool.getPrintable(chapcode) +"]");
     int ret = HeroCrypto.INSTANCE.db_SignBufChapCode(chapcode,chapcode.length, userid, memory, intByReference);
@@ -184,7 +192,7 @@ public class HeroSP {
   }
 
   static public void Hero_db_UnloadAllEngine(){
-    int ret = HeroCrypto.INSTANCE.db_UnloadAllEngine();
+    int ret = HeroClientEngines.unload();
     if(0!=ret){
       String errmsg = HeroCrypto.INSTANCE.db_GetShErrMsg(ret);
       throw new RuntimeException("卸载安全平台出错：" + errmsg);
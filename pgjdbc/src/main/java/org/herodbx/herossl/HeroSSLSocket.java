@@ -3,6 +3,7 @@ package org.herodbx.herossl;
 import com.sun.jna.Pointer;
 import com.sun.jna.ptr.PointerByReference;
 import org.herodbx.herossl.jna.HeroSSLAPI;
+import org.herodbx.herossl.jna.HeroSSLDirect;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -16,6 +17,11 @@ import java.util.logging.Logger;
 public class HeroSSLSocket extends Socket {
 
   private static final Logger LOGGER = Logger.getLogger(HeroSSLSocket.class.getName());
+
+  /**
+   * TLS单个记录的最大明文长度。
+   */
+  public static final int MAX_RECORD_SIZE = 16 * 1024;
   //SSL句柄
   private PointerByReference handle;
 
@@ -28,7 +34,36 @@ public class HeroSSLSocket extends Socket {
   //输出流
   private HeroOutputStream out;
 
+  //读写是否使用直接映射和直接内存缓冲区
+  private final boolean direct;
+
+  //本连接的写统计，native写在发送锁内计数
+  private final HeroSSLWriteStats writeStats = new HeroSSLWriteStats();
+
   public HeroSSLSocket(int socketFd, String PIN, String user) {
+    this(socketFd, PIN, user, false);
+  }
+
+  /**
+   * @param socketFd socket文件描述符
+   * @param PIN 加密设备的PIN码
+   * @param user 登录的用户名称
+   * @param direct 为true并且直接映射可用时，读写走 {@link HeroSSLDirect}
+   */
+  public HeroSSLSocket(int socketFd, String PIN, String user, boolean direct) {
+    this(socketFd, PIN, user, direct, true);
+  }
+
+  /**
+   * @param socketFd socket文件描述符
+   * @param PIN 加密设备的PIN码
+   * @param user 登录的用户名称
+   * @param direct 为true并且直接映射可用时，读写走 {@link HeroSSLDirect}
+   * @param globalLock 为true时所有握手都串行执行；为false时只有每个用户/PIN码的第一次握手串行执行，
+   *     见 {@link HeroClientEngines}
+   */
+  public HeroSSLSocket(int socketFd, String PIN, String user, boolean direct, boolean globalLock) {
+    this.direct = direct && HeroSSLDirect.isAvailable();
       //调用c的ssl协议进行socket初始化
     PointerByReference handle = new PointerByReference(Pointer.NULL);
 
@@ -47,10 +82,8 @@ public class HeroSSLSocket extends Socket {
 
     // 调用c进行ssl的握手
     //如果这里不同步，还是有较大概率把jvm搞死，所以以功能和稳定性优先。顾法华，2020年6月2日
-    synchronized (HeroSSLSocket.class){
-      LOGGER.log(Level.FINEST,"有同步的，socketFd="+socketFd);
-      ret = HeroSSLAPI.INSTANCE.HeroSSL_Client_Init(socketFd, user, PIN, handle);
-    }
+    //herosslhandshakelock=context时，加载引擎的那次握手仍然同步，引擎加载以后同一用户的握手可以并发，见HeroClientEngines。
+    ret = HeroClientEngines.clientInit(user, PIN, socketFd, handle, globalLock);
     if(ret == 0){
       this.handle = handle;
       LOGGER.finest("新的socket fd为："+handle.getValue());
@@ -73,7 +106,32 @@ public class HeroSSLSocket extends Socket {
     if(handle == null){
       throw new SocketException("SSLSocket handle is empty!");
     }
+    if(direct){
+      directWrite(b, off, len);
+      return;
+    }
     int ret = HeroSSLAPI.INSTANCE.HeroSSL_Write(handle.getValue(), b, off, len);
+    writeStats.nativeWrite(len);
+    checkWrite(ret);
+  }
+
+  //分块复制到直接内存后写入，每块不超过一个TLS记录
+  private void directWrite(byte[] b, int off, int len) throws IOException {
+    HeroDirectBuffers buffers = HeroDirectBuffers.get();
+    Pointer ssl = handle.getValue();
+    while (len > 0) {
+      int n = Math.min(len, HeroDirectBuffers.BUFFER_SIZE);
+      buffers.buffer.clear();
+      buffers.buffer.put(b, off, n);
+      int ret = HeroSSLDirect.HeroSSL_Write(ssl, buffers.pointer, 0, n);
+      writeStats.nativeWrite(n);
+      checkWrite(ret);
+      off += n;
+      len -= n;
+    }
+  }
+
+  private void checkWrite(int ret) {
     if(ret == 0){// 发送成功!
       LOGGER.log(Level.SEVERE,"socket句柄已关闭！");
     } else if (-1==ret) {// 发送失败!
@@ -100,7 +158,18 @@ public class HeroSSLSocket extends Socket {
       throw new SocketException("SSLSocket handle is empty!");
     }
 
-    int ret = HeroSSLAPI.INSTANCE.HeroSSL_Read(handle.getValue(), b, off, len);
+    int ret;
+    if(direct){
+      HeroDirectBuffers buffers = HeroDirectBuffers.get();
+      ret = HeroSSLDirect.HeroSSL_Read(handle.getValue(), buffers.pointer, 0,
+          Math.min(len, HeroDirectBuffers.BUFFER_SIZE));
+      if(ret > 0){
+        buffers.buffer.clear();
+        buffers.buffer.get(b, off, ret);
+      }
+    }else{
+      ret = HeroSSLAPI.INSTANCE.HeroSSL_Read(handle.getValue(), b, off, len);
+    }
     if(ret > 0){// 读取成功!
       return ret;
     }
@@ -123,6 +192,13 @@ public class HeroSSLSocket extends Socket {
     return out;
   }
 
+  /**
+   * @return 本连接的写统计
+   */
+  public HeroSSLWriteStats getWriteStats() {
+    return writeStats;
+  }
+
   /**
    *关闭当前的socket
    */
@@ -144,6 +220,7 @@ public class HeroSSLSocket extends Socket {
       if(ret == 0){
         closeState = false;
         LOGGER.info("close SSLSocket success!");
+        LOGGER.log(Level.FINE, "HeroSSL写统计：{0}", writeStats);
       }else {
         try {
           throw new SocketException("SSLSocket closed Failed! ret code:"+ret);
@@ -184,4 +261,11 @@ public class HeroSSLSocket extends Socket {
   public PointerByReference getHandle() {
     return handle;
   }
+
+  /**
+   * @return 读写是否使用直接映射
+   */
+  public boolean isDirect() {
+    return direct;
+  }
 }
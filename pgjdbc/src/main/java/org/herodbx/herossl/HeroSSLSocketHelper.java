@@ -3,6 +3,7 @@ package org.herodbx.herossl;
 import com.sun.jna.Memory;
 import com.sun.jna.Pointer;
 import org.herodbx.util.GetSocketFd;
+import org.herodbsql.PGProperty;
 import org.herodbsql.core.PGStream;
 import org.herodbx.herossl.jna.HeroCrypto;
 
@@ -12,6 +13,7 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.net.Socket;
 import java.net.SocketImpl;
+import java.util.Properties;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -22,7 +24,34 @@ import java.util.logging.Logger;
 public class HeroSSLSocketHelper {
   private static final Logger LOGGER = Logger.getLogger(HeroSSLSocketHelper.class.getName());
 
-  static public synchronized void switchToHeroSSLSocket(PGStream stream, String user) throws IOException {
+  static public void switchToHeroSSLSocket(PGStream stream, String user) throws IOException {
+    switchToHeroSSLSocket(stream, user, new Properties());
+  }
+
+  /**
+   * 把连接切换为HeroSSL连接。
+   *
+   * @param stream 原始的连接
+   * @param user 登录的用户名称
+   * @param info 连接属性，读取 {@link PGProperty#HEROSSL_TRANSPORT} 和 {@link PGProperty#HEROSSL_HANDSHAKE_LOCK}
+   * @throws IOException 如果发生I/O错误
+   */
+  static public void switchToHeroSSLSocket(PGStream stream, String user, Properties info) throws IOException {
+    boolean direct = "direct".equalsIgnoreCase(PGProperty.HEROSSL_TRANSPORT.get(info));
+    if ("context".equalsIgnoreCase(PGProperty.HEROSSL_HANDSHAKE_LOCK.get(info))) {
+      //只有加载引擎的那次握手串行执行，见HeroClientEngines
+      switchToHeroSSLSocket(stream, user, direct, false);
+    } else {
+      switchToHeroSSLSocketGlobal(stream, user, direct);
+    }
+  }
+
+  //global模式：和以前一样，整个切换过程串行执行
+  static private synchronized void switchToHeroSSLSocketGlobal(PGStream stream, String user, boolean direct) throws IOException {
+    switchToHeroSSLSocket(stream, user, direct, true);
+  }
+
+  static private void switchToHeroSSLSocket(PGStream stream, String user, boolean direct, boolean globalLock) throws IOException {
     //default Pincode
     String PIN = "12345678";
     Pointer memory = new Memory(32);
@@ -57,8 +86,8 @@ public class HeroSSLSocketHelper {
     }
 
     //create herosslsocket and use it
-    HeroSSLSocket newConnection = new HeroSSLSocket(getfd, PIN, user);
-    LOGGER.finest("newConnection:" + newConnection);
+    HeroSSLSocket newConnection = new HeroSSLSocket(getfd, PIN, user, direct, globalLock);
+    LOGGER.finest("newConnection:" + newConnection + ",direct=" + newConnection.isDirect());
     //change orginal connect to herosslsocket, switch to ssl connection
     stream.changeSocket(newConnection);
   }
@@ -0,0 +1,97 @@
+package org.herodbx.herossl;
+
+/**
+ * 一个HeroSSL连接写路径的统计。
+ * <p>
+ * 以前的写路径每次上层 write 调用一次 HeroSSL_Write，每次调用至少产生一个TLS记录；
+ * 这里按上层的写请求计算旧路径的native调用次数和TLS记录数，用来观察合并写带来的节省。
+ * </p>
+ * <p>
+ * 每个连接一个实例，不在连接之间共享：写请求在 {@link HeroOutputStream} 的监视器内计数，
+ * native写在发送锁内计数，计数本身不需要再同步。连接关闭时在 FINE 级别输出。
+ * </p>
+ *
+ * @since 2026年10月18日
+ */
+public final class HeroSSLWriteStats {
+
+  private long writeRequests;
+  private long legacyRecords;
+  private long bytes;
+  private long nativeCalls;
+  private long records;
+
+  HeroSSLWriteStats() {
+  }
+
+  void writeRequest(int len) {
+    writeRequests++;
+    legacyRecords += ceilDiv(len, HeroSSLSocket.MAX_RECORD_SIZE);
+  }
+
+  void nativeWrite(int len) {
+    bytes += len;
+    nativeCalls++;
+    records += ceilDiv(len, HeroSSLSocket.MAX_RECORD_SIZE);
+  }
+
+  private static long ceilDiv(int len, int size) {
+    return (len + size - 1) / size;
+  }
+
+  /**
+   * @return 上层调用 write 的次数，也就是旧写路径的 HeroSSL_Write 调用次数
+   */
+  public long getWriteRequests() {
+    return writeRequests;
+  }
+
+  /**
+   * @return 写入的字节数
+   */
+  public long getBytes() {
+    return bytes;
+  }
+
+  /**
+   * @return 实际的 HeroSSL_Write 调用次数
+   */
+  public long getNativeCalls() {
+    return nativeCalls;
+  }
+
+  /**
+   * @return 按最大记录长度估算的TLS记录数
+   */
+  public long getRecords() {
+    return records;
+  }
+
+  /**
+   * @return 旧写路径对同样的写请求产生的TLS记录数
+   */
+  public long getLegacyRecords() {
+    return legacyRecords;
+  }
+
+  /**
+   * @return 节省的native调用次数
+   */
+  public long getSavedNativeCalls() {
+    return writeRequests - nativeCalls;
+  }
+
+  /**
+   * @return 节省的TLS记录数
+   */
+  public long getSavedRecords() {
+    return legacyRecords - records;
+  }
+
+  @Override
+  public String toString() {
+    return "writeRequests=" + writeRequests + ",bytes=" + bytes
+        + ",nativeCalls=" + nativeCalls + ",records=" + records
+        + ",savedNativeCalls=" + getSavedNativeCalls() + ",savedRecords=" + getSavedRecords();
+  }
+}
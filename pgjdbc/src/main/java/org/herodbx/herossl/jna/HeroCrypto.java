@@ -2,6 +2,7 @@ package org.herodbx.herossl.jna;
 
 import com.sun.jna.*;
 import com.sun.jna.ptr.IntByReference;
+import org.herodbx.util.HeroNativeLibraries;
 
 /**
  * DLL动态库调用接口
@@ -12,7 +13,8 @@ import com.sun.jna.ptr.IntByReference;
 public interface HeroCrypto extends Library {
   // DLL文件默认路径为项目根目录，若DLL文件存放在项目外，
   // 请使用绝对路径。（此处：(Platform.isWindows()?"msvcrt":"c")指本地动态库msvcrt.dll）
-  HeroCrypto INSTANCE = (HeroCrypto) Native.loadLibrary(Platform.isWindows() ? "libcrypto-1_1-x64" : "/opt/herolib/libcrypto-hero.so.1.1", HeroCrypto.class);
+  //目录见HeroNativeLibraries，可以用HeroNativeLibraries.preload()提前在后台加载
+  HeroCrypto INSTANCE = (HeroCrypto) Native.loadLibrary(Platform.isWindows() ? "libcrypto-1_1-x64" : HeroNativeLibraries.path("libcrypto-hero.so.1.1"), HeroCrypto.class);
 
   /**
    * PIN码验证
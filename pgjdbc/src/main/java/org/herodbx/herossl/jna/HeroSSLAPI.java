@@ -5,6 +5,7 @@ import com.sun.jna.Native;
 import com.sun.jna.Platform;
 import com.sun.jna.Pointer;
 import com.sun.jna.ptr.PointerByReference;
+import org.herodbx.util.HeroNativeLibraries;
 
 
 /**
@@ -17,7 +18,10 @@ public interface HeroSSLAPI extends Library {
   // DLL文件默认路径为项目根目录，若DLL文件存放在项目外，
   // 请使用绝对路径。（此处：(Platform.isWindows()?"msvcrt":"c")指本地动态库msvcrt.dll）
   //HeroSSLAPI INSTANCE = (HeroSSLAPI) Native.loadLibrary((Platform.isWindows() ? "D:\\idea_workspace\\pgjdbc\\libherossl.dll" : "linuxLibSSL"),HeroSSLAPI.class);
-  HeroSSLAPI INSTANCE = (HeroSSLAPI) Native.loadLibrary((Platform.isWindows() ? "libssl-1_1-x64" : "/opt/herolib/libssl-hero.so.1.1"), HeroSSLAPI.class);
+  //目录见HeroNativeLibraries，可以用HeroNativeLibraries.preload()提前在后台加载
+  String LIBRARY_NAME = Platform.isWindows() ? "libssl-1_1-x64" : HeroNativeLibraries.path("libssl-hero.so.1.1");
+
+  HeroSSLAPI INSTANCE = (HeroSSLAPI) Native.loadLibrary(LIBRARY_NAME, HeroSSLAPI.class);
 
   /**
    * 此方法主要调用c语言的SSL协议
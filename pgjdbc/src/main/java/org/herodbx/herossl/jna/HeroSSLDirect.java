@@ -0,0 +1,69 @@
+package org.herodbx.herossl.jna;
+
+import com.sun.jna.Native;
+import com.sun.jna.NativeLibrary;
+import com.sun.jna.Pointer;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * HeroSSL读写函数的JNA直接映射（direct mapping）。
+ * <p>
+ * {@link HeroSSLAPI} 是接口映射，每次调用都要经过动态代理，并把 byte[] 复制到临时的本地内存再复制回来；
+ * 这里用 {@link Native#register(Class, NativeLibrary)} 把 native 方法直接绑定到动态库，
+ * 缓冲区只传直接内存的指针，调用时不再封送数组。
+ * </p>
+ * 与 {@link HeroSSLAPI} 共用同一个动态库，握手、关闭等低频调用仍然走 {@link HeroSSLAPI}。
+ *
+ * @since 2026年10月18日
+ */
+public final class HeroSSLDirect {
+  private static final Logger LOGGER = Logger.getLogger(HeroSSLDirect.class.getName());
+
+  private static final boolean AVAILABLE;
+
+  static {
+    boolean registered = false;
+    try {
+      Native.register(HeroSSLDirect.class, NativeLibrary.getInstance(HeroSSLAPI.LIBRARY_NAME));
+      registered = true;
+    } catch (Throwable t) {
+      //直接映射失败时仍然可以用接口映射的方式工作
+      LOGGER.log(Level.WARNING, "HeroSSL直接映射加载失败，将使用接口映射：" + t.getMessage(), t);
+    }
+    AVAILABLE = registered;
+  }
+
+  private HeroSSLDirect() {
+  }
+
+  /**
+   * @return 直接映射是否已经成功绑定到动态库
+   */
+  public static boolean isAvailable() {
+    return AVAILABLE;
+  }
+
+  /**
+   * 调用c读取数据，参数含义同 {@link HeroSSLAPI#HeroSSL_Read}。
+   *
+   * @param handle SSL句柄
+   * @param buf 直接内存缓冲区的地址
+   * @param off 读取数据写入缓冲区的起始位置
+   * @param len 读取数据长度
+   * @return &gt;0 读取长度,&lt;=0 表示错误(例如网络reset)
+   */
+  public static native int HeroSSL_Read(Pointer handle, Pointer buf, int off, int len);
+
+  /**
+   * 调用c写入数据，参数含义同 {@link HeroSSLAPI#HeroSSL_Write}。
+   *
+   * @param handle SSL句柄
+   * @param buf 直接内存缓冲区的地址
+   * @param off 缓冲区写入的起始位置
+   * @param len 数据长度
+   * @return 发送的字节数,0 表示句柄已关闭,-1 表示错误
+   */
+  public static native int HeroSSL_Write(Pointer handle, Pointer buf, int off, int len);
+}
@@ -0,0 +1,64 @@
+package org.herodbx.tester;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+
+/**
+ * 对比HeroSSL两种传输方式（jna接口映射、direct直接映射）的读写耗时。
+ * <p>
+ * 用法：HeroSSLTransportBench &lt;url&gt; [sql] [轮数]<br>
+ * 默认的sql会让服务端返回约64MB的数据，每种方式先预热一轮，再取多轮的平均值。
+ * </p>
+ *
+ * @since 2026年10月18日
+ */
+public class HeroSSLTransportBench {
+  private static final String DEFAULT_SQL = "select repeat('x', 8192) from generate_series(1, 8192)";
+
+  static public void main(String[] args) throws SQLException {
+    if (args.length < 1) {
+      System.out.println("用法：HeroSSLTransportBench <url> [sql] [轮数]");
+      return;
+    }
+    String url = args[0];
+    String sql = args.length > 1 ? args[1] : DEFAULT_SQL;
+    int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+    for (String transport : new String[]{"jna", "direct"}) {
+      Properties props = new Properties();
+      props.setProperty("herossltransport", transport);
+      try (Connection conn = DriverManager.getConnection(url, props)) {
+        run(conn, sql);
+        long bytes = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+          bytes += run(conn, sql);
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.println(transport + ": " + (elapsed / rounds / 1000000) + " ms/轮, "
+            + (bytes * 1000000000L / Math.max(elapsed, 1) / (1024 * 1024)) + " MB/s");
+      }
+    }
+  }
+
+  private static long run(Connection conn, String sql) throws SQLException {
+    long bytes = 0;
+    try (Statement st = conn.createStatement();
+         ResultSet rs = st.executeQuery(sql)) {
+      int columns = rs.getMetaData().getColumnCount();
+      while (rs.next()) {
+        for (int i = 1; i <= columns; i++) {
+          byte[] value = rs.getBytes(i);
+          if (value != null) {
+            bytes += value.length;
+          }
+        }
+      }
+    }
+    return bytes;
+  }
+}
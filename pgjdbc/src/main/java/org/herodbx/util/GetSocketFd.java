@@ -2,6 +2,7 @@ package org.herodbx.util;
 
 import com.sun.jna.Platform;
 
+import java.io.File;
 import java.net.Socket;
 
 /**
@@ -13,8 +14,14 @@ public class GetSocketFd {
     if(Platform.isWindows()){
       System.loadLibrary("libherojni");
     }else{
-      System.setProperty("java.library.path","/opt/herolib/:"+System.getProperty("java.library.path"));
-      System.loadLibrary("herojni");
+      //优先按完整路径加载，不用再改java.library.path
+      File lib = new File(HeroNativeLibraries.path("libherojni.so"));
+      if(lib.isFile()){
+        System.load(lib.getAbsolutePath());
+      }else{
+        System.setProperty("java.library.path",HeroNativeLibraries.getDirectory()+":"+System.getProperty("java.library.path"));
+        System.loadLibrary("herojni");
+      }
     }
   }
   public native int getSocketFd(Socket socket);
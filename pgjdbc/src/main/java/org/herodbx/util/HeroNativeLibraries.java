@@ -0,0 +1,125 @@
+package org.herodbx.util;
+
+import org.herodbx.herossl.jna.HeroCrypto;
+import org.herodbx.herossl.jna.HeroSSLAPI;
+import org.herodbx.herossl.jna.HeroSSLDirect;
+
+import java.io.File;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * 驱动用到的动态库（libssl-hero、libcrypto-hero、herojni）的位置和预加载。
+ * <p>
+ * 动态库在 {@link HeroSSLAPI}、{@link HeroCrypto}、{@link GetSocketFd} 的类初始化时加载，
+ * 以前第一个连接要承担加载的开销，并发的第一批连接还会在类初始化上互相等待。
+ * 应用启动时调用 {@link #preload()}（或 {@code org.herodbsql.Driver.preloadNativeLibraries()}）
+ * 在后台线程里加载并检查这些动态库，第一个连接就不再有加载的开销。
+ * </p>
+ * 动态库所在的目录默认是 {@value #DEFAULT_DIRECTORY}，可以用系统属性 {@code herodb.herolib.path}
+ * 或者连接属性 {@code herolibpath} 指定，必须在动态库加载之前设置。
+ *
+ * @since 2026年10月18日
+ */
+public final class HeroNativeLibraries {
+  private static final Logger LOGGER = Logger.getLogger(HeroNativeLibraries.class.getName());
+
+  /**
+   * 非windows系统下动态库的默认目录。
+   */
+  public static final String DEFAULT_DIRECTORY = "/opt/herolib/";
+
+  private static String directory = withSeparator(System.getProperty("herodb.herolib.path", DEFAULT_DIRECTORY));
+
+  // 已经有动态库按目录解析过路径，之后再改目录不会生效
+  private static boolean resolved;
+
+  private static CompletableFuture<Void> preload;
+
+  private HeroNativeLibraries() {
+  }
+
+  private static String withSeparator(String dir) {
+    return dir.endsWith("/") || dir.endsWith(File.separator) ? dir : dir + "/";
+  }
+
+  /**
+   * @return 动态库所在的目录，以分隔符结尾
+   */
+  public static synchronized String getDirectory() {
+    return directory;
+  }
+
+  /**
+   * 指定动态库所在的目录。
+   *
+   * @param dir 目录
+   * @return 动态库已经加载、设置不再生效时返回false
+   */
+  public static synchronized boolean setDirectory(String dir) {
+    String newDirectory = withSeparator(dir);
+    if (newDirectory.equals(directory)) {
+      return true;
+    }
+    if (resolved) {
+      LOGGER.log(Level.WARNING, "动态库已经从 " + directory + " 加载，忽略新的目录：" + newDirectory);
+      return false;
+    }
+    directory = newDirectory;
+    return true;
+  }
+
+  /**
+   * 返回动态库文件的完整路径，供加载动态库的类初始化时调用。
+   *
+   * @param fileName 动态库的文件名
+   * @return 完整路径
+   */
+  public static synchronized String path(String fileName) {
+    resolved = true;
+    return directory + fileName;
+  }
+
+  /**
+   * 在后台线程中加载并检查动态库，多次调用返回同一个结果。
+   *
+   * @return 加载完成（或失败）时结束的Future
+   */
+  public static synchronized Future<Void> preload() {
+    if (preload == null) {
+      final CompletableFuture<Void> future = new CompletableFuture<Void>();
+      Thread thread = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            load();
+            future.complete(null);
+          } catch (Throwable t) {
+            LOGGER.log(Level.WARNING, "预加载动态库出错：" + t.getMessage(), t);
+            future.completeExceptionally(t);
+          }
+        }
+      }, "HeroDB JDBC native library loader");
+      thread.setDaemon(true);
+      thread.start();
+      preload = future;
+    }
+    return preload;
+  }
+
+  /**
+   * 在当前线程中加载并检查动态库。
+   */
+  static void load() {
+    long start = System.nanoTime();
+    if (HeroCrypto.INSTANCE == null || HeroSSLAPI.INSTANCE == null) {
+      throw new IllegalStateException("动态库加载失败");
+    }
+    boolean direct = HeroSSLDirect.isAvailable();
+    new GetSocketFd();
+    LOGGER.log(Level.FINE, "动态库加载完成，耗时 " + (System.nanoTime() - start) / 1000000
+        + " ms，HeroSSL直接映射：" + direct);
+  }
+}
@@ -109,13 +109,32 @@ public class HeroUtils {
   /**
    * 获取jdbc驱动的jar包的水印值
    * 打包为jar包时，返回jar文件的水印值；未打包时，返回本calss文件的水印值（仅用于测试时）
+   * 水印在本类加载器内只计算一次，见 {@link WaterMarkCache}。
    * @return 返回的是32字节的水印字节数组进行base64编码后的字符串的字节数组，共44字节。
    * @author 顾法华
    * @since 2020年6月1日
    */
   public static final byte[] getWaterMark(){
-    //获取当前项目包的路径
-    String dataPath = getAppPath();
+    return WaterMarkCache.get(false);
+  }
+
+  /**
+   * 获取jdbc驱动的jar包的水印值。
+   *
+   * @param checkMtime 为true时检查jar文件的修改时间和大小，文件变化后重新计算水印
+   * @return 同 {@link #getWaterMark()}
+   */
+  public static byte[] getWaterMark(boolean checkMtime){
+    return WaterMarkCache.get(checkMtime);
+  }
+
+  /**
+   * 调用动态库计算文件的水印，不经过缓存。
+   *
+   * @param dataPath jar包（或class文件）的路径
+   * @return 水印的base64编码的字节数组，计算出错时返回null
+   */
+  static byte[] calculateWaterMark(String dataPath){
     LOGGER.log(INFO, "projectPath:{0}", dataPath);
 
     Pointer memory = new Memory(32);
@@ -124,6 +143,7 @@ public class HeroUtils {
     if(ret != 0){
       String msg = HeroCrypto.INSTANCE.db_GetLastErrMsg();
       LOGGER.log(SEVERE,"调用c计算文件的hash出错："+msg);
+      return null;
     }else{
       LOGGER.finest("计算水印成功:"+HeroUtils.toHexString(memory.getByteArray(0, 32)));
     }
@@ -135,6 +155,7 @@ public class HeroUtils {
     if(ret != 0){
       String msg = HeroCrypto.INSTANCE.db_GetLastErrMsg();
       LOGGER.log(SEVERE,"计算base64编码出错："+msg);
+      return null;
     }else{
       LOGGER.finest("计算base64成功，结果中有字符 "+intByReference.getValue()+" 个（字节）");
     }
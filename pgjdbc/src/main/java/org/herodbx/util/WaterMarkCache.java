@@ -0,0 +1,125 @@
+package org.herodbx.util;
+
+import java.io.File;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * jdbc驱动jar包水印的缓存。
+ * <p>
+ * 计算水印要让动态库对整个jar包做杂凑，以前每个收到水印认证请求的连接都要算一遍；
+ * 现在每个类加载器只算一次（静态字段本身就是按类加载器隔离的），并发连接等待同一次计算的结果。
+ * 需要时可以按jar文件的修改时间和大小判断文件是否被替换，替换后重新计算。
+ * </p>
+ * 计算的次数、耗时和命中次数可以通过静态方法读取，用来观察连接风暴时登录耗时的构成。
+ *
+ * @since 2026年10月18日
+ */
+public final class WaterMarkCache {
+  private static final Logger LOGGER = Logger.getLogger(WaterMarkCache.class.getName());
+
+  private static final Object LOCK = new Object();
+
+  private static volatile Entry cached;
+
+  private static final AtomicLong CALCULATIONS = new AtomicLong();
+  private static final AtomicLong CALCULATION_NANOS = new AtomicLong();
+  private static final AtomicLong LAST_CALCULATION_NANOS = new AtomicLong();
+  private static final AtomicLong HITS = new AtomicLong();
+
+  private WaterMarkCache() {
+  }
+
+  private static final class Entry {
+    final String path;
+    final long lastModified;
+    final long length;
+    final byte[] waterMark;
+
+    Entry(String path, long lastModified, long length, byte[] waterMark) {
+      this.path = path;
+      this.lastModified = lastModified;
+      this.length = length;
+      this.waterMark = waterMark;
+    }
+
+    boolean isStale() {
+      File file = new File(path);
+      return file.lastModified() != lastModified || file.length() != length;
+    }
+  }
+
+  /**
+   * @param checkMtime 为true时检查jar文件是否变化，变化后重新计算
+   * @return 水印的base64编码的字节数组（副本），计算出错时返回空数组
+   */
+  static byte[] get(boolean checkMtime) {
+    Entry entry = cached;
+    if (entry != null && !(checkMtime && entry.isStale())) {
+      HITS.incrementAndGet();
+      return entry.waterMark.clone();
+    }
+    synchronized (LOCK) {
+      entry = cached;
+      if (entry != null && !(checkMtime && entry.isStale())) {
+        HITS.incrementAndGet();
+        return entry.waterMark.clone();
+      }
+      String path = HeroUtils.getAppPath();
+      File file = new File(path);
+      long lastModified = file.lastModified();
+      long length = file.length();
+
+      long start = System.nanoTime();
+      byte[] waterMark = HeroUtils.calculateWaterMark(path);
+      long elapsed = System.nanoTime() - start;
+      CALCULATIONS.incrementAndGet();
+      CALCULATION_NANOS.addAndGet(elapsed);
+      LAST_CALCULATION_NANOS.set(elapsed);
+      LOGGER.log(Level.FINE, "计算水印耗时 {0} ms", elapsed / 1000000);
+
+      if (waterMark == null) {
+        //出错的结果不缓存，下次重新计算
+        return new byte[0];
+      }
+      cached = new Entry(path, lastModified, length, waterMark);
+      return waterMark.clone();
+    }
+  }
+
+  /**
+   * 丢弃缓存的水印，下次使用时重新计算。
+   */
+  public static void invalidate() {
+    cached = null;
+  }
+
+  /**
+   * @return 实际调用动态库计算水印的次数
+   */
+  public static long getCalculations() {
+    return CALCULATIONS.get();
+  }
+
+  /**
+   * @return 计算水印的累计耗时（纳秒）
+   */
+  public static long getCalculationNanos() {
+    return CALCULATION_NANOS.get();
+  }
+
+  /**
+   * @return 最近一次计算水印的耗时（纳秒）
+   */
+  public static long getLastCalculationNanos() {
+    return LAST_CALCULATION_NANOS.get();
+  }
+
+  /**
+   * @return 直接使用缓存的次数
+   */
+  public static long getHits() {
+    return HITS.get();
+  }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.copy;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.herodbsql.core.Oid;
+import org.herodbsql.util.ByteStreamWriter;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Round trips rows through {@link BinaryCopyWriter} and {@link BinaryCopyReader} without a server.
+ */
+public class BinaryCopyTest {
+
+  private static class BufferCopyIn implements CopyIn {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    boolean active = true;
+
+    public void writeToCopy(byte[] buf, int off, int siz) {
+      out.write(buf, off, siz);
+    }
+
+    public void writeToCopy(ByteStreamWriter from) {
+      throw new UnsupportedOperationException();
+    }
+
+    public void flushCopy() {
+    }
+
+    public long endCopy() {
+      active = false;
+      return 0;
+    }
+
+    public int getFieldCount() {
+      return 0;
+    }
+
+    public int getFormat() {
+      return 1;
+    }
+
+    public int getFieldFormat(int field) {
+      return 1;
+    }
+
+    public boolean isActive() {
+      return active;
+    }
+
+    public void cancelCopy() {
+      active = false;
+    }
+
+    public long getHandledRowCount() {
+      return 0;
+    }
+  }
+
+  /**
+   * Returns the data in chunks of the given size, as the server might split it.
+   */
+  private static class ChunkedCopyOut implements CopyOut {
+    private final byte[] data;
+    private final int chunkSize;
+    private int pos;
+
+    ChunkedCopyOut(byte[] data, int chunkSize) {
+      this.data = data;
+      this.chunkSize = chunkSize;
+    }
+
+    public byte[] readFromCopy() {
+      if (pos == data.length) {
+        return null;
+      }
+      int length = Math.min(chunkSize, data.length - pos);
+      byte[] chunk = Arrays.copyOfRange(data, pos, pos + length);
+      pos += length;
+      return chunk;
+    }
+
+    public byte[] readFromCopy(boolean block) {
+      return readFromCopy();
+    }
+
+    public int getFieldCount() {
+      return 0;
+    }
+
+    public int getFormat() {
+      return 1;
+    }
+
+    public int getFieldFormat(int field) {
+      return 1;
+    }
+
+    public boolean isActive() {
+      return pos < data.length;
+    }
+
+    public void cancelCopy() {
+      pos = data.length;
+    }
+
+    public long getHandledRowCount() {
+      return 0;
+    }
+  }
+
+  private static final UUID ID = UUID.fromString("a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11");
+  private static final LocalDateTime TIMESTAMP = LocalDateTime.of(1999, 12, 31, 23, 59, 58, 123456000);
+  private static final BigDecimal AMOUNT = new BigDecimal("-123456789012345678901234567890.0050");
+
+  private static byte[] write(int bufferSize) throws SQLException {
+    BufferCopyIn copyIn = new BufferCopyIn();
+    BinaryCopyWriter writer = new BinaryCopyWriter(copyIn, bufferSize);
+    for (int i = 0; i < 100; i++) {
+      writer.startRow(14)
+          .writeBoolean(i % 2 == 0)
+          .writeShort((short) -i)
+          .writeInt(i)
+          .writeLong(Long.MAX_VALUE - i)
+          .writeDouble(i / 4.0)
+          .writeString(i % 10 == 0 ? null : "row " + i + " \u00e9\t\\")
+          .writeBytes(new byte[]{(byte) i, 0, -1})
+          .writeUUID(ID)
+          .writeNumeric(AMOUNT.add(BigDecimal.valueOf(i)))
+          .writeDate(LocalDate.of(1970, 1, 1).plusDays(i))
+          .writeTime(LocalTime.of(23, 59, 59, 999999000))
+          .writeTimestamp(TIMESTAMP.plusHours(i))
+          .writeArray(new int[]{i, -i})
+          .writeArray(new String[]{"a", null, "c"});
+    }
+    writer.endCopy();
+    assertFalse(copyIn.active);
+    return copyIn.out.toByteArray();
+  }
+
+  private static void read(byte[] data, int chunkSize) throws SQLException {
+    BinaryCopyReader reader = new BinaryCopyReader(new ChunkedCopyOut(data, chunkSize));
+    for (int i = 0; i < 100; i++) {
+      assertTrue(reader.next());
+      assertEquals(14, reader.getFieldCount());
+      assertEquals(i % 2 == 0, reader.getBoolean(1));
+      assertEquals(-i, reader.getShort(2));
+      assertEquals(i, reader.getInt(3));
+      assertEquals(i, reader.getLong(3));
+      assertEquals(Long.MAX_VALUE - i, reader.getLong(4));
+      assertEquals(i / 4.0, reader.getDouble(5), 0);
+      if (i % 10 == 0) {
+        assertTrue(reader.isNull(6));
+        assertNull(reader.getString(6));
+      } else {
+        assertEquals("row " + i + " \u00e9\t\\", reader.getString(6));
+      }
+      assertArrayEquals(new byte[]{(byte) i, 0, -1}, reader.getBytes(7));
+      assertEquals(ID, reader.getUUID(8));
+      assertEquals(AMOUNT.add(BigDecimal.valueOf(i)), reader.getBigDecimal(9));
+      assertEquals(LocalDate.of(1970, 1, 1).plusDays(i), reader.getLocalDate(10));
+      assertEquals(LocalTime.of(23, 59, 59, 999999000), reader.getLocalTime(11));
+      assertEquals(TIMESTAMP.plusHours(i), reader.getLocalDateTime(12));
+      assertEquals(OffsetDateTime.of(TIMESTAMP.plusHours(i), ZoneOffset.UTC),
+          reader.getOffsetDateTime(12));
+      assertArrayEquals(new int[]{i, -i}, reader.getIntArray(13));
+      assertArrayEquals(new String[]{"a", null, "c"}, reader.getStringArray(14));
+    }
+    assertFalse(reader.next());
+    assertEquals(100, reader.getRowCount());
+  }
+
+  @Test
+  public void roundTrip() throws SQLException {
+    byte[] data = write(CopyManager.DEFAULT_BUFFER_SIZE);
+    assertArrayEquals("buffer size does not change the data", data, write(32));
+    read(data, data.length);
+    read(data, 7);
+    read(data, 1);
+  }
+
+  @Test
+  public void emptyCopy() throws SQLException {
+    BufferCopyIn copyIn = new BufferCopyIn();
+    new BinaryCopyWriter(copyIn).endCopy();
+    byte[] data = copyIn.out.toByteArray();
+    assertEquals(BinaryCopyWriter.HEADER_LENGTH + 2, data.length);
+    assertFalse(new BinaryCopyReader(new ChunkedCopyOut(data, 5)).next());
+  }
+
+  @Test
+  public void infinity() throws SQLException {
+    BufferCopyIn copyIn = new BufferCopyIn();
+    new BinaryCopyWriter(copyIn).startRow(4)
+        .writeDate(LocalDate.MAX)
+        .writeDate(LocalDate.MIN)
+        .writeTimestamp(LocalDateTime.MAX)
+        .writeTimestamptz(OffsetDateTime.MIN)
+        .endCopy();
+    BinaryCopyReader reader =
+        new BinaryCopyReader(new ChunkedCopyOut(copyIn.out.toByteArray(), 100));
+    assertTrue(reader.next());
+    assertEquals(LocalDate.MAX, reader.getLocalDate(1));
+    assertEquals(LocalDate.MIN, reader.getLocalDate(2));
+    assertEquals(LocalDateTime.MAX, reader.getLocalDateTime(3));
+    assertEquals(OffsetDateTime.MIN, reader.getOffsetDateTime(4));
+  }
+
+  @Test
+  public void emptyArrays() throws SQLException {
+    BufferCopyIn copyIn = new BufferCopyIn();
+    new BinaryCopyWriter(copyIn).startRow(2)
+        .writeArray(new long[0])
+        .writeArray(Oid.VARCHAR, new String[0])
+        .endCopy();
+    BinaryCopyReader reader =
+        new BinaryCopyReader(new ChunkedCopyOut(copyIn.out.toByteArray(), 100));
+    assertTrue(reader.next());
+    assertEquals(0, reader.getLongArray(1).length);
+    assertEquals(0, reader.getStringArray(2).length);
+  }
+
+  @Test
+  public void incompleteRow() throws SQLException {
+    BinaryCopyWriter writer = new BinaryCopyWriter(new BufferCopyIn());
+    writer.startRow(2).writeInt(1);
+    try {
+      writer.endCopy();
+      fail("a row with a missing field must not be sent");
+    } catch (SQLException e) {
+      // expected
+    }
+    try {
+      writer.writeInt(2).writeInt(3);
+      fail("a row can't have more fields than announced");
+    } catch (SQLException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void wrongFieldType() throws SQLException {
+    BufferCopyIn copyIn = new BufferCopyIn();
+    new BinaryCopyWriter(copyIn).startRow(1).writeLong(1).endCopy();
+    BinaryCopyReader reader =
+        new BinaryCopyReader(new ChunkedCopyOut(copyIn.out.toByteArray(), 100));
+    assertTrue(reader.next());
+    try {
+      reader.getInt(1);
+      fail("an int8 field can't be read as int4");
+    } catch (SQLException e) {
+      // expected
+    }
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class PrepareStatisticsTest {
+  private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+  private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  private final PrepareStatistics stats = new PrepareStatistics();
+  private long now = 1000 * SECOND;
+  private int executeCount;
+
+  private boolean execute(long interval) {
+    now += interval;
+    return stats.shouldPrepare(++executeCount, 5, now);
+  }
+
+  @Test
+  public void preparesAtThreshold() {
+    for (int i = 1; i < 5; i++) {
+      assertFalse(execute(SECOND));
+    }
+    assertTrue(execute(SECOND));
+    assertEquals(PrepareStatistics.Decision.PREPARED, stats.getDecision());
+    assertEquals(SECOND, stats.getIntervalNanos());
+  }
+
+  @Test
+  public void preparesHotQueryEarly() {
+    assertFalse(execute(0));
+    assertTrue(execute(10 * MILLI));
+  }
+
+  @Test
+  public void neverPreparesColdQuery() {
+    for (int i = 0; i < 100; i++) {
+      assertFalse(execute(10 * 60 * SECOND));
+    }
+    assertEquals(PrepareStatistics.Decision.UNPREPARED, stats.getDecision());
+    assertEquals(100, stats.getExecutions());
+  }
+
+  @Test
+  public void demotesSlowPreparedQuery() {
+    for (int i = 1; i < 5; i++) {
+      assertFalse(execute(SECOND));
+      assertFalse(stats.recordLatency(false, MILLI));
+    }
+    assertTrue(execute(SECOND));
+    // the execution that parses is not counted
+    assertFalse(stats.recordLatency(true, 100 * MILLI));
+    for (int i = 1; i < PrepareStatistics.MIN_PREPARED_SAMPLES; i++) {
+      assertTrue(execute(SECOND));
+      assertFalse(stats.recordLatency(true, 10 * MILLI));
+    }
+    assertTrue(execute(SECOND));
+    assertTrue("generic plan is ten times slower", stats.recordLatency(true, 10 * MILLI));
+    assertEquals(PrepareStatistics.Decision.DEMOTED, stats.getDecision());
+    assertEquals(10 * MILLI, stats.getPreparedNanos());
+    assertEquals(MILLI, stats.getUnpreparedNanos());
+
+    for (int i = 1; i < PrepareStatistics.RETRY_EXECUTIONS; i++) {
+      assertFalse(execute(SECOND));
+    }
+    assertTrue("tried again", execute(SECOND));
+    assertEquals(PrepareStatistics.Decision.PREPARED, stats.getDecision());
+  }
+
+  @Test
+  public void keepsFastPreparedQuery() {
+    assertFalse(execute(0));
+    stats.recordLatency(false, 2 * MILLI);
+    assertTrue(execute(MILLI));
+    for (int i = 0; i < 100; i++) {
+      assertFalse(stats.recordLatency(true, MILLI));
+      assertTrue(execute(MILLI));
+    }
+    assertEquals(PrepareStatistics.Decision.PREPARED, stats.getDecision());
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.herodbsql.jdbc.EscapeSyntaxCallMode;
+
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.util.List;
+
+public class SharedQueryCacheTest {
+
+  private static SharedQueryCache.Key key(Object queryKey, boolean standardConformingStrings) {
+    return new SharedQueryCache.Key(queryKey, standardConformingStrings, true, false, 0, 0, null);
+  }
+
+  private static List<NativeQuery> parse(String sql) throws SQLException {
+    return Parser.parseJdbcSql(sql, true, true, true, false);
+  }
+
+  @Test
+  public void keyIncludesParseSettings() {
+    assertEquals(key("SELECT ?", true), key("SELECT ?", true));
+    assertEquals(key("SELECT ?", true).hashCode(), key("SELECT ?", true).hashCode());
+    assertFalse(key("SELECT ?", true).equals(key("SELECT ?", false)));
+    assertFalse(key("SELECT ?", true).equals(key(new CallableQueryKey("SELECT ?"), true)));
+    assertFalse(new SharedQueryCache.Key("{call f(?)}", true, true, false, 90600, 3,
+        EscapeSyntaxCallMode.SELECT)
+        .equals(new SharedQueryCache.Key("{call f(?)}", true, true, false, 90600, 3,
+            EscapeSyntaxCallMode.CALL)));
+  }
+
+  @Test
+  public void firstParseWins() throws SQLException {
+    SharedQueryCache cache = new SharedQueryCache(10, 1024 * 1024);
+    SharedQueryCache.Key key = key("SELECT ?; SELECT ?", true);
+    assertNull(cache.get(key));
+    SharedQueryCache.ParsedQuery first = cache.put(key, parse("SELECT ?; SELECT ?"), false);
+    assertEquals(2, first.queries.size());
+    assertSame(first, cache.put(key("SELECT ?; SELECT ?", true),
+        parse("SELECT ?; SELECT ?"), false));
+    assertSame(first, cache.get(key));
+    assertSame(first.queries.get(1), cache.get(key).queries.get(1));
+  }
+
+  @Test
+  public void evictsLeastRecentlyUsed() throws SQLException {
+    SharedQueryCache cache = new SharedQueryCache(2, 1024 * 1024);
+    cache.put(key("SELECT 1", true), parse("SELECT 1"), false);
+    cache.put(key("SELECT 2", true), parse("SELECT 2"), false);
+    assertNotNull(cache.get(key("SELECT 1", true)));
+    cache.put(key("SELECT 3", true), parse("SELECT 3"), false);
+    assertEquals(2, cache.size());
+    assertNotNull(cache.get(key("SELECT 1", true)));
+    assertNull(cache.get(key("SELECT 2", true)));
+    assertNotNull(cache.get(key("SELECT 3", true)));
+  }
+
+  @Test
+  public void boundedBySize() throws SQLException {
+    SharedQueryCache cache = new SharedQueryCache(100, 1600);
+    StringBuilder sql = new StringBuilder("SELECT ");
+    while (sql.length() < 150) {
+      sql.append("1, ");
+    }
+    sql.append("1");
+    for (int i = 0; i < 10; i++) {
+      String query = sql + " + " + i;
+      cache.put(key(query, true), parse(query), false);
+      assertTrue(cache.getSizeBytes() <= 1600);
+    }
+    assertEquals(2, cache.size());
+
+    sql.setLength(0);
+    while (sql.length() < 1000) {
+      sql.append("SELECT 1 ");
+    }
+    String large = sql.toString();
+    assertNotNull(cache.put(key(large, true), parse(large), false));
+    assertNull("too large to be shared", cache.get(key(large, true)));
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class TupleTest {
+
+  // DataRow contents for ('ab', NULL, '', 'xyz')
+  private static Tuple packed() {
+    byte[] packed = {
+        0, 0, 0, 2, 'a', 'b',
+        (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff,
+        0, 0, 0, 0,
+        0, 0, 0, 3, 'x', 'y', 'z'};
+    return new Tuple(packed, new int[]{0, 6, 10, 14});
+  }
+
+  @Test
+  public void packedFields() {
+    Tuple tuple = packed();
+    assertEquals(4, tuple.fieldCount());
+    assertEquals(5, tuple.length());
+
+    assertArrayEquals(new byte[]{'a', 'b'}, tuple.get(0));
+    assertNull(tuple.get(1));
+    assertArrayEquals(new byte[0], tuple.get(2));
+    assertArrayEquals(new byte[]{'x', 'y', 'z'}, tuple.get(3));
+
+    assertFalse(tuple.isNull(0));
+    assertTrue(tuple.isNull(1));
+    assertFalse(tuple.isNull(2));
+    assertEquals(-1, tuple.getLength(1));
+    assertNull(tuple.getBackingArray(1));
+    assertEquals(18, tuple.getOffset(3));
+    assertEquals(3, tuple.getLength(3));
+    assertEquals('x', tuple.getBackingArray(3)[tuple.getOffset(3)]);
+  }
+
+  @Test
+  public void packedCopies() {
+    Tuple tuple = packed();
+    assertSame(tuple, tuple.readOnlyCopy());
+
+    Tuple copy = tuple.updateableCopy();
+    copy.set(0, new byte[]{'c'});
+    assertArrayEquals(new byte[]{'c'}, copy.get(0));
+    assertNull(copy.get(1));
+    assertArrayEquals(new byte[]{'x', 'y', 'z'}, copy.get(3));
+    assertArrayEquals(new byte[]{'a', 'b'}, tuple.get(0));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void packedIsReadOnly() {
+    packed().set(0, new byte[0]);
+  }
+
+  @Test
+  public void arrayFields() {
+    Tuple tuple = new Tuple(new byte[][]{{'a'}, null});
+    assertEquals(1, tuple.length());
+    assertTrue(tuple.isNull(1));
+    assertEquals(0, tuple.getOffset(0));
+    assertEquals(1, tuple.getLength(0));
+    assertEquals(-1, tuple.getLength(1));
+  }
+}
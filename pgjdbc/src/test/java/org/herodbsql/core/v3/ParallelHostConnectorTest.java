@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.core.v3;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.herodbsql.core.QueryExecutor;
+import org.herodbsql.hostchooser.CandidateHost;
+import org.herodbsql.hostchooser.HostRequirement;
+import org.herodbsql.hostchooser.HostStatus;
+import org.herodbsql.util.HostSpec;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.ConnectException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class ParallelHostConnectorTest {
+  private final Map<HostSpec, Host> hosts = new HashMap<HostSpec, Host>();
+  private final Map<HostSpec, QueryExecutor> executors =
+      new ConcurrentHashMap<HostSpec, QueryExecutor>();
+  private final Map<HostSpec, CountDownLatch> closed =
+      new ConcurrentHashMap<HostSpec, CountDownLatch>();
+
+  private static final class Host {
+    final long delayMillis;
+    final HostStatus status;
+
+    Host(long delayMillis, HostStatus status) {
+      this.delayMillis = delayMillis;
+      this.status = status;
+    }
+  }
+
+  private final ParallelHostConnector.HostConnector connector =
+      new ParallelHostConnector.HostConnector() {
+        @Override
+        public ParallelHostConnector.Connected connect(CandidateHost candidateHost)
+            throws IOException {
+          final HostSpec hostSpec = candidateHost.hostSpec;
+          Host host = hosts.get(hostSpec);
+          long deadline = System.currentTimeMillis() + host.delayMillis;
+          // sleeps like a blocking connect, which does not react to interrupts
+          while (System.currentTimeMillis() < deadline) {
+            try {
+              Thread.sleep(10);
+            } catch (InterruptedException e) {
+              // ignore
+            }
+          }
+          if (host.status == HostStatus.ConnectFail) {
+            throw new ConnectException("Connection refused: " + hostSpec);
+          }
+          final CountDownLatch latch = new CountDownLatch(1);
+          closed.put(hostSpec, latch);
+          QueryExecutor executor = (QueryExecutor) Proxy.newProxyInstance(
+              getClass().getClassLoader(), new Class<?>[]{QueryExecutor.class},
+              new InvocationHandler() {
+                @Override
+                public Object invoke(Object proxy, Method method, Object[] args) {
+                  if (method.getName().equals("close")) {
+                    latch.countDown();
+                  }
+                  return null;
+                }
+              });
+          executors.put(hostSpec, executor);
+          HostStatus status = candidateHost.targetServerType == HostRequirement.any
+              ? HostStatus.ConnectOK : host.status;
+          return new ParallelHostConnector.Connected(executor, status);
+        }
+      };
+
+  private HostSpec host(String name, long delayMillis, HostStatus status) {
+    HostSpec hostSpec = new HostSpec(name, 5432);
+    hosts.put(hostSpec, new Host(delayMillis, status));
+    return hostSpec;
+  }
+
+  private static List<CandidateHost> candidates(HostRequirement requirement, HostSpec... hostSpecs) {
+    List<CandidateHost> candidates = new ArrayList<CandidateHost>();
+    for (HostSpec hostSpec : hostSpecs) {
+      candidates.add(new CandidateHost(hostSpec, requirement));
+    }
+    return candidates;
+  }
+
+  private boolean isClosed(HostSpec hostSpec) throws InterruptedException {
+    CountDownLatch latch = closed.get(hostSpec);
+    return latch != null && latch.await(5, TimeUnit.SECONDS);
+  }
+
+  private boolean isOpen(HostSpec hostSpec) {
+    return closed.get(hostSpec).getCount() == 1;
+  }
+
+  @Test
+  public void testFastHostWinsOverSlowHost() throws Exception {
+    HostSpec slow = host("slow", 1500, HostStatus.Primary);
+    HostSpec fast = host("fast", 0, HostStatus.Primary);
+    long start = System.nanoTime();
+    QueryExecutor executor = new ParallelHostConnector(connector, 50)
+        .connect(candidates(HostRequirement.any, slow, fast), HostRequirement.any);
+    long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    assertSame(executors.get(fast), executor);
+    assertTrue("did not wait for the slow host, took " + millis + " ms", millis < 1000);
+    assertTrue(isOpen(fast));
+    // the abandoned attempt closes its connection once it completes
+    Thread.sleep(2000);
+    assertTrue(isClosed(slow));
+  }
+
+  @Test
+  public void testFailureStartsNextHostImmediately() throws Exception {
+    HostSpec down = host("down", 0, HostStatus.ConnectFail);
+    HostSpec up = host("up", 0, HostStatus.Primary);
+    long start = System.nanoTime();
+    QueryExecutor executor = new ParallelHostConnector(connector, 10000)
+        .connect(candidates(HostRequirement.any, down, up), HostRequirement.any);
+    long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    assertSame(executors.get(up), executor);
+    assertTrue("took " + millis + " ms", millis < 5000);
+  }
+
+  @Test
+  public void testWaitsForHostOfRequiredType() throws Exception {
+    HostSpec secondary = host("secondary", 0, HostStatus.Secondary);
+    HostSpec primary = host("primary", 200, HostStatus.Primary);
+    QueryExecutor executor = new ParallelHostConnector(connector, 10)
+        .connect(candidates(HostRequirement.primary, secondary, primary), HostRequirement.primary);
+
+    assertSame(executors.get(primary), executor);
+    assertTrue(isClosed(secondary));
+    assertTrue(isOpen(primary));
+  }
+
+  @Test
+  public void testFallbackToWeakerRequirement() throws Exception {
+    HostSpec first = host("first", 0, HostStatus.Primary);
+    HostSpec second = host("second", 100, HostStatus.Primary);
+    // what preferSecondary lists when no secondary is known
+    List<CandidateHost> candidates = candidates(HostRequirement.secondary, first, second);
+    candidates.addAll(candidates(HostRequirement.any, first, second));
+    QueryExecutor executor = new ParallelHostConnector(connector, 10)
+        .connect(candidates, HostRequirement.preferSecondary);
+
+    assertEquals(2, executors.size());
+    assertSame(executors.get(first), executor);
+    assertTrue(isClosed(second));
+    assertTrue(isOpen(first));
+  }
+
+  @Test
+  public void testAllHostsFail() throws Exception {
+    HostSpec one = host("one", 0, HostStatus.ConnectFail);
+    HostSpec two = host("two", 50, HostStatus.ConnectFail);
+    try {
+      new ParallelHostConnector(connector, 10)
+          .connect(candidates(HostRequirement.any, one, two), HostRequirement.any);
+      fail("no host is up");
+    } catch (SQLException e) {
+      assertTrue(e.getMessage(), e.getMessage().contains("two"));
+      assertEquals(1, e.getSuppressed().length);
+    }
+  }
+
+  @Test
+  public void testNoHostOfRequiredType() throws Exception {
+    HostSpec one = host("one", 0, HostStatus.Secondary);
+    HostSpec two = host("two", 0, HostStatus.Secondary);
+    try {
+      new ParallelHostConnector(connector, 10)
+          .connect(candidates(HostRequirement.primary, one, two), HostRequirement.primary);
+      fail("no primary");
+    } catch (SQLException e) {
+      assertTrue(e.getMessage(), e.getMessage().contains("primary"));
+    }
+    assertTrue(isClosed(one));
+    assertTrue(isClosed(two));
+  }
+}
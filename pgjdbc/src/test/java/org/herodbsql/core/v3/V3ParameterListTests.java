@@ -5,11 +5,18 @@
 
 package org.herodbsql.core.v3;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.herodbsql.core.Oid;
+import org.herodbsql.util.ByteConverter;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import java.math.BigDecimal;
 import java.sql.SQLException;
 
 /**
@@ -62,4 +69,64 @@ public class V3ParameterListTests {
         "Expected string representation of values does not match outcome.",
         "<[1 ,2 ,3 ,4 ,5 ,6 ,7 ,8]>", s1SPL.toString());
   }
+
+  @Test
+  public void testWidenBinaryIntegers() throws SQLException {
+    SimpleParameterList list = new SimpleParameterList(3, transferModeRegistry);
+    list.setIntParameter(1, -42);
+    list.setIntParameter(2, 7);
+    byte[] int2 = new byte[2];
+    ByteConverter.int2(int2, 0, -3);
+    list.setBinaryParameter(3, int2, Oid.INT2);
+
+    assertTrue(list.widenType(1, Oid.INT8));
+    assertTrue(list.widenType(2, Oid.NUMERIC));
+    assertTrue(list.widenType(3, Oid.INT4));
+
+    assertEquals(Oid.INT8, list.getTypeOID(1));
+    assertEquals(-42L, ByteConverter.int8((byte[]) list.getValues()[0], 0));
+    assertArrayEquals(ByteConverter.numeric(BigDecimal.valueOf(7)), (byte[]) list.getValues()[1]);
+    assertEquals(-3, ByteConverter.int4((byte[]) list.getValues()[2], 0));
+  }
+
+  @Test
+  public void testWidenBinaryFloat() throws SQLException {
+    SimpleParameterList list = new SimpleParameterList(1, transferModeRegistry);
+    byte[] float4 = new byte[4];
+    ByteConverter.float4(float4, 0, 0.1f);
+    list.setBinaryParameter(1, float4, Oid.FLOAT4);
+
+    assertTrue(list.widenType(1, Oid.FLOAT8));
+    assertEquals(0.1, ByteConverter.float8((byte[]) list.getValues()[0], 0), 0);
+  }
+
+  @Test
+  public void testWidenTextAndNull() throws SQLException {
+    SimpleParameterList list = new SimpleParameterList(3, transferModeRegistry);
+    list.setStringParameter(1, "12", Oid.INT4);
+    list.setStringParameter(2, "abc", Oid.VARCHAR);
+    list.setNull(3, Oid.UNSPECIFIED);
+
+    assertTrue(list.widenType(1, Oid.INT8));
+    assertTrue(list.widenType(2, Oid.TEXT));
+    assertTrue(list.widenType(3, Oid.TIMESTAMP));
+
+    assertArrayEquals(new int[]{Oid.INT8, Oid.TEXT, Oid.TIMESTAMP}, list.getTypeOIDs());
+    assertEquals("12", list.getValues()[0]);
+    assertEquals("abc", list.getValues()[1]);
+  }
+
+  @Test
+  public void testNoNarrowingOrConversion() throws SQLException {
+    SimpleParameterList list = new SimpleParameterList(2, transferModeRegistry);
+    byte[] int8 = new byte[8];
+    ByteConverter.int8(int8, 0, Long.MAX_VALUE);
+    list.setBinaryParameter(1, int8, Oid.INT8);
+    list.setStringParameter(2, "1", Oid.VARCHAR);
+
+    assertFalse(list.widenType(1, Oid.INT4));
+    assertFalse(list.widenType(2, Oid.INT4));
+    assertFalse(list.widenType(2, Oid.UNSPECIFIED));
+    assertArrayEquals(new int[]{Oid.INT8, Oid.VARCHAR}, list.getTypeOIDs());
+  }
 }
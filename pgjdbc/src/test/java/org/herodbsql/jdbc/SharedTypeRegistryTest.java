@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.herodbsql.util.HostSpec;
+import org.herodbsql.util.PSQLException;
+import org.herodbsql.util.PSQLState;
+
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class SharedTypeRegistryTest {
+  private static final long TTL = TimeUnit.SECONDS.toNanos(60);
+
+  private static SharedTypeRegistry.TypeEntry entry(int oid) {
+    return new SharedTypeRegistry.TypeEntry(oid, "public", "t" + oid, 'e', false, 0, ',');
+  }
+
+  @Test
+  public void registryPerServer() {
+    HostSpec host = new HostSpec("registry-host", 5432);
+    SharedTypeRegistry registry = SharedTypeRegistry.forServer(host, "db", 120000);
+    assertSame(registry,
+        SharedTypeRegistry.forServer(new HostSpec("registry-host", 5432), "db", 120000));
+    assertNotSame(registry, SharedTypeRegistry.forServer(host, "other", 120000));
+    assertNotSame(registry, SharedTypeRegistry.forServer(host, "db", 130000));
+    assertNotSame(registry,
+        SharedTypeRegistry.forServer(new HostSpec("registry-host", 5433), "db", 120000));
+  }
+
+  @Test
+  public void loadExpiresAfterTtl() {
+    SharedTypeRegistry registry = new SharedTypeRegistry();
+    long now = 1000;
+    assertTrue(registry.needsLoad(TTL, now));
+    registry.load(Collections.singletonMap(16384, entry(16384)), now);
+    assertFalse(registry.needsLoad(TTL, now + TTL));
+    assertTrue(registry.needsLoad(TTL, now + TTL + 1));
+    assertFalse("no ttl", registry.needsLoad(0, now + 100 * TTL));
+    assertEquals("t16384", registry.get(16384).name);
+  }
+
+  @Test
+  public void loadReplacesAndInvalidateDrops() {
+    SharedTypeRegistry registry = new SharedTypeRegistry();
+    registry.load(Collections.singletonMap(16384, entry(16384)), 0);
+    registry.put(entry(16390));
+    assertEquals(2, registry.size());
+
+    registry.load(Collections.singletonMap(16400, entry(16400)), 1);
+    assertNull(registry.get(16384));
+    assertEquals(1, registry.size());
+
+    registry.invalidate();
+    assertTrue(registry.needsLoad(TTL, 1));
+    assertNull(registry.get(16400));
+  }
+
+  @Test
+  public void concurrentCallersWaitForOneLoad() throws Exception {
+    final SharedTypeRegistry registry = new SharedTypeRegistry();
+    final AtomicInteger loads = new AtomicInteger();
+    final CountDownLatch loading = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final SharedTypeRegistry.Loader loader = new SharedTypeRegistry.Loader() {
+      @Override
+      public Map<Integer, SharedTypeRegistry.TypeEntry> load() throws SQLException {
+        loads.incrementAndGet();
+        loading.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          throw new IllegalStateException(e);
+        }
+        return Collections.singletonMap(16384, entry(16384));
+      }
+    };
+    final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+    Thread[] threads = new Thread[4];
+    for (int i = 0; i < threads.length; i++) {
+      threads[i] = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            registry.ensureLoaded(TTL, loader);
+            if (registry.get(16384) == null) {
+              failure.set(new AssertionError("returned before the load"));
+            }
+          } catch (Throwable t) {
+            failure.set(t);
+          }
+        }
+      });
+      threads[i].start();
+      if (i == 0) {
+        loading.await();
+      }
+    }
+    release.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertNull(failure.get());
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  public void failedLoadIsRetriedAndChangesNothing() throws Exception {
+    SharedTypeRegistry registry = new SharedTypeRegistry();
+    try {
+      registry.ensureLoaded(TTL, new SharedTypeRegistry.Loader() {
+        @Override
+        public Map<Integer, SharedTypeRegistry.TypeEntry> load() throws SQLException {
+          throw new PSQLException("no catalog", PSQLState.UNKNOWN_STATE);
+        }
+      });
+      fail("the failure of the loader should be thrown");
+    } catch (PSQLException e) {
+      assertEquals("no catalog", e.getMessage());
+    }
+    assertTrue(registry.needsLoad(TTL, System.nanoTime()));
+    assertEquals(0, registry.size());
+
+    registry.ensureLoaded(TTL, new SharedTypeRegistry.Loader() {
+      @Override
+      public Map<Integer, SharedTypeRegistry.TypeEntry> load() {
+        return Collections.singletonMap(16384, entry(16384));
+      }
+    });
+    assertEquals("t16384", registry.get(16384).name);
+  }
+}
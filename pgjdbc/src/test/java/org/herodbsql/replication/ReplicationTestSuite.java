@@ -6,6 +6,9 @@
 package org.herodbsql.replication;
 
 import org.herodbsql.core.ServerVersion;
+import org.herodbsql.replication.archive.WalArchiverTest;
+import org.herodbsql.replication.pgoutput.PgOutputDecoderTest;
+import org.herodbsql.replication.pipeline.LogicalReplicationPipelineTest;
 import org.herodbsql.test.TestUtil;
 
 import org.junit.AssumptionViolatedException;
@@ -21,12 +24,16 @@ import java.sql.Statement;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
     CopyBothResponseTest.class,
+    LogicalReplicationPipelineTest.class,
     LogicalReplicationStatusTest.class,
     LogicalReplicationTest.class,
     LogSequenceNumberTest.class,
+    PgOutputDecoderTest.class,
     PhysicalReplicationTest.class,
     ReplicationConnectionTest.class,
     ReplicationSlotTest.class,
+    WalArchiverTest.class,
+    XLogDataBatchTest.class,
 })
 public class ReplicationTestSuite {
 
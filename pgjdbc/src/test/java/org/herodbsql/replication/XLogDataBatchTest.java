@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.replication;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.herodbsql.copy.CopyDual;
+import org.herodbsql.core.v3.replication.V3PGReplicationStream;
+import org.herodbsql.util.ByteStreamWriter;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+public class XLogDataBatchTest {
+
+  /**
+   * Hands out scripted messages of the server and records the messages of the client.
+   */
+  private static class ScriptedCopyDual implements CopyDual {
+    final Queue<byte[]> messages = new LinkedList<byte[]>();
+    final List<byte[]> sent = new ArrayList<byte[]>();
+    boolean active = true;
+
+    @Override
+    public byte[] readFromCopy() {
+      return readFromCopy(true);
+    }
+
+    @Override
+    public byte[] readFromCopy(boolean block) {
+      byte[] message = messages.poll();
+      if (message == null && block) {
+        active = false;
+      }
+      return message;
+    }
+
+    @Override
+    public void writeToCopy(byte[] buf, int off, int siz) {
+      byte[] message = new byte[siz];
+      System.arraycopy(buf, off, message, 0, siz);
+      sent.add(message);
+    }
+
+    @Override
+    public void writeToCopy(ByteStreamWriter from) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void flushCopy() {
+    }
+
+    @Override
+    public long endCopy() {
+      active = false;
+      return 0;
+    }
+
+    @Override
+    public int getFieldCount() {
+      return 0;
+    }
+
+    @Override
+    public int getFormat() {
+      return 0;
+    }
+
+    @Override
+    public int getFieldFormat(int field) {
+      return 0;
+    }
+
+    @Override
+    public boolean isActive() {
+      return active;
+    }
+
+    @Override
+    public void cancelCopy() {
+      active = false;
+    }
+
+    @Override
+    public long getHandledRowCount() {
+      return 0;
+    }
+  }
+
+  private static byte[] xLogData(long startLsn, String payload) {
+    byte[] data = payload.getBytes(StandardCharsets.UTF_8);
+    ByteBuffer buffer = ByteBuffer.allocate(1 + 8 + 8 + 8 + data.length);
+    buffer.put((byte) 'w');
+    buffer.putLong(startLsn);
+    buffer.putLong(startLsn + data.length);
+    buffer.putLong(0);
+    buffer.put(data);
+    return buffer.array();
+  }
+
+  private static byte[] keepAlive(long serverLsn, boolean replyRequired) {
+    ByteBuffer buffer = ByteBuffer.allocate(1 + 8 + 8 + 1);
+    buffer.put((byte) 'k');
+    buffer.putLong(serverLsn);
+    buffer.putLong(0);
+    buffer.put(replyRequired ? (byte) 1 : (byte) 0);
+    return buffer.array();
+  }
+
+  private static String payload(XLogDataBatch batch, int index) {
+    return new String(batch.getArray(), batch.getOffset(index), batch.getLength(index),
+        StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void testGrowsAndIsReused() {
+    XLogDataBatch batch = new XLogDataBatch(100, 10);
+    batch.add(1, ByteBuffer.wrap("abcdef".getBytes(StandardCharsets.UTF_8)));
+    assertFalse(batch.isFull());
+    ByteBuffer second = ByteBuffer.wrap("xxghijklyy".getBytes(StandardCharsets.UTF_8), 2, 6);
+    batch.add(2, second);
+    assertEquals("position of the payload is not changed", 2, second.position());
+    assertTrue("12 payload bytes", batch.isFull());
+    assertEquals(2, batch.size());
+    assertEquals("abcdef", payload(batch, 0));
+    assertEquals("ghijkl", payload(batch, 1));
+    assertEquals("ghijkl",
+        StandardCharsets.UTF_8.decode(batch.getPayload(1)).toString());
+    assertEquals(LogSequenceNumber.valueOf(2), batch.getLastLSN());
+
+    byte[] array = batch.getArray();
+    batch.clear();
+    assertTrue(batch.isEmpty());
+    assertEquals(LogSequenceNumber.INVALID_LSN, batch.getLastLSN());
+    batch.add(3, ByteBuffer.wrap("mn".getBytes(StandardCharsets.UTF_8)));
+    assertTrue("the array is reused", array == batch.getArray());
+    assertEquals("mn", payload(batch, 0));
+  }
+
+  @Test
+  public void testFullByMessageCount() {
+    XLogDataBatch batch = new XLogDataBatch(2, 1000);
+    batch.add(1, ByteBuffer.wrap(new byte[1]));
+    batch.add(2, ByteBuffer.wrap(new byte[1]));
+    assertTrue(batch.isFull());
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testIndexOutOfBounds() {
+    new XLogDataBatch(2, 1000).getLSN(0);
+  }
+
+  @Test
+  public void testReadBatch() throws Exception {
+    ScriptedCopyDual copyDual = new ScriptedCopyDual();
+    copyDual.messages.add(xLogData(100, "BEGIN"));
+    copyDual.messages.add(keepAlive(200, false));
+    copyDual.messages.add(xLogData(110, "INSERT"));
+    copyDual.messages.add(xLogData(120, "COMMIT"));
+    copyDual.messages.add(xLogData(130, "BEGIN"));
+    PGReplicationStream stream = new V3PGReplicationStream(copyDual,
+        LogSequenceNumber.valueOf(50), 0, ReplicationType.LOGICAL);
+
+    XLogDataBatch batch = new XLogDataBatch(3, 1000);
+    assertTrue(stream.readBatch(batch));
+    assertEquals(3, batch.size());
+    assertEquals("BEGIN", payload(batch, 0));
+    assertEquals(100, batch.getLSN(0));
+    assertEquals("INSERT", payload(batch, 1));
+    assertEquals("COMMIT", payload(batch, 2));
+    assertEquals(120, batch.getLSN(2));
+    assertEquals(LogSequenceNumber.valueOf(120), stream.getLastReceiveLSN());
+
+    // the keepalive is answered because periodic updates are disabled
+    assertEquals(1, copyDual.sent.size());
+
+    assertTrue(stream.readPendingBatch(batch));
+    assertEquals(1, batch.size());
+    assertEquals(130, batch.getLSN(0));
+    assertFalse(stream.readPendingBatch(batch));
+    assertTrue(batch.isEmpty());
+  }
+
+  @Test
+  public void testPhysicalPositionIsEndOfPayload() throws Exception {
+    ScriptedCopyDual copyDual = new ScriptedCopyDual();
+    copyDual.messages.add(xLogData(1000, "0123456789"));
+    PGReplicationStream stream = new V3PGReplicationStream(copyDual,
+        LogSequenceNumber.valueOf(1000), 10000, ReplicationType.PHYSICAL);
+
+    XLogDataBatch batch = new XLogDataBatch(10, 1000);
+    assertTrue(stream.readBatch(batch));
+    assertEquals(1010, batch.getLSN(0));
+    assertEquals(LogSequenceNumber.valueOf(1010), stream.getLastReceiveLSN());
+    assertFalse("copy ended", stream.readBatch(batch));
+  }
+
+  @Test
+  public void testStatusUpdate() throws Exception {
+    ScriptedCopyDual copyDual = new ScriptedCopyDual();
+    copyDual.messages.add(xLogData(100, "BEGIN"));
+    PGReplicationStream stream = new V3PGReplicationStream(copyDual,
+        LogSequenceNumber.valueOf(50), 10000, ReplicationType.LOGICAL);
+
+    XLogDataBatch batch = new XLogDataBatch(10, 1000);
+    assertTrue(stream.readBatch(batch));
+    stream.setFlushedLSN(LogSequenceNumber.valueOf(90));
+    stream.setAppliedLSN(LogSequenceNumber.valueOf(80));
+    int before = copyDual.sent.size();
+    stream.forceUpdateStatus();
+
+    assertEquals(before + 1, copyDual.sent.size());
+    ByteBuffer status = ByteBuffer.wrap(copyDual.sent.get(before));
+    assertEquals(34, status.remaining());
+    assertEquals('r', status.get());
+    assertEquals(100, status.getLong());
+    assertEquals(90, status.getLong());
+    assertEquals(80, status.getLong());
+    long clockMillis = TimeUnit.MICROSECONDS.toMillis(status.getLong())
+        + V3PGReplicationStream.POSTGRES_EPOCH_2000_01_01;
+    assertTrue("clock is wall clock time in microseconds since 2000",
+        Math.abs(System.currentTimeMillis() - clockMillis) < TimeUnit.MINUTES.toMillis(1));
+    assertEquals(1, status.get());
+  }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.replication.archive;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.herodbsql.replication.LogSequenceNumber;
+import org.herodbsql.replication.PGReplicationStream;
+import org.herodbsql.replication.XLogDataBatch;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+public class WalArchiverTest {
+  private static final int SEGMENT_SIZE = 1024 * 1024;
+
+  private File directory;
+
+  /**
+   * Hands out WAL of consecutive positions in messages of a fixed size and ends when all were read.
+   * Like a physical stream, the batch holds the end position of each message.
+   */
+  private static class ScriptedStream implements PGReplicationStream {
+    final List<Long> flushed = new ArrayList<Long>();
+    final long start;
+    final long end;
+    final int messageSize;
+    long next;
+    LogSequenceNumber flushedLsn = LogSequenceNumber.INVALID_LSN;
+
+    ScriptedStream(long start, long end, int messageSize) {
+      this.start = start;
+      this.end = end;
+      this.messageSize = messageSize;
+      this.next = start;
+    }
+
+    @Override
+    public boolean readPendingBatch(XLogDataBatch batch) {
+      batch.clear();
+      while (next < end && !batch.isFull()) {
+        int length = (int) Math.min(messageSize, end - next);
+        ByteBuffer payload = ByteBuffer.allocate(length);
+        for (int i = 0; i < length; i++) {
+          payload.put(i, walByte(next + i));
+        }
+        next += length;
+        batch.add(next, payload);
+      }
+      return !batch.isEmpty();
+    }
+
+    @Override
+    public boolean readBatch(XLogDataBatch batch) {
+      return readPendingBatch(batch);
+    }
+
+    @Override
+    public ByteBuffer read() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ByteBuffer readPending() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public LogSequenceNumber getLastReceiveLSN() {
+      return LogSequenceNumber.valueOf(start);
+    }
+
+    @Override
+    public LogSequenceNumber getLastFlushedLSN() {
+      return flushedLsn;
+    }
+
+    @Override
+    public LogSequenceNumber getLastAppliedLSN() {
+      return LogSequenceNumber.INVALID_LSN;
+    }
+
+    @Override
+    public void setFlushedLSN(LogSequenceNumber flushed) {
+      this.flushed.add(flushed.asLong());
+      flushedLsn = flushed;
+    }
+
+    @Override
+    public void setAppliedLSN(LogSequenceNumber applied) {
+    }
+
+    @Override
+    public void forceUpdateStatus() {
+    }
+
+    @Override
+    public boolean isClosed() {
+      return next >= end;
+    }
+
+    @Override
+    public void close() {
+      next = end;
+    }
+  }
+
+  private static byte walByte(long lsn) {
+    return (byte) (lsn * 31 + (lsn >>> 20));
+  }
+
+  @Before
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("wal").toFile();
+  }
+
+  @After
+  public void tearDown() {
+    for (File file : directory.listFiles()) {
+      file.delete();
+    }
+    directory.delete();
+  }
+
+  private void assertSegment(File file, long segmentStart, long end) throws IOException {
+    byte[] content = Files.readAllBytes(file.toPath());
+    assertEquals(SEGMENT_SIZE, content.length);
+    byte[] expected = new byte[SEGMENT_SIZE];
+    for (int i = 0; i < SEGMENT_SIZE && segmentStart + i < end; i++) {
+      expected[i] = walByte(segmentStart + i);
+    }
+    assertArrayEquals(file.getName(), expected, content);
+  }
+
+  @Test
+  public void testWritesSegmentsAtTheirPositions() throws Exception {
+    // starts in the second segment of log 0x1 and ends in the middle of the fourth
+    long start = 0x100000000L + SEGMENT_SIZE;
+    long end = start + 2 * SEGMENT_SIZE + 12345;
+    ScriptedStream stream = new ScriptedStream(start, end, 8000);
+    WalArchiver archiver = new WalArchiver(stream, directory, 3, SEGMENT_SIZE, 0);
+    archiver.run();
+
+    assertSegment(new File(directory, "000000030000000100000001"), start, end);
+    assertSegment(new File(directory, "000000030000000100000002"), start + SEGMENT_SIZE, end);
+    assertSegment(new File(directory, "000000030000000100000003.partial"),
+        start + 2 * SEGMENT_SIZE, end);
+    assertEquals(3, directory.list().length);
+
+    assertEquals(end, stream.flushedLsn.asLong());
+    assertEquals(LogSequenceNumber.valueOf(end), archiver.getFlushedLSN());
+    for (int i = 1; i < stream.flushed.size(); i++) {
+      assertTrue("flushed position went back", stream.flushed.get(i - 1) < stream.flushed.get(i));
+    }
+  }
+
+  @Test
+  public void testContinuesPartialSegment() throws Exception {
+    assertEquals(LogSequenceNumber.INVALID_LSN,
+        WalArchiver.findStartLSN(directory, 1, SEGMENT_SIZE));
+    long end = SEGMENT_SIZE + 1000;
+    new WalArchiver(new ScriptedStream(0, end, 3000), directory, 1, SEGMENT_SIZE, 1000).run();
+    assertTrue(new File(directory, "000000010000000000000001.partial").exists());
+
+    LogSequenceNumber start = WalArchiver.findStartLSN(directory, 1, SEGMENT_SIZE);
+    assertEquals(SEGMENT_SIZE, start.asLong());
+    assertEquals(LogSequenceNumber.INVALID_LSN,
+        WalArchiver.findStartLSN(directory, 2, SEGMENT_SIZE));
+
+    end = 2 * SEGMENT_SIZE;
+    new WalArchiver(new ScriptedStream(start.asLong(), end, 3000), directory, 1, SEGMENT_SIZE,
+        1000).run();
+    assertFalse(new File(directory, "000000010000000000000001.partial").exists());
+    assertSegment(new File(directory, "000000010000000000000001"), SEGMENT_SIZE, end);
+    assertEquals(2 * SEGMENT_SIZE, WalArchiver.findStartLSN(directory, 1, SEGMENT_SIZE).asLong());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRejectsBadSegmentSize() {
+    new WalArchiver(new ScriptedStream(0, 0, 1), directory, 1, 3 * 1024 * 1024, 0);
+  }
+}
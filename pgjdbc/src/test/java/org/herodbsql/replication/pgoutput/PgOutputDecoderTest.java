@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.replication.pgoutput;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.herodbsql.core.Oid;
+import org.herodbsql.replication.LogSequenceNumber;
+import org.herodbsql.replication.XLogDataBatch;
+import org.herodbsql.replication.pipeline.ReplicationDecoder;
+import org.herodbsql.util.PSQLException;
+import org.herodbsql.util.PSQLState;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+public class PgOutputDecoderTest {
+
+  /**
+   * Writes pgoutput messages like the server does.
+   */
+  private static class Message {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    final DataOutputStream out = new DataOutputStream(bytes);
+
+    Message(char type) throws IOException {
+      out.writeByte(type);
+    }
+
+    Message int8(int value) throws IOException {
+      out.writeByte(value);
+      return this;
+    }
+
+    Message int16(int value) throws IOException {
+      out.writeShort(value);
+      return this;
+    }
+
+    Message int32(int value) throws IOException {
+      out.writeInt(value);
+      return this;
+    }
+
+    Message int64(long value) throws IOException {
+      out.writeLong(value);
+      return this;
+    }
+
+    Message string(String value) throws IOException {
+      out.write(value.getBytes(StandardCharsets.UTF_8));
+      out.writeByte(0);
+      return this;
+    }
+
+    Message column(int flags, String name, int type) throws IOException {
+      return int8(flags).string(name).int32(type).int32(-1);
+    }
+
+    /**
+     * @param values text values, null for NULL, or byte[] for binary values
+     */
+    Message tuple(char marker, Object... values) throws IOException {
+      int8(marker).int16(values.length);
+      for (Object value : values) {
+        if (value == null) {
+          int8('n');
+        } else if (value instanceof byte[]) {
+          int8('b').int32(((byte[]) value).length);
+          out.write((byte[]) value);
+        } else {
+          byte[] text = value.toString().getBytes(StandardCharsets.UTF_8);
+          int8('t').int32(text.length);
+          out.write(text);
+        }
+      }
+      return this;
+    }
+
+    ByteBuffer buffer() {
+      return ByteBuffer.wrap(bytes.toByteArray());
+    }
+  }
+
+  private static ByteBuffer orders(char replicaIdentity) throws IOException {
+    return new Message('R').int32(16384).string("public").string("orders")
+        .int8(replicaIdentity).int16(4)
+        .column(1, "id", Oid.INT8)
+        .column(0, "note", Oid.TEXT)
+        .column(0, "amount", Oid.NUMERIC)
+        .column(0, "paid", Oid.BOOL)
+        .buffer();
+  }
+
+  @Test
+  public void testTransaction() throws Exception {
+    PgOutputDecoder decoder = new PgOutputDecoder();
+    PgOutputMessage.Begin begin = (PgOutputMessage.Begin) decoder.decode(
+        new Message('B').int64(0x2000).int64(1000000L).int32(-10).buffer(), 0x1000);
+    assertEquals(LogSequenceNumber.valueOf(0x1000), begin.getLSN());
+    assertEquals(LogSequenceNumber.valueOf(0x2000), begin.getFinalLSN());
+    assertEquals(Instant.parse("2000-01-01T00:00:01Z"), begin.getCommitTime());
+    assertEquals(4294967286L, begin.getXid());
+
+    PgOutputMessage.Commit commit = (PgOutputMessage.Commit) decoder.decode(
+        new Message('C').int8(0).int64(0x2000).int64(0x2030).int64(-1L).buffer(), 0x2000);
+    assertEquals(LogSequenceNumber.valueOf(0x2030), commit.getEndLSN());
+    assertEquals(Instant.parse("1999-12-31T23:59:59.999999Z"), commit.getCommitTime());
+
+    assertNull(decoder.decode(new Message('O').int64(0).string("origin").buffer(), 0x2040));
+  }
+
+  @Test
+  public void testInsertUpdateDelete() throws Exception {
+    PgOutputDecoder decoder = new PgOutputDecoder();
+    PgOutputMessage.Relation relation =
+        (PgOutputMessage.Relation) decoder.decode(orders('d'), 1);
+    PgOutputRelation orders = relation.getRelation();
+    assertEquals("public.orders", orders.toString());
+    assertEquals(4, orders.getColumnCount());
+    assertTrue(orders.isKeyColumn(1));
+    assertFalse(orders.isKeyColumn(2));
+    assertEquals(Oid.NUMERIC, orders.getColumnType(3));
+    assertEquals(orders, decoder.getRelation(16384));
+
+    PgOutputMessage.Change insert = (PgOutputMessage.Change) decoder.decode(
+        new Message('I').int32(16384).tuple('N', "42", "café", "12.50", "t").buffer(), 2);
+    assertEquals(PgOutputMessage.Type.INSERT, insert.getType());
+    assertNull(insert.getOldTuple());
+    PgOutputTuple row = insert.getNewTuple();
+    assertEquals(42L, row.getLong(1));
+    assertEquals("café", row.getString(2));
+    assertEquals(new BigDecimal("12.50"), row.getBigDecimal(3));
+    assertTrue(row.getBoolean(4));
+    assertEquals(Long.valueOf(42), row.getObject(1));
+
+    PgOutputMessage.Change update = (PgOutputMessage.Change) decoder.decode(
+        new Message('U').int32(16384).tuple('K', "41", null, null, null)
+            .tuple('N', "42", null, "0", "f").buffer(), 3);
+    assertEquals(PgOutputMessage.Type.UPDATE, update.getType());
+    assertTrue(update.isOldTupleKey());
+    assertEquals(41, update.getOldTuple().getInt(1));
+    assertTrue(update.getNewTuple().isNull(2));
+    assertNull(update.getNewTuple().getString(2));
+    assertFalse(update.getNewTuple().getBoolean(4));
+
+    PgOutputMessage.Change delete = (PgOutputMessage.Change) decoder.decode(
+        new Message('D').int32(16384).tuple('K', "42", null, null, null).buffer(), 4);
+    assertEquals(PgOutputMessage.Type.DELETE, delete.getType());
+    assertNull(delete.getNewTuple());
+    assertEquals("42", delete.getOldTuple().getString(1));
+  }
+
+  @Test
+  public void testBinaryValues() throws Exception {
+    PgOutputDecoder decoder = new PgOutputDecoder();
+    decoder.decode(new Message('R').int32(1).string("").string("t").int8('d').int16(3)
+        .column(1, "a", Oid.INT4)
+        .column(0, "b", Oid.FLOAT8)
+        .column(0, "c", Oid.BYTEA)
+        .buffer(), 1);
+    ByteBuffer float8 = ByteBuffer.allocate(8);
+    float8.putDouble(0, 2.5);
+    PgOutputMessage.Change insert = (PgOutputMessage.Change) decoder.decode(
+        new Message('I').int32(1)
+            .tuple('N', new byte[]{0, 0, 1, 0}, float8.array(), new byte[]{1, 2, 3})
+            .buffer(), 2);
+    assertEquals("pg_catalog", insert.getRelation().getNamespace());
+    PgOutputTuple row = insert.getNewTuple();
+    assertEquals(256, row.getInt(1));
+    assertEquals(256L, row.getLong(1));
+    assertEquals(2.5, row.getDouble(2), 0.0);
+    assertEquals(3, row.getBytes(3).length);
+    assertEquals("256", row.getString(1));
+  }
+
+  @Test
+  public void testDecodesFromBatchWithoutRetainingIt() throws Exception {
+    PgOutputDecoder decoder = new PgOutputDecoder();
+    XLogDataBatch batch = new XLogDataBatch(4, 1024);
+    batch.add(1, orders('d'));
+    batch.add(2, new Message('I').int32(16384).tuple('N', "7", "x", "1", "t").buffer());
+    decoder.decode(batch, 0);
+    PgOutputMessage.Change insert = (PgOutputMessage.Change) decoder.decode(batch, 1);
+    batch.clear();
+    batch.add(3, new Message('I').int32(16384).tuple('N', "8", "y", "2", "f").buffer());
+    assertEquals(7, insert.getNewTuple().getInt(1));
+    assertEquals("x", insert.getNewTuple().getString(2));
+  }
+
+  @Test
+  public void testTruncate() throws Exception {
+    PgOutputDecoder decoder = new PgOutputDecoder();
+    decoder.decode(orders('d'), 1);
+    PgOutputMessage.Truncate truncate = (PgOutputMessage.Truncate) decoder.decode(
+        new Message('T').int32(1).int8(2).int32(16384).buffer(), 2);
+    assertEquals(1, truncate.getRelations().size());
+    assertFalse(truncate.isCascade());
+    assertTrue(truncate.isRestartIdentity());
+  }
+
+  @Test
+  public void testErrors() throws Exception {
+    PgOutputDecoder decoder = new PgOutputDecoder();
+    try {
+      decoder.decode(new Message('I').int32(5).tuple('N', "1").buffer(), 1);
+      fail("relation 5 is unknown");
+    } catch (PSQLException e) {
+      assertEquals(PSQLState.PROTOCOL_VIOLATION.getState(), e.getSQLState());
+    }
+    decoder.decode(orders('d'), 2);
+    try {
+      decoder.decode(new Message('I').int32(16384).int8('N').int16(1).int8('t').int32(10)
+          .buffer(), 3);
+      fail("value is truncated");
+    } catch (PSQLException e) {
+      assertEquals(PSQLState.PROTOCOL_VIOLATION.getState(), e.getSQLState());
+    }
+    try {
+      decoder.decode(new Message('S').int32(700).int8(1).buffer(), 4);
+      fail("streaming is not supported");
+    } catch (PSQLException e) {
+      assertEquals(PSQLState.NOT_IMPLEMENTED.getState(), e.getSQLState());
+    }
+    PgOutputMessage.Change update = (PgOutputMessage.Change) decoder.decode(
+        new Message('U').int32(16384).tuple('N', "1", "a", "1", "t").int8(0).buffer(), 5);
+    try {
+      update.getNewTuple().getString(5);
+      fail("there is no column 5");
+    } catch (PSQLException e) {
+      assertEquals(PSQLState.INVALID_PARAMETER_VALUE.getState(), e.getSQLState());
+    }
+  }
+
+  @Test
+  public void testPipelineKeys() throws Exception {
+    PgOutputDecoder decoder = new PgOutputDecoder();
+    ReplicationDecoder<PgOutputMessage> keys = decoder.forPipeline();
+    assertNull(keys.decode(new Message('B').int64(0).int64(0).int32(1).buffer(), 1));
+    assertEquals(ReplicationDecoder.BARRIER, keys.key(keys.decode(orders('d'), 2)));
+
+    int insert = keys.key(keys.decode(
+        new Message('I').int32(16384).tuple('N', "1", "a", "1", "t").buffer(), 3));
+    int update = keys.key(keys.decode(
+        new Message('U').int32(16384).tuple('N', "1", "b", "2", "t").buffer(), 4));
+    int delete = keys.key(keys.decode(
+        new Message('D').int32(16384).tuple('K', "1", null, null, null).buffer(), 5));
+    int other = keys.key(keys.decode(
+        new Message('I').int32(16384).tuple('N', "2", "a", "1", "t").buffer(), 6));
+    assertTrue(insert >= 0);
+    assertEquals(insert, update);
+    assertEquals(insert, delete);
+    assertTrue(insert != other);
+    assertEquals(ReplicationDecoder.BARRIER, keys.key(keys.decode(
+        new Message('U').int32(16384).tuple('K', "2", null, null, null)
+            .tuple('N', "3", "a", "1", "t").buffer(), 7)));
+
+    keys.decode(orders('f'), 8);
+    assertEquals(16384, keys.key(keys.decode(
+        new Message('U').int32(16384).tuple('O', "1", "a", "1", "t")
+            .tuple('N', "1", "b", "1", "t").buffer(), 9)));
+  }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.replication.pipeline;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.herodbsql.replication.LogSequenceNumber;
+import org.herodbsql.replication.PGReplicationStream;
+import org.herodbsql.replication.XLogDataBatch;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LogicalReplicationPipelineTest {
+
+  /**
+   * Hands out the messages in batches of a few and ends when all were read.
+   */
+  private static class ScriptedStream implements PGReplicationStream {
+    final List<long[]> messages = new ArrayList<long[]>();
+    final List<Long> flushed = Collections.synchronizedList(new ArrayList<Long>());
+    int next;
+    volatile LogSequenceNumber flushedLsn = LogSequenceNumber.INVALID_LSN;
+
+    /**
+     * @param key key of the message, -1 to skip it, -2 for a barrier
+     */
+    void add(long lsn, int key) {
+      messages.add(new long[]{lsn, key});
+    }
+
+    @Override
+    public boolean readPendingBatch(XLogDataBatch batch) {
+      batch.clear();
+      for (int i = 0; i < 7 && next < messages.size(); i++, next++) {
+        long[] message = messages.get(next);
+        ByteBuffer payload = ByteBuffer.allocate(4);
+        payload.putInt(0, (int) message[1]);
+        batch.add(message[0], payload);
+      }
+      return !batch.isEmpty();
+    }
+
+    @Override
+    public boolean readBatch(XLogDataBatch batch) {
+      return readPendingBatch(batch);
+    }
+
+    @Override
+    public ByteBuffer read() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ByteBuffer readPending() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public LogSequenceNumber getLastReceiveLSN() {
+      return LogSequenceNumber.valueOf(1);
+    }
+
+    @Override
+    public LogSequenceNumber getLastFlushedLSN() {
+      return flushedLsn;
+    }
+
+    @Override
+    public LogSequenceNumber getLastAppliedLSN() {
+      return flushedLsn;
+    }
+
+    @Override
+    public void setFlushedLSN(LogSequenceNumber flushed) {
+      this.flushed.add(flushed.asLong());
+      flushedLsn = flushed;
+    }
+
+    @Override
+    public void setAppliedLSN(LogSequenceNumber applied) {
+    }
+
+    @Override
+    public void forceUpdateStatus() {
+    }
+
+    @Override
+    public boolean isClosed() {
+      return next >= messages.size();
+    }
+
+    @Override
+    public void close() {
+      next = messages.size();
+    }
+  }
+
+  private static final ReplicationDecoder<long[]> DECODER = new ReplicationDecoder<long[]>() {
+    @Override
+    public long[] decode(ByteBuffer payload, long lsn) {
+      int key = payload.getInt(payload.position());
+      return key == -1 ? null : new long[]{lsn, key};
+    }
+
+    @Override
+    public int key(long[] message) {
+      return message[1] == -2 ? BARRIER : (int) message[1];
+    }
+  };
+
+  /**
+   * Records the order in which messages of each key are processed, with random delays.
+   */
+  private static class RecordingProcessor implements ReplicationProcessor<long[]> {
+    final Map<Long, List<Long>> processed = new ConcurrentHashMap<Long, List<Long>>();
+    final AtomicInteger running = new AtomicInteger();
+    volatile boolean barrierOverlapped;
+    volatile long failAt = -1;
+
+    @Override
+    public void process(long[] message) throws Exception {
+      int concurrent = running.incrementAndGet();
+      try {
+        if (message[1] == -2 && concurrent != 1) {
+          barrierOverlapped = true;
+        }
+        if (message[0] == failAt) {
+          throw new IllegalStateException("cannot process " + message[0]);
+        }
+        Thread.sleep((message[0] * 7919) % 3);
+        List<Long> lsns = processed.get(message[1]);
+        if (lsns == null) {
+          lsns = Collections.synchronizedList(new ArrayList<Long>());
+          processed.put(message[1], lsns);
+        }
+        lsns.add(message[0]);
+      } finally {
+        running.decrementAndGet();
+      }
+    }
+  }
+
+  @Test
+  public void testProcessesKeysInOrderAndReportsInOrder() throws Exception {
+    ScriptedStream stream = new ScriptedStream();
+    for (int i = 1; i <= 500; i++) {
+      stream.add(100 + i, i % 50 == 0 ? -2 : i % 13 == 0 ? -1 : i % 5);
+    }
+    RecordingProcessor processor = new RecordingProcessor();
+    LogicalReplicationPipeline<long[]> pipeline =
+        new LogicalReplicationPipeline<long[]>(stream, DECODER, processor, 4, 16);
+    pipeline.run();
+
+    assertTrue("barriers run alone", !processor.barrierOverlapped);
+    for (Map.Entry<Long, List<Long>> entry : processor.processed.entrySet()) {
+      List<Long> lsns = entry.getValue();
+      for (int i = 1; i < lsns.size(); i++) {
+        assertTrue("key " + entry.getKey() + " out of order: " + lsns,
+            lsns.get(i - 1) < lsns.get(i));
+      }
+    }
+    for (int i = 1; i < stream.flushed.size(); i++) {
+      assertTrue("flushed position went back", stream.flushed.get(i - 1) < stream.flushed.get(i));
+    }
+    assertEquals(600, stream.flushedLsn.asLong());
+    assertEquals(LogSequenceNumber.valueOf(600), pipeline.getFlushedLSN());
+  }
+
+  @Test
+  public void testFailureStopsBeforeFailedMessage() throws Exception {
+    ScriptedStream stream = new ScriptedStream();
+    for (int i = 1; i <= 200; i++) {
+      stream.add(100 + i, i % 3);
+    }
+    RecordingProcessor processor = new RecordingProcessor();
+    processor.failAt = 150;
+    LogicalReplicationPipeline<long[]> pipeline =
+        new LogicalReplicationPipeline<long[]>(stream, DECODER, processor, 3, 8);
+    try {
+      pipeline.run();
+      fail("processing failed");
+    } catch (SQLException e) {
+      assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+    assertTrue("flushed " + stream.flushedLsn, stream.flushedLsn.asLong() < 150);
+  }
+
+  @Test
+  public void testTrackerAdvancesOverCompletedPrefix() throws Exception {
+    OrderedLsnTracker tracker = new OrderedLsnTracker(3, 10);
+    long first = tracker.register(20);
+    long second = tracker.register(30);
+    long third = tracker.register(40);
+    tracker.complete(third);
+    tracker.complete(second);
+    assertEquals(10, tracker.getFlushedLsn());
+    assertEquals(3, tracker.getInFlight());
+    tracker.complete(first);
+    assertEquals(40, tracker.getFlushedLsn());
+    assertEquals(0, tracker.getInFlight());
+    assertTrue(tracker.awaitCompletion());
+    tracker.abort();
+    assertEquals(-1, tracker.register(50));
+  }
+
+  private static ByteBuffer pgoutput(char type, int... ints) {
+    ByteBuffer buffer = ByteBuffer.allocate(1 + 4 * ints.length + 3);
+    buffer.put((byte) type);
+    for (int i : ints) {
+      buffer.putInt(i);
+    }
+    buffer.flip();
+    return buffer;
+  }
+
+  @Test
+  public void testPgOutputFrames() {
+    ReplicationDecoder<ReplicationFrame> decoder = ReplicationFrames.pgoutput();
+    assertNull(decoder.decode(pgoutput('B', 0), 1));
+    ReplicationFrame relation = decoder.decode(pgoutput('R', 16384), 2);
+    assertEquals('R', relation.getType());
+    assertEquals(16384, decoder.key(relation));
+    assertEquals(16384, decoder.key(decoder.decode(pgoutput('I', 16384), 3)));
+    assertEquals(ReplicationDecoder.BARRIER, decoder.key(decoder.decode(pgoutput('T', 1), 4)));
+    assertNull(decoder.decode(pgoutput('C'), 5));
+
+    // changes of streamed transactions carry the transaction id first
+    assertNull(decoder.decode(pgoutput('S', 700), 6));
+    assertEquals(16385, decoder.key(decoder.decode(pgoutput('U', 700, 16385), 7)));
+    assertNull(decoder.decode(pgoutput('E'), 8));
+    assertEquals(16385, decoder.key(decoder.decode(pgoutput('D', 16385), 9)));
+  }
+
+  private static ByteBuffer json(String json) {
+    return ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testWal2JsonFrames() {
+    ReplicationDecoder<ReplicationFrame> decoder = ReplicationFrames.wal2json();
+    assertNull(decoder.decode(json("{\"action\":\"B\",\"xid\":700}"), 1));
+    ReplicationFrame insert = decoder.decode(json("{\"action\":\"I\",\"schema\":\"public\","
+        + "\"table\":\"orders\",\"columns\":[{\"name\":\"note\",\"value\":\"\\\"table\\\":\\\"x\"}]}"),
+        2);
+    ReplicationFrame delete = decoder.decode(json("{\"action\":\"D\",\"schema\":\"public\","
+        + "\"table\":\"orders\",\"identity\":[]}"), 3);
+    ReplicationFrame other = decoder.decode(json("{\"action\":\"I\",\"schema\":\"public\","
+        + "\"table\":\"items\",\"columns\":[]}"), 4);
+    assertEquals('I', insert.getType());
+    assertEquals(decoder.key(insert), decoder.key(delete));
+    assertTrue(decoder.key(insert) != decoder.key(other));
+    assertEquals(ReplicationDecoder.BARRIER,
+        decoder.key(decoder.decode(json("{\"action\":\"M\",\"prefix\":\"p\"}"), 5)));
+    assertEquals(0, decoder.key(decoder.decode(json("{\"xid\":700,\"change\":[]}"), 6)));
+    assertEquals(LogSequenceNumber.valueOf(2), insert.getLSN());
+  }
+}
@@ -15,6 +15,7 @@ import org.herodbsql.PGConnection;
 import org.herodbsql.copy.CopyIn;
 import org.herodbsql.copy.CopyManager;
 import org.herodbsql.copy.CopyOut;
+import org.herodbsql.copy.CopyOutHandler;
 import org.herodbsql.copy.PGCopyOutputStream;
 import org.herodbsql.core.ServerVersion;
 import org.herodbsql.test.TestUtil;
@@ -33,6 +34,7 @@ import java.io.OutputStream;
 import java.io.PrintStream;
 import java.io.StringReader;
 import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -288,6 +290,52 @@ public class CopyTest {
     }
   }
 
+  @Test
+  public void testCopyOutToChannel() throws SQLException, IOException {
+    testCopyInByRow(); // ensure we have some data.
+    ByteArrayOutputStream copydata = new ByteArrayOutputStream();
+    long count = copyAPI.copyOut("COPY copytest TO STDOUT", Channels.newChannel(copydata));
+    assertEquals(dataRows, count);
+    ByteArrayOutputStream expected = new ByteArrayOutputStream();
+    copyAPI.copyOut("COPY copytest TO STDOUT", expected);
+    assertEquals(expected.toString(), copydata.toString());
+  }
+
+  @Test
+  public void testCopyOutToHandler() throws SQLException, IOException {
+    final StringBuilder rows = new StringBuilder();
+    // the second row does not fit into the receive buffer and takes the other path
+    long count = copyAPI.copyOut(
+        "COPY (SELECT repeat('x', i) FROM unnest(ARRAY[10, 100000, 10]) i) TO STDOUT",
+        new CopyOutHandler() {
+          @Override
+          public void handleCopyData(ByteBuffer data) {
+            assertTrue(data.isReadOnly());
+            rows.append(data.remaining()).append(' ');
+          }
+        });
+    assertEquals(3, count);
+    assertEquals("11 100001 11 ", rows.toString());
+  }
+
+  @Test
+  public void testCopyOutHandlerFail() throws SQLException {
+    try {
+      copyAPI.copyOut("COPY (SELECT generate_series(1,100000)) TO STDOUT",
+          new CopyOutHandler() {
+            @Override
+            public void handleCopyData(ByteBuffer data) throws IOException {
+              throw new IOException("disk full");
+            }
+          });
+      fail("handler failure should end the copy");
+    } catch (IOException e) {
+      assertEquals("disk full", e.getMessage());
+    }
+    // Ensure connection still works.
+    assertEquals(0, getCount());
+  }
+
   @Test
   public void testNonCopyOut() throws SQLException, IOException {
     String sql = "SELECT 1";
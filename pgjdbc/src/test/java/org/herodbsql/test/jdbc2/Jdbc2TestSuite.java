@@ -5,18 +5,24 @@
 
 package org.herodbsql.test.jdbc2;
 
+import org.herodbsql.copy.BinaryCopyTest;
 import org.herodbsql.core.CommandCompleteParserNegativeTest;
 import org.herodbsql.core.CommandCompleteParserTest;
 import org.herodbsql.core.OidToStringTest;
 import org.herodbsql.core.OidValueOfTest;
 import org.herodbsql.core.ParserTest;
+import org.herodbsql.core.PrepareStatisticsTest;
 import org.herodbsql.core.ReturningParserTest;
+import org.herodbsql.core.SharedQueryCacheTest;
+import org.herodbsql.core.TupleTest;
 import org.herodbsql.core.UTF8EncodingTest;
+import org.herodbsql.core.v3.ParallelHostConnectorTest;
 import org.herodbsql.core.v3.V3ParameterListTests;
 import org.herodbsql.jdbc.DeepBatchedInsertStatementTest;
 import org.herodbsql.jdbc.NoColumnMetadataIssue1613Test;
 import org.herodbsql.jdbc.PgSQLXMLTest;
 import org.herodbsql.jdbc.PrimitiveArraySupportTest;
+import org.herodbsql.jdbc.SharedTypeRegistryTest;
 import org.herodbsql.test.core.FixedLengthOutputStreamTest;
 import org.herodbsql.test.core.JavaVersionTest;
 import org.herodbsql.test.core.LogServerMessagePropertyTest;
@@ -24,6 +30,7 @@ import org.herodbsql.test.core.NativeQueryBindLengthTest;
 import org.herodbsql.test.core.OptionsPropertyTest;
 import org.herodbsql.test.util.ByteBufferByteStreamWriterTest;
 import org.herodbsql.test.util.ByteStreamWriterTest;
+import org.herodbsql.test.util.ConcurrentLruCacheTest;
 import org.herodbsql.test.util.ExpressionPropertiesTest;
 import org.herodbsql.test.util.HostSpecTest;
 import org.herodbsql.test.util.LruCacheTest;
@@ -45,6 +52,7 @@ import org.junit.runners.Suite;
     BatchedInsertReWriteEnabledTest.class,
     BatchExecuteTest.class,
     BatchFailureTest.class,
+    BinaryCopyTest.class,
     BlobTest.class,
     BlobTransactionTest.class,
     CallableStmtTest.class,
@@ -53,6 +61,7 @@ import org.junit.runners.Suite;
     ColumnSanitiserEnabledTest.class,
     CommandCompleteParserNegativeTest.class,
     CommandCompleteParserTest.class,
+    ConcurrentLruCacheTest.class,
     ConcurrentStatementFetch.class,
     ConnectionTest.class,
     ConnectTimeoutTest.class,
@@ -89,6 +98,7 @@ import org.junit.runners.Suite;
     FixedLengthOutputStreamTest.class,
     ByteStreamWriterTest.class,
     ByteBufferByteStreamWriterTest.class,
+    ParallelHostConnectorTest.class,
     ParameterStatusTest.class,
     ParserTest.class,
     PGPropertyMaxResultBufferParserTest.class,
@@ -97,6 +107,7 @@ import org.junit.runners.Suite;
     PGTimeTest.class,
     PgSQLXMLTest.class,
     PreparedStatementTest.class,
+    PrepareStatisticsTest.class,
     PrimitiveArraySupportTest.class,
     QuotationTest.class,
     ReaderInputStreamTest.class,
@@ -111,6 +122,8 @@ import org.junit.runners.Suite;
     ServerPreparedStmtTest.class,
     ServerVersionParseTest.class,
     ServerVersionTest.class,
+    SharedQueryCacheTest.class,
+    SharedTypeRegistryTest.class,
     StatementTest.class,
     StringTypeUnspecifiedArrayTest.class,
     TestACL.class,
@@ -118,6 +131,7 @@ import org.junit.runners.Suite;
     TimeTest.class,
     TimezoneCachingTest.class,
     TimezoneTest.class,
+    TupleTest.class,
     TypeCacheDLLStressTest.class,
     UpdateableResultTest.class,
     UpsertTest.class,
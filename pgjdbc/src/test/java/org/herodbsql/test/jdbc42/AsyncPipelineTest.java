@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.test.jdbc42;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.herodbsql.PGConnection;
+import org.herodbsql.test.TestUtil;
+import org.herodbsql.test.jdbc2.BaseTest4;
+
+import org.junit.Test;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+public class AsyncPipelineTest extends BaseTest4 {
+
+  @Override
+  public void setUp() throws Exception {
+    super.setUp();
+    TestUtil.createTable(con, "async_tab", "id int primary key, val text");
+  }
+
+  @Override
+  public void tearDown() throws SQLException {
+    TestUtil.dropTable(con, "async_tab");
+    super.tearDown();
+  }
+
+  private PGConnection pg() throws SQLException {
+    return con.unwrap(PGConnection.class);
+  }
+
+  private int count() throws SQLException {
+    Statement stmt = con.createStatement();
+    ResultSet rs = stmt.executeQuery("SELECT count(*) FROM async_tab");
+    rs.next();
+    int count = rs.getInt(1);
+    stmt.close();
+    return count;
+  }
+
+  @Test
+  public void testQueryAndUpdate() throws Exception {
+    CompletableFuture<Integer> insert =
+        pg().executeUpdateAsync("INSERT INTO async_tab VALUES (?, ?)", 1, "one");
+    CompletableFuture<ResultSet> select =
+        pg().executeQueryAsync("SELECT val FROM async_tab WHERE id = ?", 1);
+
+    assertEquals(1, insert.get().intValue());
+    ResultSet rs = select.get();
+    assertTrue(rs.next());
+    assertEquals("one", rs.getString(1));
+    assertFalse(rs.next());
+    Statement statement = rs.getStatement();
+    rs.close();
+    assertTrue("statement is closed with its result set", statement.isClosed());
+  }
+
+  @Test
+  public void testResultsInSubmissionOrder() throws Exception {
+    List<CompletableFuture<ResultSet>> futures = new ArrayList<CompletableFuture<ResultSet>>();
+    for (int i = 0; i < 1000; i++) {
+      futures.add(pg().executeQueryAsync("SELECT ?::int", i));
+    }
+    for (int i = 0; i < futures.size(); i++) {
+      ResultSet rs = futures.get(i).get();
+      assertTrue(rs.next());
+      assertEquals(i, rs.getInt(1));
+      rs.close();
+    }
+  }
+
+  @Test
+  public void testFailureInAutocommitOnlyFailsItsStatement() throws Exception {
+    List<CompletableFuture<Integer>> futures = new ArrayList<CompletableFuture<Integer>>();
+    for (int i = 0; i < 10; i++) {
+      // id 5 is inserted twice, the second insert fails
+      futures.add(pg().executeUpdateAsync("INSERT INTO async_tab VALUES (?, ?)", i == 7 ? 5 : i,
+          "v" + i));
+    }
+    for (int i = 0; i < futures.size(); i++) {
+      if (i == 7) {
+        try {
+          futures.get(i).get();
+          fail("duplicate key should fail");
+        } catch (ExecutionException e) {
+          assertTrue(e.getCause() instanceof SQLException);
+        }
+      } else {
+        assertEquals(1, futures.get(i).get().intValue());
+      }
+    }
+    assertEquals(9, count());
+  }
+
+  @Test
+  public void testNoStatementIsExecutedTwice() throws Exception {
+    Statement stmt = con.createStatement();
+    stmt.execute("CREATE SEQUENCE async_seq");
+    try {
+      List<CompletableFuture<Integer>> futures = new ArrayList<CompletableFuture<Integer>>();
+      for (int i = 0; i < 6; i++) {
+        // the insert of id 0 fails after the first round, every nextval must run exactly once
+        futures.add(pg().executeUpdateAsync(
+            "INSERT INTO async_tab VALUES (?, nextval('async_seq')::text)", i % 3 == 0 ? 0 : i));
+      }
+      for (int i = 0; i < futures.size(); i++) {
+        if (i == 3) {
+          try {
+            futures.get(i).get();
+            fail("duplicate key should fail");
+          } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof SQLException);
+          }
+        } else {
+          assertEquals(1, futures.get(i).get().intValue());
+        }
+      }
+      ResultSet rs = stmt.executeQuery("SELECT last_value FROM async_seq");
+      rs.next();
+      assertEquals(6, rs.getInt(1));
+      assertEquals(5, count());
+    } finally {
+      TestUtil.dropSequence(con, "async_seq");
+      stmt.close();
+    }
+  }
+
+  @Test
+  public void testFailureInTransactionFailsLaterStatements() throws Exception {
+    con.setAutoCommit(false);
+    CompletableFuture<Integer> first =
+        pg().executeUpdateAsync("INSERT INTO async_tab VALUES (?, ?)", 1, "one");
+    CompletableFuture<Integer> duplicate =
+        pg().executeUpdateAsync("INSERT INTO async_tab VALUES (?, ?)", 1, "again");
+    CompletableFuture<Integer> last =
+        pg().executeUpdateAsync("INSERT INTO async_tab VALUES (?, ?)", 2, "two");
+
+    assertEquals(1, first.get().intValue());
+    for (CompletableFuture<Integer> future : Arrays.asList(duplicate, last)) {
+      try {
+        future.get();
+        fail("statement after a failure in a transaction should fail");
+      } catch (ExecutionException e) {
+        assertTrue(e.getCause() instanceof SQLException);
+      }
+    }
+    con.rollback();
+    con.setAutoCommit(true);
+    assertEquals(0, count());
+  }
+
+  @Test
+  public void testUpdateReturningRowsFails() throws Exception {
+    try {
+      pg().executeUpdateAsync("SELECT 1").get();
+      fail("a query is not an update");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof SQLException);
+    }
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.test.jdbc42;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.herodbsql.PGProperty;
+import org.herodbsql.test.TestUtil;
+import org.herodbsql.test.jdbc2.BaseTest4;
+
+import org.junit.Test;
+
+import java.sql.BatchUpdateException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.Properties;
+
+public class CopyBatchInsertTest extends BaseTest4 {
+
+  @Override
+  protected void updateProperties(Properties props) {
+    super.updateProperties(props);
+    PGProperty.COPY_BATCHED_INSERTS.set(props, true);
+  }
+
+  @Override
+  public void setUp() throws Exception {
+    super.setUp();
+    TestUtil.createTable(con, "copy_batch", "id int primary key, val text, data bytea, amount int8");
+  }
+
+  @Override
+  public void tearDown() throws SQLException {
+    TestUtil.dropTable(con, "copy_batch");
+    super.tearDown();
+  }
+
+  private int count() throws SQLException {
+    Statement stmt = con.createStatement();
+    ResultSet rs = stmt.executeQuery("SELECT count(*) FROM copy_batch");
+    rs.next();
+    int count = rs.getInt(1);
+    stmt.close();
+    return count;
+  }
+
+  @Test
+  public void testBatchValues() throws SQLException {
+    String[] values = {"plain", "tab\there", "new\nline", "back\\slash", "cr\rlf", null};
+    PreparedStatement ps =
+        con.prepareStatement("INSERT INTO copy_batch (id, val, data, amount) VALUES (?, ?, ?, ?)");
+    for (int i = 0; i < values.length; i++) {
+      ps.setInt(1, i);
+      ps.setString(2, values[i]);
+      if (i % 2 == 0) {
+        ps.setBytes(3, new byte[]{(byte) i, (byte) 0xff, '\\'});
+      } else {
+        ps.setNull(3, Types.BINARY);
+      }
+      ps.setLong(4, Long.MAX_VALUE - i);
+      ps.addBatch();
+    }
+    int[] updateCounts = ps.executeBatch();
+    ps.close();
+    assertArrayEquals(new int[]{1, 1, 1, 1, 1, 1}, updateCounts);
+
+    Statement stmt = con.createStatement();
+    ResultSet rs = stmt.executeQuery("SELECT id, val, data, amount FROM copy_batch ORDER BY id");
+    for (int i = 0; i < values.length; i++) {
+      assertTrue(rs.next());
+      assertEquals(i, rs.getInt(1));
+      assertEquals(values[i], rs.getString(2));
+      if (i % 2 == 0) {
+        assertArrayEquals(new byte[]{(byte) i, (byte) 0xff, '\\'}, rs.getBytes(3));
+      } else {
+        assertNull(rs.getBytes(3));
+      }
+      assertEquals(Long.MAX_VALUE - i, rs.getLong(4));
+    }
+    assertFalse(rs.next());
+    stmt.close();
+  }
+
+  @Test
+  public void testLargeBatch() throws SQLException {
+    PreparedStatement ps = con.prepareStatement("insert into copy_batch(id, val) values (?, ?)");
+    for (int i = 0; i < 10000; i++) {
+      ps.setInt(1, i);
+      ps.setString(2, "value " + i);
+      ps.addBatch();
+    }
+    long[] updateCounts = ps.executeLargeBatch();
+    ps.close();
+    assertEquals(10000, updateCounts.length);
+    assertEquals(10000, count());
+  }
+
+  @Test
+  public void testFailureAbortsBatch() throws SQLException {
+    PreparedStatement ps = con.prepareStatement("INSERT INTO copy_batch (id, val) VALUES (?, ?)");
+    for (int i = 0; i < 10; i++) {
+      ps.setInt(1, i == 7 ? 5 : i);
+      ps.setString(2, "v" + i);
+      ps.addBatch();
+    }
+    try {
+      ps.executeBatch();
+      fail("duplicate key should fail the batch");
+    } catch (BatchUpdateException e) {
+      assertTrue(e.getNextException() != null);
+    }
+    ps.close();
+    assertEquals(0, count());
+  }
+
+  @Test
+  public void testOtherInsertsUseRegularBatch() throws SQLException {
+    PreparedStatement ps =
+        con.prepareStatement("INSERT INTO copy_batch (id, val) VALUES (?::int + 100, ?)");
+    for (int i = 0; i < 3; i++) {
+      ps.setInt(1, i);
+      ps.setString(2, "v" + i);
+      ps.addBatch();
+    }
+    assertArrayEquals(new int[]{1, 1, 1}, ps.executeBatch());
+    ps.close();
+    assertEquals(3, count());
+  }
+}
@@ -11,13 +11,19 @@ import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
 @SuiteClasses({
+    AsyncPipelineTest.class,
+    CopyBatchInsertTest.class,
     CustomizeDefaultFetchSizeTest.class,
     GetObject310InfinityTests.class,
     GetObject310Test.class,
     Jdbc42CallableStatementTest.class,
     LargeCountJdbc42Test.class,
+    ParallelCopyLoaderTest.class,
+    PinParameterTypesTest.class,
     PreparedStatementTest.class,
+    RowStreamTest.class,
     SetObject310Test.class,
+    SharedTypeCacheTest.class,
     SimpleJdbc42Test.class,
 })
 public class Jdbc42TestSuite {
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.test.jdbc42;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.herodbsql.copy.ParallelCopyLoader;
+import org.herodbsql.ds.PGSimpleDataSource;
+import org.herodbsql.test.TestUtil;
+import org.herodbsql.test.jdbc2.BaseTest4;
+import org.herodbsql.test.jdbc2.optional.BaseDataSourceTest;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ParallelCopyLoaderTest extends BaseTest4 {
+
+  private PGSimpleDataSource dataSource;
+
+  @Override
+  public void setUp() throws Exception {
+    super.setUp();
+    TestUtil.createTable(con, "parallel_copy", "id int primary key, val text");
+    dataSource = new PGSimpleDataSource();
+    BaseDataSourceTest.setupDataSource(dataSource);
+  }
+
+  @Override
+  public void tearDown() throws SQLException {
+    TestUtil.dropTable(con, "parallel_copy");
+    super.tearDown();
+  }
+
+  private long count(String where) throws SQLException {
+    Statement stmt = con.createStatement();
+    ResultSet rs = stmt.executeQuery("SELECT count(*) FROM parallel_copy " + where);
+    rs.next();
+    long count = rs.getLong(1);
+    stmt.close();
+    return count;
+  }
+
+  private static byte[] csv(int rows) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < rows; i++) {
+      // every tenth value spans lines
+      sb.append(i).append(",\"value ").append(i).append(i % 10 == 0 ? "\nnext \"\"line\"\"" : "")
+          .append("\"\n");
+    }
+    return sb.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void testLoadInputStream() throws Exception {
+    final AtomicLong progress = new AtomicLong();
+    long rows = new ParallelCopyLoader(dataSource, "COPY parallel_copy FROM STDIN (FORMAT csv)")
+        .setStreams(4)
+        .setCsv(true)
+        .setChunkSize(1000)
+        .setProgressListener(new ParallelCopyLoader.ProgressListener() {
+          @Override
+          public void progress(long rows, long bytes) {
+            progress.set(Math.max(progress.get(), rows));
+          }
+        })
+        .load(new ByteArrayInputStream(csv(10000)));
+    assertEquals(10000, rows);
+    assertEquals(10000, progress.get());
+    assertEquals(10000, count(""));
+    assertEquals(1000, count("WHERE val LIKE '%next \"line\"'"));
+  }
+
+  @Test
+  public void testLoadCsvWithEscape() throws Exception {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 2000; i++) {
+      // the line break is between escaped quotes
+      sb.append(i).append(",\"say \\\"hel\nlo\\\" ").append(i).append("\"\n");
+    }
+    long rows = new ParallelCopyLoader(dataSource,
+        "COPY parallel_copy FROM STDIN (FORMAT csv, ESCAPE '\\')")
+        .setStreams(3)
+        .setCsv(true)
+        .setCsvEscape('\\')
+        .setChunkSize(300)
+        .load(new ByteArrayInputStream(sb.toString().getBytes(StandardCharsets.UTF_8)));
+    assertEquals(2000, rows);
+    assertEquals(2000, count("WHERE val LIKE 'say \"hel_lo\" %'"));
+  }
+
+  @Test
+  public void testLoadRows() throws Exception {
+    List<byte[]> input = new ArrayList<byte[]>();
+    for (int i = 0; i < 5000; i++) {
+      input.add((i + "\tv" + i + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+    long rows = new ParallelCopyLoader(dataSource, "COPY parallel_copy FROM STDIN")
+        .setStreams(3)
+        .setChunkSize(512)
+        .load(input.iterator());
+    assertEquals(5000, rows);
+    assertEquals(5000, count(""));
+  }
+
+  @Test
+  public void testFailureCancelsStreams() throws Exception {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 10000; i++) {
+      sb.append(i == 9000 ? "x" : String.valueOf(i)).append("\tv\n");
+    }
+    try {
+      new ParallelCopyLoader(dataSource, "COPY parallel_copy FROM STDIN")
+          .setStreams(4)
+          .setChunkSize(100)
+          .load(new ByteArrayInputStream(sb.toString().getBytes(StandardCharsets.UTF_8)));
+      fail("invalid integer should fail the load");
+    } catch (SQLException e) {
+      assertNotNull(e.getMessage());
+    }
+    assertTrue("failed load is cancelled", count("") < 10000);
+  }
+}
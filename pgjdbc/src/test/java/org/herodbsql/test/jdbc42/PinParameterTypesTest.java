@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.test.jdbc42;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.herodbsql.PGConnection;
+import org.herodbsql.PGProperty;
+import org.herodbsql.test.TestUtil;
+import org.herodbsql.test.jdbc2.BaseTest4;
+
+import org.junit.Test;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Properties;
+
+public class PinParameterTypesTest extends BaseTest4 {
+
+  @Override
+  protected void updateProperties(Properties props) {
+    super.updateProperties(props);
+    PGProperty.PIN_PARAMETER_TYPES.set(props, true);
+    PGProperty.PREPARE_THRESHOLD.set(props, 1);
+  }
+
+  @Override
+  public void setUp() throws Exception {
+    super.setUp();
+    TestUtil.createTable(con, "pin_types", "id int8, val text");
+    TestUtil.execute("INSERT INTO pin_types VALUES (1, 'one'), (2, NULL)", con);
+  }
+
+  @Override
+  public void tearDown() throws SQLException {
+    TestUtil.dropTable(con, "pin_types");
+    super.tearDown();
+  }
+
+  private long reprepareCount() {
+    return ((PGConnection) con).getReprepareCount();
+  }
+
+  private int count(PreparedStatement ps) throws SQLException {
+    ResultSet rs = ps.executeQuery();
+    int count = 0;
+    while (rs.next()) {
+      count++;
+    }
+    rs.close();
+    return count;
+  }
+
+  @Test
+  public void testNarrowerBindingsUseWiderStatement() throws SQLException {
+    PreparedStatement ps = con.prepareStatement("SELECT val FROM pin_types WHERE id = ? OR val = ?");
+    long before = reprepareCount();
+    ps.setLong(1, 1);
+    ps.setString(2, "none");
+    assertEquals(1, count(ps));
+
+    ps.setInt(1, 2);
+    ps.setString(2, "one");
+    assertEquals(2, count(ps));
+
+    ps.setShort(1, (short) 1);
+    ps.setNull(2, Types.OTHER);
+    assertEquals(1, count(ps));
+
+    ps.setNull(1, Types.BIGINT);
+    ps.setNull(2, Types.VARCHAR);
+    assertEquals(0, count(ps));
+    assertEquals(before, reprepareCount());
+    ps.close();
+  }
+
+  @Test
+  public void testWiderBindingReprepareOnce() throws SQLException {
+    PreparedStatement ps = con.prepareStatement("SELECT val FROM pin_types WHERE id = ?");
+    long before = reprepareCount();
+    ps.setInt(1, 1);
+    assertEquals(1, count(ps));
+    ps.setLong(1, 2);
+    assertEquals(1, count(ps));
+    assertEquals(before + 1, reprepareCount());
+
+    for (int i = 0; i < 10; i++) {
+      if (i % 2 == 0) {
+        ps.setInt(1, 1);
+      } else {
+        ps.setLong(1, 1);
+      }
+      assertEquals(1, count(ps));
+    }
+    assertEquals("int4 bindings use the int8 statement", before + 1, reprepareCount());
+    ps.close();
+  }
+
+  @Test
+  public void testIncompatibleBindingStillReprepares() throws SQLException {
+    PreparedStatement ps = con.prepareStatement("SELECT ?::text IS NULL");
+    long before = reprepareCount();
+    ps.setInt(1, 1);
+    ResultSet rs = ps.executeQuery();
+    assertTrue(rs.next());
+    assertFalse(rs.getBoolean(1));
+    rs.close();
+    ps.setString(1, "x");
+    rs = ps.executeQuery();
+    assertTrue(rs.next());
+    rs.close();
+    assertTrue(reprepareCount() > before);
+    ps.close();
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.test.jdbc42;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.herodbsql.PGConnection;
+import org.herodbsql.PGRowStream;
+import org.herodbsql.test.jdbc2.BaseTest4;
+
+import org.junit.Test;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+public class RowStreamTest extends BaseTest4 {
+
+  private static final PGRowStream.RowMapper<Integer> FIRST_INT =
+      new PGRowStream.RowMapper<Integer>() {
+        @Override
+        public Integer map(ResultSet row) throws SQLException {
+          return row.getInt(1);
+        }
+      };
+
+  private PGRowStream<Integer> stream(String sql, Object... parameters) throws SQLException {
+    return con.unwrap(PGConnection.class).streamQuery(sql, FIRST_INT, parameters);
+  }
+
+  @Test
+  public void testStreamsAllRowsInOrder() throws SQLException {
+    PGRowStream<Integer> rows = stream("SELECT g FROM generate_series(1, ?) g", 100000);
+    int expected = 1;
+    while (rows.hasNext()) {
+      assertEquals(expected++, rows.next().intValue());
+    }
+    assertEquals(100000, rows.getRowCount());
+    assertTrue("autocommit is restored when the stream ends", con.getAutoCommit());
+  }
+
+  @Test
+  public void testCloseEarlyRestoresAutoCommit() throws SQLException {
+    PGRowStream<Integer> rows = stream("SELECT g FROM generate_series(1, 10000) g");
+    assertTrue(rows.hasNext());
+    assertEquals(1, rows.next().intValue());
+    assertFalse(con.getAutoCommit());
+    rows.close();
+    assertTrue(con.getAutoCommit());
+    assertFalse(rows.hasNext());
+  }
+
+  @Test
+  public void testStreamInsideTransaction() throws SQLException {
+    con.setAutoCommit(false);
+    PGRowStream<Integer> rows = stream("SELECT g FROM generate_series(1, 1000) g");
+    int count = 0;
+    while (rows.hasNext()) {
+      rows.next();
+      count++;
+    }
+    assertEquals(1000, count);
+    assertFalse(con.getAutoCommit());
+    con.commit();
+  }
+}
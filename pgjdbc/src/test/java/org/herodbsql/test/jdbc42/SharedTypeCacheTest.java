@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.test.jdbc42;
+
+import static org.junit.Assert.assertEquals;
+
+import org.herodbsql.PGConnection;
+import org.herodbsql.PGProperty;
+import org.herodbsql.core.BaseConnection;
+import org.herodbsql.core.TypeInfo;
+import org.herodbsql.test.TestUtil;
+import org.herodbsql.test.jdbc2.BaseTest4;
+
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+
+public class SharedTypeCacheTest extends BaseTest4 {
+  private static final String CHANNEL = "shared_type_cache_test";
+
+  @Override
+  public void setUp() throws Exception {
+    super.setUp();
+    TestUtil.createEnumType(con, "shared_mood", "'sad', 'ok', 'happy'");
+    TestUtil.createCompositeType(con, "shared_pair", "a int, b text");
+    TestUtil.createTable(con, "shared_types", "id int, pair shared_pair");
+  }
+
+  @Override
+  public void tearDown() throws SQLException {
+    TestUtil.dropTable(con, "shared_types");
+    TestUtil.dropType(con, "shared_pair");
+    TestUtil.dropType(con, "shared_mood");
+    super.tearDown();
+  }
+
+  private Connection openShared() throws SQLException {
+    Properties props = new Properties();
+    PGProperty.SHARED_TYPE_CACHE.set(props, true);
+    PGProperty.SHARED_TYPE_CACHE_CHANNEL.set(props, CHANNEL);
+    return TestUtil.openDB(props);
+  }
+
+  private int oid(String sql) throws SQLException {
+    Statement stmt = con.createStatement();
+    ResultSet rs = stmt.executeQuery(sql);
+    rs.next();
+    int oid = (int) rs.getLong(1);
+    stmt.close();
+    return oid;
+  }
+
+  private void assertSameTypeInfo(Connection shared, int oid) throws SQLException {
+    // a fresh connection resolves the types with its own queries
+    Connection plain = TestUtil.openDB();
+    try {
+      TypeInfo expected = ((BaseConnection) plain).getTypeInfo();
+      TypeInfo actual = ((BaseConnection) shared).getTypeInfo();
+      assertEquals(expected.getPGType(oid), actual.getPGType(oid));
+      assertEquals(expected.getSQLType(oid), actual.getSQLType(oid));
+    } finally {
+      plain.close();
+    }
+  }
+
+  @Test
+  public void testTypesMatchUnsharedLookup() throws SQLException {
+    int mood = oid("SELECT 'shared_mood'::regtype::oid");
+    int moodArray = oid("SELECT typarray FROM pg_type WHERE oid = 'shared_mood'::regtype");
+    int pair = oid("SELECT 'shared_pair'::regtype::oid");
+    int tableRow = oid("SELECT 'shared_types'::regtype::oid");
+    Connection first = openShared();
+    Connection second = openShared();
+    try {
+      for (Connection shared : new Connection[]{first, second}) {
+        assertSameTypeInfo(shared, mood);
+        assertSameTypeInfo(shared, moodArray);
+        assertSameTypeInfo(shared, pair);
+        assertSameTypeInfo(shared, tableRow);
+        TypeInfo typeInfo = ((BaseConnection) shared).getTypeInfo();
+        assertEquals(mood, typeInfo.getPGArrayElement(moodArray));
+        assertEquals(',', typeInfo.getArrayDelimiter(moodArray));
+      }
+    } finally {
+      first.close();
+      second.close();
+    }
+  }
+
+  @Test
+  public void testTypeCreatedAfterLoad() throws SQLException {
+    Connection shared = openShared();
+    try {
+      ((BaseConnection) shared).getTypeInfo().getPGType(oid("SELECT 'shared_mood'::regtype::oid"));
+      TestUtil.createEnumType(con, "shared_late", "'a', 'b'");
+      try {
+        assertSameTypeInfo(shared, oid("SELECT 'shared_late'::regtype::oid"));
+      } finally {
+        TestUtil.dropType(con, "shared_late");
+      }
+    } finally {
+      shared.close();
+    }
+  }
+
+  @Test
+  public void testInvalidationIsNotDelivered() throws SQLException {
+    Connection shared = openShared();
+    try {
+      TestUtil.execute("NOTIFY " + CHANNEL, con);
+      TestUtil.execute("SELECT 1", shared);
+      assertEquals(0, ((PGConnection) shared).getNotifications().length);
+      assertSameTypeInfo(shared, oid("SELECT 'shared_mood'::regtype::oid"));
+    } finally {
+      shared.close();
+    }
+  }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.test.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.herodbsql.util.CanEstimateSize;
+import org.herodbsql.util.ConcurrentLruCache;
+import org.herodbsql.util.LruCache;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tests {@link org.herodbsql.util.ConcurrentLruCache}. Without {@code get} the clock order is the
+ * order of {@code put}, so it evicts exactly like {@link LruCache}.
+ */
+public class ConcurrentLruCacheTest {
+
+  private static class Entry implements CanEstimateSize {
+    private final int id;
+
+    Entry(int id) {
+      this.id = id;
+    }
+
+    @Override
+    public long getSize() {
+      return id;
+    }
+
+    @Override
+    public String toString() {
+      return "Entry{" + "id=" + id + '}';
+    }
+  }
+
+  private final Integer[] expectCreate = new Integer[1];
+  private final Deque<Entry> expectEvict = new ArrayDeque<Entry>();
+  private final Entry dummy = new Entry(-999);
+  private ConcurrentLruCache<Integer, Entry> cache;
+
+  @Before
+  public void setUp() throws Exception {
+    cache = new ConcurrentLruCache<Integer, Entry>(4, 1000, false, new LruCache.CreateAction<Integer, Entry>() {
+      @Override
+      public Entry create(Integer key) throws SQLException {
+        assertEquals("Unexpected create", expectCreate[0], key);
+        return new Entry(key);
+      }
+    }, new LruCache.EvictAction<Entry>() {
+      @Override
+      public void evict(Entry entry) throws SQLException {
+        if (expectEvict.isEmpty()) {
+          fail("Unexpected entry was evicted: " + entry);
+        }
+        Entry expected = expectEvict.removeFirst();
+        assertEquals("Unexpected evict", expected, entry);
+      }
+    });
+  }
+
+  @Test
+  public void testEvictsByNumberOfEntries() throws SQLException {
+    Entry a;
+    Entry b;
+    Entry c;
+    Entry d;
+    Entry e;
+
+    a = use(1);
+    b = use(2);
+    c = use(3);
+    d = use(4);
+    e = use(5, a);
+  }
+
+  @Test
+  public void testEvictsBySize() throws SQLException {
+    Entry a;
+    Entry b;
+    Entry c;
+
+    a = use(330);
+    b = use(331);
+    c = use(332);
+    use(400, a, b);
+  }
+
+  @Test
+  public void testEvictsLeastRecentlyUsed() throws SQLException {
+    Entry a;
+    Entry b;
+    Entry c;
+    Entry d;
+
+    a = use(1);
+    b = use(2);
+    c = use(3);
+    a = use(1); // reuse a
+    use(5);
+    d = use(4, b); // expect b to be evicted
+  }
+
+  @Test
+  public void testCyclicReplacement() throws SQLException {
+    Entry a;
+    Entry b;
+    Entry c;
+    Entry d;
+    Entry e;
+
+    a = use(1);
+    b = use(2);
+    c = use(3);
+    d = use(4);
+    e = use(5, a);
+
+    for (int i = 0; i < 1000; i++) {
+      a = use(1, b);
+      b = use(2, c);
+      c = use(3, d);
+      d = use(4, e);
+      e = use(5, a);
+    }
+  }
+
+  @Test
+  public void testDuplicateKey() throws SQLException {
+    Entry a;
+
+    a = use(1);
+    expectEvict.clear();
+    expectEvict.add(a);
+    // This overwrites the cache, evicting previous entry with exactly the same key
+    cache.put(1, new Entry(1));
+    assertEvict();
+  }
+
+  @Test
+  public void testCaching() throws SQLException {
+    Entry a;
+    Entry b;
+    Entry c;
+    Entry d;
+    Entry e;
+
+    a = use(1);
+    b = use(2);
+    c = use(3);
+    d = use(4);
+
+    for (int i = 0; i < 10000; i++) {
+      c = use(-3);
+      b = use(-2);
+      a = use(-1);
+      e = use(5, d);
+      c = use(-3);
+      b = use(-2);
+      a = use(-1);
+      d = use(4, e);
+    }
+  }
+
+  @Test
+  public void testGetGivesSecondChance() throws SQLException {
+    ConcurrentLruCache<Integer, Entry> cache = new ConcurrentLruCache<Integer, Entry>(3, 1000, true);
+    for (int i = 1; i <= 3; i++) {
+      cache.put(i, new Entry(i));
+    }
+    assertNotNull(cache.get(1));
+    cache.put(4, new Entry(4));
+    assertNotNull("recently read entry is kept", cache.get(1));
+    assertNull("oldest unread entry is evicted", cache.get(2));
+    assertEquals(3, cache.size());
+    assertEquals(1 + 3 + 4, cache.getSizeBytes());
+  }
+
+  @Test
+  public void testConcurrentBorrowAndPut() throws Exception {
+    final AtomicInteger created = new AtomicInteger();
+    final AtomicInteger evicted = new AtomicInteger();
+    final ConcurrentLruCache<Integer, Entry> cache = new ConcurrentLruCache<Integer, Entry>(
+        50, 100000, true, new LruCache.CreateAction<Integer, Entry>() {
+          @Override
+          public Entry create(Integer key) {
+            created.incrementAndGet();
+            return new Entry(key);
+          }
+        }, new LruCache.EvictAction<Entry>() {
+          @Override
+          public void evict(Entry entry) {
+            evicted.incrementAndGet();
+          }
+        });
+    final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+    Thread[] threads = new Thread[8];
+    for (int t = 0; t < threads.length; t++) {
+      final int seed = t;
+      threads[t] = new Thread() {
+        @Override
+        public void run() {
+          try {
+            Random random = new Random(seed);
+            for (int i = 0; i < 100000; i++) {
+              int key = 1 + random.nextInt(200);
+              if (random.nextBoolean()) {
+                cache.get(key);
+              }
+              Entry entry = cache.borrow(key);
+              assertEquals(key, entry.getSize());
+              cache.put(key, entry);
+            }
+          } catch (Throwable e) {
+            failure.compareAndSet(null, e);
+          }
+        }
+      };
+      threads[t].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    if (failure.get() != null) {
+      throw new AssertionError(failure.get());
+    }
+    assertTrue(cache.size() <= 50);
+    long size = 0;
+    int cached = 0;
+    for (int key = 1; key <= 200; key++) {
+      if (cache.get(key) != null) {
+        size += key;
+        cached++;
+      }
+    }
+    assertEquals(cache.size(), cached);
+    assertEquals(size, cache.getSizeBytes());
+    // two threads may put the same key, which evicts one of the values
+    assertEquals(created.get(), evicted.get() + cached);
+  }
+
+  private Entry use(int expectCreate, Entry... expectEvict) throws SQLException {
+    this.expectCreate[0] = expectCreate <= 0 ? -1 : expectCreate;
+    this.expectEvict.clear();
+    this.expectEvict.addAll(Arrays.asList(expectEvict));
+    Entry a = cache.borrow(Math.abs(expectCreate));
+    cache.put(a.id, a); // a
+    assertEvict();
+    return a;
+  }
+
+  private void assertEvict() {
+    if (expectEvict.isEmpty()) {
+      return;
+    }
+    fail("Some of the expected evictions not happened: " + expectEvict.toString());
+  }
+}
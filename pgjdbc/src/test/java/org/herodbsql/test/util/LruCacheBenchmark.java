@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2026, PostgreSQL Global Development Group
+ * See the LICENSE file in the project root for more information.
+ */
+
+package org.herodbsql.test.util;
+
+import org.herodbsql.util.CanEstimateSize;
+import org.herodbsql.util.ConcurrentLruCache;
+import org.herodbsql.util.Gettable;
+import org.herodbsql.util.LruCache;
+
+import java.sql.SQLException;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Compares the throughput of {@link LruCache} and {@link ConcurrentLruCache} when several threads
+ * use one cache. Run with {@code java ... LruCacheBenchmark [threads] [seconds]}.
+ */
+public class LruCacheBenchmark {
+  private static final int KEYS = 2000;
+  private static final int CAPACITY = 1000;
+
+  private static class Entry implements CanEstimateSize {
+    @Override
+    public long getSize() {
+      return 100;
+    }
+  }
+
+  private interface Operation {
+    void run(int key) throws SQLException;
+  }
+
+  private static final LruCache.CreateAction<Integer, Entry> CREATE =
+      new LruCache.CreateAction<Integer, Entry>() {
+        @Override
+        public Entry create(Integer key) {
+          return new Entry();
+        }
+      };
+
+  @SuppressWarnings("unchecked")
+  private static LruCache<Integer, Entry> lruCache() {
+    LruCache<Integer, Entry> cache = new LruCache<Integer, Entry>(CAPACITY, Long.MAX_VALUE, true,
+        CREATE, LruCache.NOOP_EVICT_ACTION);
+    for (int key = 0; key < CAPACITY; key++) {
+      cache.put(key, new Entry());
+    }
+    return cache;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static ConcurrentLruCache<Integer, Entry> concurrentCache() {
+    ConcurrentLruCache<Integer, Entry> cache = new ConcurrentLruCache<Integer, Entry>(CAPACITY,
+        Long.MAX_VALUE, true, CREATE, LruCache.NOOP_EVICT_ACTION);
+    for (int key = 0; key < CAPACITY; key++) {
+      cache.put(key, new Entry());
+    }
+    return cache;
+  }
+
+  private static Operation get(final Gettable<Integer, Entry> cache) {
+    return new Operation() {
+      @Override
+      public void run(int key) {
+        cache.get(key);
+      }
+    };
+  }
+
+  private static Operation borrowAndPut(final LruCache<Integer, Entry> cache) {
+    return new Operation() {
+      @Override
+      public void run(int key) throws SQLException {
+        cache.put(key, cache.borrow(key));
+      }
+    };
+  }
+
+  private static Operation borrowAndPut(final ConcurrentLruCache<Integer, Entry> cache) {
+    return new Operation() {
+      @Override
+      public void run(int key) throws SQLException {
+        cache.put(key, cache.borrow(key));
+      }
+    };
+  }
+
+  /**
+   * @return million operations per second over all threads
+   */
+  private static double measure(final Operation operation, int threads, long millis)
+      throws InterruptedException {
+    final long[] counts = new long[threads];
+    final CountDownLatch start = new CountDownLatch(1);
+    final long deadline = System.currentTimeMillis() + millis + 100;
+    Thread[] workers = new Thread[threads];
+    for (int t = 0; t < threads; t++) {
+      final int index = t;
+      workers[t] = new Thread() {
+        @Override
+        public void run() {
+          Random random = new Random(index);
+          long count = 0;
+          try {
+            start.await();
+            while ((count & 1023) != 0 || System.currentTimeMillis() < deadline) {
+              // skewed keys, half of the operations hit the hottest tenth of the keys
+              int key = random.nextBoolean() ? random.nextInt(KEYS / 10) : random.nextInt(KEYS);
+              operation.run(key);
+              count++;
+            }
+          } catch (Exception e) {
+            throw new RuntimeException(e);
+          }
+          counts[index] = count;
+        }
+      };
+      workers[t].start();
+    }
+    long begin = System.nanoTime();
+    start.countDown();
+    long total = 0;
+    for (int t = 0; t < threads; t++) {
+      workers[t].join();
+      total += counts[t];
+    }
+    return total / ((System.nanoTime() - begin) / 1000.0);
+  }
+
+  public static void main(String[] args) throws Exception {
+    int threads = args.length > 0 ? Integer.parseInt(args[0])
+        : Runtime.getRuntime().availableProcessors();
+    long millis = (args.length > 1 ? Long.parseLong(args[1]) : 3) * 1000;
+    for (int round = 0; round < 2; round++) {
+      // the first round warms up the JIT
+      System.out.printf("threads=%d%n", threads);
+      System.out.printf("  get            LruCache %8.2f  ConcurrentLruCache %8.2f Mops/s%n",
+          measure(get(lruCache()), threads, millis),
+          measure(get(concurrentCache()), threads, millis));
+      System.out.printf("  borrow and put LruCache %8.2f  ConcurrentLruCache %8.2f Mops/s%n",
+          measure(borrowAndPut(lruCache()), threads, millis),
+          measure(borrowAndPut(concurrentCache()), threads, millis));
+    }
+  }
+}